@@ -6,6 +6,8 @@ import lombok.RequiredArgsConstructor;
 import org.jooq.DSLContext;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.jooq.autoconfigure.JooqAutoConfiguration;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
@@ -21,6 +23,10 @@ import tools.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
  * Registers the {@link AuditEventRepository} responsible for storing and retrieving audit events,
  * and the centralized {@link AuditEventListener} that captures domain events from all bounded contexts
  * and persists them as audit entries.
+ * <p>
+ * By default, audit entries are buffered and written in batches by the {@link BatchingAuditEventWriter}.
+ * Batching can be disabled using the {@code konfigyr.audit.writer.batching} property, in which case each
+ * entry is inserted synchronously.
  *
  * @author Vladimir Spasic
  * @since 1.0.0
@@ -28,6 +34,7 @@ import tools.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 @AutoConfiguration
 @RequiredArgsConstructor
 @AutoConfigureAfter(JooqAutoConfiguration.class)
+@EnableConfigurationProperties(AuditWriterProperties.class)
 public class AuditAutoConfiguration {
 
 	private final DSLContext context;
@@ -47,6 +54,18 @@ public class AuditAutoConfiguration {
 		return new AuditEventRepository(context, auditJsonMapper, messageSource);
 	}
 
+	@Bean
+	@ConditionalOnProperty(name = "konfigyr.audit.writer.batching", havingValue = "true", matchIfMissing = true)
+	BatchingAuditEventWriter batchingAuditEventWriter(AuditEventRepository repository, AuditWriterProperties properties) {
+		return new BatchingAuditEventWriter(repository, properties);
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "konfigyr.audit.writer.batching", havingValue = "false")
+	AuditEventWriter auditEventWriter(AuditEventRepository repository) {
+		return AuditEventWriter.direct(repository);
+	}
+
 	@Bean
 	AuditEventListener.NamespaceResolver auditEventListenerNamespaceResolver() {
 		return new AuditEventListener.NamespaceResolver(context);
@@ -55,10 +74,10 @@ public class AuditAutoConfiguration {
 	@Bean
 	AuditEventListener auditEventListener(
 			AuditEventListener.NamespaceResolver resolver,
-			AuditEventRepository repository,
+			AuditEventWriter writer,
 			ObservationRegistry registry
 	) {
-		return new AuditEventListener(repository, resolver, registry);
+		return new AuditEventListener(writer, resolver, registry);
 	}
 
 }
@@ -1,17 +1,17 @@
 package com.konfigyr.audit;
 
-import com.konfigyr.data.CursorPageable;
+import com.konfigyr.data.CursorPageableExecutor;
 import org.apache.commons.codec.DecoderException;
 import org.apache.commons.codec.binary.Hex;
-import org.apache.commons.lang3.StringUtils;
 import org.jmolecules.ddd.annotation.ValueObject;
 import org.jspecify.annotations.NullMarked;
-import org.jspecify.annotations.Nullable;
 
 import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -22,7 +22,10 @@ import java.util.UUID;
  * be fetched without offset-based skipping. A reversed flag indicates backward navigation.
  * <p>
  * Encoding scheme (26 bytes, 52 hex chars):
- * {@code VERSION (1B) | REVERSED (1B) | UUID MSB (8B) | UUID LSB (8B) | TIMESTAMP_MILLIS (8B)}
+ * {@code VERSION (1B) | REVERSED (1B) | UUID MSB (8B) | UUID LSB (8B) | TIMESTAMP (8B)}
+ * <p>
+ * The timestamp is encoded in epoch milliseconds for version {@code 1} tokens, and in epoch microseconds
+ * for version {@code 2} tokens that are used when the timestamp has a sub-millisecond precision.
  *
  * @param value hex-encoded token string, can't be {@literal null}.
  * @param identifier the record UUID used for cursor positioning, can't be {@literal null}.
@@ -36,6 +39,27 @@ import java.util.UUID;
 record AuditCursorToken(String value, UUID identifier, boolean reversed, OffsetDateTime timestamp) {
 
 	private static final byte VERSION = 0x1;
+	private static final byte MICROS_VERSION = 0x2;
+
+	/**
+	 * Codec used by the {@link CursorPageableExecutor} that is seeking over the {@code (created_at, id)} fields.
+	 */
+	static final CursorPageableExecutor.Codec CODEC = new CursorPageableExecutor.Codec() {
+		@Override
+		public CursorPageableExecutor.Position decode(String token) {
+			final AuditCursorToken decoded = AuditCursorToken.decode(token);
+			return new CursorPageableExecutor.Position(List.of(decoded.timestamp(), decoded.identifier()), decoded.reversed());
+		}
+
+		@Override
+		public String encode(CursorPageableExecutor.Position position) {
+			return AuditCursorToken.of(
+					position.get(1, UUID.class),
+					position.get(0, OffsetDateTime.class),
+					position.reversed()
+			).value();
+		}
+	};
 
 	static AuditCursorToken of(UUID identifier, OffsetDateTime timestamp) {
 		return of(identifier, timestamp, false);
@@ -43,20 +67,19 @@ record AuditCursorToken(String value, UUID identifier, boolean reversed, OffsetD
 
 	static AuditCursorToken of(UUID identifier, OffsetDateTime timestamp, boolean reversed) {
 		final ByteBuffer buffer = ByteBuffer.allocate(26);
-		buffer.put(VERSION);
+		final Instant instant = timestamp.toInstant();
+		// timestamps with sub-millisecond precision need to be encoded in microseconds, as the seek
+		// predicate would otherwise skip, or repeat, records created within the same millisecond
+		final boolean micros = instant.getNano() % 1_000_000 != 0;
+
+		buffer.put(micros ? MICROS_VERSION : VERSION);
 		buffer.put(reversed ? (byte) 0x1 : (byte) 0x0);
 		buffer.putLong(identifier.getMostSignificantBits());
 		buffer.putLong(identifier.getLeastSignificantBits());
-		buffer.putLong(timestamp.toInstant().toEpochMilli());
+		buffer.putLong(micros ? ChronoUnit.MICROS.between(Instant.EPOCH, instant) : instant.toEpochMilli());
 		return new AuditCursorToken(Hex.encodeHexString(buffer.array()), identifier, reversed, timestamp);
 	}
 
-	@Nullable
-	static AuditCursorToken decode(CursorPageable pageable) {
-		final String token = pageable.token();
-		return StringUtils.isBlank(token) ? null : AuditCursorToken.decode(token);
-	}
-
 	static AuditCursorToken decode(String encoded) {
 		if (encoded.length() != 52) {
 			throw new IllegalArgumentException("Invalid cursor token of: " + encoded);
@@ -70,8 +93,12 @@ record AuditCursorToken(String value, UUID identifier, boolean reversed, OffsetD
 			throw new IllegalArgumentException("Invalid cursor token of: " + encoded, ex);
 		}
 
-		// skip version
-		buffer.get();
+		final byte version = buffer.get();
+
+		if (version != VERSION && version != MICROS_VERSION) {
+			throw new IllegalArgumentException("Invalid cursor token of: " + encoded);
+		}
+
 		// check if this is a reversed token
 		final byte reversed = buffer.get();
 
@@ -85,7 +112,11 @@ record AuditCursorToken(String value, UUID identifier, boolean reversed, OffsetD
 		}
 
 		return new AuditCursorToken(encoded, new UUID(mostSigBits, leastSigBits), reversed != 0,
-				Instant.ofEpochMilli(timestamp).atOffset(ZoneOffset.UTC));
+				toInstant(version, timestamp).atOffset(ZoneOffset.UTC));
+	}
+
+	private static Instant toInstant(byte version, long timestamp) {
+		return version == MICROS_VERSION ? Instant.EPOCH.plus(timestamp, ChronoUnit.MICROS) : Instant.ofEpochMilli(timestamp);
 	}
 
 }
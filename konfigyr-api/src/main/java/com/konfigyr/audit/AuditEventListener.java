@@ -40,7 +40,7 @@ import static com.konfigyr.data.tables.Services.SERVICES;
  * This component is the single point of audit policy for the Konfigyr platform. It listens
  * to domain events published by the account, namespace, service, invitation, vault, KMS, and
  * artifactory modules, maps each to an {@link AuditEvent}, and delegates persistence to the
- * {@link AuditEventRepository}.
+ * {@link AuditEventWriter}.
  * <p>
  * Actor attribution is resolved from the current {@link org.springframework.security.core.context.SecurityContext}.
  * For events that occur outside an authenticated context (e.g. background batch jobs), a system
@@ -49,7 +49,7 @@ import static com.konfigyr.data.tables.Services.SERVICES;
  * @author Vladimir Spasic
  * @since 1.0.0
  * @see AuditEvent
- * @see AuditEventRepository
+ * @see AuditEventWriter
  */
 @Slf4j
 @NullMarked
@@ -58,7 +58,7 @@ class AuditEventListener {
 
 	static final Actor SYSTEM_ACTOR = new Actor("system", PrincipalType.SYSTEM.name(), "Konfigyr");
 
-	private final AuditEventRepository auditEventRepository;
+	private final AuditEventWriter auditEventWriter;
 	private final NamespaceResolver namespaceResolver;
 	private final ObservationRegistry observationRegistry;
 
@@ -633,7 +633,7 @@ class AuditEventListener {
 
 				factory.accept(builder);
 
-				auditEventRepository.insert(builder.build());
+				auditEventWriter.write(builder.build());
 			} catch (Exception ex) {
 				log.error("Failed to persist audit event: {}", event, ex);
 			}
@@ -2,7 +2,7 @@ package com.konfigyr.audit;
 
 import com.konfigyr.data.CursorPage;
 import com.konfigyr.data.CursorPageable;
-import com.konfigyr.data.Routines;
+import com.konfigyr.data.CursorPageableExecutor;
 import com.konfigyr.data.SettableRecord;
 import com.konfigyr.data.converter.JsonbConverter;
 import com.konfigyr.entity.EntityId;
@@ -13,14 +13,15 @@ import org.jooq.Record;
 import org.jooq.*;
 import org.jooq.impl.DSL;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import org.springframework.context.MessageSource;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.transaction.annotation.Transactional;
 import tools.jackson.databind.json.JsonMapper;
 
 import java.time.OffsetDateTime;
 import java.util.*;
 
+import static com.konfigyr.data.tables.AuditEventOutbox.AUDIT_EVENT_OUTBOX;
 import static com.konfigyr.data.tables.AuditEvents.AUDIT_EVENTS;
 
 /**
@@ -28,16 +29,20 @@ import static com.konfigyr.data.tables.AuditEvents.AUDIT_EVENTS;
  * <p>
  * Accepts {@link AuditEvent} for writes and returns {@link AuditRecord} for reads.
  * The identifier (UUID v7) and the creation timestamp are generated by the database upon
- * insertion — the caller is never responsible for supplying them.
+ * insertion — the caller is never responsible for supplying them, unless the events are written in batches,
+ * in which case the time when they were recorded is retained. Audit events that could not be written in
+ * batches are recorded in the audit event outbox, from where they are later moved into the audit log.
  * <p>
  * Read operations support cursor-based, bidirectional pagination using an opaque
- * {@link AuditCursorToken} that encodes the last-seen record position. Filter criteria
+ * {@link AuditCursorToken} that encodes the last-seen record position. Pages are located using the
+ * {@code (created_at, id)} row value seek predicate applied by the {@link CursorPageableExecutor}. Filter criteria
  * are expressed via {@link SearchQuery} using the constants defined on {@link AuditRecord}.
  * <p>
- * The underlying storage is a time-partitioned table (monthly partitions). Event details
- * are serialized as JSONB and deserialized back to a {@code Map} on read; serialization
- * failures are logged and silently produce {@literal null} rather than propagating, so that
- * a malformed payload never prevents the rest of the audit log from being served.
+ * The underlying storage is a time-partitioned table (monthly partitions), whose partitions are
+ * created and expired by the partition management module. Event details are serialized as JSONB
+ * and deserialized back to a {@code Map} on read; serialization failures are logged and silently
+ * produce {@literal null} rather than propagating, so that a malformed payload never prevents the
+ * rest of the audit log from being served.
  *
  * @author Vladimir Spasic
  * @since 1.0.0
@@ -63,6 +68,12 @@ public class AuditEventRepository {
 			AUDIT_EVENTS.CREATED_AT
 	);
 
+	private static final CursorPageableExecutor cursorPageableExecutor = CursorPageableExecutor.builder()
+			.seekField(AUDIT_EVENTS.CREATED_AT)
+			.seekField(AUDIT_EVENTS.ID)
+			.codec(AuditCursorToken.CODEC)
+			.build();
+
 	private final DSLContext context;
 	private final Converter<JSONB, Map<String, Object>> detailsConverter;
 	private final AuditMessageResolver messageResolver;
@@ -98,85 +109,222 @@ public class AuditEventRepository {
 	}
 
 	/**
-	 * Finds audit records matching the given query with cursor-based pagination.
+	 * Inserts the given {@link Recorded recorded audit events} into the audit log using a single multi-row
+	 * insert statement. The database generates the identifiers upon insertion, while the time when the
+	 * events were recorded is used as their creation timestamp.
 	 *
-	 * @param query the search query containing filter criteria, must not be {@literal null}
-	 * @param pageable the pagination parameters, must not be {@literal null}
-	 * @return a cursor page of matching audit records, never {@literal null}
+	 * @param events the recorded audit events to persist, must not be {@literal null}
 	 */
-	@Transactional(label = "audit.find-events", readOnly = true)
-	public CursorPage<AuditRecord> find(SearchQuery query, CursorPageable pageable) {
-		final List<Condition> conditions = buildFilterConditions(query);
-
-		if (pageable.isUnpaged()) {
-			return CursorPage.of(
-					createQuery(DSL.and(conditions))
-							.orderBy(AUDIT_EVENTS.CREATED_AT.desc())
-							.fetch(this::toAuditRecord)
-			);
+	@Transactional(label = "audit.insert-events")
+	public void insertAll(Collection<Recorded> events) {
+		if (events.isEmpty()) {
+			return;
 		}
 
-		final AuditCursorToken token = AuditCursorToken.decode(pageable);
-		final boolean isReversed = token != null && token.reversed();
-		final SortOrder sortOrder = isReversed ? SortOrder.ASC : SortOrder.DESC;
-
-		if (token != null) {
-			if (sortOrder == SortOrder.DESC) {
-				conditions.add(AUDIT_EVENTS.ID.lessThan(token.identifier()));
-				conditions.add(AUDIT_EVENTS.CREATED_AT.lessThan(token.timestamp()));
-			} else {
-				conditions.add(AUDIT_EVENTS.ID.greaterThan(token.identifier()));
-				conditions.add(AUDIT_EVENTS.CREATED_AT.greaterThan(token.timestamp()));
-			}
+		InsertValuesStepN<Record> insert = context.insertInto(AUDIT_EVENTS)
+				.columns(List.of(
+						AUDIT_EVENTS.NAMESPACE_ID,
+						AUDIT_EVENTS.ENTITY_TYPE,
+						AUDIT_EVENTS.ENTITY_ID,
+						AUDIT_EVENTS.EVENT_TYPE,
+						AUDIT_EVENTS.ACTOR_ID,
+						AUDIT_EVENTS.ACTOR_TYPE,
+						AUDIT_EVENTS.ACTOR_NAME,
+						AUDIT_EVENTS.DETAILS,
+						AUDIT_EVENTS.CREATED_AT
+				));
+
+		for (Recorded recorded : events) {
+			insert = insert.values(values(recorded));
 		}
 
-		final List<Record> results = createQuery(DSL.and(conditions))
-				.orderBy(AUDIT_EVENTS.CREATED_AT.sort(sortOrder), AUDIT_EVENTS.ID.sort(sortOrder))
-				.limit(pageable.size() + 1)
-				.fetch();
+		insert.execute();
+	}
 
-		final boolean hasMore = results.size() > pageable.size();
-		final List<Record> content = hasMore ? results.subList(0, pageable.size()) : results;
+	/**
+	 * Records the given {@link Recorded recorded audit events} in the audit event outbox using a single
+	 * multi-row insert statement. The time when the events were recorded is retained and used as the
+	 * creation timestamp of the audit log entries once they are moved by the {@link #drain(int, int)} operation.
+	 * <p>
+	 * The outbox is used for the audit events that could not be written to the audit log in batches, or
+	 * that could not be buffered in memory, so they are not lost when the application is terminated.
+	 *
+	 * @param events the recorded audit events to keep in the outbox, must not be {@literal null}
+	 */
+	@Transactional(label = "audit.enqueue-events")
+	public void enqueueAll(Collection<Recorded> events) {
+		if (events.isEmpty()) {
+			return;
+		}
 
-		if (isReversed) {
-			Collections.reverse(content);
+		InsertValuesStepN<Record> insert = context.insertInto(AUDIT_EVENT_OUTBOX)
+				.columns(List.of(
+						AUDIT_EVENT_OUTBOX.NAMESPACE_ID,
+						AUDIT_EVENT_OUTBOX.ENTITY_TYPE,
+						AUDIT_EVENT_OUTBOX.ENTITY_ID,
+						AUDIT_EVENT_OUTBOX.EVENT_TYPE,
+						AUDIT_EVENT_OUTBOX.ACTOR_ID,
+						AUDIT_EVENT_OUTBOX.ACTOR_TYPE,
+						AUDIT_EVENT_OUTBOX.ACTOR_NAME,
+						AUDIT_EVENT_OUTBOX.DETAILS,
+						AUDIT_EVENT_OUTBOX.CREATED_AT
+				));
+
+		for (Recorded recorded : events) {
+			insert = insert.values(values(recorded));
 		}
 
-		CursorPageable nextPageable = null;
-		CursorPageable previousPageable = null;
+		insert.execute();
+	}
 
-		if (hasMore || isReversed) {
-			final Record lastItem = content.getLast();
-			nextPageable = encodeNextCursor(
-					lastItem.get(AUDIT_EVENTS.ID),
-					lastItem.get(AUDIT_EVENTS.CREATED_AT),
-					pageable.size()
-			);
-		}
+	/**
+	 * Moves up to {@code limit} audit events from the outbox into the audit log using a single
+	 * {@code INSERT ... SELECT} statement, in the order in which they were recorded.
+	 * <p>
+	 * Outbox entries are locked using {@code FOR UPDATE SKIP LOCKED}, allowing multiple application
+	 * instances to drain the outbox concurrently. Entries that failed to be moved {@code maxAttempts}
+	 * times are no longer selected and are kept in the outbox for inspection.
+	 *
+	 * @param limit maximum number of audit events to move
+	 * @param maxAttempts maximum number of attempts after which an outbox entry is skipped
+	 * @return number of audit events that were moved into the audit log
+	 */
+	@Transactional(label = "audit.drain-outbox")
+	public int drain(int limit, int maxAttempts) {
+		return move(pending(limit, maxAttempts));
+	}
+
+	/**
+	 * Moves a single audit event, identified by its outbox entry identifier, into the audit log. This
+	 * operation is used to isolate the entries that can not be moved when draining the outbox in batches.
+	 *
+	 * @param id the outbox entry identifier, must not be {@literal null}
+	 * @return {@literal true} when the audit event was moved, {@literal false} when the entry no longer exists
+	 *         or when it is currently locked by another transaction
+	 */
+	@Transactional(label = "audit.drain-outbox-entry")
+	public boolean drain(UUID id) {
+		final List<UUID> ids = context.select(AUDIT_EVENT_OUTBOX.ID)
+				.from(AUDIT_EVENT_OUTBOX)
+				.where(AUDIT_EVENT_OUTBOX.ID.eq(id))
+				.forUpdate()
+				.skipLocked()
+				.fetch(AUDIT_EVENT_OUTBOX.ID);
+
+		return move(ids) > 0;
+	}
+
+	/**
+	 * Returns the identifiers of the outbox entries that are waiting to be moved into the audit log, in
+	 * the order in which they were recorded. Entries that are locked by other transactions are skipped.
+	 *
+	 * @param limit maximum number of identifiers to return
+	 * @param maxAttempts maximum number of attempts after which an outbox entry is skipped
+	 * @return outbox entry identifiers, never {@literal null}
+	 */
+	@Transactional(label = "audit.pending-outbox-entries")
+	public List<UUID> pending(int limit, int maxAttempts) {
+		return context.select(AUDIT_EVENT_OUTBOX.ID)
+				.from(AUDIT_EVENT_OUTBOX)
+				.where(AUDIT_EVENT_OUTBOX.ATTEMPTS.lessThan(maxAttempts))
+				.orderBy(AUDIT_EVENT_OUTBOX.ID)
+				.limit(limit)
+				.forUpdate()
+				.skipLocked()
+				.fetch(AUDIT_EVENT_OUTBOX.ID);
+	}
+
+	/**
+	 * Records a failed attempt to move the outbox entry into the audit log.
+	 *
+	 * @param id the outbox entry identifier, must not be {@literal null}
+	 * @param cause the cause of the failure, must not be {@literal null}
+	 */
+	@Transactional(label = "audit.reject-outbox-entry")
+	public void reject(UUID id, Throwable cause) {
+		context.update(AUDIT_EVENT_OUTBOX)
+				.set(AUDIT_EVENT_OUTBOX.ATTEMPTS, AUDIT_EVENT_OUTBOX.ATTEMPTS.plus(1))
+				.set(AUDIT_EVENT_OUTBOX.LAST_ERROR, cause.getMessage())
+				.where(AUDIT_EVENT_OUTBOX.ID.eq(id))
+				.execute();
+	}
+
+	/**
+	 * Finds audit records matching the given query with cursor-based pagination.
+	 *
+	 * @param query the search query containing filter criteria, must not be {@literal null}
+	 * @param pageable the pagination parameters, must not be {@literal null}
+	 * @return a cursor page of matching audit records, never {@literal null}
+	 */
+	@Transactional(label = "audit.find-events", readOnly = true)
+	public CursorPage<AuditRecord> find(SearchQuery query, CursorPageable pageable) {
+		return cursorPageableExecutor.execute(
+				this::createQuery,
+				() -> DSL.and(buildFilterConditions(query)),
+				this::toAuditRecord,
+				pageable
+		);
+	}
 
-		if (pageable.token() != null && (!isReversed || hasMore)) {
-			final Record firstItem = content.getFirst();
-			previousPageable = encodePreviousCursor(
-					firstItem.get(AUDIT_EVENTS.ID),
-					firstItem.get(AUDIT_EVENTS.CREATED_AT),
-					pageable.size()
-			);
+	private int move(Collection<UUID> ids) {
+		if (ids.isEmpty()) {
+			return 0;
 		}
 
-		return CursorPage.of(content, nextPageable, previousPageable)
-				.map(this::toAuditRecord);
+		context.insertInto(AUDIT_EVENTS)
+				.columns(
+						AUDIT_EVENTS.NAMESPACE_ID,
+						AUDIT_EVENTS.ENTITY_TYPE,
+						AUDIT_EVENTS.ENTITY_ID,
+						AUDIT_EVENTS.EVENT_TYPE,
+						AUDIT_EVENTS.ACTOR_ID,
+						AUDIT_EVENTS.ACTOR_TYPE,
+						AUDIT_EVENTS.ACTOR_NAME,
+						AUDIT_EVENTS.DETAILS,
+						AUDIT_EVENTS.CREATED_AT
+				)
+				.select(
+						context.select(
+										AUDIT_EVENT_OUTBOX.NAMESPACE_ID,
+										AUDIT_EVENT_OUTBOX.ENTITY_TYPE,
+										AUDIT_EVENT_OUTBOX.ENTITY_ID,
+										AUDIT_EVENT_OUTBOX.EVENT_TYPE,
+										AUDIT_EVENT_OUTBOX.ACTOR_ID,
+										AUDIT_EVENT_OUTBOX.ACTOR_TYPE,
+										AUDIT_EVENT_OUTBOX.ACTOR_NAME,
+										AUDIT_EVENT_OUTBOX.DETAILS,
+										AUDIT_EVENT_OUTBOX.CREATED_AT
+								)
+								.from(AUDIT_EVENT_OUTBOX)
+								.where(AUDIT_EVENT_OUTBOX.ID.in(ids))
+								.orderBy(AUDIT_EVENT_OUTBOX.ID)
+				)
+				.execute();
+
+		return context.deleteFrom(AUDIT_EVENT_OUTBOX)
+				.where(AUDIT_EVENT_OUTBOX.ID.in(ids))
+				.execute();
 	}
 
-	@Transactional(label = "audit.create-partition")
-	@Scheduled(cron = "${konfigyr.audit.partitioning-cron:0 0 0 * * *}")
-	void createPartition() {
-		Routines.createAuditEventsPartition(context.configuration(), OffsetDateTime.now().plusDays(1));
+	private @Nullable Object[] values(Recorded recorded) {
+		final AuditEvent event = recorded.event();
+
+		return new Object[] {
+				event.namespaceId() == null ? null : event.namespaceId().get(),
+				event.entityType(),
+				event.entityId().get(),
+				event.eventType(),
+				event.actor().id(),
+				event.actor().type(),
+				event.actor().name(),
+				detailsConverter.to(event.details()),
+				recorded.timestamp()
+		};
 	}
 
-	private SelectConditionStep<Record> createQuery(Condition condition) {
+	private SelectJoinStep<Record> createQuery() {
 		return context.select(AUDIT_EVENT_FIELDS)
-				.from(AUDIT_EVENTS)
-				.where(condition);
+				.from(AUDIT_EVENTS);
 	}
 
 	private AuditRecord toAuditRecord(Record record) {
@@ -238,18 +386,18 @@ public class AuditEventRepository {
 		return conditions;
 	}
 
-	private static CursorPageable encodeNextCursor(UUID identifier, OffsetDateTime timestamp, int size) {
-		return CursorPageable.of(
-				AuditCursorToken.of(identifier, timestamp).value(),
-				size
-		);
-	}
+	/**
+	 * Audit event together with the time when it was recorded by the {@link AuditEventWriter}.
+	 *
+	 * @param event the recorded audit event, can't be {@literal null}
+	 * @param timestamp the time when the audit event was recorded, can't be {@literal null}
+	 */
+	record Recorded(AuditEvent event, OffsetDateTime timestamp) {
+
+		static Recorded of(AuditEvent event) {
+			return new Recorded(event, OffsetDateTime.now());
+		}
 
-	private static CursorPageable encodePreviousCursor(UUID identifier, OffsetDateTime timestamp, int size) {
-		return CursorPageable.of(
-				AuditCursorToken.of(identifier, timestamp, true).value(),
-				size
-		);
 	}
 
 }
@@ -0,0 +1,38 @@
+package com.konfigyr.audit;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Strategy interface used by the {@link AuditEventListener} to hand over the built {@link AuditEvent audit events}
+ * for persistence.
+ * <p>
+ * Implementations may persist the events synchronously, in the same thread that published the domain event,
+ * or they can buffer them and write them asynchronously in batches using the {@link BatchingAuditEventWriter}.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ * @see BatchingAuditEventWriter
+ */
+@NullMarked
+@FunctionalInterface
+interface AuditEventWriter {
+
+	/**
+	 * Creates a new {@link AuditEventWriter} that would synchronously insert each {@link AuditEvent}
+	 * using the given {@link AuditEventRepository}.
+	 *
+	 * @param repository the audit event repository, can't be {@literal null}
+	 * @return the synchronous audit event writer, never {@literal null}
+	 */
+	static AuditEventWriter direct(AuditEventRepository repository) {
+		return repository::insert;
+	}
+
+	/**
+	 * Writes the given {@link AuditEvent} to the audit log.
+	 *
+	 * @param event the audit event to be written, can't be {@literal null}
+	 */
+	void write(AuditEvent event);
+
+}
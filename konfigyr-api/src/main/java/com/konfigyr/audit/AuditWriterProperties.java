@@ -0,0 +1,57 @@
+package com.konfigyr.audit;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "konfigyr.audit.writer")
+class AuditWriterProperties {
+
+	/**
+	 * Should the audit events be buffered in memory and written to the database in batches. When disabled,
+	 * each audit event is inserted synchronously in the thread that published the domain event.
+	 */
+	private boolean batching = true;
+
+	/**
+	 * Maximum number of audit events that can be buffered in memory. When the buffer is full, audit events
+	 * are recorded in the audit event outbox by the publishing thread until the buffer is drained.
+	 */
+	@Positive
+	private int capacity = 10_000;
+
+	/**
+	 * Maximum number of audit events that are written, or moved from the audit event outbox, using a single
+	 * insert statement. A flush is triggered as soon as this amount of events is buffered.
+	 */
+	@Positive
+	private int batchSize = 500;
+
+	/**
+	 * Maximum number of attempts to move an audit event from the outbox into the audit log. Audit events
+	 * that exceed this amount of attempts are kept in the outbox for inspection.
+	 */
+	@Positive
+	private int maxAttempts = 10;
+
+	/**
+	 * Maximum amount of time an audit event is kept in the buffer before it is written to the database. The
+	 * audit events that are kept in the outbox are moved into the audit log at the same interval.
+	 */
+	@NotNull
+	private Duration flushInterval = Duration.ofSeconds(1);
+
+	/**
+	 * Maximum amount of time to wait for the buffered audit events to be written when the application
+	 * is shutting down.
+	 */
+	@NotNull
+	private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+}
@@ -0,0 +1,310 @@
+package com.konfigyr.audit;
+
+import io.micrometer.core.instrument.*;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Implementation of the {@link AuditEventWriter} that buffers the {@link AuditEvent audit events} in a bounded,
+ * in-memory queue and writes them to the {@link AuditEventRepository} in batches, using a single multi-row
+ * insert statement per batch. The time when the event was received by this writer is retained and used as the
+ * creation timestamp of the audit log entry.
+ * <p>
+ * The buffer is flushed by a dedicated background thread either when the configured flush interval elapses or
+ * as soon as the number of buffered events reaches the batch size. This keeps the audit log writes off the
+ * request path of the domain operations that are being audited.
+ * <p>
+ * The audit event outbox is used as a fallback, for the events that can not be kept in the buffer or written
+ * in batches:
+ * <ul>
+ *     <li>
+ *         When the buffer is full, the event is recorded in the outbox by the publishing thread.
+ *     </li>
+ *     <li>
+ *         When a batch insert fails, the events of that batch are recorded in the outbox. The outbox is drained
+ *         on each flush, and when a batch of outbox entries can not be moved, each entry is moved individually,
+ *         so a single malformed event would not block the rest of the batch. Entries that fail to be moved the
+ *         configured amount of times are kept in the outbox for inspection.
+ *     </li>
+ *     <li>
+ *         When the database is not available, the events of the failed batch are returned to the buffer and
+ *         are written by the next flush.
+ *     </li>
+ *     <li>
+ *         When the application is shutting down, any buffered events are written before the writer is
+ *         destroyed and events that are received afterwards are recorded in the outbox.
+ *     </li>
+ * </ul>
+ * Events that are still buffered when the process is abruptly terminated, at most the ones received within a
+ * single flush interval, would not be written to the audit log.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ * @see AuditWriterProperties
+ */
+@Slf4j
+@NullMarked
+class BatchingAuditEventWriter implements AuditEventWriter, InitializingBean, DisposableBean, MeterBinder {
+
+	static final String QUEUE_SIZE_METRIC_NAME = "konfigyr.audit.writer.queue.size";
+	static final String FLUSH_METRIC_NAME = "konfigyr.audit.writer.flush";
+	static final String BATCH_SIZE_METRIC_NAME = "konfigyr.audit.writer.batch.size";
+	static final String OVERFLOW_METRIC_NAME = "konfigyr.audit.writer.overflow";
+	static final String FAILURES_METRIC_NAME = "konfigyr.audit.writer.failures";
+
+	private final AuditEventRepository repository;
+	private final BlockingQueue<AuditEventRepository.Recorded> queue;
+	private final int batchSize;
+	private final int maxAttempts;
+	private final Duration flushInterval;
+	private final Duration shutdownTimeout;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+	private final ScheduledExecutorService executor;
+
+	private volatile boolean running;
+	private MeterRegistry registry = Metrics.globalRegistry;
+
+	BatchingAuditEventWriter(AuditEventRepository repository, AuditWriterProperties properties) {
+		this(repository, properties.getCapacity(), properties.getBatchSize(), properties.getMaxAttempts(),
+				properties.getFlushInterval(), properties.getShutdownTimeout());
+	}
+
+	BatchingAuditEventWriter(AuditEventRepository repository, int capacity, int batchSize, int maxAttempts,
+							 Duration flushInterval, Duration shutdownTimeout) {
+		Assert.isTrue(capacity > 0, "Audit event writer capacity must be positive");
+		Assert.isTrue(batchSize > 0, "Audit event writer batch size must be positive");
+		Assert.isTrue(maxAttempts > 0, "Audit event writer max attempts must be positive");
+		Assert.isTrue(flushInterval.isPositive(), "Audit event writer flush interval must be positive");
+
+		this.repository = repository;
+		this.queue = new ArrayBlockingQueue<>(capacity);
+		this.batchSize = batchSize;
+		this.maxAttempts = maxAttempts;
+		this.flushInterval = flushInterval;
+		this.shutdownTimeout = shutdownTimeout;
+		this.executor = createExecutor();
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		lock.writeLock().lock();
+
+		try {
+			if (!running) {
+				running = true;
+				executor.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(),
+						flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void write(AuditEvent event) {
+		final AuditEventRepository.Recorded recorded = AuditEventRepository.Recorded.of(event);
+
+		// the read lock guarantees that the buffered event is seen by the flush performed on shutdown
+		lock.readLock().lock();
+
+		try {
+			if (running && queue.offer(recorded)) {
+				if (queue.size() >= batchSize) {
+					requestFlush();
+				}
+				return;
+			}
+
+			if (running) {
+				log.warn("Audit event buffer is full, recording audit event in the outbox: {}", event);
+				registry.counter(OVERFLOW_METRIC_NAME).increment();
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		repository.enqueueAll(List.of(recorded));
+	}
+
+	@Override
+	public void bindTo(@NonNull MeterRegistry registry) {
+		this.registry = registry;
+
+		Gauge.builder(QUEUE_SIZE_METRIC_NAME, queue, BlockingQueue::size)
+				.description("Number of audit events that are buffered and waiting to be written")
+				.register(registry);
+	}
+
+	@Override
+	public void destroy() throws InterruptedException {
+		lock.writeLock().lock();
+
+		try {
+			running = false;
+		} finally {
+			lock.writeLock().unlock();
+		}
+
+		executor.shutdown();
+
+		if (!executor.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+			log.warn("Audit event writer did not terminate within {}, forcing shutdown", shutdownTimeout);
+			executor.shutdownNow();
+		}
+
+		flush();
+
+		if (!queue.isEmpty()) {
+			log.error("Audit event writer is shutting down with {} audit events that could not be written",
+					queue.size());
+		}
+	}
+
+	/**
+	 * Drains the buffered audit events and writes them in batches until the buffer is empty, after which
+	 * the audit events that are kept in the outbox are moved into the audit log.
+	 * <p>
+	 * This method never throws an exception, as that would cancel the scheduled execution of the flush.
+	 */
+	void flush() {
+		flushRequested.set(false);
+
+		List<AuditEventRepository.Recorded> batch = new ArrayList<>(batchSize);
+
+		while (queue.drainTo(batch, batchSize) > 0) {
+			if (!insert(batch)) {
+				log.warn("Failed to write buffered audit events, will retry in {}", flushInterval);
+				return;
+			}
+
+			batch = new ArrayList<>(batchSize);
+		}
+
+		try {
+			int moved;
+
+			do {
+				moved = drain();
+			} while (moved >= batchSize);
+		} catch (Exception ex) {
+			log.warn("Failed to move audit events from the outbox, will retry in {}", flushInterval, ex);
+		}
+	}
+
+	/**
+	 * Returns the number of audit events that are currently buffered.
+	 *
+	 * @return buffered event count
+	 */
+	int size() {
+		return queue.size();
+	}
+
+	private void requestFlush() {
+		if (flushRequested.compareAndSet(false, true)) {
+			try {
+				executor.execute(this::flush);
+			} catch (RejectedExecutionException ex) {
+				flushRequested.set(false);
+			}
+		}
+	}
+
+	private boolean insert(List<AuditEventRepository.Recorded> batch) {
+		final Timer.Sample sample = Timer.start(registry);
+		String outcome = "success";
+
+		try {
+			repository.insertAll(batch);
+			return true;
+		} catch (Exception ex) {
+			outcome = "failure";
+			log.warn("Failed to persist a batch of {} audit events, recording them in the outbox", batch.size(), ex);
+
+			return spill(batch);
+		} finally {
+			sample.stop(Timer.builder(FLUSH_METRIC_NAME)
+					.description("Time taken to write a batch of buffered audit events")
+					.tag("outcome", outcome)
+					.register(registry));
+
+			DistributionSummary.builder(BATCH_SIZE_METRIC_NAME)
+					.description("Number of audit events written in a single batch")
+					.register(registry)
+					.record(batch.size());
+		}
+	}
+
+	private boolean spill(List<AuditEventRepository.Recorded> batch) {
+		try {
+			repository.enqueueAll(batch);
+			return true;
+		} catch (Exception ex) {
+			log.warn("Failed to record a batch of {} audit events in the outbox, returning them to the buffer",
+					batch.size(), ex);
+		}
+
+		for (AuditEventRepository.Recorded recorded : batch) {
+			if (!queue.offer(recorded)) {
+				registry.counter(FAILURES_METRIC_NAME).increment();
+				log.error("Failed to persist audit event: {}", recorded.event());
+			}
+		}
+
+		return false;
+	}
+
+	private int drain() {
+		try {
+			return repository.drain(batchSize, maxAttempts);
+		} catch (Exception ex) {
+			log.warn("Failed to move a batch of audit events from the outbox, attempting to move them individually", ex);
+		}
+
+		return drainIndividually();
+	}
+
+	private int drainIndividually() {
+		final List<UUID> pending = repository.pending(batchSize, maxAttempts);
+		int moved = 0;
+
+		for (UUID id : pending) {
+			try {
+				if (repository.drain(id)) {
+					moved++;
+				}
+			} catch (Exception ex) {
+				registry.counter(FAILURES_METRIC_NAME).increment();
+				log.error("Failed to move audit event with outbox identifier: {}", id, ex);
+
+				repository.reject(id, ex);
+			}
+		}
+
+		return moved;
+	}
+
+	private static ScheduledExecutorService createExecutor() {
+		final CustomizableThreadFactory factory = new CustomizableThreadFactory("konfigyr-audit-writer-");
+		factory.setDaemon(true);
+		return Executors.newSingleThreadScheduledExecutor(factory);
+	}
+
+}
@@ -4,19 +4,34 @@ import org.jspecify.annotations.NonNull;
 
 /**
  * Feature values provider that provides Konfigyr Beta available features.
+ * <p>
+ * Beta namespaces have an unlimited number of members, while the OAuth applications of the namespace
+ * are limited by the configuration server rate limit, which defaults to {@code 600} requests per minute
+ * and can be changed using the {@code konfigyr.features.configuration-rate-limit} property.
  *
  * @author Vladimir Spasic
  * @since 1.0.0
  */
 final class BetaFeatureValuesProvider implements FeatureValuesProvider {
 
-	private static final FeatureValues BETA_FEATURES = FeatureValues.builder()
-			.add("namespace.members_count", FeatureValue.unlimited())
-			.build();
+	static final RateLimitFeatureValue DEFAULT_CONFIGURATION_RATE_LIMIT = FeatureValue.rateLimit(600, DurationUnit.MINUTES);
+
+	private final FeatureValues features;
+
+	BetaFeatureValuesProvider() {
+		this(DEFAULT_CONFIGURATION_RATE_LIMIT);
+	}
+
+	BetaFeatureValuesProvider(@NonNull RateLimitFeatureValue configurationRateLimit) {
+		this.features = FeatureValues.builder()
+				.add("namespace.members_count", FeatureValue.unlimited())
+				.add("namespace.configuration_rate_limit", configurationRateLimit)
+				.build();
+	}
 
 	@NonNull
 	@Override
 	public FeatureValues get(@NonNull String namespace) {
-		return BETA_FEATURES;
+		return features;
 	}
 }
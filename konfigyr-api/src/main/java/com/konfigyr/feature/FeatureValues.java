@@ -3,6 +3,7 @@ package com.konfigyr.feature;
 import lombok.EqualsAndHashCode;
 import org.jmolecules.ddd.annotation.ValueObject;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
@@ -62,16 +63,32 @@ public final class FeatureValues implements Serializable {
 	 * @return matching feature definition value or an empty {@link Optional}.
 	 * @throws IllegalStateException when the feature value type does not match the one in the definition.
 	 */
-	@SuppressWarnings("unchecked")
 	public <T extends FeatureValue> Optional<T> get(@NonNull FeatureDefinition<T> definition) {
+		return Optional.ofNullable(find(definition));
+	}
+
+	/**
+	 * Retrieves a {@link FeatureValue} from this value container for a matching {@link FeatureDefinition}.
+	 * <p>
+	 * Unlike {@link #get(FeatureDefinition)}, this method returns {@literal null} if no value exists for
+	 * a given definition, avoiding the {@link Optional} allocation on hot paths.
+	 *
+	 * @param definition feature definition for which value should be extracted, can't be {@literal null}
+	 * @param <T> the generic feature value type
+	 * @return matching feature definition value or {@literal null}.
+	 * @throws IllegalStateException when the feature value type does not match the one in the definition.
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public <T extends FeatureValue> T find(@NonNull FeatureDefinition<T> definition) {
 		final FeatureValue value = values.get(definition.name());
 
 		if (value == null) {
-			return Optional.empty();
+			return null;
 		}
 
 		if (definition.type().isInstance(value)) {
-			return Optional.of((T) value);
+			return (T) value;
 		}
 
 		throw new IllegalStateException("Feature value of " + value + " does not match the defined type of " +
@@ -92,6 +109,10 @@ public final class FeatureValues implements Serializable {
 			return this;
 		}
 
+		if (isEmpty()) {
+			return other;
+		}
+
 		return builder()
 				.add(this.values)
 				.add(other.values)
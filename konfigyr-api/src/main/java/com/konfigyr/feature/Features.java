@@ -1,6 +1,7 @@
 package com.konfigyr.feature;
 
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 
 import java.io.Serializable;
 import java.util.Optional;
@@ -27,6 +28,24 @@ public interface Features extends Serializable {
 	@NonNull
 	<T extends FeatureValue> Optional<T> get(@NonNull String namespace, @NonNull FeatureDefinition<T> definition);
 
+	/**
+	 * Retrieve the {@link FeatureValue} for the specified {@link FeatureDefinition} that was assigned to
+	 * a {@link com.konfigyr.namespace.Namespace} identified by its slug, or {@literal null} when not assigned.
+	 * <p>
+	 * This method is intended to be used on hot paths, like request rate limiting, where the feature
+	 * value lookup should not allocate any intermediate objects.
+	 *
+	 * @param namespace namespace slug, can't be {@literal null}.
+	 * @param definition feature definition for which the value is retrieved, can't be {@literal null}.
+	 * @param <T> feature value type, defined by the feature definition.
+	 * @return the assigned feature value or {@literal null} when not assigned or when the given
+	 * {@link com.konfigyr.namespace.Namespace} is unknown.
+	 */
+	@Nullable
+	default <T extends FeatureValue> T find(@NonNull String namespace, @NonNull FeatureDefinition<T> definition) {
+		return get(namespace, definition).orElse(null);
+	}
+
 	/**
 	 * Checks if the specified {@link FeatureDefinition} was assigned to a {@link com.konfigyr.namespace.Namespace}
 	 * identified by its slug.
@@ -3,6 +3,7 @@ package com.konfigyr.feature;
 import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.NullMarked;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.jooq.autoconfigure.JooqAutoConfiguration;
@@ -30,12 +31,14 @@ public class FeaturesAutoConfiguration {
 	}
 
 	@Bean
-	FeatureValuesProvider betaFeatureValuesProvider() {
-		return new BetaFeatureValuesProvider();
+	FeatureValuesProvider betaFeatureValuesProvider(
+			@Value("${konfigyr.features.configuration-rate-limit:600/m}") String configurationRateLimit
+	) {
+		return new BetaFeatureValuesProvider(FeatureValueConverter.from(configurationRateLimit));
 	}
 
 	@Bean
-	Features features(FeatureDefinitions definitions, ObjectProvider<FeatureValuesProvider> providers) {
+	ProviderFeatures features(FeatureDefinitions definitions, ObjectProvider<FeatureValuesProvider> providers) {
 		return new ProviderFeatures(definitions, providers);
 	}
 
@@ -0,0 +1,69 @@
+package com.konfigyr.feature;
+
+import org.jspecify.annotations.NonNull;
+import org.springframework.util.Assert;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Event type that should be published by the {@link FeatureValuesProvider} implementations, or any other
+ * part of the system, when the {@link FeatureValues} that are assigned to a
+ * {@link com.konfigyr.namespace.Namespace} are changed.
+ * <p>
+ * The {@link Features} implementation is caching the resolved {@link FeatureValues} per namespace and
+ * uses these events to invalidate stale values before they expire.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+public sealed interface FeaturesEvent extends Serializable permits FeaturesEvent.Changed, FeaturesEvent.Reset {
+
+	/**
+	 * Creates a new {@link FeaturesEvent} that signals that feature values for a single
+	 * {@link com.konfigyr.namespace.Namespace} have changed.
+	 *
+	 * @param namespace the namespace slug, can't be {@literal null}
+	 * @return the feature values changed event, never {@literal null}
+	 */
+	@NonNull
+	static FeaturesEvent changed(@NonNull String namespace) {
+		return new Changed(namespace);
+	}
+
+	/**
+	 * Creates a new {@link FeaturesEvent} that signals that feature values for all namespaces may have changed,
+	 * for instance when a subscription plan definition has been updated.
+	 *
+	 * @return the feature values reset event, never {@literal null}
+	 */
+	@NonNull
+	static FeaturesEvent reset() {
+		return Reset.INSTANCE;
+	}
+
+	/**
+	 * Event that is published when {@link FeatureValues} for a single namespace have changed.
+	 *
+	 * @param namespace the namespace slug, can't be {@literal null}
+	 */
+	record Changed(@NonNull String namespace) implements FeaturesEvent {
+		@Serial
+		private static final long serialVersionUID = 1L;
+
+		public Changed {
+			Assert.hasText(namespace, "Namespace slug must not be empty");
+		}
+	}
+
+	/**
+	 * Event that is published when {@link FeatureValues} for all namespaces may have changed.
+	 */
+	record Reset() implements FeaturesEvent {
+		@Serial
+		private static final long serialVersionUID = 1L;
+
+		static final Reset INSTANCE = new Reset();
+	}
+
+}
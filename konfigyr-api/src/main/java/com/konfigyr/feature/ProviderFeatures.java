@@ -1,35 +1,94 @@
 package com.konfigyr.feature;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.util.StreamUtils;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.context.event.EventListener;
 import org.springframework.util.Assert;
 
+import java.time.Duration;
 import java.util.Optional;
 
+/**
+ * Implementation of the {@link Features} that resolves the {@link FeatureValues} from all registered
+ * {@link FeatureValuesProvider feature value providers}.
+ * <p>
+ * Resolved {@link FeatureValues} are cached per namespace, turning each feature check into a map lookup
+ * instead of a provider fan-out. Cached values expire after five minutes, which bounds how long a change
+ * made by a provider takes to be applied. Cached values of a namespace are invalidated immediately when a
+ * {@link FeaturesEvent} is published, which is currently the case when a namespace is renamed or deleted,
+ * as the cached values are keyed by the namespace slug.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
 @Slf4j
-@RequiredArgsConstructor
-class ProviderFeatures implements Features {
+class ProviderFeatures implements Features, MeterBinder {
+
+	static final String CACHE_NAME = "konfigyr.feature-values";
 
 	private final FeatureDefinitions definitions;
 	private final Iterable<FeatureValuesProvider> providers;
+	private final Cache<String, FeatureValues> cache;
+
+	ProviderFeatures(FeatureDefinitions definitions, Iterable<FeatureValuesProvider> providers) {
+		this(definitions, providers, Caffeine.newBuilder()
+				.maximumSize(10_000)
+				.expireAfterWrite(Duration.ofMinutes(5))
+				.recordStats()
+				.build());
+	}
+
+	ProviderFeatures(FeatureDefinitions definitions, Iterable<FeatureValuesProvider> providers, Cache<String, FeatureValues> cache) {
+		this.definitions = definitions;
+		this.providers = providers;
+		this.cache = cache;
+	}
 
 	@NonNull
 	@Override
 	public <T extends FeatureValue> Optional<T> get(@NonNull String namespace, @NonNull FeatureDefinition<T> definition) {
+		return Optional.ofNullable(find(namespace, definition));
+	}
+
+	@Nullable
+	@Override
+	public <T extends FeatureValue> T find(@NonNull String namespace, @NonNull FeatureDefinition<T> definition) {
 		Assert.isTrue(definitions.has(definition), () -> "You attempted to obtain a feature value for feature definition that is not registered.");
 
-		final FeatureValues values = StreamUtils.createStreamFromIterator(providers.iterator())
-				.map(provider -> provider.get(namespace))
-				.reduce(FeatureValues::concat)
-				.orElseGet(FeatureValues::empty);
+		return cache.get(namespace, this::resolve).find(definition);
+	}
+
+	@Override
+	public void bindTo(@NonNull MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+	}
+
+	@EventListener(id = "features.feature-values-cache", classes = FeaturesEvent.class)
+	void on(FeaturesEvent event) {
+		switch (event) {
+			case FeaturesEvent.Changed changed -> cache.invalidate(changed.namespace());
+			case FeaturesEvent.Reset ignore -> cache.invalidateAll();
+		}
+	}
+
+	private FeatureValues resolve(String namespace) {
+		FeatureValues values = FeatureValues.empty();
+
+		for (FeatureValuesProvider provider : providers) {
+			values = values.concat(provider.get(namespace));
+		}
 
 		if (log.isDebugEnabled()) {
 			log.debug("Obtained following feature values for Namespace({}): {}", namespace, values);
 		}
 
-		return values.get(definition);
+		return values;
 	}
 
 }
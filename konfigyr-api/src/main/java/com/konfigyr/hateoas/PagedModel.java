@@ -3,7 +3,9 @@ package com.konfigyr.hateoas;
 import java.util.*;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.konfigyr.data.EstimatedPage;
 import org.springframework.data.domain.Page;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
@@ -183,12 +185,14 @@ public class PagedModel<T> extends CollectionModel<T> {
 	 * @param number zero-indexed page number, must be less than total pages.
 	 * @param totalElements the total number of elements available.
 	 * @param totalPages the total number of pages.
+	 * @param estimated whether the total number of elements and pages is an estimate, only serialized when set.
 	 */
 	public record PageMetadata(
 			@JsonProperty long size,
 			@JsonProperty long number,
 			@JsonProperty("total") long totalElements,
-			@JsonProperty("pages") long totalPages
+			@JsonProperty("pages") long totalPages,
+			@JsonProperty @JsonInclude(JsonInclude.Include.NON_DEFAULT) boolean estimated
 	) {
 
 		public PageMetadata {
@@ -199,12 +203,26 @@ public class PagedModel<T> extends CollectionModel<T> {
 		}
 
 		/**
-		 * Creates a new metadata instance from the given page object.
+		 * Creates a new metadata instance with an exact number of total elements and pages.
+		 *
+		 * @param size the requested size of the page.
+		 * @param number zero-indexed page number, must be less than total pages.
+		 * @param totalElements the total number of elements available.
+		 * @param totalPages the total number of pages.
+		 */
+		public PageMetadata(long size, long number, long totalElements, long totalPages) {
+			this(size, number, totalElements, totalPages, false);
+		}
+
+		/**
+		 * Creates a new metadata instance from the given page object. The metadata would be marked as
+		 * estimated when the page is an {@link EstimatedPage}.
 		 *
 		 * @param page the page object containing elements and page metadata, can't be {@literal null}.
 		 */
 		public PageMetadata(@NonNull Page<?> page) {
-			this(page.getSize(), page.getNumber() + 1, page.getTotalElements(), page.getTotalPages());
+			this(page.getSize(), page.getNumber() + 1, page.getTotalElements(), page.getTotalPages(),
+					page instanceof EstimatedPage<?>);
 		}
 	}
 }
@@ -1,6 +1,7 @@
 package com.konfigyr.hateoas;
 
 import com.konfigyr.data.CursorPage;
+import com.konfigyr.data.EstimatedPage;
 import org.springframework.data.domain.Page;
 import org.jspecify.annotations.NonNull;
 
@@ -68,7 +69,8 @@ public interface RepresentationModelAssembler<T, R extends RepresentationModel<?
 	}
 
 	/**
-	 * Converts {@link Page page of entities} into a {@link PagedModel} instance.
+	 * Converts {@link Page page of entities} into a {@link PagedModel} instance. The link to the last page
+	 * is omitted when the page is an {@link EstimatedPage}.
 	 *
 	 * @param entities entities to be converted, must not be {@literal null}.
 	 * @return the paged model, never {@literal null}.
@@ -79,12 +81,17 @@ public interface RepresentationModelAssembler<T, R extends RepresentationModel<?
 		model.add(
 				Link.builder()
 						.query("page", 1)
-						.rel(LinkRelation.FIRST),
-				Link.builder()
-						.query("page", entities.getTotalPages())
-						.rel(LinkRelation.LAST)
+						.rel(LinkRelation.FIRST)
 		);
 
+		// the last page is unknown when the total number of elements is only an estimate
+		if (!(entities instanceof EstimatedPage<?>)) {
+			model.add(Link.builder()
+					.query("page", entities.getTotalPages())
+					.rel(LinkRelation.LAST)
+			);
+		}
+
 		if (entities.hasPrevious()) {
 			model.add(Link.builder()
 					.query("page", entities.previousPageable().getPageNumber() + 1)
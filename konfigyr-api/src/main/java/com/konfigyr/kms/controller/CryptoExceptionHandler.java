@@ -4,6 +4,7 @@ import com.konfigyr.crypto.CryptoException;
 import com.konfigyr.crypto.KeysetOperation;
 import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.core.Ordered;
@@ -28,57 +29,90 @@ class CryptoExceptionHandler {
 
 	@ExceptionHandler(CryptoException.KeyNotFoundException.class)
 	ResponseEntity<ProblemDetail> handleKeyNotFoundException(CryptoException.KeyNotFoundException ex) {
-		return createResponse(
-				ErrorResponse.builder(ex, HttpStatus.NOT_FOUND, ex.getMessage())
-						.titleMessageCode("problemDetail.title.com.konfigyr.crypto.key-not-found")
-						.detailMessageCode("problemDetail.com.konfigyr.crypto.key-not-found")
-						.detailMessageArguments(ex.getName(), ex.getKeyId())
-						.property("key", ex.getKeyId())
-						.build()
-		);
+		return createResponse(createErrorResponse(ex));
 	}
 
 	@ExceptionHandler(CryptoException.UnsupportedAlgorithmException.class)
 	ResponseEntity<ProblemDetail> handleUnsupportedAlgorithmException(CryptoException.UnsupportedAlgorithmException ex) {
-		return createResponse(
-				ErrorResponse.builder(ex, HttpStatus.BAD_REQUEST, ex.getMessage())
-						.titleMessageCode("problemDetail.title.com.konfigyr.crypto.unsupported-algorithm")
-						.detailMessageCode("problemDetail.com.konfigyr.crypto.unsupported-algorithm")
-						.build()
-		);
+		return createResponse(createErrorResponse(ex));
 	}
 
 	@ExceptionHandler(CryptoException.KeysetOperationException.class)
 	ResponseEntity<ProblemDetail> handleKeysetOperationException(CryptoException.KeysetOperationException ex) {
+		return createResponse(createErrorResponse(ex));
+	}
+
+	@ExceptionHandler(CryptoException.UnsupportedKeysetOperationException.class)
+	ResponseEntity<ProblemDetail> handleUnsupportedKeysetOperationException(CryptoException.UnsupportedKeysetOperationException ex) {
+		return createResponse(createErrorResponse(ex));
+	}
+
+	/**
+	 * Resolves the {@link ProblemDetail} for the {@link CryptoException} that was raised while performing
+	 * a single item of a batch keyset operation. Returns {@literal null} for exceptions that are not handled
+	 * by this handler, those should fail the entire batch.
+	 *
+	 * @param ex the crypto exception raised by the keyset operation
+	 * @return the problem detail for the exception or {@literal null} when it is not handled
+	 */
+	@Nullable
+	ProblemDetail resolve(CryptoException ex) {
+		ErrorResponse error = null;
+
+		if (ex instanceof CryptoException.KeyNotFoundException e) {
+			error = createErrorResponse(e);
+		} else if (ex instanceof CryptoException.UnsupportedAlgorithmException e) {
+			error = createErrorResponse(e);
+		} else if (ex instanceof CryptoException.UnsupportedKeysetOperationException e) {
+			error = createErrorResponse(e);
+		} else if (ex instanceof CryptoException.KeysetOperationException e) {
+			error = createErrorResponse(e);
+		}
+
+		return error == null ? null : error.updateAndGetBody(messageSource, LocaleContextHolder.getLocale());
+	}
+
+	private ErrorResponse createErrorResponse(CryptoException.KeyNotFoundException ex) {
+		return ErrorResponse.builder(ex, HttpStatus.NOT_FOUND, ex.getMessage())
+				.titleMessageCode("problemDetail.title.com.konfigyr.crypto.key-not-found")
+				.detailMessageCode("problemDetail.com.konfigyr.crypto.key-not-found")
+				.detailMessageArguments(ex.getName(), ex.getKeyId())
+				.property("key", ex.getKeyId())
+				.build();
+	}
+
+	private ErrorResponse createErrorResponse(CryptoException.UnsupportedAlgorithmException ex) {
+		return ErrorResponse.builder(ex, HttpStatus.BAD_REQUEST, ex.getMessage())
+				.titleMessageCode("problemDetail.title.com.konfigyr.crypto.unsupported-algorithm")
+				.detailMessageCode("problemDetail.com.konfigyr.crypto.unsupported-algorithm")
+				.build();
+	}
+
+	private ErrorResponse createErrorResponse(CryptoException.KeysetOperationException ex) {
 		final KeysetOperation operation = ex.attemptedOperation();
 		final String key = operation.name().toLowerCase(Locale.ROOT);
 
-		return createResponse(
-				ErrorResponse.builder(ex, HttpStatus.UNPROCESSABLE_CONTENT, ex.getMessage())
-						.titleMessageCode("problemDetail.title.com.konfigyr.crypto.operation-error.%s".formatted(key))
-						.detailMessageCode("problemDetail.com.konfigyr.crypto.operation-error.%s".formatted(key))
-						.detailMessageArguments(operation, ex.getName())
-						.property("operation", operation)
-						.build()
-		);
+		return ErrorResponse.builder(ex, HttpStatus.UNPROCESSABLE_CONTENT, ex.getMessage())
+				.titleMessageCode("problemDetail.title.com.konfigyr.crypto.operation-error.%s".formatted(key))
+				.detailMessageCode("problemDetail.com.konfigyr.crypto.operation-error.%s".formatted(key))
+				.detailMessageArguments(operation, ex.getName())
+				.property("operation", operation)
+				.build();
 	}
 
-	@ExceptionHandler(CryptoException.UnsupportedKeysetOperationException.class)
-	ResponseEntity<ProblemDetail> handleUnsupportedKeysetOperationException(CryptoException.UnsupportedKeysetOperationException ex) {
+	private ErrorResponse createErrorResponse(CryptoException.UnsupportedKeysetOperationException ex) {
 		final List<String> supported = ex.supportedOperations().stream()
 				.map(Enum::name)
 				.sorted()
 				.toList();
 
-		return createResponse(
-				ErrorResponse.builder(ex, HttpStatus.BAD_REQUEST, ex.getMessage())
-						.titleMessageCode("problemDetail.title.com.konfigyr.crypto.unsupported-keyset-operation")
-						.detailMessageCode("problemDetail.com.konfigyr.crypto.unsupported-keyset-operation")
-						.detailMessageArguments(ex.attemptedOperation(), String.join(", ", supported), ex.getName())
-						.property("operation", ex.attemptedOperation())
-						.property("supported", supported)
-						.build()
-		);
+		return ErrorResponse.builder(ex, HttpStatus.BAD_REQUEST, ex.getMessage())
+				.titleMessageCode("problemDetail.title.com.konfigyr.crypto.unsupported-keyset-operation")
+				.detailMessageCode("problemDetail.com.konfigyr.crypto.unsupported-keyset-operation")
+				.detailMessageArguments(ex.attemptedOperation(), String.join(", ", supported), ex.getName())
+				.property("operation", ex.attemptedOperation())
+				.property("supported", supported)
+				.build();
 	}
 
 	private ResponseEntity<ProblemDetail> createResponse(ErrorResponse error) {
@@ -1,5 +1,6 @@
 package com.konfigyr.kms.controller;
 
+import com.konfigyr.crypto.CryptoException;
 import com.konfigyr.crypto.KeysetOperations;
 import com.konfigyr.entity.EntityId;
 import com.konfigyr.io.ByteArray;
@@ -9,17 +10,26 @@ import com.konfigyr.namespace.NamespaceManager;
 import com.konfigyr.namespace.NamespaceNotFoundException;
 import com.konfigyr.security.OAuthScope;
 import com.konfigyr.security.oauth.RequiresScope;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 @RestController
 @RequiredArgsConstructor
@@ -27,8 +37,11 @@ import java.util.Map;
 @RequestMapping("/namespaces/{namespace}/kms/{id}")
 class KmsOperationController {
 
+	static final int MAX_BATCH_SIZE = 1000;
+
 	private final KeysetManager manager;
 	private final NamespaceManager namespaces;
+	private final CryptoExceptionHandler exceptionHandler;
 
 	@PostMapping("encrypt")
 	@PreAuthorize("isMember(#namespace)")
@@ -70,6 +83,46 @@ class KmsOperationController {
 		return execute(namespace, id, attributes);
 	}
 
+	@PostMapping("encrypt/batch")
+	@PreAuthorize("isMember(#namespace)")
+	Map<String, Object> encryptBatch(
+			@PathVariable @NonNull String namespace,
+			@PathVariable @NonNull EntityId id,
+			@RequestBody @Validated BatchAttributes<EncryptAttributes> attributes
+	) {
+		return execute(namespace, id, attributes);
+	}
+
+	@PostMapping("decrypt/batch")
+	@PreAuthorize("isMember(#namespace)")
+	Map<String, Object> decryptBatch(
+			@PathVariable @NonNull String namespace,
+			@PathVariable @NonNull EntityId id,
+			@RequestBody @Validated BatchAttributes<DecryptAttributes> attributes
+	) {
+		return execute(namespace, id, attributes);
+	}
+
+	@PostMapping("sign/batch")
+	@PreAuthorize("isMember(#namespace)")
+	Map<String, Object> signBatch(
+			@PathVariable @NonNull String namespace,
+			@PathVariable @NonNull EntityId id,
+			@RequestBody @Validated BatchAttributes<SignAttributes> attributes
+	) {
+		return execute(namespace, id, attributes);
+	}
+
+	@PostMapping("verify/batch")
+	@PreAuthorize("isMember(#namespace)")
+	Map<String, Object> verifyBatch(
+			@PathVariable @NonNull String namespace,
+			@PathVariable @NonNull EntityId id,
+			@RequestBody @Validated BatchAttributes<VerifyAttributes> attributes
+	) {
+		return execute(namespace, id, attributes);
+	}
+
 	@NullMarked
 	private Map<String, Object> execute(String slug, EntityId id, KeysetOperationPerformer performer) {
 		final Namespace namespace = namespaces.findBySlug(slug).orElseThrow(() -> new NamespaceNotFoundException(slug));
@@ -78,6 +131,87 @@ class KmsOperationController {
 		return performer.perform(operations);
 	}
 
+	@NullMarked
+	private Map<String, Object> execute(String slug, EntityId id, BatchAttributes<?> batch) {
+		final Namespace namespace = namespaces.findBySlug(slug).orElseThrow(() -> new NamespaceNotFoundException(slug));
+		final KeysetOperations operations = manager.operations(namespace, id);
+		final List<? extends KeysetOperationPerformer> items = batch.items();
+
+		// keyset operations are thread-safe, items can be performed concurrently when requested. Item errors are
+		// resolved afterward on the request thread as problem details are localized using the request locale.
+		IntStream indices = IntStream.range(0, items.size());
+
+		if (batch.parallel()) {
+			indices = indices.parallel();
+		}
+
+		final List<BatchItem> results = indices.mapToObj(index -> BatchItem.perform(index, items.get(index), operations))
+				.toList();
+
+		return Map.of("items", results.stream().map(this::toResponse).toList());
+	}
+
+	@NullMarked
+	private Map<String, Object> toResponse(BatchItem item) {
+		final Map<String, Object> response = new LinkedHashMap<>();
+		response.put("index", item.index());
+
+		if (item.error() == null) {
+			response.putAll(item.result());
+		} else {
+			response.put("error", resolveProblemDetail(item.error()));
+		}
+
+		return response;
+	}
+
+	@NullMarked
+	private ProblemDetail resolveProblemDetail(RuntimeException ex) {
+		if (ex instanceof CryptoException cryptoException) {
+			final ProblemDetail detail = exceptionHandler.resolve(cryptoException);
+
+			if (detail != null) {
+				return detail;
+			}
+		}
+
+		if (ex instanceof IllegalArgumentException) {
+			return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+		}
+
+		throw ex;
+	}
+
+	/**
+	 * Batch of keyset operation items that are performed using the same keyset.
+	 *
+	 * @param items the items to be performed, must contain at least one and at most {@code 1000} items
+	 * @param parallel should the items be performed concurrently
+	 * @param <T> the keyset operation item type
+	 */
+	record BatchAttributes<T extends KeysetOperationPerformer>(
+			@NotEmpty @Size(max = MAX_BATCH_SIZE) List<@Valid T> items,
+			boolean parallel
+	) {
+
+	}
+
+	/**
+	 * The outcome of a single batch item, holds either the operation result or the raised exception.
+	 */
+	@NullMarked
+	private record BatchItem(int index, Map<String, Object> result, @Nullable RuntimeException error) {
+
+		static BatchItem perform(int index, KeysetOperationPerformer performer, KeysetOperations operations) {
+			try {
+				return new BatchItem(index, performer.perform(operations), null);
+			} catch (CryptoException | IllegalArgumentException ex) {
+				return new BatchItem(index, Map.of(), ex);
+			}
+		}
+
+	}
+
 	@NullMarked
 	sealed interface KeysetOperationPerformer permits
 			KmsOperationController.EncryptAttributes,
@@ -5,6 +5,7 @@ import com.konfigyr.crypto.TokenGenerator;
 import com.konfigyr.data.Keys;
 import com.konfigyr.data.PageableExecutor;
 import com.konfigyr.data.SettableRecord;
+import com.konfigyr.data.scheduling.ClusterSingleton;
 import com.konfigyr.data.tables.Accounts;
 import com.konfigyr.entity.EntityId;
 import com.konfigyr.feature.Features;
@@ -229,10 +230,13 @@ class DefaultInvitations implements Invitations {
 	 * <p>
 	 * To change the execution interval, set the {@code konfigyr.invitations.cleanup.cron}
 	 * configuration property to a valid cron expression. To disable this task, set it to {@code '-'}.
+	 * <p>
+	 * This is a cluster singleton job, only one application instance performs the cleanup at a time.
 	 *
 	 * @see org.springframework.scheduling.support.CronExpression
 	 * @see org.springframework.scheduling.config.ScheduledTaskRegistrar#CRON_DISABLED
 	 */
+	@ClusterSingleton("invitations-cleanup")
 	@Transactional(label = "invitations-cleanup")
 	@Scheduled(cron = "${konfigyr.invitations.cleanup.cron:0 0 * * * *}")
 	public void cleanup() {
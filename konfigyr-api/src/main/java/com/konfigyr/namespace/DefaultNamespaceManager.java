@@ -3,6 +3,7 @@ package com.konfigyr.namespace;
 import com.konfigyr.data.PageableExecutor;
 import com.konfigyr.data.SettableRecord;
 import com.konfigyr.entity.EntityId;
+import com.konfigyr.feature.FeaturesEvent;
 import com.konfigyr.security.NamespaceClientId;
 import com.konfigyr.support.SearchQuery;
 import com.konfigyr.support.Slug;
@@ -220,6 +221,7 @@ class DefaultNamespaceManager implements NamespaceManager {
 
 		if (!record.original(NAMESPACES.SLUG).equals(definition.slug().get())) {
 			publisher.publishEvent(new NamespaceEvent.Renamed(namespace, Slug.slugify(slug), definition.slug()));
+			publisher.publishEvent(FeaturesEvent.changed(slug));
 		}
 
 		return namespace;
@@ -237,6 +239,7 @@ class DefaultNamespaceManager implements NamespaceManager {
 				.execute();
 
 		publisher.publishEvent(new NamespaceEvent.Deleted(namespace));
+		publisher.publishEvent(FeaturesEvent.changed(namespace.slug()));
 	}
 
 	@NonNull
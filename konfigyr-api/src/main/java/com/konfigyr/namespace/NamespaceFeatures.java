@@ -2,6 +2,7 @@ package com.konfigyr.namespace;
 
 import com.konfigyr.feature.FeatureDefinition;
 import com.konfigyr.feature.LimitedFeatureValue;
+import com.konfigyr.feature.RateLimitFeatureValue;
 
 /**
  * Interface that exposes Namespace {@link FeatureDefinition feature definitions}.
@@ -23,4 +24,10 @@ public interface NamespaceFeatures {
 	 */
 	FeatureDefinition<LimitedFeatureValue> SERVICES_COUNT = FeatureDefinition.of("namespace.services_count", LimitedFeatureValue.class);
 
+	/**
+	 * Feature definition that is used to define how many configuration server requests can one OAuth
+	 * application, that belongs to a {@link Namespace}, send within a given time range.
+	 */
+	FeatureDefinition<RateLimitFeatureValue> CONFIGURATION_RATE_LIMIT = FeatureDefinition.of("namespace.configuration_rate_limit", RateLimitFeatureValue.class);
+
 }
@@ -39,6 +39,7 @@ public class NamespaceManagementAutoConfiguration implements FeatureDefinitionCo
 	public void configure(@NonNull Collection<FeatureDefinition<?>> definitions) {
 		definitions.add(NamespaceFeatures.MEMBERS_COUNT);
 		definitions.add(NamespaceFeatures.SERVICES_COUNT);
+		definitions.add(NamespaceFeatures.CONFIGURATION_RATE_LIMIT);
 	}
 
 	@Bean
@@ -1,6 +1,7 @@
 package com.konfigyr.namespace.catalog;
 
 import com.konfigyr.artifactory.*;
+import com.konfigyr.data.CountStrategy;
 import com.konfigyr.data.PageableExecutor;
 import com.konfigyr.entity.EntityId;
 import com.konfigyr.namespace.Service;
@@ -75,6 +76,7 @@ class ConfigurationCatalogService implements ServiceCatalogSource {
 
 	static final PageableExecutor serviceCatalogExecutor = PageableExecutor.builder()
 			.defaultSortField(SERVICE_CONFIGURATION_CATALOG.NAME.asc())
+			.counting(CountStrategy.WINDOW)
 			.build();
 
 	private final DSLContext context;
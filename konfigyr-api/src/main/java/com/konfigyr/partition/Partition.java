@@ -0,0 +1,84 @@
+package com.konfigyr.partition;
+
+import org.jmolecules.ddd.annotation.ValueObject;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Describes a single monthly partition of a {@link PartitionedTable}.
+ * <p>
+ * Partitions are created by the database functions using the {@code <table>_YYYY_MM} naming
+ * convention, the month that is covered by the partition is resolved from that name.
+ *
+ * @param table the partitioned parent table, can't be {@literal null}
+ * @param name the name of the partition table, can't be {@literal null}
+ * @param month the month of rows stored in this partition, can't be {@literal null}
+ * @param size the total size of the partition table, including indexes, in bytes
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@NullMarked
+@ValueObject
+public record Partition(PartitionedTable table, String name, YearMonth month, long size) {
+
+	static final DateTimeFormatter SUFFIX_FORMATTER = DateTimeFormatter.ofPattern("yyyy_MM");
+
+	/**
+	 * Attempts to create a {@link Partition} from the name of the partition table. Partition tables that
+	 * do not follow the naming convention are not managed by the {@link PartitionManager} and this
+	 * method would return {@literal null}.
+	 *
+	 * @param table the partitioned parent table, can't be {@literal null}
+	 * @param name the name of the partition table, can't be {@literal null}
+	 * @param size the total size of the partition table in bytes
+	 * @return the partition or {@literal null} when the name does not match the naming convention
+	 */
+	@Nullable
+	static Partition parse(PartitionedTable table, String name, long size) {
+		final String prefix = table.getName() + "_";
+
+		if (!name.startsWith(prefix)) {
+			return null;
+		}
+
+		try {
+			return new Partition(table, name, YearMonth.parse(name.substring(prefix.length()), SUFFIX_FORMATTER), size);
+		} catch (DateTimeParseException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the inclusive lower bound of the partition range.
+	 *
+	 * @return the partition start date, never {@literal null}
+	 */
+	public LocalDate from() {
+		return month.atDay(1);
+	}
+
+	/**
+	 * Returns the exclusive upper bound of the partition range.
+	 *
+	 * @return the partition end date, never {@literal null}
+	 */
+	public LocalDate to() {
+		return month.plusMonths(1).atDay(1);
+	}
+
+	/**
+	 * Checks if all rows stored in this partition were created before the given cutoff date.
+	 *
+	 * @param cutoff the retention cutoff date, can't be {@literal null}
+	 * @return {@code true} when the partition is expired
+	 */
+	public boolean isExpired(LocalDate cutoff) {
+		return !to().isAfter(cutoff);
+	}
+
+}
@@ -0,0 +1,109 @@
+package com.konfigyr.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.Field;
+import org.jooq.JSONB;
+import org.jooq.Record;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the rows of an expired {@link Partition} into a GZIP compressed newline delimited JSON file.
+ * <p>
+ * Archives are stored in the {@code <directory>/<table>/<partition>.ndjson.gz} location. The archive is
+ * first written to a temporary file that is moved to its final location only once all rows were written,
+ * an archive file is therefore either complete or not present at all.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@Slf4j
+@NullMarked
+class PartitionArchiver {
+
+	static final String ARCHIVE_EXTENSION = ".ndjson.gz";
+
+	private final Path directory;
+	private final JsonMapper mapper;
+
+	PartitionArchiver(Path directory, JsonMapper mapper) {
+		this.directory = directory;
+		this.mapper = mapper;
+	}
+
+	/**
+	 * Archives the rows of the given partition using the {@link PartitionRepository}.
+	 *
+	 * @param partition the partition to be archived, can't be {@literal null}
+	 * @param repository the repository used to export the partition rows, can't be {@literal null}
+	 * @return the location of the created archive, never {@literal null}
+	 * @throws UncheckedIOException when the archive could not be written
+	 */
+	Path archive(Partition partition, PartitionRepository repository) {
+		final Path target = directory.resolve(partition.table().getName()).resolve(partition.name() + ARCHIVE_EXTENSION);
+		final Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+
+		try {
+			Files.createDirectories(target.getParent());
+
+			final long count;
+
+			try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+					new GZIPOutputStream(Files.newOutputStream(temporary)), StandardCharsets.UTF_8))) {
+				count = repository.export(partition, record -> write(writer, record));
+			}
+
+			Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+			log.info("Archived {} rows of partition {} to: {}", count, partition.name(), target);
+		} catch (IOException ex) {
+			throw new UncheckedIOException("Failed to archive partition: " + partition.name(), ex);
+		} finally {
+			try {
+				Files.deleteIfExists(temporary);
+			} catch (IOException ex) {
+				log.warn("Failed to delete temporary partition archive: {}", temporary, ex);
+			}
+		}
+
+		return target;
+	}
+
+	private void write(Writer writer, Record record) {
+		final Map<String, @Nullable Object> row = new LinkedHashMap<>(record.size());
+
+		for (Field<?> field : record.fields()) {
+			row.put(field.getName(), toJsonValue(record.get(field)));
+		}
+
+		try {
+			writer.write(mapper.writeValueAsString(row));
+			writer.write('\n');
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	@Nullable
+	private Object toJsonValue(@Nullable Object value) {
+		if (value instanceof JSONB json) {
+			return mapper.readTree(json.data());
+		}
+		return value;
+	}
+
+}
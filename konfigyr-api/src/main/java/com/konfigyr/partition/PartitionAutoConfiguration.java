@@ -0,0 +1,47 @@
+package com.konfigyr.partition;
+
+import org.jooq.DSLContext;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jooq.autoconfigure.JooqAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.util.Assert;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Spring autoconfiguration for the Konfigyr partition management module.
+ * <p>
+ * Registers the {@link PartitionManager} that is responsible for creating, archiving and dropping the
+ * monthly partitions of the {@link PartitionedTable partitioned tables}.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@NullMarked
+@AutoConfiguration
+@AutoConfigureAfter(JooqAutoConfiguration.class)
+@EnableConfigurationProperties(PartitionProperties.class)
+public class PartitionAutoConfiguration {
+
+	@Bean
+	PartitionRepository partitionRepository(DSLContext context) {
+		return new PartitionRepository(context);
+	}
+
+	@Bean
+	PartitionManager partitionManager(PartitionRepository repository, PartitionProperties properties, JsonMapper mapper) {
+		PartitionArchiver archiver = null;
+
+		if (properties.getArchive().isEnabled()) {
+			Assert.notNull(properties.getArchive().getDirectory(),
+					"Partition archive directory must be configured when partition archiving is enabled");
+
+			archiver = new PartitionArchiver(properties.getArchive().getDirectory(), mapper);
+		}
+
+		return new PartitionManager(repository, archiver, properties);
+	}
+
+}
@@ -0,0 +1,180 @@
+package com.konfigyr.partition;
+
+import com.konfigyr.data.scheduling.ClusterSingleton;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.*;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Component responsible for the lifecycle of the monthly partitions of each {@link PartitionedTable}.
+ * <p>
+ * The maintenance task, that is executed by default every day at midnight, would:
+ * <ul>
+ *     <li>create the partition for the current month and a configurable amount of future partitions</li>
+ *     <li>
+ *         detach and drop partitions whose rows are all older than the retention period configured for
+ *         the table, optionally archiving their rows using the {@link PartitionArchiver} beforehand
+ *     </li>
+ *     <li>collect the partition count and size statistics that are exposed as metrics</li>
+ * </ul>
+ * Tables without a configured retention period keep their partitions indefinitely. A table that is
+ * referencing another partitioned table is never retained longer than the referenced table, as the
+ * referenced partitions can not be detached while rows are still pointing to them.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ * @see PartitionProperties
+ */
+@Slf4j
+@NullMarked
+class PartitionManager implements MeterBinder {
+
+	static final String PARTITION_COUNT_METRIC_NAME = "konfigyr.partitions.count";
+	static final String PARTITION_SIZE_METRIC_NAME = "konfigyr.partitions.size";
+	static final String DROPPED_PARTITIONS_METRIC_NAME = "konfigyr.partitions.dropped";
+
+	private final PartitionRepository repository;
+	private final @Nullable PartitionArchiver archiver;
+	private final Map<PartitionedTable, Period> retention;
+	private final int premake;
+	private final Clock clock;
+	private final Map<PartitionedTable, Statistics> statistics = new ConcurrentHashMap<>();
+
+	private MeterRegistry registry = Metrics.globalRegistry;
+
+	PartitionManager(PartitionRepository repository, @Nullable PartitionArchiver archiver, PartitionProperties properties) {
+		this(repository, archiver, properties.getRetention(), properties.getPremake(), Clock.systemUTC());
+	}
+
+	PartitionManager(PartitionRepository repository, @Nullable PartitionArchiver archiver,
+					 Map<PartitionedTable, Period> retention, int premake, Clock clock) {
+		this.repository = repository;
+		this.archiver = archiver;
+		this.retention = retention.isEmpty() ? Map.of() : new EnumMap<>(retention);
+		this.premake = premake;
+		this.clock = clock;
+	}
+
+	@Override
+	public void bindTo(@NonNull MeterRegistry registry) {
+		this.registry = registry;
+
+		for (PartitionedTable table : PartitionedTable.values()) {
+			Gauge.builder(PARTITION_COUNT_METRIC_NAME, statistics, it -> it.getOrDefault(table, Statistics.EMPTY).count())
+					.description("Number of partitions of the partitioned table")
+					.tag("table", table.getName())
+					.register(registry);
+
+			Gauge.builder(PARTITION_SIZE_METRIC_NAME, statistics, it -> it.getOrDefault(table, Statistics.EMPTY).size())
+					.description("Total size in bytes of all partitions of the partitioned table")
+					.tag("table", table.getName())
+					.baseUnit("bytes")
+					.register(registry);
+		}
+	}
+
+	/**
+	 * Executes the partition maintenance for all {@link PartitionedTable partitioned tables}. Failures are
+	 * logged per table, so a single failing table does not prevent the maintenance of the others.
+	 * <p>
+	 * This is a cluster singleton job, only one application instance performs the maintenance at a time.
+	 */
+	@ClusterSingleton(value = "partition-maintenance", lockAtMostFor = "1h")
+	@Scheduled(cron = "${konfigyr.partitions.cron:0 0 0 * * *}")
+	void maintain() {
+		for (PartitionedTable table : PartitionedTable.values()) {
+			try {
+				maintain(table);
+			} catch (Exception ex) {
+				log.error("Failed to maintain partitions for table: {}", table.getName(), ex);
+			}
+		}
+	}
+
+	/**
+	 * Executes the partition maintenance for a single {@link PartitionedTable}.
+	 *
+	 * @param table the partitioned table, can't be {@literal null}
+	 */
+	void maintain(PartitionedTable table) {
+		final OffsetDateTime now = OffsetDateTime.now(clock);
+
+		for (int i = 0; i <= premake; i++) {
+			repository.create(table, now.plusMonths(i));
+		}
+
+		final LocalDate cutoff = cutoff(table, now.toLocalDate());
+		final List<Partition> partitions = repository.partitions(table);
+
+		long count = 0;
+		long size = 0;
+
+		for (Partition partition : partitions) {
+			if (cutoff != null && partition.isExpired(cutoff)) {
+				expire(partition);
+			} else {
+				count++;
+				size += partition.size();
+			}
+		}
+
+		statistics.put(table, new Statistics(count, size));
+	}
+
+	/**
+	 * Resolves the date before which all partitions of the given table are considered as expired. When
+	 * the table is referencing another table, the shorter retention period of the two tables is used.
+	 *
+	 * @param table the partitioned table, can't be {@literal null}
+	 * @param today the current date, can't be {@literal null}
+	 * @return the cutoff date or {@literal null} when the partitions of the table should be retained indefinitely
+	 */
+	@Nullable
+	LocalDate cutoff(PartitionedTable table, LocalDate today) {
+		final Period period = retention.get(table);
+		final LocalDate cutoff = period == null ? null : today.minus(period);
+		final PartitionedTable referenced = table.referenced();
+
+		if (referenced == null) {
+			return cutoff;
+		}
+
+		final LocalDate referencedCutoff = cutoff(referenced, today);
+
+		if (cutoff == null) {
+			return referencedCutoff;
+		}
+
+		return referencedCutoff == null || cutoff.isAfter(referencedCutoff) ? cutoff : referencedCutoff;
+	}
+
+	private void expire(Partition partition) {
+		if (archiver != null) {
+			archiver.archive(partition, repository);
+		}
+
+		repository.drop(partition);
+
+		registry.counter(DROPPED_PARTITIONS_METRIC_NAME, "table", partition.table().getName()).increment();
+
+		log.info("Dropped expired partition {} of table {} containing rows created between {} and {}",
+				partition.name(), partition.table().getName(), partition.from(), partition.to());
+	}
+
+	record Statistics(long count, long size) {
+		static final Statistics EMPTY = new Statistics(0, 0);
+	}
+
+}
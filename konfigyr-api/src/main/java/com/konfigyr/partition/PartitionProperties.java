@@ -0,0 +1,59 @@
+package com.konfigyr.partition;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.nio.file.Path;
+import java.time.Period;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "konfigyr.partitions")
+class PartitionProperties {
+
+	/**
+	 * Specifies the cron interval of the partition maintenance task. Defaults to every day at midnight.
+	 */
+	@NotBlank
+	private String cron = "0 0 0 * * *";
+
+	/**
+	 * Number of future monthly partitions that should be created ahead of time, apart from the
+	 * partition for the current month.
+	 */
+	@PositiveOrZero
+	private int premake = 2;
+
+	/**
+	 * Retention period per partitioned table. Partitions whose rows are all older than the retention
+	 * are detached and dropped. Tables without a configured retention are never dropped.
+	 */
+	private Map<PartitionedTable, Period> retention = new EnumMap<>(PartitionedTable.class);
+
+	/**
+	 * Configures how expired partitions should be archived before they are dropped.
+	 */
+	private final Archive archive = new Archive();
+
+	@Data
+	static class Archive {
+
+		/**
+		 * Should the expired partitions be archived as compressed NDJSON files before being dropped.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * Directory where partition archives would be stored, required when archiving is enabled.
+		 */
+		private @Nullable Path directory;
+
+	}
+
+}
@@ -0,0 +1,105 @@
+package com.konfigyr.partition;
+
+import lombok.RequiredArgsConstructor;
+import org.jooq.Cursor;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.impl.DSL;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Repository that is executing the partition management statements against the PostgreSQL catalog.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@NullMarked
+@RequiredArgsConstructor
+class PartitionRepository {
+
+	private static final String LIST_PARTITIONS_QUERY = """
+			SELECT child.relname AS name, pg_total_relation_size(child.oid) AS size
+			FROM pg_inherits
+			JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+			JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+			WHERE parent.relname = {0}
+			ORDER BY child.relname
+			""";
+
+	private static final String DETACH_PARTITION_COMMAND = "ALTER TABLE {0} DETACH PARTITION {1};";
+
+	private static final int EXPORT_FETCH_SIZE = 500;
+
+	private final DSLContext context;
+
+	/**
+	 * Creates the monthly partition for the given table that would contain rows created at the given date.
+	 *
+	 * @param table the partitioned table, can't be {@literal null}
+	 * @param date the date for which the partition should exist, can't be {@literal null}
+	 */
+	@Transactional(label = "partitions.create-partition")
+	void create(PartitionedTable table, OffsetDateTime date) {
+		table.create(context.configuration(), date);
+	}
+
+	/**
+	 * Lists the managed partitions of the given table ordered by their month.
+	 *
+	 * @param table the partitioned table, can't be {@literal null}
+	 * @return the table partitions, never {@literal null}
+	 */
+	@Transactional(label = "partitions.list-partitions", readOnly = true)
+	List<Partition> partitions(PartitionedTable table) {
+		return context.resultQuery(LIST_PARTITIONS_QUERY, DSL.val(table.getName()))
+				.fetch(record -> Partition.parse(
+						table,
+						record.get("name", String.class),
+						Objects.requireNonNullElse(record.get("size", Long.class), 0L)
+				))
+				.stream()
+				.filter(Objects::nonNull)
+				.toList();
+	}
+
+	/**
+	 * Streams all rows of the given partition to the consumer, without loading the entire partition in memory.
+	 *
+	 * @param partition the partition to be exported, can't be {@literal null}
+	 * @param consumer the consumer of the partition rows, can't be {@literal null}
+	 * @return the number of exported rows
+	 */
+	@Transactional(label = "partitions.export-partition", readOnly = true)
+	long export(Partition partition, Consumer<Record> consumer) {
+		long count = 0;
+
+		try (Cursor<Record> cursor = context.selectFrom(DSL.table(DSL.name(partition.name())))
+				.fetchSize(EXPORT_FETCH_SIZE)
+				.fetchLazy()) {
+			for (Record record : cursor) {
+				consumer.accept(record);
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Detaches the partition from its parent table and drops it.
+	 *
+	 * @param partition the partition to be dropped, can't be {@literal null}
+	 */
+	@Transactional(label = "partitions.drop-partition")
+	void drop(Partition partition) {
+		context.execute(DETACH_PARTITION_COMMAND, DSL.name(partition.table().getName()), DSL.name(partition.name()));
+		context.dropTable(DSL.name(partition.name())).execute();
+	}
+
+}
@@ -0,0 +1,97 @@
+package com.konfigyr.partition;
+
+import com.konfigyr.data.Routines;
+import com.konfigyr.data.tables.AuditEvents;
+import com.konfigyr.data.tables.VaultChangeHistory;
+import com.konfigyr.data.tables.VaultPropertyHistory;
+import org.jooq.Configuration;
+import org.jooq.Table;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.time.OffsetDateTime;
+import java.util.function.BiConsumer;
+
+/**
+ * Enumeration of tables that are partitioned by month using their {@code created_at} column and whose
+ * partitions are managed by the {@link PartitionManager}.
+ * <p>
+ * Tables are declared in the order in which their expired partitions should be dropped. Tables that are
+ * referencing other partitioned tables with a foreign key must be declared before the referenced table,
+ * as the referenced partition can only be detached once the referencing rows are removed.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@NullMarked
+public enum PartitionedTable {
+
+	/**
+	 * Table that contains the audit log entries.
+	 */
+	AUDIT_EVENTS(AuditEvents.AUDIT_EVENTS, Routines::createAuditEventsPartition, null),
+
+	/**
+	 * Table that contains the property changes of a single vault revision. This table is referencing
+	 * the {@link #VAULT_CHANGE_HISTORY} table.
+	 */
+	VAULT_PROPERTY_HISTORY(VaultPropertyHistory.VAULT_PROPERTY_HISTORY,
+			Routines::createPropertyHistoryPartition, "VAULT_CHANGE_HISTORY"),
+
+	/**
+	 * Table that contains the vault revisions that were applied to configuration profiles.
+	 */
+	VAULT_CHANGE_HISTORY(VaultChangeHistory.VAULT_CHANGE_HISTORY,
+			Routines::createChangeHistoryPartition, null);
+
+	private final Table<?> table;
+	private final BiConsumer<Configuration, OffsetDateTime> factory;
+	private final @Nullable String referenced;
+
+	PartitionedTable(Table<?> table, BiConsumer<Configuration, OffsetDateTime> factory, @Nullable String referenced) {
+		this.table = table;
+		this.factory = factory;
+		this.referenced = referenced;
+	}
+
+	/**
+	 * Returns the jOOQ table definition of the partitioned parent table.
+	 *
+	 * @return the partitioned table, never {@literal null}
+	 */
+	public Table<?> table() {
+		return table;
+	}
+
+	/**
+	 * Returns the name of the partitioned parent table.
+	 *
+	 * @return the table name, never {@literal null}
+	 */
+	public String getName() {
+		return table.getName();
+	}
+
+	/**
+	 * Returns the partitioned table that is referenced by this table using a foreign key constraint, if any.
+	 * Partitions of this table must be retained for at most as long as the partitions of the referenced table.
+	 *
+	 * @return the referenced partitioned table or {@literal null} when there is no such table
+	 */
+	@Nullable
+	public PartitionedTable referenced() {
+		return referenced == null ? null : valueOf(referenced);
+	}
+
+	/**
+	 * Creates the monthly partition that would contain rows created at the given date, if one
+	 * does not already exist, using the partition creation database function of this table.
+	 *
+	 * @param configuration jOOQ configuration used to invoke the function, can't be {@literal null}
+	 * @param date date for which the partition should be created, can't be {@literal null}
+	 */
+	void create(Configuration configuration, OffsetDateTime date) {
+		factory.accept(configuration, date);
+	}
+
+}
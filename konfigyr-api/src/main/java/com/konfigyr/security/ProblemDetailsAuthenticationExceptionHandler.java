@@ -19,8 +19,16 @@ import tools.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
 
+/**
+ * Handler that writes the {@link org.springframework.http.ProblemDetail} responses, resolved by the
+ * {@link WebExceptionHandler}, for exceptions that are raised by the Spring Security filter chain before
+ * the request reaches the Spring MVC dispatcher.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
 @RequiredArgsConstructor
-final class ProblemDetailsAuthenticationExceptionHandler implements AuthenticationEntryPoint, AccessDeniedHandler {
+public final class ProblemDetailsAuthenticationExceptionHandler implements AuthenticationEntryPoint, AccessDeniedHandler {
 
 	private final HttpMessageConverter<@NonNull Object> httpMessageConverter;
 	private final WebExceptionHandler delegate;
@@ -45,7 +53,17 @@ final class ProblemDetailsAuthenticationExceptionHandler implements Authenticati
 		write(request, response, ex);
 	}
 
-	private void write(HttpServletRequest request, HttpServletResponse response, Exception cause) throws IOException {
+	/**
+	 * Resolves the problem details response for the given exception using the {@link WebExceptionHandler}
+	 * and writes it to the servlet response.
+	 *
+	 * @param request the current servlet request, can't be {@literal null}
+	 * @param response the current servlet response, can't be {@literal null}
+	 * @param cause the exception that should be written as problem details, can't be {@literal null}
+	 * @throws IOException when the response could not be written
+	 */
+	@NullMarked
+	public void write(HttpServletRequest request, HttpServletResponse response, Exception cause) throws IOException {
 		final ResponseEntity<@NonNull Object> result = delegate.handle(request, response, cause);
 		final Object body = result.getBody();
 
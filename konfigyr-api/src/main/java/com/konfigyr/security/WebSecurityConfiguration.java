@@ -1,27 +1,29 @@
 package com.konfigyr.security;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
+import com.konfigyr.feature.Features;
+import com.konfigyr.namespace.NamespaceFeatures;
+import com.konfigyr.security.basic.NamespaceApplicationAuthenticationProvider;
+import com.konfigyr.security.basic.NamespaceApplicationCredentialsCache;
 import com.konfigyr.security.basic.NamespaceApplicationDetailsService;
 import com.konfigyr.security.oauth.AuthenticatedPrincipalAuthenticationToken;
 import com.konfigyr.security.oauth.OAuthProtectedResourceMetadataCustomizer;
 import com.konfigyr.security.oauth.RequestAttributeBearerTokenResolver;
+import com.konfigyr.security.ratelimit.RateLimitFilter;
+import com.konfigyr.security.ratelimit.RateLimiter;
 import com.konfigyr.web.WebExceptionHandler;
 import org.jooq.DSLContext;
 import org.jspecify.annotations.NonNull;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.security.oauth2.server.resource.autoconfigure.OAuth2ResourceServerProperties;
-import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
-import org.springframework.security.authentication.CachingUserDetailsService;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.cache.SpringCacheBasedUserCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
 import org.springframework.security.web.SecurityFilterChain;
@@ -34,8 +36,6 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import tools.jackson.databind.ObjectMapper;
 
-import java.util.concurrent.TimeUnit;
-
 /**
  * Spring web security configuration class that would register the Spring Security OAuth2 Login flow.
  *
@@ -53,21 +53,30 @@ public class WebSecurityConfiguration {
 		return new ProblemDetailsAuthenticationExceptionHandler(mapper, exceptionHandler);
 	}
 
+	@Bean
+	RateLimiter configurationRateLimiter(Features features) {
+		return new RateLimiter(features, NamespaceFeatures.CONFIGURATION_RATE_LIMIT);
+	}
+
+	@Bean
+	NamespaceApplicationCredentialsCache namespaceApplicationCredentialsCache() {
+		return new NamespaceApplicationCredentialsCache();
+	}
+
 	@Bean
 	@Order(1)
 	SecurityFilterChain konfigyrConfigClientSecurityFilterChain(
-			HttpSecurity http, DSLContext dslContext, ObjectProvider<@NonNull PasswordEncoder> passwordEncoder
+			HttpSecurity http,
+			DSLContext dslContext,
+			ObjectProvider<@NonNull PasswordEncoder> passwordEncoder,
+			RateLimiter configurationRateLimiter,
+			NamespaceApplicationCredentialsCache namespaceApplicationCredentialsCache,
+			ProblemDetailsAuthenticationExceptionHandler exceptionHandler
 	) {
-		final var applicationCashingDetailsService = new CachingUserDetailsService(new NamespaceApplicationDetailsService(dslContext));
-		applicationCashingDetailsService.setUserCache(new SpringCacheBasedUserCache(
-				new CaffeineCache("konfigyr.namespace-applications", Caffeine.newBuilder()
-								.expireAfterWrite(5, TimeUnit.MINUTES)
-								.maximumSize(1000)
-								.build())
-		));
+		final var applicationProvider = new DaoAuthenticationProvider(new NamespaceApplicationDetailsService(dslContext));
+		applicationProvider.setPasswordEncoder(passwordEncoder.getIfAvailable(PasswordEncoders::get));
 
-		final var provider = new DaoAuthenticationProvider(applicationCashingDetailsService);
-		provider.setPasswordEncoder(passwordEncoder.getIfAvailable(PasswordEncoders::get));
+		final var provider = new NamespaceApplicationAuthenticationProvider(applicationProvider, namespaceApplicationCredentialsCache);
 
 		return http
 				.securityMatcher("/configs/**")
@@ -86,6 +95,7 @@ public class WebSecurityConfiguration {
 				)
 				.authenticationProvider(provider)
 				.addFilterAfter(new AuthenticatedPrincipalContextFilter(), AuthorizationFilter.class)
+				.addFilterAfter(new RateLimitFilter(configurationRateLimiter, exceptionHandler), AuthenticatedPrincipalContextFilter.class)
 				.build();
 	}
 
@@ -0,0 +1,65 @@
+package com.konfigyr.security.basic;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * {@link AuthenticationProvider} used to authenticate {@link NamespaceApplicationPrincipal namespace applications}
+ * using HTTP Basic authentication.
+ * <p>
+ * The provider first checks the {@link NamespaceApplicationCredentialsCache} for credentials that were
+ * already verified. When there is no match, the authentication is performed by the delegate provider that
+ * loads the application and verifies the presented secret against its stored hash, the verified credentials
+ * are then stored in the cache for subsequent requests.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@Slf4j
+@NullMarked
+@RequiredArgsConstructor
+public class NamespaceApplicationAuthenticationProvider implements AuthenticationProvider {
+
+	private final AuthenticationProvider delegate;
+	private final NamespaceApplicationCredentialsCache cache;
+
+	@Override
+	public @Nullable Authentication authenticate(Authentication authentication) throws AuthenticationException {
+		final String clientId = authentication.getName();
+		final Object credentials = authentication.getCredentials();
+
+		if (!(credentials instanceof String secret)) {
+			return delegate.authenticate(authentication);
+		}
+
+		final NamespaceApplicationPrincipal cached = cache.get(clientId, secret);
+
+		if (cached != null) {
+			log.trace("Authenticated namespace application '{}' using verified credentials", clientId);
+
+			final UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(
+					cached, null, cached.getAuthorities());
+			result.setDetails(authentication.getDetails());
+			return result;
+		}
+
+		final Authentication result = delegate.authenticate(authentication);
+
+		if (result != null && result.getPrincipal() instanceof NamespaceApplicationPrincipal principal) {
+			cache.put(principal, secret);
+		}
+
+		return result;
+	}
+
+	@Override
+	public boolean supports(Class<?> authentication) {
+		return delegate.supports(authentication);
+	}
+}
@@ -0,0 +1,222 @@
+package com.konfigyr.security.basic;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.konfigyr.namespace.NamespaceEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+/**
+ * Cache of the {@link NamespaceApplicationPrincipal namespace application} credentials that were successfully
+ * verified by the {@link NamespaceApplicationAuthenticationProvider}.
+ * <p>
+ * Config clients authenticate every request using HTTP Basic authentication, verifying the client secret
+ * against its stored hash is deliberately slow and would otherwise be performed for each request. Once the
+ * credentials are verified, the principal is cached together with a keyed digest of the presented secret.
+ * Subsequent requests presenting the same secret are authenticated without loading the application from
+ * the database or checking the secret hash.
+ * <p>
+ * The presented secrets are never stored, the digest is computed using an HMAC key that is randomly generated
+ * for each cache instance. Entries expire after a short time-to-live, or sooner when the application
+ * credentials expire. Entries are also evicted when the application is updated, reset or removed, or when its
+ * owning namespace is renamed or deleted.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@Slf4j
+@NullMarked
+public class NamespaceApplicationCredentialsCache {
+
+	static final String DIGEST_ALGORITHM = "HmacSHA256";
+	static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+
+	private final Cache<String, VerifiedCredentials> cache;
+	private final SecretKeySpec key;
+	private final Clock clock;
+
+	public NamespaceApplicationCredentialsCache() {
+		this(DEFAULT_TIME_TO_LIVE, 1000, Ticker.systemTicker(), Clock.systemUTC());
+	}
+
+	NamespaceApplicationCredentialsCache(Duration ttl, long size, Ticker ticker, Clock clock) {
+		final byte[] secret = new byte[32];
+		new SecureRandom().nextBytes(secret);
+
+		this.key = new SecretKeySpec(secret, DIGEST_ALGORITHM);
+		this.clock = clock;
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(size)
+				.expireAfter(new CredentialsExpiry(ttl, clock))
+				.ticker(ticker)
+				.build();
+	}
+
+	/**
+	 * Returns the cached {@link NamespaceApplicationPrincipal} for the given client identifier when the
+	 * presented secret matches the one that was verified and the credentials have not yet expired.
+	 *
+	 * @param clientId the client identifier of the namespace application, can't be {@literal null}
+	 * @param secret the presented client secret, can't be {@literal null}
+	 * @return the verified principal or {@literal null} when there is no matching entry
+	 */
+	@Nullable
+	NamespaceApplicationPrincipal get(String clientId, String secret) {
+		final VerifiedCredentials credentials = cache.getIfPresent(clientId);
+
+		if (credentials == null) {
+			return null;
+		}
+
+		if (!MessageDigest.isEqual(credentials.digest(), digest(secret))) {
+			return null;
+		}
+
+		if (credentials.isExpired(OffsetDateTime.now(clock))) {
+			cache.invalidate(clientId);
+			return null;
+		}
+
+		return credentials.principal();
+	}
+
+	/**
+	 * Stores the verified {@link NamespaceApplicationPrincipal} and the digest of the secret that was used
+	 * to authenticate it.
+	 *
+	 * @param principal the verified namespace application principal, can't be {@literal null}
+	 * @param secret the verified client secret, can't be {@literal null}
+	 */
+	void put(NamespaceApplicationPrincipal principal, String secret) {
+		cache.put(principal.getClientId(), new VerifiedCredentials(principal, digest(secret)));
+	}
+
+	/**
+	 * Evicts any verified credentials for the namespace application with the given client identifier.
+	 *
+	 * @param clientId the client identifier of the namespace application, can't be {@literal null}
+	 */
+	void evict(String clientId) {
+		cache.invalidate(clientId);
+	}
+
+	@TransactionalEventListener(
+			id = "security.basic.credentials-cache-evict.application-updated",
+			classes = NamespaceEvent.ApplicationUpdated.class
+	)
+	void on(NamespaceEvent.ApplicationUpdated event) {
+		evict(event);
+	}
+
+	@TransactionalEventListener(
+			id = "security.basic.credentials-cache-evict.application-reset",
+			classes = NamespaceEvent.ApplicationReset.class
+	)
+	void on(NamespaceEvent.ApplicationReset event) {
+		evict(event);
+	}
+
+	@TransactionalEventListener(
+			id = "security.basic.credentials-cache-evict.application-removed",
+			classes = NamespaceEvent.ApplicationRemoved.class
+	)
+	void on(NamespaceEvent.ApplicationRemoved event) {
+		evict(event);
+	}
+
+	@TransactionalEventListener(
+			id = "security.basic.credentials-cache-evict.namespace-renamed",
+			classes = NamespaceEvent.Renamed.class
+	)
+	void on(NamespaceEvent.Renamed event) {
+		evictNamespace(event.from().get());
+	}
+
+	@TransactionalEventListener(
+			id = "security.basic.credentials-cache-evict.namespace-deleted",
+			classes = NamespaceEvent.Deleted.class
+	)
+	void on(NamespaceEvent.Deleted event) {
+		evictNamespace(event.get().slug());
+	}
+
+	private void evict(NamespaceEvent.ApplicationEvent event) {
+		log.debug("Evicting verified credentials for namespace application '{}' triggered by '{}' event",
+				event.application().clientId(), event.getClass().getSimpleName());
+
+		evict(event.application().clientId());
+	}
+
+	private void evictNamespace(String namespace) {
+		log.debug("Evicting verified credentials for all applications of namespace '{}'", namespace);
+
+		cache.asMap().values().removeIf(credentials -> namespace.equals(credentials.principal().getNamespace()));
+	}
+
+	private byte[] digest(String secret) {
+		try {
+			final Mac mac = Mac.getInstance(DIGEST_ALGORITHM);
+			mac.init(key);
+			return mac.doFinal(secret.getBytes(StandardCharsets.UTF_8));
+		} catch (GeneralSecurityException ex) {
+			throw new IllegalStateException("Failed to compute namespace application secret digest", ex);
+		}
+	}
+
+	private record VerifiedCredentials(NamespaceApplicationPrincipal principal, byte[] digest) {
+
+		boolean isExpired(OffsetDateTime now) {
+			final OffsetDateTime expiresAt = principal.getExpiresAt();
+			return expiresAt != null && !expiresAt.isAfter(now);
+		}
+	}
+
+	/**
+	 * Expires the verified credentials after the configured time-to-live, or when the namespace application
+	 * credentials expire, whichever comes first.
+	 */
+	private record CredentialsExpiry(Duration ttl, Clock clock) implements Expiry<String, VerifiedCredentials> {
+
+		@Override
+		public long expireAfterCreate(String key, VerifiedCredentials value, long currentTime) {
+			final OffsetDateTime expiresAt = value.principal().getExpiresAt();
+
+			if (expiresAt == null) {
+				return ttl.toNanos();
+			}
+
+			final Duration remaining = Duration.between(OffsetDateTime.now(clock), expiresAt);
+
+			if (remaining.isNegative()) {
+				return 0;
+			}
+
+			return remaining.compareTo(ttl) < 0 ? remaining.toNanos() : ttl.toNanos();
+		}
+
+		@Override
+		public long expireAfterUpdate(String key, VerifiedCredentials value, long currentTime, long currentDuration) {
+			return expireAfterCreate(key, value, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(String key, VerifiedCredentials value, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+
+}
@@ -0,0 +1,81 @@
+package com.konfigyr.security.ratelimit;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponse;
+
+import java.io.Serial;
+import java.time.Duration;
+
+/**
+ * Exception thrown when an OAuth client exceeds the rate limit that is assigned to its
+ * {@link com.konfigyr.namespace.Namespace}.
+ * <p>
+ * This exception would result in a {@code 429 Too Many Requests} response with a {@code Retry-After}
+ * header that contains the amount of seconds the client should wait before sending the next request.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+public class RateLimitExceededException extends NestedRuntimeException implements ErrorResponse {
+
+	@Serial
+	private static final long serialVersionUID = 4172387493920671893L;
+
+	private final String namespace;
+	private final Duration retryAfter;
+	private final ProblemDetail body;
+
+	/**
+	 * Creates a new {@code RateLimitExceededException}.
+	 *
+	 * @param namespace the namespace slug for which the rate limit was exceeded
+	 * @param retryAfter the duration after which the client may retry the request
+	 */
+	public RateLimitExceededException(@NonNull String namespace, @NonNull Duration retryAfter) {
+		super("Rate limit exceeded for namespace: " + namespace);
+		this.namespace = namespace;
+		this.retryAfter = retryAfter;
+		this.body = ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, getMessage());
+	}
+
+	/**
+	 * Returns the amount of time, rounded up to whole seconds, the client should wait before retrying.
+	 *
+	 * @return retry after duration, never {@literal null}
+	 */
+	@NonNull
+	public Duration getRetryAfter() {
+		return retryAfter;
+	}
+
+	@NonNull
+	@Override
+	public HttpStatusCode getStatusCode() {
+		return HttpStatus.TOO_MANY_REQUESTS;
+	}
+
+	@NonNull
+	@Override
+	public HttpHeaders getHeaders() {
+		final HttpHeaders headers = new HttpHeaders();
+		headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter.toSeconds()));
+		return headers;
+	}
+
+	@NonNull
+	@Override
+	public ProblemDetail getBody() {
+		return body;
+	}
+
+	@Override
+	public Object @Nullable [] getDetailMessageArguments() {
+		return new Object[] { namespace, retryAfter.toSeconds() };
+	}
+}
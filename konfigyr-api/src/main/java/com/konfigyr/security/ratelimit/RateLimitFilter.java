@@ -0,0 +1,70 @@
+package com.konfigyr.security.ratelimit;
+
+import com.konfigyr.security.AuthenticatedPrincipal;
+import com.konfigyr.security.ProblemDetailsAuthenticationExceptionHandler;
+import com.konfigyr.security.basic.NamespaceApplicationPrincipal;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servlet filter that enforces the namespace rate limits, using the {@link RateLimiter}, for requests
+ * sent by namespace OAuth applications.
+ * <p>
+ * This filter should be registered after the authorization filter, so only authenticated and authorized
+ * requests would consume rate limit permits. When a rate limit is exceeded the filter would not proceed
+ * with the filter chain and would write a {@code 429 Too Many Requests} problem details response using
+ * the {@link ProblemDetailsAuthenticationExceptionHandler}.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@NullMarked
+public class RateLimitFilter extends OncePerRequestFilter {
+
+	private final RateLimiter limiter;
+	private final ProblemDetailsAuthenticationExceptionHandler exceptionHandler;
+
+	public RateLimitFilter(RateLimiter limiter, ProblemDetailsAuthenticationExceptionHandler exceptionHandler) {
+		this.limiter = limiter;
+		this.exceptionHandler = exceptionHandler;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+		final Optional<AuthenticatedPrincipal> principal = AuthenticatedPrincipal.fromSecurityContext();
+
+		if (principal.isPresent() && principal.get() instanceof NamespaceApplicationPrincipal application) {
+			final long wait = limiter.tryAcquire(application.getNamespace(), application.getClientId());
+
+			if (wait > 0) {
+				exceptionHandler.write(request, response,
+						new RateLimitExceededException(application.getNamespace(), toRetryAfter(wait)));
+				return;
+			}
+		}
+
+		chain.doFilter(request, response);
+	}
+
+	/**
+	 * Converts the wait time in nanoseconds to a duration that is rounded up to the next second, as the
+	 * {@code Retry-After} header only supports whole seconds.
+	 *
+	 * @param wait wait time in nanoseconds
+	 * @return the retry after duration, at least one second
+	 */
+	static Duration toRetryAfter(long wait) {
+		final long seconds = (wait + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+		return Duration.ofSeconds(Math.max(1, seconds));
+	}
+
+}
@@ -0,0 +1,136 @@
+package com.konfigyr.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.konfigyr.feature.FeatureDefinition;
+import com.konfigyr.feature.Features;
+import com.konfigyr.feature.RateLimitFeatureValue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process rate limiter that enforces the {@link RateLimitFeatureValue} assigned to a
+ * {@link com.konfigyr.namespace.Namespace} for each OAuth client within that namespace.
+ * <p>
+ * Each namespace and OAuth client pair is assigned its own {@link TokenBucket} that is kept in a bounded
+ * Caffeine cache. Buckets that are not accessed for a day are evicted, as the longest supported
+ * {@link com.konfigyr.feature.DurationUnit} is a day and their state would be identical to a freshly
+ * created bucket. When the feature value assigned to the namespace changes, the bucket is replaced with
+ * a new one using the updated limit.
+ * <p>
+ * When no rate limit feature value is assigned to the namespace, the requests are not limited.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@Slf4j
+@NullMarked
+public class RateLimiter implements MeterBinder {
+
+	static final String CACHE_NAME = "konfigyr.rate-limiter.buckets";
+	static final String THROTTLED_METRIC_NAME = "konfigyr.rate-limiter.throttled";
+
+	private final Features features;
+	private final FeatureDefinition<RateLimitFeatureValue> definition;
+	private final Cache<BucketKey, TokenBucket> buckets;
+	private final Ticker ticker;
+	private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+	private MeterRegistry registry = Metrics.globalRegistry;
+
+	public RateLimiter(Features features, FeatureDefinition<RateLimitFeatureValue> definition) {
+		this(features, definition, Ticker.systemTicker());
+	}
+
+	RateLimiter(Features features, FeatureDefinition<RateLimitFeatureValue> definition, Ticker ticker) {
+		this.features = features;
+		this.definition = definition;
+		this.ticker = ticker;
+		this.buckets = Caffeine.newBuilder()
+				.maximumSize(100_000)
+				.expireAfterAccess(Duration.ofDays(1))
+				.ticker(ticker)
+				.recordStats()
+				.build();
+	}
+
+	/**
+	 * Attempts to acquire a permit for the OAuth client that is sending requests on behalf of a
+	 * {@link com.konfigyr.namespace.Namespace}.
+	 * <p>
+	 * This method returns {@code 0} when the permit was acquired or when the namespace has no rate limit
+	 * defined. Otherwise, the amount of nanoseconds the client should wait before retrying is returned.
+	 *
+	 * @param namespace the namespace slug, can't be {@literal null}
+	 * @param client the OAuth client identifier, can't be {@literal null}
+	 * @return {@code 0} when permit is acquired or the amount of nanoseconds until the next permit is available
+	 */
+	public long tryAcquire(String namespace, String client) {
+		final RateLimitFeatureValue limit = features.find(namespace, definition);
+
+		if (limit == null) {
+			return 0;
+		}
+
+		final TokenBucket bucket = resolve(new BucketKey(namespace, client), limit);
+		final long wait = bucket.tryConsume(ticker.read());
+
+		if (wait > 0) {
+			if (log.isDebugEnabled()) {
+				log.debug("Rate limit of {} exceeded for OAuth client {} in Namespace({}), next permit available in {}ns",
+						limit, client, namespace, wait);
+			}
+
+			counters.computeIfAbsent(namespace, this::createThrottledCounter).increment();
+		}
+
+		return wait;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		this.registry = registry;
+		this.counters.clear();
+		CaffeineCacheMetrics.monitor(registry, buckets, CACHE_NAME);
+	}
+
+	private Counter createThrottledCounter(String namespace) {
+		return Counter.builder(THROTTLED_METRIC_NAME)
+				.description("Number of requests that were rejected due to the exceeded namespace rate limit")
+				.tag("namespace", namespace)
+				.register(registry);
+	}
+
+	private TokenBucket resolve(BucketKey key, RateLimitFeatureValue limit) {
+		final TokenBucket bucket = buckets.get(key, ignore -> new TokenBucket(limit, ticker.read()));
+
+		if (limit.equals(bucket.limit())) {
+			return bucket;
+		}
+
+		final TokenBucket replacement = new TokenBucket(limit, ticker.read());
+		return buckets.asMap().merge(key, replacement, (current, created) -> resolveLatest(current, created, limit));
+	}
+
+	private static TokenBucket resolveLatest(TokenBucket current, TokenBucket created, RateLimitFeatureValue limit) {
+		return current.limit().equals(limit) ? current : created;
+	}
+
+	record BucketKey(String namespace, String client) implements Serializable {
+		@Serial
+		private static final long serialVersionUID = 1L;
+	}
+
+}
@@ -0,0 +1,86 @@
+package com.konfigyr.security.ratelimit;
+
+import com.konfigyr.feature.RateLimitFeatureValue;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket that is driven by a {@link RateLimitFeatureValue}.
+ * <p>
+ * The bucket is implemented using the Generic Cell Rate Algorithm (GCRA) which is equivalent to a
+ * token bucket with a capacity of {@link RateLimitFeatureValue#rate()} tokens that are refilled evenly
+ * over the {@link RateLimitFeatureValue#unit() duration unit}. Instead of keeping track of the available
+ * tokens and the last refill time, the algorithm only stores the <i>theoretical arrival time</i> of the
+ * next request. This allows the state to be kept in a single {@link AtomicLong} that is updated with
+ * a compare-and-set operation, without any locking or additional allocations.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@NullMarked
+final class TokenBucket {
+
+	private final RateLimitFeatureValue limit;
+
+	/**
+	 * Amount of nanoseconds that is required for one token to be refilled.
+	 */
+	private final long interval;
+
+	/**
+	 * Amount of nanoseconds that is required for the bucket to be completely refilled.
+	 */
+	private final long period;
+
+	/**
+	 * The theoretical arrival time of the next request, expressed in nanoseconds.
+	 */
+	private final AtomicLong arrival;
+
+	TokenBucket(RateLimitFeatureValue limit, long now) {
+		this.limit = limit;
+		this.period = limit.unit().toTimeUnit().toNanos(1);
+		this.interval = Math.max(1, period / limit.rate());
+		this.arrival = new AtomicLong(now);
+	}
+
+	/**
+	 * Returns the rate limit feature value that was used to configure this bucket.
+	 *
+	 * @return the rate limit, never {@literal null}
+	 */
+	RateLimitFeatureValue limit() {
+		return limit;
+	}
+
+	/**
+	 * Attempts to consume a single token from this bucket.
+	 * <p>
+	 * When a token is available this method would return {@code 0}, otherwise the amount of nanoseconds
+	 * the caller needs to wait until the next token becomes available is returned.
+	 *
+	 * @param now current time in nanoseconds
+	 * @return {@code 0} when token is consumed, or the amount of nanoseconds until the next token is available
+	 */
+	long tryConsume(long now) {
+		for (;;) {
+			final long current = arrival.get();
+			final long next = Math.max(current, now) + interval;
+			final long wait = next - now - period;
+
+			if (wait > 0) {
+				return wait;
+			}
+
+			if (arrival.compareAndSet(current, next)) {
+				return 0;
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "TokenBucket(limit=" + limit + ", interval=" + interval + "ns)";
+	}
+}
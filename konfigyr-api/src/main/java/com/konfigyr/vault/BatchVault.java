@@ -0,0 +1,81 @@
+package com.konfigyr.vault;
+
+import com.konfigyr.namespace.Service;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a secured configuration vault that spans multiple {@link Profile profiles} of the same
+ * {@link Service}. To access a {@link BatchVault} instance, please use the {@link VaultAccessor}.
+ * <p>
+ * The {@link BatchVault} is used when the same logical change needs to be applied to multiple profiles,
+ * for example when a property is introduced or renamed in every environment of a service. Unlike applying
+ * the changes one {@link Vault} at a time, the changes are applied to all profiles atomically: either the
+ * state of every profile is updated or none of them is.
+ * <p>
+ * Like the {@link Vault}, implementations may hold underlying resources, callers must ensure that
+ * {@link #close()} is invoked when the vault is no longer needed, preferably using try-with-resources.
+ * Instances are not thread-safe and should be treated as short-lived, request-scoped resources.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ * @see Vault
+ * @see VaultAccessor
+ */
+@NullMarked
+public interface BatchVault extends AutoCloseable {
+
+	/**
+	 * Returns the service that owns this vault.
+	 *
+	 * @return the service, never {@literal null}.
+	 */
+	Service service();
+
+	/**
+	 * Returns the profiles for which this vault is configured.
+	 *
+	 * @return the profiles, never {@literal null}.
+	 */
+	List<Profile> profiles();
+
+	/**
+	 * Applies the given {@link PropertyChanges} directly to their target {@link Profile profiles} and
+	 * persists the results as a single atomic operation.
+	 * <p>
+	 * Each {@link PropertyChanges} targets the profile returned by {@link PropertyChanges#profile()}, which
+	 * must be one of the profiles of this vault. Each profile can be targeted only once within the same
+	 * batch. The same profile policy rules that apply to {@link Vault#apply(PropertyChanges)} apply here,
+	 * if any of the profiles does not allow direct changes, no changes are applied.
+	 * <p>
+	 * <b>Concurrency and locking:</b> This operation must be executed under the write locks of all
+	 * target profiles, which must be acquired in a consistent order to avoid deadlocks with concurrent
+	 * batches that are targeting an overlapping set of profiles.
+	 * <p>
+	 * <b>Atomicity:</b> When any of the profile states was modified while the changes were prepared,
+	 * or any of the changes can not be applied, the operation must fail without modifying any of
+	 * the profile states.
+	 * <p>
+	 * Upon successful completion, a new revision is created for each of the target profiles. A
+	 * {@link VaultEvent.ChangesApplied} event should be recorded for each profile, as well as a single
+	 * {@link VaultBatchEvent.ChangesApplied} event for the whole batch.
+	 *
+	 * @param changes the property changes to apply, must not be {@literal null} or empty
+	 * @return the results of the property change applications mapped by the profile, never {@literal null}
+	 * @throws ProfilePolicyViolationException when any of the profiles does not allow direct changes
+	 * @throws IllegalArgumentException when the changes target an unknown profile or the same profile twice
+	 */
+	Map<Profile, ApplyResult> apply(Collection<PropertyChanges> changes);
+
+	/**
+	 * Closes the vault and releases any underlying resources.
+	 *
+	 * @throws Exception if an error occurs while releasing resources
+	 */
+	@Override
+	void close() throws Exception;
+
+}
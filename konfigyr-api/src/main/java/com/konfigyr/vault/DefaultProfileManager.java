@@ -116,6 +116,40 @@ class DefaultProfileManager implements ProfileManager {
 
 		assertServiceExists(definition.service());
 
+		final Profile profile = insert(definition);
+
+		log.info(CREATED, "Successfully created new profile {} from {}", profile.id(), definition);
+
+		publisher.publishEvent(new ProfileEvent.Created(profile));
+
+		return profile;
+	}
+
+	@Override
+	@Transactional(label = "vault.profile-create")
+	public Profile create(ProfileDefinition definition, ProfileSource source) {
+		if (log.isDebugEnabled()) {
+			log.debug("Attempting to create profile from: {} using source profile: {}", definition, source.profile());
+		}
+
+		assertServiceExists(definition.service());
+
+		if (!definition.service().equals(source.profile().service())) {
+			throw new ProfileNotFoundException(source.profile().id());
+		}
+
+		final Profile profile = insert(definition);
+
+		log.info(CREATED, "Successfully created new profile {} from {} using source profile {} at revision {}",
+				profile.id(), definition, source.profile().id(), source.revision());
+
+		publisher.publishEvent(new ProfileEvent.Created(profile, source));
+
+		return profile;
+	}
+
+	private Profile insert(ProfileDefinition definition) {
+
 		final Profile profile;
 
 		try {
@@ -144,10 +178,6 @@ class DefaultProfileManager implements ProfileManager {
 
 		Assert.state(profile != null, () -> "Could not create profile from: " + definition);
 
-		log.info(CREATED, "Successfully created new profile {} from {}", profile.id(), definition);
-
-		publisher.publishEvent(new ProfileEvent.Created(profile));
-
 		return profile;
 	}
 
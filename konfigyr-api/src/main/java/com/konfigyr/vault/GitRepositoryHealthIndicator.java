@@ -1,7 +1,8 @@
 package com.konfigyr.vault;
 
-import lombok.RequiredArgsConstructor;
+import com.konfigyr.vault.state.GitRepositoryMaintenance;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import org.springframework.boot.health.contributor.AbstractHealthIndicator;
 import org.springframework.boot.health.contributor.Health;
 import org.springframework.util.unit.DataUnit;
@@ -9,9 +10,12 @@ import org.springframework.util.unit.DataUnit;
 import java.nio.file.FileStore;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @NullMarked
-@RequiredArgsConstructor
 class GitRepositoryHealthIndicator extends AbstractHealthIndicator {
 
 	static final DataUnit[] DATA_UNITS = {
@@ -21,7 +25,22 @@ class GitRepositoryHealthIndicator extends AbstractHealthIndicator {
 			DataUnit.TERABYTES
 	};
 
+	/**
+	 * Maximum number of repositories, with the most loose objects, whose statistics are reported.
+	 */
+	static final int REPORTED_REPOSITORIES = 10;
+
 	private final Path repositoryDirectory;
+	private final @Nullable GitRepositoryMaintenance maintenance;
+
+	GitRepositoryHealthIndicator(Path repositoryDirectory) {
+		this(repositoryDirectory, null);
+	}
+
+	GitRepositoryHealthIndicator(Path repositoryDirectory, @Nullable GitRepositoryMaintenance maintenance) {
+		this.repositoryDirectory = repositoryDirectory;
+		this.maintenance = maintenance;
+	}
 
 	@Override
 	protected void doHealthCheck(Health.Builder builder) throws Exception {
@@ -45,6 +64,23 @@ class GitRepositoryHealthIndicator extends AbstractHealthIndicator {
 				.withDetail("directory", repositoryDirectory.toString())
 				.withDetail("usableSpace", formatBytes(store.getUsableSpace()))
 				.withDetail("totalSpace", formatBytes(store.getTotalSpace()));
+
+		if (maintenance != null) {
+			builder.withDetail("maintenance", describeMaintenance(maintenance));
+		}
+	}
+
+	private static Map<String, Object> describeMaintenance(GitRepositoryMaintenance maintenance) {
+		final List<GitRepositoryMaintenance.Statistics> statistics = maintenance.statistics();
+		final Instant lastRun = maintenance.lastRun();
+		final Map<String, Object> details = new LinkedHashMap<>();
+
+		details.put("lastRun", lastRun == null ? "never" : lastRun.toString());
+		details.put("repositories", statistics.size());
+		details.put("pending", statistics.stream().filter(maintenance::requiresMaintenance).count());
+		details.put("statistics", statistics.stream().limit(REPORTED_REPOSITORIES).toList());
+
+		return details;
 	}
 
 	private static String formatBytes(long bytes) {
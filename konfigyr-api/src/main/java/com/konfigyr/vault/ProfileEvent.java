@@ -5,7 +5,9 @@ import com.konfigyr.entity.EntityEvent;
 import com.konfigyr.entity.EntityId;
 import org.jmolecules.event.annotation.DomainEvent;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 
+import java.util.Optional;
 import java.util.function.Supplier;
 
 /**
@@ -41,6 +43,8 @@ public sealed abstract class ProfileEvent extends EntityEvent implements Supplie
 	@DomainEvent(name = "profile-created", namespace = "vault")
 	public static final class Created extends ProfileEvent {
 
+		private final @Nullable ProfileSource source;
+
 		/**
 		 * Create a new {@link Created} event with the {@link EntityId entity identifier} of the
 		 * {@link Profile} that was just created by the {@link ProfileManager}.
@@ -48,7 +52,31 @@ public sealed abstract class ProfileEvent extends EntityEvent implements Supplie
 		 * @param profile the created profile.
 		 */
 		public Created(Profile profile) {
+			this(profile, null);
+		}
+
+		/**
+		 * Create a new {@link Created} event with the {@link EntityId entity identifier} of the
+		 * {@link Profile} that was just created by the {@link ProfileManager} and the {@link ProfileSource}
+		 * from which its configuration state should be branched.
+		 *
+		 * @param profile the created profile.
+		 * @param source the source of the profile configuration state, can be {@literal null}.
+		 */
+		public Created(Profile profile, @Nullable ProfileSource source) {
 			super(profile);
+			this.source = source;
+		}
+
+		/**
+		 * Returns the {@link ProfileSource} from which the configuration state of the created {@link Profile}
+		 * should be branched. When empty, the profile starts with an empty configuration state.
+		 *
+		 * @return the profile source, never {@literal null}.
+		 */
+		@NonNull
+		public Optional<ProfileSource> source() {
+			return Optional.ofNullable(source);
 		}
 	}
 
@@ -67,6 +67,23 @@ public interface ProfileManager {
 	@DomainEventPublisher(publishes = "vault.profile-created")
 	Profile create(ProfileDefinition definition);
 
+	/**
+	 * Creates a new {@link Profile} using the given definition, which configuration state is branched
+	 * from the {@link ProfileSource source profile}.
+	 * <p>
+	 * The source profile must be owned by the same {@link Service} as the profile that is being created. The
+	 * implementations of this interface should publish an {@link ProfileEvent.Created} containing the
+	 * {@link ProfileSource} when a {@link Profile} was successfully created.
+	 *
+	 * @param definition definition used to create the profile, can't be {@literal null}
+	 * @param source the profile from which the configuration state is branched, can't be {@literal null}
+	 * @return created profile, never {@literal null}
+	 * @throws ProfileExistsException when there is already a {@link Profile} with the same slug
+	 * @throws ProfileNotFoundException when the source {@link Profile} is not owned by the same {@link Service}
+	 */
+	@DomainEventPublisher(publishes = "vault.profile-created")
+	Profile create(ProfileDefinition definition, ProfileSource source);
+
 	/**
 	 * Updates an existing {@link Profile} using the given definition.
 	 * <p>
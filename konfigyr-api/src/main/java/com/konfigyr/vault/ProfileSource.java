@@ -0,0 +1,35 @@
+package com.konfigyr.vault;
+
+import com.konfigyr.security.AuthenticatedPrincipal;
+import org.jmolecules.ddd.annotation.ValueObject;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Record that describes the existing {@link Profile} from which the configuration state of a newly created
+ * {@link Profile} should be branched.
+ * <p>
+ * The new profile starts from the configuration state of the source profile at the given revision, or at its
+ * latest revision when one is not specified. The configuration state is not copied, the new profile simply
+ * points to the same revision as the source profile.
+ *
+ * @param profile the profile from which the configuration state is branched, can't be {@literal null}.
+ * @param revision the revision of the source profile, can be {@literal null} to use the latest revision.
+ * @param author the principal that requested the profile to be created, can't be {@literal null}.
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ **/
+@ValueObject
+public record ProfileSource(
+		@NonNull Profile profile,
+		@Nullable String revision,
+		@NonNull AuthenticatedPrincipal author
+) implements Serializable {
+
+	@Serial
+	private static final long serialVersionUID = -2913750371520463982L;
+
+}
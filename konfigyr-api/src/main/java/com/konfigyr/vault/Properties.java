@@ -2,7 +2,6 @@ package com.konfigyr.vault;
 
 
 import com.konfigyr.crypto.KeysetOperations;
-import com.konfigyr.io.ByteArray;
 import lombok.EqualsAndHashCode;
 import org.apache.commons.collections4.OrderedMapIterator;
 import org.apache.commons.collections4.map.LinkedMap;
@@ -12,15 +11,11 @@ import org.springframework.core.io.InputStreamSource;
 import org.springframework.util.Assert;
 
 import java.io.*;
-import java.nio.charset.CharsetDecoder;
-import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiConsumer;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Represents an immutable representation of configuration properties and their encrypted value states.
@@ -62,6 +57,10 @@ import java.util.regex.Pattern;
  *          of properties, ensuring that the output file remains stable across writes.
  *      </li>
  * </ul>
+ * The state is read and written by the {@link PropertiesCodec} that operates directly on the serialized
+ * bytes, without any intermediate representation of the sealed property values. The state is stored using
+ * the compact {@link Format#BINARY binary format}, while states that were written in the
+ * {@link Format#TEXT text format} are still supported when reading.
  *
  * @author Vladimir Spasic
  * @since 1.0.0
@@ -71,13 +70,6 @@ import java.util.regex.Pattern;
 @EqualsAndHashCode
 public final class Properties implements InputStreamSource, Iterable<String> {
 
-	private static final Pattern SEALED_PROPERTY_VALUE_PATTERN =
-			Pattern.compile("\\{crypto:(?<crypto>[^,]+),\\s*checksum:(?<checksum>[^}]+)}");
-
-	private static final CharsetDecoder STRICT_DECODER = StandardCharsets.UTF_8.newDecoder()
-			.onMalformedInput(CodingErrorAction.REPORT)
-			.onUnmappableCharacter(CodingErrorAction.REPORT);
-
 	private final LinkedMap<String, PropertyValue> properties;
 
 	/**
@@ -90,7 +82,19 @@ public final class Properties implements InputStreamSource, Iterable<String> {
 	 * @throws IOException when there is an I/O error while reading the serialized properties.
 	 */
 	public static Properties from(String contents) throws IOException {
-		return from(new StringReader(contents));
+		return from(contents.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Creates a new {@link Properties} instance from the given serialized state. The format of the
+	 * serialized state is detected automatically, see {@link Format#detect(byte[])}.
+	 *
+	 * @param state the serialized properties state, must not be {@literal null}.
+	 * @return the deserialized properties, never {@literal null}.
+	 * @throws IOException when the serialized state contains malformed UTF-8 byte sequences.
+	 */
+	public static Properties from(byte[] state) throws IOException {
+		return PropertiesCodec.read(state);
 	}
 
 	/**
@@ -116,7 +120,9 @@ public final class Properties implements InputStreamSource, Iterable<String> {
 	 * @throws IOException when there is an I/O error while reading the serialized properties.
 	 */
 	public static Properties from(InputStream is) throws IOException {
-		return from(new InputStreamReader(is, STRICT_DECODER));
+		try (is) {
+			return from(is.readAllBytes());
+		}
 	}
 
 	/**
@@ -129,30 +135,13 @@ public final class Properties implements InputStreamSource, Iterable<String> {
 	 * @throws IOException when there is an I/O error while reading the serialized properties.
 	 */
 	public static Properties from(Reader reader) throws IOException {
-		final Properties.Builder builder = Properties.builder();
-
-		try (BufferedReader br = new BufferedReader(reader)) {
-			String line;
-
-			while ((line = br.readLine()) != null) {
-				line = line.stripLeading();
-				// just in case if the properties were written via java.util.Properties...
-				if (line.isEmpty() || line.startsWith("#") || line.startsWith("!")) {
-					continue;
-				}
-
-				int pivot = findPivot(line);
-
-				if (pivot != -1) {
-					builder.add(
-							unescape(line.substring(0, pivot).trim()),
-							parse(line.substring(pivot + 1).trim())
-					);
-				}
-			}
+		final StringWriter writer = new StringWriter();
+
+		try (reader) {
+			reader.transferTo(writer);
 		}
 
-		return builder.build();
+		return from(writer.toString());
 	}
 
 	/**
@@ -201,7 +190,8 @@ public final class Properties implements InputStreamSource, Iterable<String> {
 	 * Applies the given {@link PropertyChanges} to this {@link Properties} instance.
 	 * <p>
 	 * This method would use the {@link KeysetOperations} to seal the property values that should be
-	 * added or modified and return a new {@link Properties} instance with the updated values.
+	 * added or modified and return a new {@link Properties} instance with the updated values. Property
+	 * values of changes that were already sealed are applied without being sealed again.
 	 *
 	 * @param changes changes to be applied to this {@link Properties} instance, cannot be {@literal null}.
 	 * @param keyset keyset operations used to seal the property values, cannot be {@literal null}.
@@ -219,27 +209,17 @@ public final class Properties implements InputStreamSource, Iterable<String> {
 			switch (change.operation()) {
 				case CREATE:
 					Assert.isNull(previous, "Property '%s' already exists".formatted(change.name()));
-					Assert.hasText(change.value(), "Property value must not be null or empty");
 
-					properties.put(change.name(), PropertyValue.create(
-							changes.profile().id(),
-							change.name(),
-							change.value()
-					).seal(keyset));
+					properties.put(change.name(), resolveValue(changes.profile(), change, keyset));
 
 					break;
 				case MODIFY:
 					Assert.notNull(previous, "Property '%s' does not exist".formatted(change.name()));
-					Assert.hasText(change.value(), "Property value must not be null or empty");
 
-					final PropertyValue value = PropertyValue.create(
-							changes.profile().id(),
-							change.name(),
-							change.value()
-					);
+					final PropertyValue value = resolveValue(changes.profile(), change, keyset);
 
 					if (!previous.checksum().equals(value.checksum())) {
-						properties.put(change.name(), value.seal(keyset));
+						properties.put(change.name(), value);
 					}
 
 					break;
@@ -256,51 +236,63 @@ public final class Properties implements InputStreamSource, Iterable<String> {
 	}
 
 	/**
-	 * Converts this {@link Properties} instance to an {@link InputStream}. The returned stream can
-	 * be safely read or stored at rest as the property values are encrypted and sealed.
+	 * Resolves the sealed value of the property that is being added or modified. Values that were already
+	 * sealed by the {@link Vault} are used as is, while the plain values are sealed using the keyset.
+	 */
+	private static PropertyValue resolveValue(Profile profile, PropertyChange change, KeysetOperations keyset) {
+		final PropertyValue sealed = change.sealed();
+
+		if (sealed != null) {
+			Assert.isTrue(sealed.isSealed(), "Value for '%s' property is not sealed".formatted(change.name()));
+			return sealed;
+		}
+
+		Assert.hasText(change.value(), "Property value must not be null or empty");
+
+		return PropertyValue.create(profile.id(), change.name(), change.value()).seal(keyset);
+	}
+
+	/**
+	 * Converts this {@link Properties} instance to an {@link InputStream} using the {@link Format#BINARY}
+	 * serialization format. The returned stream can be safely read or stored at rest as the property values
+	 * are encrypted and sealed.
 	 *
 	 * @return the input stream containing the property values, never {@literal null}.
 	 * @throws IOException when there is an I/O error while generating the serialized properties state.
 	 */
 	@Override
 	public InputStream getInputStream() throws IOException {
-		try (ByteArrayOutputStream output = new ByteArrayOutputStream()) {
-			transferTo(output);
-			return new ByteArrayInputStream(output.toByteArray());
-		}
+		return new ByteArrayInputStream(PropertiesCodec.write(this, Format.BINARY));
+	}
+
+	/**
+	 * Transfer this {@link Properties} instance to the given destination {@link OutputStream} using the
+	 * {@link Format#BINARY} serialization format.
+	 *
+	 * @param os the output stream to transfer the serialized properties to, must not be {@literal null}.
+	 * @throws IOException when there is an I/O error while transferring the serialized properties state.
+	 * @see #transferTo(OutputStream, Format)
+	 */
+	public void transferTo(OutputStream os) throws IOException {
+		transferTo(os, Format.BINARY);
 	}
 
 	/**
-	 * Transfer this {@link Properties} instance to the given destination {@link OutputStream}.
+	 * Transfer this {@link Properties} instance to the given destination {@link OutputStream} using the
+	 * given serialization {@link Format}.
 	 * <p>
 	 * The data recieved by the target {@link OutputStream} does not contain sensitive information
 	 * about the property values. The property values are encrypted and sealed, and can only be
 	 * decrypted using the configured {@link com.konfigyr.crypto.Keyset}.
 	 *
 	 * @param os the output stream to transfer the serialized properties to, must not be {@literal null}.
+	 * @param format the serialization format to be used, must not be {@literal null}.
 	 * @throws IOException when there is an I/O error while transferring the serialized properties state.
 	 */
-	public void transferTo(OutputStream os) throws IOException {
-		try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8))) {
-			final OrderedMapIterator<String, PropertyValue> iterator = iterator();
-
-			while (iterator.hasNext()) {
-				writer.write(escape(iterator.next()));
-				writer.write("=");
-
-				final PropertyValue value = iterator.getValue();
-				Assert.state(value.isSealed(), () ->
-						"Attempted to serialize unsealed property value for property: " + iterator.getKey());
-
-				writer.write("{crypto:");
-				writer.write(value.get().encodeHex());
-				writer.write(",checksum:");
-				writer.write(value.checksum().encodeHex());
-				writer.write("}");
-				writer.newLine();
-			}
-
-			writer.flush();
+	public void transferTo(OutputStream os, Format format) throws IOException {
+		try (os) {
+			os.write(PropertiesCodec.write(this, format));
+			os.flush();
 		}
 	}
 
@@ -323,49 +315,34 @@ public final class Properties implements InputStreamSource, Iterable<String> {
 		return "Properties(" + properties + ")";
 	}
 
-	private static int findPivot(String line) {
-		for (int i = 0; i < line.length(); i++) {
-			char c = line.charAt(i);
-			if (c == '=' || c == ':') {
-				if (i == 0 || line.charAt(i - 1) != '\\') {
-					return i;
-				}
-			}
-		}
-		return -1;
-	}
-
-	private static String escape(String input) {
-		return input.replace("\\", "\\\\")
-				.replace("\n", "\\n")
-				.replace("\r", "\\r")
-				.replace("\t", "\\t")
-				.replace("=", "\\=");
-	}
-
-	private static String unescape(String input) {
-		return input.replace("\\n", "\n")
-				.replace("\\r", "\r")
-				.replace("\\t", "\t")
-				.replace("\\=", "=")
-				.replace("\\\\", "\\");
-	}
-
-	private static PropertyValue parse(String value) {
-		final Matcher matcher = SEALED_PROPERTY_VALUE_PATTERN.matcher(value);
-
-		if (matcher.matches()) {
-			try {
-				return PropertyValue.sealed(
-						ByteArray.fromHexString(matcher.group("crypto")),
-						ByteArray.fromHexString(matcher.group("checksum"))
-				);
-			} catch (Exception ex) {
-				throw new IllegalArgumentException("Invalid serialized property value of: " + value, ex);
-			}
+	/**
+	 * Enumeration of the supported serialization formats of the {@link Properties} state.
+	 */
+	public enum Format {
+
+		/**
+		 * Compact and versioned binary format that stores raw ciphertext and checksum bytes of the sealed
+		 * values. This format is used when the state is stored in the {@link com.konfigyr.vault.state.StateRepository}.
+		 */
+		BINARY,
+
+		/**
+		 * Line based and UTF-8 encoded format, where sealed values are written as hexadecimal encoded
+		 * {@code {crypto:<hex>,checksum:<hex>}} strings. This format is human-readable and is used to
+		 * present the state, like when displaying merge conflicts.
+		 */
+		TEXT;
+
+		/**
+		 * Detects the serialization format of the given serialized {@link Properties} state.
+		 *
+		 * @param state the serialized properties state, must not be {@literal null}.
+		 * @return the detected serialization format, never {@literal null}.
+		 */
+		public static Format detect(byte[] state) {
+			return PropertiesCodec.isBinary(state) ? BINARY : TEXT;
 		}
 
-		throw new IllegalArgumentException("Invalid serialized property value of: " + value);
 	}
 
 	public static final class Builder {
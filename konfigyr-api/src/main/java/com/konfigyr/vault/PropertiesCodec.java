@@ -0,0 +1,664 @@
+package com.konfigyr.vault;
+
+import com.konfigyr.io.ByteArray;
+import org.apache.commons.collections4.OrderedMapIterator;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.util.Assert;
+
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Single-pass codec that reads and writes the serialized {@link Properties} state directly on bytes.
+ * <p>
+ * The serialized state is stored in the Git repository of the service and is read every time the configuration
+ * cache misses, which is why this codec avoids regular expressions, line buffers and intermediate strings for the
+ * sealed values. The writers compute the exact size of the serialized state upfront so that it is written into
+ * a single array.
+ * <p>
+ * The state can be serialized in two formats, see {@link Properties.Format}. The reader detects the format
+ * using the magic header of the binary format, which allows the existing text states to be read until they
+ * are rewritten in the binary format by the next change.
+ * <h3>Binary format</h3>
+ * The binary format starts with the {@code 0x00 'K' 'F' 'G'} magic header and the format version byte, followed
+ * by the number of properties. Each property is then written as a length prefixed UTF-8 encoded name, the raw
+ * ciphertext and the raw checksum of the sealed value. All lengths and counts are unsigned variable length
+ * integers, using 7 bits per byte with the most significant bit marking that more bytes follow.
+ * <p>
+ * The leading {@code NUL} byte is never present in the text format and makes Git, and its merge machinery,
+ * treat the state as binary content.
+ * <h3>Text format</h3>
+ * The text format is fully compatible with the one that was produced by the original line based implementation:
+ * <ul>
+ *     <li>Lines are terminated by {@code \n}, {@code \r} or {@code \r\n}.</li>
+ *     <li>Leading whitespace is ignored, as well as blank lines and comments starting with {@code #} or {@code !}.</li>
+ *     <li>
+ *         Property name and value are separated by the first {@code =} or {@code :} character that is not
+ *         preceded by a backslash. Lines without a separator are ignored.
+ *     </li>
+ *     <li>
+ *         Property names are escaped for backslashes, newlines, carriage returns, tabs and {@code =} characters.
+ *     </li>
+ *     <li>Values must have the {@code {crypto:<hex>,checksum:<hex>}} form.</li>
+ * </ul>
+ * The input is strictly validated to be UTF-8 encoded, malformed byte sequences result in a
+ * {@link MalformedInputException} before any property is read.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ * @see Properties
+ */
+@NullMarked
+final class PropertiesCodec {
+
+	private static final byte[] MAGIC = {0x00, 'K', 'F', 'G'};
+	private static final byte VERSION = 1;
+
+	private static final byte[] CRYPTO_PREFIX = "{crypto:".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] CHECKSUM_PREFIX = "checksum:".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] CHECKSUM_SEPARATOR = ",checksum:".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+	private static final byte[] HEX_VALUES = new byte[128];
+	private static final boolean[] WHITESPACE = new boolean[128];
+
+	static {
+		Arrays.fill(HEX_VALUES, (byte) -1);
+
+		for (int i = 0; i < HEX_DIGITS.length; i++) {
+			HEX_VALUES[HEX_DIGITS[i]] = (byte) i;
+		}
+
+		for (int i = 0; i < WHITESPACE.length; i++) {
+			WHITESPACE[i] = Character.isWhitespace(i);
+		}
+	}
+
+	private PropertiesCodec() {
+		// noop
+	}
+
+	/**
+	 * Reads the {@link Properties} from the serialized state, the format of the state is detected by the
+	 * presence of the binary format magic header.
+	 *
+	 * @param data the serialized properties state, can't be {@literal null}
+	 * @return the deserialized properties, never {@literal null}.
+	 * @throws MalformedInputException when the state contains malformed UTF-8 byte sequences
+	 * @throws IllegalArgumentException when the state is corrupted or contains an invalid sealed property value
+	 */
+	static Properties read(byte[] data) throws MalformedInputException {
+		return isBinary(data) ? readBinary(data) : readText(data);
+	}
+
+	/**
+	 * Checks if the serialized state starts with the binary format magic header.
+	 *
+	 * @param data the serialized properties state, can't be {@literal null}
+	 * @return {@literal true} when the state is in the binary format, {@literal false} otherwise.
+	 */
+	static boolean isBinary(byte[] data) {
+		return startsWith(data, 0, data.length, MAGIC);
+	}
+
+	/**
+	 * Writes the {@link Properties} in the given serialization {@link Properties.Format}.
+	 *
+	 * @param properties the properties to serialize, can't be {@literal null}
+	 * @param format the serialization format, can't be {@literal null}
+	 * @return the serialized properties state, never {@literal null}.
+	 * @throws IllegalStateException when the properties contain an unsealed property value
+	 */
+	static byte[] write(Properties properties, Properties.Format format) {
+		return switch (format) {
+			case BINARY -> writeBinary(properties);
+			case TEXT -> writeText(properties);
+		};
+	}
+
+	private static Properties readText(byte[] data) throws MalformedInputException {
+		validate(data, 0, data.length);
+
+		final Properties.Builder builder = Properties.builder();
+		int position = 0;
+
+		while (position < data.length) {
+			int end = position;
+
+			while (end < data.length && data[end] != '\n' && data[end] != '\r') {
+				end++;
+			}
+
+			// the \r\n line terminator produces an empty line that is skipped by the line reader
+			readLine(data, position, end, builder);
+			position = end + 1;
+		}
+
+		return builder.build();
+	}
+
+	private static Properties readBinary(byte[] data) throws MalformedInputException {
+		final BinaryReader reader = new BinaryReader(data, MAGIC.length);
+		final int version = reader.readByte();
+
+		if (version != VERSION) {
+			throw new IllegalArgumentException("Unsupported serialized properties format version: " + version);
+		}
+
+		final Properties.Builder builder = Properties.builder();
+		final int count = reader.readLength();
+
+		for (int i = 0; i < count; i++) {
+			final int nameLength = reader.readLength();
+			final int nameOffset = reader.skip(nameLength);
+
+			validate(data, nameOffset, nameOffset + nameLength);
+
+			final String name = new String(data, nameOffset, nameLength, StandardCharsets.UTF_8);
+			final byte[] value = reader.readBytes(reader.readLength());
+			final byte[] checksum = reader.readBytes(reader.readLength());
+
+			try {
+				builder.add(name, PropertyValue.sealed(new ByteArray(value), new ByteArray(checksum)));
+			} catch (IllegalArgumentException ex) {
+				throw new IllegalArgumentException("Invalid serialized property value for: " + name, ex);
+			}
+		}
+
+		if (reader.position != data.length) {
+			throw new IllegalArgumentException("Invalid serialized properties state, found " +
+					(data.length - reader.position) + " unexpected trailing bytes");
+		}
+
+		return builder.build();
+	}
+
+	private static byte[] writeBinary(Properties properties) {
+		final byte[][] names = new byte[properties.size()][];
+
+		OrderedMapIterator<String, PropertyValue> iterator = properties.iterator();
+		int size = MAGIC.length + 1 + lengthOf(properties.size());
+
+		for (int i = 0; iterator.hasNext(); i++) {
+			final String name = iterator.next();
+			final PropertyValue value = assertSealed(name, iterator.getValue());
+
+			names[i] = name.getBytes(StandardCharsets.UTF_8);
+			size += lengthOf(names[i].length) + names[i].length
+					+ lengthOf(value.get().size()) + value.get().size()
+					+ lengthOf(value.checksum().size()) + value.checksum().size();
+		}
+
+		final byte[] buffer = new byte[size];
+		int position = append(buffer, 0, MAGIC);
+		buffer[position++] = VERSION;
+		position = appendLength(buffer, position, properties.size());
+
+		iterator = properties.iterator();
+
+		for (int i = 0; iterator.hasNext(); i++) {
+			iterator.next();
+
+			final PropertyValue value = iterator.getValue();
+
+			position = appendLength(buffer, position, names[i].length);
+			position = append(buffer, position, names[i]);
+			position = appendLengthPrefixed(buffer, position, value.get().array());
+			position = appendLengthPrefixed(buffer, position, value.checksum().array());
+		}
+
+		return buffer;
+	}
+
+	private static byte[] writeText(Properties properties) {
+		final byte[] separator = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+		final byte[][] names = new byte[properties.size()][];
+
+		OrderedMapIterator<String, PropertyValue> iterator = properties.iterator();
+		int size = 0;
+
+		for (int i = 0; iterator.hasNext(); i++) {
+			final String name = iterator.next();
+			final PropertyValue value = assertSealed(name, iterator.getValue());
+
+			names[i] = escape(name);
+			size += names[i].length + 1 + CRYPTO_PREFIX.length + value.get().size() * 2
+					+ CHECKSUM_SEPARATOR.length + value.checksum().size() * 2 + 1 + separator.length;
+		}
+
+		final byte[] buffer = new byte[size];
+		iterator = properties.iterator();
+		int position = 0;
+
+		for (int i = 0; iterator.hasNext(); i++) {
+			iterator.next();
+
+			final PropertyValue value = iterator.getValue();
+
+			position = append(buffer, position, names[i]);
+			buffer[position++] = '=';
+			position = append(buffer, position, CRYPTO_PREFIX);
+			position = appendHex(buffer, position, value.get().array());
+			position = append(buffer, position, CHECKSUM_SEPARATOR);
+			position = appendHex(buffer, position, value.checksum().array());
+			buffer[position++] = '}';
+			position = append(buffer, position, separator);
+		}
+
+		return buffer;
+	}
+
+	private static PropertyValue assertSealed(String name, PropertyValue value) {
+		Assert.state(value.isSealed(), () -> "Attempted to serialize unsealed property value for property: " + name);
+		return value;
+	}
+
+	private static void readLine(byte[] data, int start, int end, Properties.Builder builder) {
+		start = skipWhitespace(data, start, end);
+
+		// just in case if the properties were written via java.util.Properties...
+		if (start == end || data[start] == '#' || data[start] == '!') {
+			return;
+		}
+
+		final int pivot = findPivot(data, start, end);
+
+		if (pivot == -1) {
+			return;
+		}
+
+		final int nameStart = trimStart(data, start, pivot);
+		final int valueStart = trimStart(data, pivot + 1, end);
+
+		final String name = readName(data, nameStart, trimEnd(data, nameStart, pivot));
+		final PropertyValue value = readValue(data, valueStart, trimEnd(data, valueStart, end));
+
+		builder.add(name, value);
+	}
+
+	private static int findPivot(byte[] data, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if ((data[i] == '=' || data[i] == ':') && (i == start || data[i - 1] != '\\')) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static String readName(byte[] data, int start, int end) {
+		final String name = new String(data, start, end - start, StandardCharsets.UTF_8);
+
+		for (int i = start; i < end; i++) {
+			if (data[i] == '\\') {
+				return unescape(name);
+			}
+		}
+
+		return name;
+	}
+
+	private static PropertyValue readValue(byte[] data, int start, int end) {
+		// matches the {crypto:<hex>,\s*checksum:<hex>} value, where the ciphertext is terminated by the first
+		// comma and the checksum by the first closing brace that must also be the last value character
+		if (startsWith(data, start, end, CRYPTO_PREFIX)) {
+			final int crypto = start + CRYPTO_PREFIX.length;
+			final int comma = indexOf(data, (byte) ',', crypto, end);
+
+			if (comma > crypto) {
+				int position = comma + 1;
+
+				while (position < end && isPatternWhitespace(data[position])) {
+					position++;
+				}
+
+				if (startsWith(data, position, end, CHECKSUM_PREFIX)) {
+					final int checksum = position + CHECKSUM_PREFIX.length;
+					final int brace = indexOf(data, (byte) '}', checksum, end);
+
+					if (brace > checksum && brace == end - 1) {
+						try {
+							return PropertyValue.sealed(
+									decodeHex(data, crypto, comma),
+									decodeHex(data, checksum, brace)
+							);
+						} catch (Exception ex) {
+							throw invalidValue(data, start, end, ex);
+						}
+					}
+				}
+			}
+		}
+
+		throw invalidValue(data, start, end, null);
+	}
+
+	private static ByteArray decodeHex(byte[] data, int start, int end) {
+		final int length = end - start;
+
+		if (length % 2 == 0) {
+			final byte[] bytes = new byte[length / 2];
+
+			for (int i = 0; i < bytes.length; i++) {
+				final int high = hexValue(data[start + i * 2]);
+				final int low = hexValue(data[start + i * 2 + 1]);
+
+				if (high == -1 || low == -1) {
+					return decodeHexString(data, start, end);
+				}
+
+				bytes[i] = (byte) ((high << 4) | low);
+			}
+
+			return new ByteArray(bytes);
+		}
+
+		return decodeHexString(data, start, end);
+	}
+
+	private static ByteArray decodeHexString(byte[] data, int start, int end) {
+		// the writer only produces lowercase hex strings, anything else is left to the generic hex decoder
+		return ByteArray.fromHexString(new String(data, start, end - start, StandardCharsets.UTF_8));
+	}
+
+	private static int hexValue(byte value) {
+		return value < 0 ? -1 : HEX_VALUES[value];
+	}
+
+	private static int appendHex(byte[] buffer, int position, byte[] bytes) {
+		for (byte value : bytes) {
+			buffer[position++] = HEX_DIGITS[(value >> 4) & 0x0F];
+			buffer[position++] = HEX_DIGITS[value & 0x0F];
+		}
+		return position;
+	}
+
+	private static int appendLengthPrefixed(byte[] buffer, int position, byte[] bytes) {
+		return append(buffer, appendLength(buffer, position, bytes.length), bytes);
+	}
+
+	private static int appendLength(byte[] buffer, int position, int length) {
+		while ((length & ~0x7F) != 0) {
+			buffer[position++] = (byte) ((length & 0x7F) | 0x80);
+			length >>>= 7;
+		}
+		buffer[position++] = (byte) length;
+		return position;
+	}
+
+	private static int lengthOf(int length) {
+		int size = 1;
+		while ((length & ~0x7F) != 0) {
+			length >>>= 7;
+			size++;
+		}
+		return size;
+	}
+
+	private static int append(byte[] buffer, int position, byte[] bytes) {
+		System.arraycopy(bytes, 0, buffer, position, bytes.length);
+		return position + bytes.length;
+	}
+
+	private static byte[] escape(String name) {
+		int length = 0;
+
+		for (int i = 0; i < name.length(); i++) {
+			final char c = name.charAt(i);
+
+			if (c >= 0x80) {
+				return escapeString(name).getBytes(StandardCharsets.UTF_8);
+			}
+
+			length += isEscaped(c) ? 2 : 1;
+		}
+
+		final byte[] bytes = new byte[length];
+		int position = 0;
+
+		for (int i = 0; i < name.length(); i++) {
+			final char c = name.charAt(i);
+
+			if (isEscaped(c)) {
+				bytes[position++] = '\\';
+				bytes[position++] = (byte) escapeCharacter(c);
+			} else {
+				bytes[position++] = (byte) c;
+			}
+		}
+
+		return bytes;
+	}
+
+	private static boolean isEscaped(char c) {
+		return c == '\\' || c == '\n' || c == '\r' || c == '\t' || c == '=';
+	}
+
+	private static char escapeCharacter(char c) {
+		return switch (c) {
+			case '\n' -> 'n';
+			case '\r' -> 'r';
+			case '\t' -> 't';
+			default -> c;
+		};
+	}
+
+	private static String escapeString(String input) {
+		final StringBuilder builder = new StringBuilder(input.length() + 8);
+
+		for (int i = 0; i < input.length(); i++) {
+			final char c = input.charAt(i);
+
+			if (isEscaped(c)) {
+				builder.append('\\').append(escapeCharacter(c));
+			} else {
+				builder.append(c);
+			}
+		}
+
+		return builder.toString();
+	}
+
+	private static String unescape(String input) {
+		// replacements are applied one after the other, the same way the original codec did, in order to
+		// read ambiguous sequences, like an escaped backslash followed by the letter n, in the same way
+		return input.replace("\\n", "\n")
+				.replace("\\r", "\r")
+				.replace("\\t", "\t")
+				.replace("\\=", "=")
+				.replace("\\\\", "\\");
+	}
+
+	private static int skipWhitespace(byte[] data, int start, int end) {
+		while (start < end) {
+			final int b = data[start] & 0xFF;
+
+			if (b < 0x80) {
+				if (!WHITESPACE[b]) {
+					return start;
+				}
+				start++;
+			} else {
+				final int length = sequenceLength(b);
+
+				if (!Character.isWhitespace(codePoint(data, start, length))) {
+					return start;
+				}
+				start += length;
+			}
+		}
+		return start;
+	}
+
+	private static int trimStart(byte[] data, int start, int end) {
+		while (start < end && (data[start] & 0xFF) <= ' ') {
+			start++;
+		}
+		return start;
+	}
+
+	private static int trimEnd(byte[] data, int start, int end) {
+		while (end > start && (data[end - 1] & 0xFF) <= ' ') {
+			end--;
+		}
+		return end;
+	}
+
+	private static boolean isPatternWhitespace(byte b) {
+		return b == ' ' || b == '\t' || b == '\n' || b == 0x0B || b == '\f' || b == '\r';
+	}
+
+	private static boolean startsWith(byte[] data, int start, int end, byte[] prefix) {
+		if (end - start < prefix.length) {
+			return false;
+		}
+
+		for (int i = 0; i < prefix.length; i++) {
+			if (data[start + i] != prefix[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int indexOf(byte[] data, byte value, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (data[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static int sequenceLength(int b) {
+		if (b >= 0xF0) {
+			return 4;
+		}
+		return b >= 0xE0 ? 3 : 2;
+	}
+
+	private static int codePoint(byte[] data, int start, int length) {
+		int codePoint = data[start] & (0xFF >> (length + 1));
+
+		for (int i = 1; i < length; i++) {
+			codePoint = (codePoint << 6) | (data[start + i] & 0x3F);
+		}
+
+		return codePoint;
+	}
+
+	/**
+	 * Validates that the data contains well-formed UTF-8 byte sequences, as defined by the table 3-7 of the
+	 * Unicode Standard, rejecting overlong encodings, surrogates and code points above {@code U+10FFFF} in the
+	 * same way as the strict UTF-8 {@link java.nio.charset.CharsetDecoder} does.
+	 */
+	private static void validate(byte[] data, int start, int end) throws MalformedInputException {
+		int position = start;
+
+		while (position < end) {
+			final int b = data[position] & 0xFF;
+
+			if (b < 0x80) {
+				position++;
+				continue;
+			}
+
+			final int length;
+			int lower = 0x80;
+			int upper = 0xBF;
+
+			if (b >= 0xC2 && b <= 0xDF) {
+				length = 2;
+			} else if (b >= 0xE0 && b <= 0xEF) {
+				length = 3;
+				if (b == 0xE0) {
+					lower = 0xA0;
+				} else if (b == 0xED) {
+					upper = 0x9F;
+				}
+			} else if (b >= 0xF0 && b <= 0xF4) {
+				length = 4;
+				if (b == 0xF0) {
+					lower = 0x90;
+				} else if (b == 0xF4) {
+					upper = 0x8F;
+				}
+			} else {
+				throw new MalformedInputException(1);
+			}
+
+			for (int i = 1; i < length; i++) {
+				if (position + i >= end) {
+					throw new MalformedInputException(i);
+				}
+
+				final int continuation = data[position + i] & 0xFF;
+
+				if (continuation < (i == 1 ? lower : 0x80) || continuation > (i == 1 ? upper : 0xBF)) {
+					throw new MalformedInputException(i);
+				}
+			}
+
+			position += length;
+		}
+	}
+
+	private static final class BinaryReader {
+		private final byte[] data;
+		private int position;
+
+		private BinaryReader(byte[] data, int position) {
+			this.data = data;
+			this.position = position;
+		}
+
+		int readByte() {
+			ensureAvailable(1);
+			return data[position++] & 0xFF;
+		}
+
+		int readLength() {
+			int length = 0;
+
+			for (int shift = 0; shift < 32; shift += 7) {
+				final int b = readByte();
+				length |= (b & 0x7F) << shift;
+
+				if ((b & 0x80) == 0) {
+					if (length < 0) {
+						break;
+					}
+					return length;
+				}
+			}
+
+			throw new IllegalArgumentException("Invalid serialized properties state, malformed length at: " + position);
+		}
+
+		int skip(int length) {
+			ensureAvailable(length);
+			final int offset = position;
+			position += length;
+			return offset;
+		}
+
+		byte[] readBytes(int length) {
+			final int offset = skip(length);
+			return Arrays.copyOfRange(data, offset, offset + length);
+		}
+
+		private void ensureAvailable(int length) {
+			if (length > data.length - position) {
+				throw new IllegalArgumentException("Invalid serialized properties state, expected " + length
+						+ " bytes at position " + position + " but only " + (data.length - position) + " are available");
+			}
+		}
+	}
+
+	private static IllegalArgumentException invalidValue(byte[] data, int start, int end, @Nullable Exception cause) {
+		return new IllegalArgumentException("Invalid serialized property value of: "
+				+ new String(data, start, end - start, StandardCharsets.UTF_8), cause);
+	}
+
+}
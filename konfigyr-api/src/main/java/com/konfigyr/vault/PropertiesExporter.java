@@ -0,0 +1,242 @@
+package com.konfigyr.vault;
+
+import org.apache.commons.collections4.OrderedMapIterator;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.function.UnaryOperator;
+
+/**
+ * Writes the configuration state of a {@link Profile} as a {@code .properties}, {@code YAML} or {@code JSON}
+ * document.
+ * <p>
+ * The properties are written one at a time, in the order in which they are stored in the {@link Properties}
+ * configuration state, directly to the given {@link Writer}. When the properties are exported in the unsealed
+ * form, each value is unsealed right before it is written, so the plaintext values of the entire state are
+ * never held in memory at once. The sealed values are written in their textual form, which contains the
+ * hexadecimal encoded ciphertext and the checksum: {@code {crypto:<hex>,checksum:<hex>}}.
+ * <p>
+ * The {@code YAML} document is written using flat, double-quoted, property names instead of nested mappings,
+ * as the nesting would require the entire state to be grouped by name segments before it can be written. Such
+ * documents are loaded by Spring Boot, and imported by the {@link PropertiesImporter}, in the same way as the
+ * nested ones.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@NullMarked
+public final class PropertiesExporter {
+
+	private static final HexFormat HEX = HexFormat.of();
+
+	private final Format format;
+	private final UnaryOperator<PropertyValue> unsealer;
+
+	private PropertiesExporter(Format format, UnaryOperator<PropertyValue> unsealer) {
+		this.format = format;
+		this.unsealer = unsealer;
+	}
+
+	/**
+	 * Creates a new {@link PropertiesExporter} that writes the sealed property values.
+	 *
+	 * @param format the format of the exported document, can't be {@literal null}
+	 * @return the properties exporter, never {@literal null}
+	 */
+	public static PropertiesExporter sealed(Format format) {
+		return new PropertiesExporter(format, UnaryOperator.identity());
+	}
+
+	/**
+	 * Creates a new {@link PropertiesExporter} that writes the unsealed property values. The values are
+	 * unsealed using the {@link Vault#unseal(PropertyValue)} method of the given {@link Vault}.
+	 *
+	 * @param format the format of the exported document, can't be {@literal null}
+	 * @param vault the vault used to unseal the property values, can't be {@literal null}
+	 * @return the properties exporter, never {@literal null}
+	 */
+	public static PropertiesExporter unsealed(Format format, Vault vault) {
+		return new PropertiesExporter(format, vault::unseal);
+	}
+
+	/**
+	 * Returns the format of the exported document.
+	 *
+	 * @return the export format, never {@literal null}
+	 */
+	public Format format() {
+		return format;
+	}
+
+	/**
+	 * Writes the given sealed configuration state to the {@link Writer}. The writer is flushed, but not
+	 * closed, once all the properties are written.
+	 *
+	 * @param state the sealed configuration state to export, can't be {@literal null}
+	 * @param writer the writer to which the document is written, can't be {@literal null}
+	 * @throws IOException when the document could not be written
+	 */
+	public void write(Properties state, Writer writer) throws IOException {
+		final OrderedMapIterator<String, PropertyValue> iterator = state.iterator();
+
+		if (format == Format.JSON) {
+			writer.write('{');
+		}
+
+		for (int i = 0; iterator.hasNext(); i++) {
+			final String name = iterator.next();
+			final String value = toString(name, iterator.getValue());
+
+			switch (format) {
+				case PROPERTIES -> writeProperty(writer, name, value);
+				case YAML -> writeYaml(writer, name, value);
+				case JSON -> writeJson(writer, name, value, i == 0);
+			}
+		}
+
+		if (format == Format.JSON) {
+			writer.write(state.size() == 0 ? "}" : "\n}");
+		}
+
+		writer.flush();
+	}
+
+	private String toString(String name, PropertyValue value) {
+		Assert.state(value.isSealed(), () -> "Attempted to export unsealed property value for property: " + name);
+
+		final PropertyValue result = unsealer.apply(value);
+
+		if (result.isUnsealed()) {
+			return result.toString(StandardCharsets.UTF_8);
+		}
+
+		return "{crypto:" + HEX.formatHex(result.get().array()) + ",checksum:" + HEX.formatHex(result.checksum().array()) + "}";
+	}
+
+	private static void writeProperty(Writer writer, String name, String value) throws IOException {
+		writeEscapedProperty(writer, name, true);
+		writer.write('=');
+		writeEscapedProperty(writer, value, false);
+		writer.write('\n');
+	}
+
+	private static void writeYaml(Writer writer, String name, String value) throws IOException {
+		writeQuoted(writer, name);
+		writer.write(": ");
+		writeQuoted(writer, value);
+		writer.write('\n');
+	}
+
+	private static void writeJson(Writer writer, String name, String value, boolean first) throws IOException {
+		writer.write(first ? "\n  " : ",\n  ");
+		writeQuoted(writer, name);
+		writer.write(": ");
+		writeQuoted(writer, value);
+	}
+
+	/**
+	 * Escapes the value using the rules of the {@link java.util.Properties#store(Writer, String)} method, with
+	 * the difference that the non-ASCII characters are written as they are, the document is UTF-8 encoded.
+	 */
+	private static void writeEscapedProperty(Writer writer, String value, boolean key) throws IOException {
+		for (int i = 0; i < value.length(); i++) {
+			final char c = value.charAt(i);
+
+			switch (c) {
+				case ' ' -> writer.write(key || i == 0 ? "\\ " : " ");
+				case '\t' -> writer.write("\\t");
+				case '\n' -> writer.write("\\n");
+				case '\r' -> writer.write("\\r");
+				case '\f' -> writer.write("\\f");
+				case '\\', '=', ':', '#', '!' -> {
+					writer.write('\\');
+					writer.write(c);
+				}
+				default -> {
+					if (c < 0x20) {
+						writeUnicodeEscape(writer, c);
+					} else {
+						writer.write(c);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes the value as a double-quoted string. The escaping rules of the JSON strings are used, which
+	 * also produce valid double-quoted YAML scalars.
+	 */
+	private static void writeQuoted(Writer writer, String value) throws IOException {
+		writer.write('"');
+
+		for (int i = 0; i < value.length(); i++) {
+			final char c = value.charAt(i);
+
+			switch (c) {
+				case '"' -> writer.write("\\\"");
+				case '\\' -> writer.write("\\\\");
+				case '\t' -> writer.write("\\t");
+				case '\n' -> writer.write("\\n");
+				case '\r' -> writer.write("\\r");
+				case '\f' -> writer.write("\\f");
+				case '\b' -> writer.write("\\b");
+				default -> {
+					if (c < 0x20 || (c >= 0x7f && c <= 0x9f) || c == 0x2028 || c == 0x2029 || c >= 0xfffe) {
+						writeUnicodeEscape(writer, c);
+					} else {
+						writer.write(c);
+					}
+				}
+			}
+		}
+
+		writer.write('"');
+	}
+
+	private static void writeUnicodeEscape(Writer writer, char c) throws IOException {
+		writer.write("\\u");
+		writer.write(HEX.toHexDigits(c));
+	}
+
+	/**
+	 * Enumeration of the supported formats of the exported configuration state.
+	 */
+	public enum Format {
+
+		/**
+		 * Java {@code .properties} format, as defined by the {@link java.util.Properties#load(java.io.Reader)}.
+		 */
+		PROPERTIES("properties"),
+
+		/**
+		 * {@code YAML} format, with a single mapping of flat property names to their values.
+		 */
+		YAML("yaml"),
+
+		/**
+		 * {@code JSON} format, with a single object of flat property names to their values.
+		 */
+		JSON("json");
+
+		private final String extension;
+
+		Format(String extension) {
+			this.extension = extension;
+		}
+
+		/**
+		 * Returns the file extension that is used by the documents of this format.
+		 *
+		 * @return the file extension, never {@literal null}
+		 */
+		public String extension() {
+			return extension;
+		}
+	}
+
+}
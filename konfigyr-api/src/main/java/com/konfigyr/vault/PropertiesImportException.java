@@ -0,0 +1,150 @@
+package com.konfigyr.vault;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+/**
+ * Thrown when the configuration properties that are imported into a {@link Profile} using the
+ * {@link PropertiesImporter} can not be read, do not pass the validation or when they do not
+ * contain any changes.
+ * <p>
+ * The exception collects the errors of all the imported properties, so the caller can correct them at once,
+ * instead of fixing them one by one. Errors are reported using the name of the property and the line on which
+ * the property was defined in the imported source.
+ * <p>
+ * When this exception is thrown, none of the imported properties are applied to the profile.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+public class PropertiesImportException extends VaultException {
+
+	private final Reason reason;
+	private final Profile profile;
+	private final List<Error> errors;
+
+	/**
+	 * Creates a new {@link PropertiesImportException} with the {@link Reason#INVALID_PROPERTIES} reason.
+	 *
+	 * @param profile the profile into which the properties were imported, cannot be {@literal null}.
+	 * @param errors the errors of the imported properties, cannot be {@literal null}.
+	 * @return the properties import exception, never {@literal null}.
+	 */
+	public static PropertiesImportException invalidProperties(Profile profile, List<Error> errors) {
+		return new PropertiesImportException(Reason.INVALID_PROPERTIES, profile, errors);
+	}
+
+	/**
+	 * Creates a new {@link PropertiesImportException} with the {@link Reason#NO_CHANGES} reason.
+	 *
+	 * @param profile the profile into which the properties were imported, cannot be {@literal null}.
+	 * @return the properties import exception, never {@literal null}.
+	 */
+	public static PropertiesImportException noChanges(Profile profile) {
+		return new PropertiesImportException(Reason.NO_CHANGES, profile, List.of());
+	}
+
+	/**
+	 * Creates a new {@link PropertiesImportException} with the specified reason, profile and errors.
+	 *
+	 * @param reason the reason why the import was rejected, cannot be {@literal null}.
+	 * @param profile the profile into which the properties were imported, cannot be {@literal null}.
+	 * @param errors the errors of the imported properties, cannot be {@literal null}.
+	 */
+	public PropertiesImportException(Reason reason, Profile profile, List<Error> errors) {
+		super(HttpStatus.BAD_REQUEST, reason.format(profile));
+		this.reason = reason;
+		this.profile = profile;
+		this.errors = List.copyOf(errors);
+		getBody().setProperty("reason", reason.name());
+		getBody().setProperty("errors", this.errors);
+	}
+
+	/**
+	 * Returns the reason why the import was rejected.
+	 *
+	 * @return the import rejection reason, never {@literal null}.
+	 */
+	@NonNull
+	public Reason getReason() {
+		return reason;
+	}
+
+	/**
+	 * Returns the profile into which the properties were imported.
+	 *
+	 * @return the profile, never {@literal null}.
+	 */
+	@NonNull
+	public Profile getProfile() {
+		return profile;
+	}
+
+	/**
+	 * Returns the errors of the imported properties, in the order they were found in the imported source.
+	 *
+	 * @return the import errors, never {@literal null}.
+	 */
+	@NonNull
+	public List<Error> getErrors() {
+		return errors;
+	}
+
+	@NonNull
+	@Override
+	public String getDetailMessageCode() {
+		return "problemDetail." + getClass().getName() + "." + reason.name();
+	}
+
+	@NonNull
+	@Override
+	public String getTitleMessageCode() {
+		return "problemDetail.title." + getClass().getName() + "." + reason.name();
+	}
+
+	@Override
+	public Object @Nullable [] getDetailMessageArguments() {
+		return new Object[] { profile.name() };
+	}
+
+	/**
+	 * Enumeration used to provide the reason why the properties import was rejected.
+	 */
+	public enum Reason {
+		/**
+		 * The imported source can not be parsed or contains invalid properties.
+		 */
+		INVALID_PROPERTIES("Imported properties for profile '%s' contain errors."),
+
+		/**
+		 * The imported properties match the current configuration state of the profile.
+		 */
+		NO_CHANGES("Imported properties for profile '%s' do not contain any changes.");
+
+		private final String message;
+
+		Reason(String message) {
+			this.message = message;
+		}
+
+		String format(Profile profile) {
+			return message.formatted(profile.slug());
+		}
+	}
+
+	/**
+	 * Record that describes why the imported property was rejected.
+	 *
+	 * @param pointer the name of the rejected property, can be {@literal null} when the source can not be read
+	 * @param line the line number of the imported source where the error occurred
+	 * @param detail the details of the error, can't be {@literal null}
+	 */
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public record Error(@Nullable String pointer, int line, @NonNull String detail) {
+	}
+
+}
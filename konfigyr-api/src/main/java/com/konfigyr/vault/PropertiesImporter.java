@@ -0,0 +1,495 @@
+package com.konfigyr.vault;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.Mark;
+import org.yaml.snakeyaml.error.MarkedYAMLException;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Reads the configuration properties from a {@code .properties} or a {@code YAML} source and converts them
+ * into {@link PropertyChanges} that would be applied to the configuration state of a {@link Profile}.
+ * <p>
+ * The source is read in a streaming fashion, one property at a time, without loading the entire source or an
+ * intermediate document tree into memory. Each property is validated and compared against the current
+ * {@link Properties configuration state} of the profile using its checksum, as soon as it is read:
+ * <ul>
+ *     <li>Properties that are not present in the current state are registered to be created</li>
+ *     <li>Properties whose values differ from the current state are registered to be modified</li>
+ *     <li>Properties whose values match the current state are skipped</li>
+ *     <li>
+ *         When the import is performed in the {@code replace} mode, properties present in the current state,
+ *         but not in the imported source, are registered to be removed
+ *     </li>
+ * </ul>
+ * The imported values are sealed by the {@link Vault} as soon as they are read, the plain values are never
+ * retained by the importer. The resulting {@link PropertyChanges} only contain the property names and their
+ * sealed values, which carry the checksums of the plain values.
+ * <p>
+ * Validation errors are collected for all imported properties and are reported using a single
+ * {@link PropertiesImportException}. When the source contains any invalid property, no changes are returned.
+ * The resulting {@link PropertyChanges} are expected to be applied using {@link Vault#apply(PropertyChanges)},
+ * producing a single state revision and a single change history record for the entire import.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@Slf4j
+@NullMarked
+public final class PropertiesImporter {
+
+	/**
+	 * The default maximum number of properties that can be imported at once.
+	 */
+	public static final int DEFAULT_LIMIT = 100_000;
+
+	/**
+	 * The maximum number of errors that are reported by the {@link PropertiesImportException}.
+	 */
+	static final int MAX_REPORTED_ERRORS = 100;
+
+	private final Vault vault;
+	private final Profile profile;
+	private final Properties state;
+	private final boolean replace;
+	private final int limit;
+
+	/**
+	 * Creates a new {@link PropertiesImporter} that merges the imported properties into the current state
+	 * of the given {@link Vault}.
+	 *
+	 * @param vault the vault of the profile into which the properties are imported, can't be {@literal null}
+	 * @param replace should the properties that are not present in the imported source be removed
+	 */
+	public PropertiesImporter(Vault vault, boolean replace) {
+		this(vault, replace, DEFAULT_LIMIT);
+	}
+
+	/**
+	 * Creates a new {@link PropertiesImporter} that merges the imported properties into the current state
+	 * of the given {@link Vault}.
+	 *
+	 * @param vault the vault of the profile into which the properties are imported, can't be {@literal null}
+	 * @param replace should the properties that are not present in the imported source be removed
+	 * @param limit the maximum number of properties that can be imported, must be positive
+	 */
+	public PropertiesImporter(Vault vault, boolean replace, int limit) {
+		Assert.isTrue(limit > 0, "Import limit must be a positive number");
+
+		this.vault = vault;
+		this.profile = vault.profile();
+		this.state = vault.state();
+		this.replace = replace;
+		this.limit = limit;
+	}
+
+	/**
+	 * Reads the configuration properties from the given source and converts them into {@link PropertyChanges}.
+	 *
+	 * @param reader the reader of the imported source, can't be {@literal null}
+	 * @param format the format of the imported source, can't be {@literal null}
+	 * @param subject the subject of the resulting property changes, can't be {@literal null}
+	 * @param description the description of the resulting property changes, can be {@literal null}
+	 * @return the property changes that should be applied to the profile, never {@literal null}
+	 * @throws PropertiesImportException when the source contains invalid properties or can not be parsed
+	 * @throws IOException when the source can not be read
+	 */
+	public PropertyChanges read(Reader reader, Format format, String subject, @Nullable String description)
+			throws IOException {
+		final Collector collector = new Collector(PropertyChanges.builder()
+				.profile(profile)
+				.subject(subject)
+				.description(description));
+
+		try {
+			switch (format) {
+				case PROPERTIES -> readProperties(reader, collector);
+				case YAML -> readYaml(reader, collector);
+			}
+		} catch (LimitExceededException ex) {
+			collector.error(ex.pointer, ex.line, "Import exceeds the maximum number of %d properties".formatted(limit));
+		}
+
+		return collector.complete();
+	}
+
+	/**
+	 * Parses the {@code .properties} source, following the format as defined by the
+	 * {@link java.util.Properties#load(Reader)} method, with the difference that the properties are passed to
+	 * the collector as soon as they are read, while keeping track of the line numbers.
+	 */
+	private void readProperties(Reader source, Collector collector) throws IOException {
+		final BufferedReader reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source);
+		final StringBuilder buffer = new StringBuilder();
+
+		String line;
+		int number = 0;
+		int start = 0;
+
+		while ((line = reader.readLine()) != null) {
+			number++;
+
+			final int offset = skipWhitespace(line, 0);
+
+			if (buffer.isEmpty()) {
+				if (offset == line.length() || line.charAt(offset) == '#' || line.charAt(offset) == '!') {
+					continue;
+				}
+				start = number;
+			}
+
+			if (isContinued(line)) {
+				buffer.append(line, offset, line.length() - 1);
+				continue;
+			}
+
+			buffer.append(line, offset, line.length());
+			readProperty(buffer, start, collector);
+			buffer.setLength(0);
+		}
+
+		if (!buffer.isEmpty()) {
+			readProperty(buffer, start, collector);
+		}
+	}
+
+	private void readProperty(CharSequence line, int number, Collector collector) {
+		int separator = 0;
+		boolean escaped = false;
+
+		while (separator < line.length()) {
+			final char c = line.charAt(separator);
+
+			if (escaped) {
+				escaped = false;
+			} else if (c == '\\') {
+				escaped = true;
+			} else if (c == '=' || c == ':' || isWhitespace(c)) {
+				break;
+			}
+			separator++;
+		}
+
+		int offset = skipWhitespace(line, separator);
+
+		if (offset < line.length() && (line.charAt(offset) == '=' || line.charAt(offset) == ':')) {
+			offset = skipWhitespace(line, offset + 1);
+		}
+
+		final String key, value;
+
+		try {
+			key = unescape(line, 0, separator);
+			value = unescape(line, offset, line.length());
+		} catch (IllegalArgumentException ex) {
+			collector.error(null, number, ex.getMessage());
+			return;
+		}
+
+		collector.accept(key, value, number);
+	}
+
+	/**
+	 * Parses the {@code YAML} source using the low-level event API that does not construct the document tree.
+	 * Nested mappings are flattened using the {@code .} separator, while the sequence elements are flattened
+	 * using the {@code [index]} notation, matching the way how Spring Boot is loading the YAML files.
+	 */
+	private void readYaml(Reader reader, Collector collector) {
+		final LoaderOptions options = new LoaderOptions();
+		options.setCodePointLimit(Integer.MAX_VALUE);
+		options.setAllowDuplicateKeys(true);
+
+		final Deque<Node> nodes = new ArrayDeque<>();
+		int documents = 0;
+
+		try {
+			for (Event event : new Yaml(options).parse(reader)) {
+				final int line = lineOf(event.getStartMark());
+
+				if (event instanceof DocumentStartEvent && ++documents > 1) {
+					collector.error(null, line, "Multiple YAML documents are not supported");
+					return;
+				}
+
+				if (event instanceof AliasEvent) {
+					collector.error(null, line, "YAML aliases are not supported");
+					return;
+				} else if (event instanceof ScalarEvent scalar) {
+					if (nodes.isEmpty() && isNull(scalar)) {
+						continue;
+					} else if (nodes.isEmpty()) {
+						collector.error(null, line, "YAML document must contain a mapping of properties");
+						return;
+					} else if (nodes.peek().isExpectingKey()) {
+						nodes.peek().key = scalar.getValue();
+					} else {
+						collector.accept(nodes.peek().path(), isNull(scalar) ? "" : scalar.getValue(), line);
+						nodes.peek().advance();
+					}
+				} else if (event instanceof CollectionStartEvent) {
+					final String path;
+
+					if (nodes.isEmpty() && event instanceof SequenceStartEvent) {
+						collector.error(null, line, "YAML document must contain a mapping of properties");
+						return;
+					} else if (nodes.isEmpty()) {
+						path = "";
+					} else if (nodes.peek().isExpectingKey()) {
+						collector.error(null, line, "Complex YAML mapping keys are not supported");
+						return;
+					} else {
+						path = nodes.peek().path();
+						nodes.peek().advance();
+					}
+
+					nodes.push(new Node(path, event instanceof MappingStartEvent));
+				} else if (event instanceof CollectionEndEvent) {
+					nodes.pop();
+				}
+			}
+		} catch (MarkedYAMLException ex) {
+			collector.error(null, lineOf(ex.getProblemMark()), "Invalid YAML: " + ex.getProblem());
+		} catch (YAMLException ex) {
+			collector.error(null, 0, "Invalid YAML: " + ex.getMessage());
+		}
+	}
+
+	private static boolean isContinued(String line) {
+		int slashes = 0;
+
+		for (int i = line.length() - 1; i >= 0 && line.charAt(i) == '\\'; i--) {
+			slashes++;
+		}
+
+		return slashes % 2 == 1;
+	}
+
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\f';
+	}
+
+	private static int skipWhitespace(CharSequence line, int offset) {
+		while (offset < line.length() && isWhitespace(line.charAt(offset))) {
+			offset++;
+		}
+		return offset;
+	}
+
+	private static String unescape(CharSequence line, int start, int end) {
+		final StringBuilder builder = new StringBuilder(end - start);
+
+		for (int i = start; i < end; i++) {
+			char c = line.charAt(i);
+
+			if (c == '\\' && i + 1 < end) {
+				c = line.charAt(++i);
+
+				switch (c) {
+					case 't' -> c = '\t';
+					case 'n' -> c = '\n';
+					case 'r' -> c = '\r';
+					case 'f' -> c = '\f';
+					case 'u' -> {
+						if (i + 4 >= end) {
+							throw new IllegalArgumentException("Malformed \\uxxxx escape sequence");
+						}
+						try {
+							c = (char) Integer.parseInt(line.subSequence(i + 1, i + 5).toString(), 16);
+						} catch (NumberFormatException ex) {
+							throw new IllegalArgumentException("Malformed \\uxxxx escape sequence", ex);
+						}
+						i += 4;
+					}
+					default -> {
+						// escaped character is used as is
+					}
+				}
+			}
+
+			builder.append(c);
+		}
+
+		return builder.toString();
+	}
+
+	private static boolean isNull(ScalarEvent scalar) {
+		if (!scalar.isPlain()) {
+			return false;
+		}
+
+		return switch (scalar.getValue()) {
+			case "", "~", "null", "Null", "NULL" -> true;
+			default -> false;
+		};
+	}
+
+	private static int lineOf(@Nullable Mark mark) {
+		return mark == null ? 0 : mark.getLine() + 1;
+	}
+
+	/**
+	 * Enumeration of the supported formats of the imported configuration properties source.
+	 */
+	public enum Format {
+
+		/**
+		 * Java {@code .properties} format, as defined by the {@link java.util.Properties#load(Reader)}.
+		 */
+		PROPERTIES,
+
+		/**
+		 * Single document {@code YAML} format, where nested keys are flattened to property names.
+		 */
+		YAML
+
+	}
+
+	/**
+	 * Validates the imported properties and collects the resulting property changes. Apart from the sealed
+	 * values of the changed properties, only the names of the imported properties are retained, in order to
+	 * detect duplicates and to resolve removed properties.
+	 */
+	private final class Collector {
+		private final PropertyChanges.Builder builder;
+		private final Set<String> names = new HashSet<>();
+		private final List<PropertiesImportException.Error> errors = new ArrayList<>();
+		private int count;
+		private int failures;
+		private int changes;
+
+		Collector(PropertyChanges.Builder builder) {
+			this.builder = builder;
+		}
+
+		void accept(String name, String value, int line) {
+			if (++count > limit) {
+				throw new LimitExceededException(name, line);
+			}
+
+			if (!names.add(name)) {
+				error(name, line, "Property is defined more than once");
+				return;
+			}
+
+			if (!StringUtils.hasText(value)) {
+				error(name, line, "Property value must not be empty");
+				return;
+			}
+
+			final PropertyValue imported;
+
+			try {
+				imported = PropertyValue.create(profile.id(), name, value);
+			} catch (IllegalArgumentException ex) {
+				error(name, line, "Invalid configuration property name");
+				return;
+			}
+
+			final Optional<PropertyValue> current = state.get(name);
+
+			// seal the value as soon as it is read, after that the property is only retained by its sealed value
+			if (current.isEmpty()) {
+				builder.add(PropertyChange.create(name, vault.seal(imported)));
+				changes++;
+			} else if (!imported.checksum().equals(current.get().checksum())) {
+				builder.add(PropertyChange.modify(name, vault.seal(imported)));
+				changes++;
+			}
+		}
+
+		void error(@Nullable String name, int line, String detail) {
+			if (failures++ < MAX_REPORTED_ERRORS) {
+				errors.add(new PropertiesImportException.Error(name, line, detail));
+			}
+		}
+
+		PropertyChanges complete() {
+			if (failures > 0) {
+				log.debug("Rejecting import of {} properties into profile {} due to {} errors",
+						count, profile.id(), failures);
+
+				throw PropertiesImportException.invalidProperties(profile, errors);
+			}
+
+			if (replace) {
+				state.forEachProperty((name, value) -> {
+					if (!names.contains(name)) {
+						builder.removeProperty(name);
+						changes++;
+					}
+				});
+			}
+
+			if (changes == 0) {
+				throw PropertiesImportException.noChanges(profile);
+			}
+
+			log.debug("Importing {} properties into profile {} resulted in {} changes", count, profile.id(), changes);
+
+			return builder.build();
+		}
+	}
+
+	/**
+	 * Tracks the currently parsed YAML mapping or sequence and the key or the index of the next value.
+	 */
+	private static final class Node {
+		private final String prefix;
+		private final boolean mapping;
+		private @Nullable String key;
+		private int index;
+
+		Node(String prefix, boolean mapping) {
+			this.prefix = prefix;
+			this.mapping = mapping;
+		}
+
+		boolean isExpectingKey() {
+			return mapping && key == null;
+		}
+
+		String path() {
+			if (mapping) {
+				return prefix.isEmpty() ? String.valueOf(key) : prefix + "." + key;
+			}
+			return prefix + "[" + index + "]";
+		}
+
+		void advance() {
+			if (mapping) {
+				key = null;
+			} else {
+				index++;
+			}
+		}
+	}
+
+	private static final class LimitExceededException extends RuntimeException {
+		private final String pointer;
+		private final int line;
+
+		LimitExceededException(String pointer, int line) {
+			super(null, null, false, false);
+			this.pointer = pointer;
+			this.line = line;
+		}
+	}
+
+}
@@ -1,8 +1,10 @@
 package com.konfigyr.vault;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.jmolecules.ddd.annotation.ValueObject;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
+import org.springframework.util.Assert;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -22,17 +24,37 @@ import java.io.Serializable;
  *
  * @param name the property name, must not be {@literal null}.
  * @param operation the operation to perform, must not be {@literal null}.
- * @param value the new value (if applicable), may be {@literal null} only for the {@link Operation#REMOVE} operation.
+ * @param value the new value (if applicable), may be {@literal null} only for the {@link Operation#REMOVE} operation
+ *              or when the sealed value is present.
+ * @param sealed the new value that is already sealed by the {@link Vault} (if applicable), when present it is
+ *               used instead of sealing the plain value, may be {@literal null}.
  * @author Vladimir Spasic
  * @since 1.0.0
  * @see PropertyChanges
  */
 @NullMarked
 @ValueObject
-public record PropertyChange(String name, Operation operation, @Nullable String value) implements Serializable {
+public record PropertyChange(
+		String name,
+		Operation operation,
+		@Nullable String value,
+		@JsonIgnore @Nullable PropertyValue sealed
+) implements Serializable {
 
 	@Serial
-	private static final long serialVersionUID = 5957767294740708563L;
+	private static final long serialVersionUID = 2977585930982257676L;
+
+	/**
+	 * Creates a new {@link PropertyChange} with a plain property value that would be sealed by the
+	 * {@link Vault} when the change is applied.
+	 *
+	 * @param name the property name, must not be {@literal null}.
+	 * @param operation the operation to perform, must not be {@literal null}.
+	 * @param value the new value (if applicable), may be {@literal null} only for the {@link Operation#REMOVE} operation.
+	 */
+	public PropertyChange(String name, Operation operation, @Nullable String value) {
+		this(name, operation, value, null);
+	}
 
 	/**
 	 * Enumeration that defines which operation should be performed by this property change.
@@ -66,6 +88,19 @@ public record PropertyChange(String name, Operation operation, @Nullable String
 		return new PropertyChange(name, Operation.CREATE, value);
 	}
 
+	/**
+	 * Creates a new {@link PropertyChange} instance that should add a new property with the given name
+	 * and a value that was already sealed by the {@link Vault#seal(PropertyValue)} method.
+	 *
+	 * @param name the configuration property name, cannot be {@literal null} or empty.
+	 * @param value the sealed configuration property value, cannot be {@literal null}.
+	 * @return property change that would add the property to the state, never {@literal null}.
+	 */
+	public static PropertyChange create(String name, PropertyValue value) {
+		Assert.isTrue(value.isSealed(), "Value for '%s' property is not sealed".formatted(name));
+		return new PropertyChange(name, Operation.CREATE, null, value);
+	}
+
 	/**
 	 * Creates a new {@link PropertyChange} instance that should modify an existing property with
 	 * the given name and value to the {@link Vault} state.
@@ -78,6 +113,19 @@ public record PropertyChange(String name, Operation operation, @Nullable String
 		return new PropertyChange(name, Operation.MODIFY, value);
 	}
 
+	/**
+	 * Creates a new {@link PropertyChange} instance that should modify an existing property with the given
+	 * name and a value that was already sealed by the {@link Vault#seal(PropertyValue)} method.
+	 *
+	 * @param name the configuration property name, cannot be {@literal null} or empty.
+	 * @param value the sealed configuration property value, cannot be {@literal null}.
+	 * @return property change that would modify the property to the state, never {@literal null}.
+	 */
+	public static PropertyChange modify(String name, PropertyValue value) {
+		Assert.isTrue(value.isSealed(), "Value for '%s' property is not sealed".formatted(name));
+		return new PropertyChange(name, Operation.MODIFY, null, value);
+	}
+
 	/**
 	 * Creates a new {@link PropertyChange} instance that should remove an existing property with
 	 * the given name.
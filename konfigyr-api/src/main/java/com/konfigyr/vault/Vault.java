@@ -72,6 +72,17 @@ public interface Vault extends AutoCloseable {
 	 */
 	Properties state();
 
+	/**
+	 * Returns the sealed configuration state as it was at the given revision.
+	 * <p>
+	 * The revision must be part of the change history of the profile. The returned {@link Properties}
+	 * instance contains encrypted property values that can be unsealed using {@link #unseal(PropertyValue)}.
+	 *
+	 * @param revision the revision of the configuration state, cannot be {@literal null}
+	 * @return the sealed configuration state at the given revision, never {@literal null}
+	 */
+	Properties state(String revision);
+
 	/**
 	 * Unseals encrypted property values and returns them as plain-text key-value pairs.
 	 * <p>
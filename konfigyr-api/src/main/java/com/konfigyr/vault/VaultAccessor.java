@@ -5,6 +5,8 @@ import com.konfigyr.security.AuthenticatedPrincipal;
 import org.jmolecules.ddd.annotation.Factory;
 import org.jspecify.annotations.NullMarked;
 
+import java.util.Collection;
+
 /**
  * Provides access to a {@link Vault} for a given service and profile, enforcing authorization rules
  * based on the calling {@link AuthenticatedPrincipal}.
@@ -27,7 +29,6 @@ import org.jspecify.annotations.NullMarked;
  */
 @Factory
 @NullMarked
-@FunctionalInterface
 public interface VaultAccessor {
 
 	/**
@@ -46,4 +47,20 @@ public interface VaultAccessor {
 	 */
 	Vault open(AuthenticatedPrincipal principal, Service service, Profile profile);
 
+	/**
+	 * Resolves a {@link BatchVault} for the given {@link Service} and {@link Profile profiles}, ensuring that
+	 * the provided principal is authorized.
+	 * <p>
+	 * All profiles must belong to the given service. If the principal does not have access to the specified
+	 * service or any of the profiles, an authorization exception must be thrown.
+	 *
+	 * @param principal the authenticated actor requesting access, must not be {@literal null}
+	 * @param service the target service, must not be {@literal null}
+	 * @param profiles the target profiles, must not be {@literal null} or empty
+	 * @return a {@link BatchVault} instance authorized for the given principal
+	 * @throws org.springframework.security.access.AccessDeniedException
+	 * 		if the principal is not authorized to access the Vault
+	 */
+	BatchVault open(AuthenticatedPrincipal principal, Service service, Collection<Profile> profiles);
+
 }
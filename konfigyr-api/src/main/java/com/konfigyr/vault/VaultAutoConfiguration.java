@@ -2,8 +2,16 @@ package com.konfigyr.vault;
 
 import com.konfigyr.crypto.KeysetOperationsFactory;
 import com.konfigyr.namespace.Services;
+import com.konfigyr.queue.QueueProcessorRegistration;
 import com.konfigyr.vault.changes.ChangeRequestManager;
+import com.konfigyr.vault.history.ChangeHistoryService;
+import com.konfigyr.vault.state.DatabaseRepositoryMaintenance;
+import com.konfigyr.vault.state.DatabaseStateRepositoryFactory;
+import com.konfigyr.vault.state.FileStateRepositoryFactory;
+import com.konfigyr.vault.state.GitRepositoryBackup;
+import com.konfigyr.vault.state.GitRepositoryMaintenance;
 import com.konfigyr.vault.state.StateRepositoryFactory;
+import com.konfigyr.vault.state.StateResealer;
 import com.konfigyr.vault.state.VaultStateManager;
 import com.konfigyr.vault.state.StateRepositoryEventListener;
 import lombok.RequiredArgsConstructor;
@@ -11,11 +19,13 @@ import org.jooq.DSLContext;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.health.autoconfigure.contributor.ConditionalOnEnabledHealthIndicator;
 import org.springframework.boot.health.contributor.HealthIndicator;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
 
 @AutoConfiguration
 @RequiredArgsConstructor
@@ -38,19 +48,78 @@ public class VaultAutoConfiguration {
 			ChangeRequestManager changeRequestManager,
 			KeysetOperationsFactory keysetOperationsFactory
 	) {
-		return new VaultStateManager(VaultExtension.compose(extensions), properties.getRepositoryDirectory(),
+		final StateRepositoryFactory repositories = switch (properties.getStateStorage()) {
+			case FILE -> new FileStateRepositoryFactory(properties.getRepositoryDirectory(), properties.getStateLayout());
+			case DATABASE -> new DatabaseStateRepositoryFactory(context, properties.getStateLayout(), properties.getDatabase());
+		};
+
+		return new VaultStateManager(VaultExtension.compose(extensions), repositories,
 				changeRequestManager, keysetOperationsFactory);
 	}
 
 	@Bean
-	StateRepositoryEventListener stateRepositoryEventListener(Services services, StateRepositoryFactory factory) {
-		return new StateRepositoryEventListener(services, factory);
+	StateRepositoryEventListener stateRepositoryEventListener(
+			Services services,
+			StateRepositoryFactory factory,
+			ChangeHistoryService changeHistoryService,
+			KeysetOperationsFactory keysetOperationsFactory
+	) {
+		return new StateRepositoryEventListener(services, factory, changeHistoryService, keysetOperationsFactory);
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "konfigyr.vault.state-storage", havingValue = "file", matchIfMissing = true)
+	GitRepositoryMaintenance gitRepositoryMaintenance() {
+		return new GitRepositoryMaintenance(properties.getRepositoryDirectory(), properties.getMaintenance());
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "konfigyr.vault.state-storage", havingValue = "file", matchIfMissing = true)
+	SchedulingConfigurer gitRepositoryMaintenanceScheduler(GitRepositoryMaintenance maintenance) {
+		return registrar -> registrar.addCronTask(maintenance::maintain, properties.getMaintenance().getCron());
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "konfigyr.vault.state-storage", havingValue = "database")
+	DatabaseRepositoryMaintenance databaseRepositoryMaintenance(Services services) {
+		return new DatabaseRepositoryMaintenance(context, services, properties.getMaintenance());
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "konfigyr.vault.state-storage", havingValue = "database")
+	SchedulingConfigurer databaseRepositoryMaintenanceScheduler(DatabaseRepositoryMaintenance maintenance) {
+		return registrar -> registrar.addCronTask(maintenance::maintain, properties.getMaintenance().getCron());
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "konfigyr.vault.backup.directory")
+	GitRepositoryBackup gitRepositoryBackup(Services services, StateRepositoryFactory factory) {
+		return new GitRepositoryBackup(context, services, factory, properties.getBackup());
+	}
+
+	@Bean
+	StateResealer stateResealer(
+			Services services,
+			ProfileManager profileManager,
+			StateRepositoryFactory factory,
+			KeysetOperationsFactory keysetOperationsFactory
+	) {
+		return new StateResealer(context, services, profileManager, factory, keysetOperationsFactory,
+				applicationEventPublisher, properties.getReseal());
+	}
+
+	@Bean
+	QueueProcessorRegistration stateResealQueueProcessorRegistration(StateResealer resealer) {
+		return QueueProcessorRegistration.of(StateResealer.QUEUE_NAME, resealer::reseal)
+				.backoff(properties.getReseal().getBackoff())
+				.timeout(properties.getReseal().getTimeout());
 	}
 
 	@Bean
 	@ConditionalOnEnabledHealthIndicator("git")
-	HealthIndicator gitRepositoryHealthIndicator() {
-		return new GitRepositoryHealthIndicator(properties.getRepositoryDirectory());
+	@ConditionalOnProperty(name = "konfigyr.vault.state-storage", havingValue = "file", matchIfMissing = true)
+	HealthIndicator gitRepositoryHealthIndicator(ObjectProvider<GitRepositoryMaintenance> maintenance) {
+		return new GitRepositoryHealthIndicator(properties.getRepositoryDirectory(), maintenance.getIfAvailable());
 	}
 
 }
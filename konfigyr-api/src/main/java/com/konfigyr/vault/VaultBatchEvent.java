@@ -0,0 +1,64 @@
+package com.konfigyr.vault;
+
+import com.konfigyr.entity.EntityEvent;
+import com.konfigyr.namespace.Service;
+import org.jmolecules.event.annotation.DomainEvent;
+import org.jspecify.annotations.NonNull;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Abstract event type that should be used for all {@link BatchVault} related events.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ **/
+public sealed abstract class VaultBatchEvent extends EntityEvent
+		permits VaultBatchEvent.ChangesApplied {
+
+	/**
+	 * Creates a new {@link VaultBatchEvent} for the given {@link Service} that owns the {@link BatchVault}.
+	 *
+	 * @param service the service that owns the vault, cannot be {@literal null}.
+	 */
+	protected VaultBatchEvent(Service service) {
+		super(service.id());
+	}
+
+	/**
+	 * Batch vault event that is published when {@link PropertyChanges} are successfully applied to all
+	 * profiles of the {@link BatchVault}.
+	 */
+	@DomainEvent(name = "batch-changes-applied", namespace = "vault")
+	public static final class ChangesApplied extends VaultBatchEvent {
+
+		private final Map<Profile, ApplyResult> results;
+
+		/**
+		 * Create a new {@link ChangesApplied} event with the {@link Service} that owns the {@link BatchVault}
+		 * and the {@link ApplyResult results} of the property changes mapped by the profile.
+		 *
+		 * @param service the service that owns the vault, cannot be {@literal null}.
+		 * @param results the results of the changes that were applied, cannot be {@literal null}.
+		 */
+		public ChangesApplied(Service service, Map<Profile, ApplyResult> results) {
+			super(service);
+			this.results = Collections.unmodifiableMap(new LinkedHashMap<>(results));
+		}
+
+		/**
+		 * Returns the {@link ApplyResult results} of the property changes that were applied to the
+		 * {@link BatchVault} mapped by the affected {@link Profile}.
+		 *
+		 * @return the results of the changes that were applied, never {@literal null}.
+		 */
+		@NonNull
+		public Map<Profile, ApplyResult> results() {
+			return results;
+		}
+
+	}
+
+}
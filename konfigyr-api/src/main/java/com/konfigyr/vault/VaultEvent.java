@@ -45,6 +45,7 @@ public sealed abstract class VaultEvent extends EntityEvent implements Supplier<
 	public static final class ChangesApplied extends VaultEvent {
 
 		private final ApplyResult result;
+		private final boolean batched;
 
 		/**
 		 * Create a new {@link ChangesApplied} event with the {@link EntityId entity identifier} of the
@@ -54,8 +55,21 @@ public sealed abstract class VaultEvent extends EntityEvent implements Supplier<
 		 * @param result the result of the changes that were applied
 		 */
 		public ChangesApplied(Profile profile, ApplyResult result) {
+			this(profile, result, false);
+		}
+
+		/**
+		 * Create a new {@link ChangesApplied} event with the {@link EntityId entity identifier} of the
+		 * {@link Profile} that owns the {@link Vault} and the {@link ApplyResult} of the property changes.
+		 *
+		 * @param profile the profile that owns the vault, cannot be {@literal null}.
+		 * @param result the result of the changes that were applied
+		 * @param batched whether the changes were applied as part of a {@link BatchVault} operation
+		 */
+		public ChangesApplied(Profile profile, ApplyResult result, boolean batched) {
 			super(profile);
 			this.result = result;
+			this.batched = batched;
 		}
 
 		/**
@@ -68,6 +82,16 @@ public sealed abstract class VaultEvent extends EntityEvent implements Supplier<
 			return result;
 		}
 
+		/**
+		 * Checks if the changes were applied as part of a {@link BatchVault} operation. In that case the
+		 * {@link VaultBatchEvent.ChangesApplied} event would also be published for the whole batch.
+		 *
+		 * @return {@code true} when the changes were applied in a batch, {@code false} otherwise.
+		 */
+		public boolean isBatched() {
+			return batched;
+		}
+
 	}
 
 }
@@ -35,9 +35,19 @@ public interface VaultExtension {
 	 */
 	Vault extend(Vault vault);
 
+	/**
+	 * Extends the given {@link BatchVault} instance. By default, the batch vault is returned as is.
+	 *
+	 * @param vault instance to be extended, must not be {@literal null}.
+	 * @return the extended batch vault instance.
+	 */
+	default BatchVault extend(BatchVault vault) {
+		return vault;
+	}
+
 	/**
 	 * Returns a composed extension that first applies the {@code before} extension to the
-	 * {@link Vault} instance, and then applies this function to the result.
+	 * {@link Vault} or {@link BatchVault} instance, and then applies this function to the result.
 	 * <p>
 	 * If evaluation of either function throws an exception, it is relayed to the caller of
 	 * the composed function.
@@ -47,7 +57,19 @@ public interface VaultExtension {
 	 * then applies this extension
 	 */
 	default VaultExtension compose(VaultExtension before) {
-		return vault -> before.extend(extend(vault));
+		final VaultExtension after = this;
+
+		return new VaultExtension() {
+			@Override
+			public Vault extend(Vault vault) {
+				return before.extend(after.extend(vault));
+			}
+
+			@Override
+			public BatchVault extend(BatchVault vault) {
+				return before.extend(after.extend(vault));
+			}
+		};
 	}
 
 }
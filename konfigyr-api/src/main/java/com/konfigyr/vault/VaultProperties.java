@@ -1,11 +1,18 @@
 package com.konfigyr.vault;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import com.konfigyr.vault.state.StateLayout;
+import com.konfigyr.vault.state.StateStorage;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 
 import java.nio.file.Path;
+import java.time.Duration;
 
 @Data
 @Validated
@@ -18,4 +25,210 @@ public class VaultProperties {
 	@NotNull
 	private Path repositoryDirectory;
 
+	/**
+	 * Layout used when writing the configuration state of profiles to the Git-based state repositories.
+	 * Existing states are always readable, regardless of the layout that was used to write them.
+	 */
+	@NotNull
+	private StateLayout stateLayout = StateLayout.SINGLE;
+
+	/**
+	 * Storage of the Git objects and refs of the state repositories. When the database storage is used, the
+	 * state repositories are not written to the repository directory and any application instance can serve
+	 * any state repository.
+	 */
+	@NotNull
+	private StateStorage stateStorage = StateStorage.FILE;
+
+	/**
+	 * Settings of the database storage of the Git-based state repositories.
+	 */
+	@Valid
+	private final Database database = new Database();
+
+	/**
+	 * Settings of the background maintenance of the Git-based state repositories.
+	 */
+	@Valid
+	private final Maintenance maintenance = new Maintenance();
+
+	/**
+	 * Settings of the collector that removes orphaned changeset branches from the Git-based state repositories.
+	 */
+	@Valid
+	private final Changesets changesets = new Changesets();
+
+	/**
+	 * Settings of the Git bundle backups of the Git-based state repositories.
+	 */
+	@Valid
+	private final Backup backup = new Backup();
+
+	/**
+	 * Settings of the re-encryption of the profile states after the service vault keyset was rotated.
+	 */
+	@Valid
+	private final Reseal reseal = new Reseal();
+
+	@Data
+	public static class Database {
+
+		/**
+		 * Maximum amount of memory used by the local cache of the pack file blocks that are read from the
+		 * database. The cache is shared by all the state repositories.
+		 */
+		@NotNull
+		private DataSize cacheSize = DataSize.ofMegabytes(64);
+
+		/**
+		 * Size of a single pack file block that is read from the database and kept in the local cache.
+		 */
+		@NotNull
+		private DataSize blockSize = DataSize.ofKilobytes(64);
+
+	}
+
+	@Data
+	public static class Maintenance {
+
+		/**
+		 * Cron expression that defines when the repository maintenance is executed. To disable the
+		 * maintenance, set it to {@code '-'}.
+		 */
+		@NotBlank
+		private String cron = "0 0 3 * * *";
+
+		/**
+		 * Number of loose objects after which the repository is garbage collected and repacked. Repositories
+		 * that are stored in the database do not contain loose objects.
+		 */
+		@Positive
+		private long looseObjectsThreshold = 500;
+
+		/**
+		 * Number of pack files after which the repository is garbage collected and repacked. For repositories
+		 * that are stored in the database, this is the number of committed packs.
+		 */
+		@Positive
+		private long packFilesThreshold = 10;
+
+		/**
+		 * Number of loose refs after which the repository refs are packed. Repositories that are stored in the
+		 * database do not contain loose refs.
+		 */
+		@Positive
+		private long looseRefsThreshold = 100;
+
+		/**
+		 * Maximum number of repositories that are garbage collected within a single maintenance run.
+		 * Repositories with the most loose objects are maintained first.
+		 */
+		@Positive
+		private int maxRepositories = 50;
+
+		/**
+		 * Pause between the maintenance of two repositories, used to limit the I/O pressure of the
+		 * maintenance on the foreground repository operations.
+		 */
+		@NotNull
+		private Duration delay = Duration.ofSeconds(1);
+
+		/**
+		 * Age after which the unreachable loose objects are pruned from the repository.
+		 */
+		@NotNull
+		private Duration pruneExpiry = Duration.ofDays(14);
+
+	}
+
+	@Data
+	public static class Changesets {
+
+		/**
+		 * Cron expression that defines when the orphaned changeset branches are collected. To disable the
+		 * collector, set it to {@code '-'}.
+		 */
+		@NotBlank
+		private String cron = "0 30 * * * *";
+
+		/**
+		 * Period after the last update of a changeset branch during which the branch is never collected,
+		 * even when it is not used by an open change request. This protects the changeset branches of the
+		 * apply and change request operations that are still in progress.
+		 */
+		@NotNull
+		private Duration gracePeriod = Duration.ofHours(24);
+
+		/**
+		 * Maximum number of changeset branches that are removed with a single batched ref update.
+		 */
+		@Positive
+		private int batchSize = 100;
+
+	}
+
+	@Data
+	public static class Backup {
+
+		/**
+		 * Directory where the Git bundle backups of the state repositories are written. Backups are only
+		 * enabled when this directory is configured.
+		 */
+		private Path directory;
+
+		/**
+		 * Cron expression that defines when the state repositories are backed up. To disable the backups,
+		 * set it to {@code '-'}.
+		 */
+		@NotBlank
+		private String cron = "0 0 2 * * *";
+
+		/**
+		 * Number of incremental bundles after which a full bundle of the state repository is written and
+		 * the older bundles are removed.
+		 */
+		@Positive
+		private int fullBackupInterval = 30;
+
+	}
+
+	@Data
+	public static class Reseal {
+
+		/**
+		 * Cron expression that defines when the rotated vault keysets are detected and the reseal of their
+		 * profile states is scheduled. To disable the detection, set it to {@code '-'}.
+		 */
+		@NotBlank
+		private String cron = "0 */15 * * * *";
+
+		/**
+		 * Maximum number of profile states that are resealed within a single execution of the reseal task,
+		 * the remaining profiles are resealed once the task is rescheduled.
+		 */
+		@Positive
+		private int batchSize = 10;
+
+		/**
+		 * Pause between the reseal of two profile states, used to limit the pressure of the reseal on the
+		 * foreground repository and key management operations.
+		 */
+		@NotNull
+		private Duration delay = Duration.ofSeconds(1);
+
+		/**
+		 * Period after which the reseal task is executed again, either to reseal the next batch of
+		 * profiles or to retry a failed execution.
+		 */
+		@NotNull
+		private Duration backoff = Duration.ofMinutes(1);
+
+		/**
+		 * Maximum duration of a single execution of the reseal task.
+		 */
+		@NotNull
+		private Duration timeout = Duration.ofMinutes(30);
+
+	}
+
 }
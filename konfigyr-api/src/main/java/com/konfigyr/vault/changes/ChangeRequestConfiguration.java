@@ -1,7 +1,10 @@
 package com.konfigyr.vault.changes;
 
+import com.konfigyr.namespace.Services;
 import com.konfigyr.queue.QueueProcessorRegistration;
+import com.konfigyr.vault.VaultProperties;
 import com.konfigyr.vault.gatekeeper.ChangeRequestGatekeeper;
+import com.konfigyr.vault.state.StateRepositoryFactory;
 import lombok.RequiredArgsConstructor;
 import org.jooq.DSLContext;
 import org.springframework.context.ApplicationEventPublisher;
@@ -29,6 +32,15 @@ public class ChangeRequestConfiguration {
 		return new ChangeRequestEvaluationQueueListener(context);
 	}
 
+	@Bean
+	ChangesetBranchCollector changesetBranchCollector(
+			Services services,
+			StateRepositoryFactory stateRepositoryFactory,
+			VaultProperties vaultProperties
+	) {
+		return new ChangesetBranchCollector(context, services, stateRepositoryFactory, vaultProperties.getChangesets());
+	}
+
 	@Bean
 	QueueProcessorRegistration changeRequestEvaluationQueueProcessorRegistration(ChangeRequestEvaluator evaluator) {
 		return QueueProcessorRegistration.of(ChangeRequestEvaluationQueueListener.QUEUE_NAME, evaluator::evaluate)
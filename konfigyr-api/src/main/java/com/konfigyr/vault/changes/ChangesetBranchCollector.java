@@ -0,0 +1,147 @@
+package com.konfigyr.vault.changes;
+
+import com.konfigyr.data.scheduling.ClusterSingleton;
+import com.konfigyr.entity.EntityId;
+import com.konfigyr.namespace.Service;
+import com.konfigyr.namespace.Services;
+import com.konfigyr.vault.ChangeRequestState;
+import com.konfigyr.vault.VaultProperties;
+import com.konfigyr.vault.state.ChangesetBranch;
+import com.konfigyr.vault.state.RepositoryStateException;
+import com.konfigyr.vault.state.StateRepository;
+import com.konfigyr.vault.state.StateRepositoryFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
+import org.jooq.DSLContext;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.konfigyr.data.tables.Services.SERVICES;
+import static com.konfigyr.data.tables.VaultChangeRequests.VAULT_CHANGE_REQUESTS;
+
+/**
+ * Collector that removes the orphaned changeset branches from the {@link StateRepository state repositories}.
+ * <p>
+ * Changeset branches are left behind when an apply or change request operation fails between the update,
+ * merge and discard steps, or when the change request that uses the branch was closed without its branch
+ * being removed. The collector reconciles the changeset branches of each {@link Service} repository against
+ * the branches of its open {@link com.konfigyr.vault.ChangeRequest change requests} and removes the ones that
+ * are not used by any of them.
+ * <p>
+ * Changeset branches that were updated within the configured grace period are never removed, as they may
+ * belong to an operation that is still in progress. The remaining orphans are removed using batched ref
+ * updates, a branch that was updated after it was selected for removal is kept.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ * @see VaultProperties.Changesets
+ */
+@Slf4j
+@NullMarked
+@RequiredArgsConstructor
+class ChangesetBranchCollector {
+
+	private final DSLContext context;
+	private final Services services;
+	private final StateRepositoryFactory factory;
+	private final VaultProperties.Changesets properties;
+
+	/**
+	 * Collects the orphaned changeset branches from the state repositories of all {@link Service services}.
+	 * Failures are logged per service, so a single failing repository does not prevent the collection of
+	 * orphaned branches in the others.
+	 * <p>
+	 * To change the execution interval, set the {@code konfigyr.vault.changesets.cron} configuration property
+	 * to a valid cron expression. To disable this task, set it to {@code '-'}.
+	 * <p>
+	 * This is a cluster singleton job, only one application instance performs the collection at a time.
+	 *
+	 * @return the total number of removed changeset branches
+	 */
+	@ClusterSingleton(value = "vault-changeset-collector", lockAtMostFor = "1h")
+	@Scheduled(cron = "${konfigyr.vault.changesets.cron:0 30 * * * *}")
+	long collect() {
+		final Instant cutoff = Instant.now().minus(properties.getGracePeriod());
+		final List<Long> identifiers = context.select(SERVICES.ID)
+				.from(SERVICES)
+				.orderBy(SERVICES.ID)
+				.fetch(SERVICES.ID);
+
+		long count = 0;
+
+		for (Long identifier : identifiers) {
+			final Optional<Service> service = services.get(EntityId.from(identifier));
+
+			if (service.isEmpty()) {
+				continue;
+			}
+
+			try {
+				count += collect(service.get(), cutoff);
+			} catch (Exception ex) {
+				log.error("Failed to collect orphaned changeset branches for Service({})", identifier, ex);
+			}
+		}
+
+		if (count > 0) {
+			log.info("Successfully removed {} orphaned changeset branches", count);
+		}
+
+		return count;
+	}
+
+	/**
+	 * Removes the changeset branches of the given {@link Service} that were last updated before the cutoff
+	 * time and are not used by any of its open change requests.
+	 *
+	 * @param service the service whose repository should be cleaned up, can't be {@literal null}
+	 * @param cutoff the time before which the changeset branch must have been last updated, can't be {@literal null}
+	 * @return the number of removed changeset branches
+	 */
+	int collect(Service service, Instant cutoff) {
+		try (StateRepository repository = factory.get(service)) {
+			final List<ChangesetBranch> candidates = repository.changesets().stream()
+					.filter(changeset -> changeset.timestamp().isBefore(cutoff))
+					.toList();
+
+			// there is no need to look up the change request branches when there is nothing to collect
+			if (candidates.isEmpty()) {
+				return 0;
+			}
+
+			final Set<String> branches = context.select(VAULT_CHANGE_REQUESTS.BRANCH_NAME)
+					.from(VAULT_CHANGE_REQUESTS)
+					.where(VAULT_CHANGE_REQUESTS.SERVICE_ID.eq(service.id().get()))
+					.and(VAULT_CHANGE_REQUESTS.STATE.eq(ChangeRequestState.OPEN.name()))
+					.fetchSet(VAULT_CHANGE_REQUESTS.BRANCH_NAME);
+
+			final List<ChangesetBranch> orphans = candidates.stream()
+					.filter(changeset -> !branches.contains(changeset.name()))
+					.toList();
+
+			int count = 0;
+
+			for (List<ChangesetBranch> batch : ListUtils.partition(orphans, properties.getBatchSize())) {
+				count += repository.discard(batch);
+			}
+
+			log.debug("Removed {} out of {} orphaned changeset branches for Service({}, {})",
+					count, orphans.size(), service.id(), service.slug());
+
+			return count;
+		} catch (RepositoryStateException ex) {
+			if (ex.getErrorCode() == RepositoryStateException.ErrorCode.UNKNOWN_REPOSITORY) {
+				log.debug("Skipping changeset collection for Service({}) as it has no state repository", service.id());
+				return 0;
+			}
+			throw ex;
+		}
+	}
+
+}
@@ -0,0 +1,20 @@
+package com.konfigyr.vault.controller;
+
+import com.konfigyr.vault.ApplyResult;
+import com.konfigyr.vault.Profile;
+
+import java.time.OffsetDateTime;
+
+record ProfileRevisionInformation(
+		String profile,
+		String revision,
+		String author,
+		String subject,
+		String description,
+		OffsetDateTime timestamp
+) {
+	ProfileRevisionInformation(Profile profile, ApplyResult result) {
+		this(profile.slug(), result.revision(), result.author().getDisplayName().orElseGet(result.author()),
+				result.subject(), result.description(), result.timestamp());
+	}
+}
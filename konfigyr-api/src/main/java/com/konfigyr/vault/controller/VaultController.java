@@ -12,13 +12,24 @@ import com.konfigyr.security.OAuthScope;
 import com.konfigyr.security.oauth.RequiresScope;
 import com.konfigyr.vault.*;
 import com.konfigyr.vault.history.RevisionNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import org.jspecify.annotations.NonNull;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -27,6 +38,15 @@ import java.util.Set;
 @RequestMapping("/namespaces/{namespace}/services/{service}")
 class VaultController extends AbstractVaultController {
 
+	static final String PROPERTIES_MEDIA_TYPE = "text/x-java-properties";
+	static final String YAML_MEDIA_TYPE = "application/yaml";
+	static final String LEGACY_YAML_MEDIA_TYPE = "application/x-yaml";
+	static final String TEXT_YAML_MEDIA_TYPE = "text/yaml";
+
+	private static final List<MediaType> YAML_MEDIA_TYPES = MediaType.parseMediaTypes(
+			List.of(YAML_MEDIA_TYPE, LEGACY_YAML_MEDIA_TYPE, TEXT_YAML_MEDIA_TYPE)
+	);
+
 	private final VaultAccessor accessor;
 	private final VaultChronicle chronicle;
 
@@ -53,6 +73,43 @@ class VaultController extends AbstractVaultController {
 		}
 	}
 
+	@PreAuthorize("isMember(#namespace)")
+	@RequiresScope(OAuthScope.READ_PROFILES)
+	@GetMapping("profiles/{profileName}/export")
+	void exportProperties(
+			@PathVariable String namespace,
+			@PathVariable String service,
+			@PathVariable String profileName,
+			@RequestParam(defaultValue = "PROPERTIES") PropertiesExporter.Format format,
+			@RequestParam(required = false) String revision,
+			@RequestParam(defaultValue = "false") boolean sealed,
+			HttpServletResponse response
+	) throws Exception {
+		final VaultAssembler assembler = createAssembler(namespace, service);
+		final Profile profile = lookupProfile(assembler.service(), profileName);
+
+		final String resolved = revision == null ? null : chronicle.examine(profile, revision)
+				.map(ChangeHistory::revision)
+				.orElseThrow(() -> new RevisionNotFoundException(profile.slug(), revision));
+
+		try (Vault vault = accessor.open(AuthenticatedPrincipal.resolve(), assembler.service(), profile)) {
+			final Properties state = resolved == null ? vault.state() : vault.state(resolved);
+			final PropertiesExporter exporter = sealed ? PropertiesExporter.sealed(format)
+					: PropertiesExporter.unsealed(format, vault);
+
+			response.setContentType(resolveExportMediaType(format).toString());
+			response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+			response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+					.filename(assembler.service().slug() + "-" + profile.slug() + "." + format.extension())
+					.build()
+					.toString());
+
+			exporter.write(state, new BufferedWriter(
+					new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8)
+			));
+		}
+	}
+
 	@PreAuthorize("isMember(#namespace)")
 	@RequiresScope(OAuthScope.WRITE_PROFILES)
 	@PostMapping("profiles/{profileName}/apply")
@@ -73,6 +130,64 @@ class VaultController extends AbstractVaultController {
 		return assembler.<RevisionInformation>of().assemble(new RevisionInformation(result));
 	}
 
+	@PreAuthorize("isMember(#namespace)")
+	@RequiresScope(OAuthScope.WRITE_PROFILES)
+	@PostMapping("apply")
+	CollectionModel<EntityModel<ProfileRevisionInformation>> apply(
+			@PathVariable String namespace,
+			@PathVariable String service,
+			@RequestBody @Validated BatchChangesetRequest request
+	) throws Exception {
+		final VaultAssembler assembler = createAssembler(namespace, service);
+		final List<Profile> targets = request.profiles().stream()
+				.map(profileName -> lookupProfile(assembler.service(), profileName))
+				.toList();
+
+		final Map<Profile, ApplyResult> results;
+
+		try (BatchVault vault = accessor.open(AuthenticatedPrincipal.resolve(), assembler.service(), targets)) {
+			results = vault.apply(targets.stream().map(request::changes).toList());
+		}
+
+		return assembler.<ProfileRevisionInformation>of().assemble(
+				targets.stream()
+						.map(profile -> new ProfileRevisionInformation(profile, results.get(profile)))
+						.toList()
+		);
+	}
+
+	@PreAuthorize("isMember(#namespace)")
+	@RequiresScope(OAuthScope.WRITE_PROFILES)
+	@PostMapping(path = "profiles/{profileName}/import", consumes = {
+			PROPERTIES_MEDIA_TYPE, MediaType.TEXT_PLAIN_VALUE,
+			YAML_MEDIA_TYPE, LEGACY_YAML_MEDIA_TYPE, TEXT_YAML_MEDIA_TYPE
+	})
+	EntityModel<RevisionInformation> importProperties(
+			@PathVariable String namespace,
+			@PathVariable String service,
+			@PathVariable String profileName,
+			@RequestParam(defaultValue = "Import configuration properties") String name,
+			@RequestParam(required = false) String description,
+			@RequestParam(defaultValue = "false") boolean replace,
+			@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+			InputStream body
+	) throws Exception {
+		final VaultAssembler assembler = createAssembler(namespace, service);
+		final Profile profile = lookupProfile(assembler.service(), profileName);
+		final ApplyResult result;
+
+		try (Vault vault = accessor.open(AuthenticatedPrincipal.resolve(), assembler.service(), profile);
+			 Reader reader = new InputStreamReader(body, contentType.getCharset() == null
+					 ? StandardCharsets.UTF_8 : contentType.getCharset())) {
+			final PropertyChanges changes = new PropertiesImporter(vault, replace)
+					.read(reader, resolveImportFormat(contentType), name, description);
+
+			result = vault.apply(changes);
+		}
+
+		return assembler.<RevisionInformation>of().assemble(new RevisionInformation(result));
+	}
+
 	@PreAuthorize("isMember(#namespace)")
 	@RequiresScope(OAuthScope.WRITE_PROFILES)
 	@PostMapping("profiles/{profileName}/submit")
@@ -159,6 +274,33 @@ class VaultController extends AbstractVaultController {
 		return assembler.<ChangeHistoryRecord>of().assemble(changes);
 	}
 
+	static MediaType resolveExportMediaType(PropertiesExporter.Format format) {
+		return switch (format) {
+			case PROPERTIES -> MediaType.parseMediaType(PROPERTIES_MEDIA_TYPE);
+			case YAML -> MediaType.parseMediaType(YAML_MEDIA_TYPE);
+			case JSON -> MediaType.APPLICATION_JSON;
+		};
+	}
+
+	static PropertiesImporter.Format resolveImportFormat(MediaType contentType) {
+		return YAML_MEDIA_TYPES.stream().anyMatch(contentType::isCompatibleWith)
+				? PropertiesImporter.Format.YAML
+				: PropertiesImporter.Format.PROPERTIES;
+	}
+
+	record BatchChangesetRequest(
+			@NotBlank String name,
+			String description,
+			@NotEmpty LinkedHashSet<String> profiles,
+			@NotEmpty Set<PropertyChange> changes
+	) {
+
+		PropertyChanges changes(Profile profile) {
+			return new ChangesetRequest(name, description, changes).changes(profile);
+		}
+
+	}
+
 	record ChangesetRequest(@NotBlank String name, String description, @NotEmpty Set<PropertyChange> changes) {
 
 		PropertyChanges changes(Profile profile) {
@@ -5,14 +5,13 @@ import com.konfigyr.hateoas.PagedModel;
 import com.konfigyr.namespace.NamespaceManager;
 import com.konfigyr.namespace.Service;
 import com.konfigyr.namespace.Services;
+import com.konfigyr.security.AuthenticatedPrincipal;
 import com.konfigyr.security.OAuthScope;
 import com.konfigyr.security.oauth.RequiresScope;
 import com.konfigyr.support.SearchQuery;
-import com.konfigyr.vault.Profile;
-import com.konfigyr.vault.ProfileDefinition;
-import com.konfigyr.vault.ProfileManager;
-import com.konfigyr.vault.ProfilePolicy;
-import com.konfigyr.vault.VaultAccessor;
+import com.konfigyr.vault.*;
+import com.konfigyr.vault.history.RevisionNotFoundException;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -30,10 +29,13 @@ import org.springframework.web.bind.annotation.*;
 class VaultProfileController extends AbstractVaultController {
 
 	private final VaultAccessor accessor;
+	private final VaultChronicle chronicle;
 
-	VaultProfileController(NamespaceManager namespaces, Services services, ProfileManager profiles, VaultAccessor accessor) {
+	VaultProfileController(NamespaceManager namespaces, Services services, ProfileManager profiles,
+						   VaultAccessor accessor, VaultChronicle chronicle) {
 		super(namespaces, profiles, services);
 		this.accessor = accessor;
+		this.chronicle = chronicle;
 	}
 
 	@GetMapping("profiles")
@@ -64,7 +66,21 @@ class VaultProfileController extends AbstractVaultController {
 			@RequestBody @Validated CreateProfileRequest request
 	) {
 		final VaultAssembler assembler = createAssembler(namespace, service);
-		final Profile profile = profiles.create(request.definition(assembler.service()));
+		final ProfileDefinition definition = request.definition(assembler.service());
+
+		if (request.source() == null) {
+			return assembler.profile().assemble(profiles.create(definition));
+		}
+
+		final Profile source = lookupProfile(assembler.service(), request.source());
+
+		final String revision = request.revision() == null ? null : chronicle.examine(source, request.revision())
+				.map(ChangeHistory::revision)
+				.orElseThrow(() -> new RevisionNotFoundException(source.slug(), request.revision()));
+
+		final Profile profile = profiles.create(definition, new ProfileSource(
+				source, revision, AuthenticatedPrincipal.resolve()
+		));
 
 		return assembler.profile().assemble(profile);
 	}
@@ -131,8 +147,15 @@ class VaultProfileController extends AbstractVaultController {
 			@NotBlank @Length(min = 2, max = 30) String slug,
 			@Length(max = 255) String description,
 			@NotNull ProfilePolicy policy,
-			@Positive Integer position
+			@Positive Integer position,
+			@Length(min = 2, max = 30) String source,
+			@Length(max = 64) String revision
 	) {
+		@AssertTrue(message = "revision can only be specified together with the source profile")
+		boolean isRevisionWithSource() {
+			return revision == null || source != null;
+		}
+
 		ProfileDefinition definition(Service service) {
 			return ProfileDefinition.builder()
 					.service(service.id())
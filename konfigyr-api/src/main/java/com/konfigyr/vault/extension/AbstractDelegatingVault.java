@@ -30,6 +30,11 @@ abstract class AbstractDelegatingVault implements Vault {
 		return delegate.state();
 	}
 
+	@Override
+	public Properties state(String revision) {
+		return delegate.state(revision);
+	}
+
 	@Override
 	public Map<String, String> unseal() {
 		return delegate.unseal();
@@ -1,10 +1,12 @@
 package com.konfigyr.vault.extension;
 
 import com.konfigyr.entity.EntityId;
+import com.konfigyr.namespace.Service;
 import com.konfigyr.vault.*;
+import com.konfigyr.vault.Properties;
 import org.jspecify.annotations.NullMarked;
 
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -29,20 +31,44 @@ public final class LockingVaultExtension implements VaultExtension {
 	@Override
 	public Vault extend(Vault vault) {
 		final VaultLockKey key = new VaultLockKey(vault);
+		final VaultLockEntry entry = register(key);
 
-		final VaultLockEntry entry = locks.compute(key, (ignore, existing) -> {
+		return new LockingVault(vault, entry.acquire(), () -> release(key, entry));
+	}
+
+	@Override
+	public BatchVault extend(BatchVault vault) {
+		// locks are always acquired in the same order to prevent deadlocks between overlapping batches
+		final SortedMap<VaultLockKey, VaultLockEntry> entries = new TreeMap<>(VaultLockKey.COMPARATOR);
+
+		for (Profile profile : vault.profiles()) {
+			final VaultLockKey key = new VaultLockKey(vault.service().id(), profile.id());
+
+			if (!entries.containsKey(key)) {
+				entries.put(key, register(key));
+			}
+		}
+
+		final List<ReadWriteLock> acquired = new ArrayList<>(entries.size());
+		entries.values().forEach(entry -> acquired.add(entry.acquire()));
+
+		return new LockingBatchVault(vault, acquired, () -> entries.forEach(this::release));
+	}
+
+	private VaultLockEntry register(VaultLockKey key) {
+		return locks.compute(key, (ignore, existing) -> {
 			if (existing == null) {
 				existing = new VaultLockEntry(new AtomicInteger(0), new ReentrantReadWriteLock(true));
 			}
 			return existing;
 		});
+	}
 
-		return new LockingVault(vault, entry.acquire(), () -> {
-			// When the reference count reaches zero and no threads are holding the lock, remove it from the registry
-			if (entry.release() && entry.inactive()) {
-				locks.remove(key);
-			}
-		});
+	private void release(VaultLockKey key, VaultLockEntry entry) {
+		// When the reference count reaches zero and no threads are holding the lock, remove it from the registry
+		if (entry.release() && entry.inactive()) {
+			locks.remove(key);
+		}
 	}
 
 	/**
@@ -56,6 +82,10 @@ public final class LockingVaultExtension implements VaultExtension {
 	 */
 	record VaultLockKey(EntityId service, EntityId profile) {
 
+		static final Comparator<VaultLockKey> COMPARATOR = Comparator
+				.comparingLong((VaultLockKey key) -> key.service().get())
+				.thenComparingLong(key -> key.profile().get());
+
 		VaultLockKey(Vault vault) {
 			this(vault.service().id(), vault.profile().id());
 		}
@@ -130,6 +160,16 @@ public final class LockingVaultExtension implements VaultExtension {
 			}
 		}
 
+		@Override
+		public Properties state(String revision) {
+			lock.readLock().lock();
+			try {
+				return delegate.state(revision);
+			} finally {
+				lock.readLock().unlock();
+			}
+		}
+
 		@Override
 		public Map<String, String> unseal() {
 			lock.readLock().lock();
@@ -209,4 +249,64 @@ public final class LockingVaultExtension implements VaultExtension {
 			}
 		}
 	}
+
+	/**
+	 * Batch vault decorator that acquires the write locks of all profiles before the changes are applied.
+	 * The locks are acquired in the order of their {@link VaultLockKey keys} and released in reverse order.
+	 */
+	@NullMarked
+	private static final class LockingBatchVault implements BatchVault {
+
+		private final BatchVault delegate;
+		private final List<ReadWriteLock> locks;
+		private final Runnable hook;
+
+		private LockingBatchVault(BatchVault delegate, List<ReadWriteLock> locks, Runnable hook) {
+			this.delegate = delegate;
+			this.locks = locks;
+			this.hook = hook;
+		}
+
+		@Override
+		public Service service() {
+			return delegate.service();
+		}
+
+		@Override
+		public List<Profile> profiles() {
+			return delegate.profiles();
+		}
+
+		@Override
+		public Map<Profile, ApplyResult> apply(Collection<PropertyChanges> changes) {
+			int acquired = 0;
+
+			try {
+				for (ReadWriteLock lock : locks) {
+					lock.writeLock().lock();
+					acquired++;
+				}
+
+				return delegate.apply(changes);
+			} finally {
+				for (int index = acquired - 1; index >= 0; index--) {
+					locks.get(index).writeLock().unlock();
+				}
+			}
+		}
+
+		@Override
+		public void close() throws Exception {
+			try {
+				delegate.close();
+			} finally {
+				hook.run();
+			}
+		}
+
+		@Override
+		public String toString() {
+			return delegate.toString();
+		}
+	}
 }
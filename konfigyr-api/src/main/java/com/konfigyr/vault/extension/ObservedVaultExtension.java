@@ -1,12 +1,16 @@
 package com.konfigyr.vault.extension;
 
+import com.konfigyr.namespace.Service;
 import com.konfigyr.vault.*;
 import io.micrometer.observation.Observation;
 import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.NullMarked;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * {@link VaultExtension} that adds Micrometer-based observations around {@link Vault} operations.
@@ -61,6 +65,11 @@ final class ObservedVaultExtension implements VaultExtension {
 		return new ObservedVault(vault, registry);
 	}
 
+	@Override
+	public BatchVault extend(BatchVault vault) {
+		return new ObservedBatchVault(vault, registry);
+	}
+
 	static final class ObservedVault extends AbstractDelegatingVault {
 
 		private final ObservationRegistry registry;
@@ -76,6 +85,12 @@ final class ObservedVaultExtension implements VaultExtension {
 					.observe(super::state);
 		}
 
+		@Override
+		public Properties state(String revision) {
+			return createObservation(ObservedOperation.STATE)
+					.observe(() -> super.state(revision));
+		}
+
 		@Override
 		public Map<String, String> unseal() {
 			return createObservation(ObservedOperation.UNSEAL)
@@ -138,6 +153,56 @@ final class ObservedVaultExtension implements VaultExtension {
 
 	}
 
+	static final class ObservedBatchVault implements BatchVault {
+
+		private final BatchVault delegate;
+		private final ObservationRegistry registry;
+
+		ObservedBatchVault(BatchVault delegate, ObservationRegistry registry) {
+			this.delegate = delegate;
+			this.registry = registry;
+		}
+
+		@Override
+		public Service service() {
+			return delegate.service();
+		}
+
+		@Override
+		public List<Profile> profiles() {
+			return delegate.profiles();
+		}
+
+		@Override
+		public Map<Profile, ApplyResult> apply(Collection<PropertyChanges> changes) {
+			return createObservation(ObservedOperation.APPLY_BATCH)
+					.observe(() -> delegate.apply(changes));
+		}
+
+		@Override
+		public void close() throws Exception {
+			delegate.close();
+		}
+
+		@Override
+		public String toString() {
+			return delegate.toString();
+		}
+
+		private Observation createObservation(ObservedOperation operation) {
+			final String service = service().id().serialize();
+			final String profiles = profiles().stream()
+					.map(profile -> profile.id().serialize())
+					.collect(Collectors.joining(","));
+
+			return Observation.createNotStarted(operation.observationName(), registry)
+					.contextualName(operation.contextualName(service, profiles))
+					.highCardinalityKeyValue("konfigyr.namespace.service", service)
+					.highCardinalityKeyValue("konfigyr.vault.profile", profiles);
+		}
+
+	}
+
 	enum ObservedOperation {
 		STATE("state", "reading state of vault profile '%s' for service '%s'"),
 		UNSEAL("unseal", "unsealing state of vault profile '%s' for service '%s'"),
@@ -147,7 +212,8 @@ final class ObservedVaultExtension implements VaultExtension {
 		SUBMIT("submit", "submitting changes for review to vault profile '%s' for service '%s'"),
 		MERGE("merge", "merging proposed changes to vault profile '%s' for service '%s'"),
 		DISCARD("discard", "discarding proposed changes to vault profile '%s' for service '%s'"),
-		CLOSE("close", "closing vault profile '%s' for service '%s'");
+		CLOSE("close", "closing vault profile '%s' for service '%s'"),
+		APPLY_BATCH("apply-batch", "applying changes to vault profiles '%2$s' for service '%1$s'");
 
 		private final String name;
 		private final String contextualNameTemplate;
@@ -1,10 +1,15 @@
 package com.konfigyr.vault.extension;
 
+import com.konfigyr.namespace.Service;
 import com.konfigyr.vault.*;
 import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.NullMarked;
 import org.springframework.context.ApplicationEventPublisher;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Implementation of {@link VaultExtension} that publishes {@link VaultEvent}s when mutations are
  * successfully applied to the underlying {@link Vault}.
@@ -23,6 +28,11 @@ public class PublishingVaultExtension implements VaultExtension {
 		return new PublishingVault(vault, eventPublisher);
 	}
 
+	@Override
+	public BatchVault extend(BatchVault vault) {
+		return new PublishingBatchVault(vault, eventPublisher);
+	}
+
 	private static final class PublishingVault extends AbstractDelegatingVault {
 
 		private final ApplicationEventPublisher eventPublisher;
@@ -71,4 +81,47 @@ public class PublishingVaultExtension implements VaultExtension {
 			return discaredChangeRequest;
 		}
 	}
+
+	private static final class PublishingBatchVault implements BatchVault {
+
+		private final BatchVault delegate;
+		private final ApplicationEventPublisher eventPublisher;
+
+		PublishingBatchVault(BatchVault delegate, ApplicationEventPublisher eventPublisher) {
+			this.delegate = delegate;
+			this.eventPublisher = eventPublisher;
+		}
+
+		@Override
+		public Service service() {
+			return delegate.service();
+		}
+
+		@Override
+		public List<Profile> profiles() {
+			return delegate.profiles();
+		}
+
+		@Override
+		public Map<Profile, ApplyResult> apply(Collection<PropertyChanges> changes) {
+			final Map<Profile, ApplyResult> results = delegate.apply(changes);
+
+			results.forEach((profile, result) -> eventPublisher.publishEvent(
+					new VaultEvent.ChangesApplied(profile, result, true)
+			));
+			eventPublisher.publishEvent(new VaultBatchEvent.ChangesApplied(service(), results));
+
+			return results;
+		}
+
+		@Override
+		public void close() throws Exception {
+			delegate.close();
+		}
+
+		@Override
+		public String toString() {
+			return delegate.toString();
+		}
+	}
 }
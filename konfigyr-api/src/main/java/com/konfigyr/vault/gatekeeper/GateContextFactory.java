@@ -8,7 +8,6 @@ import com.konfigyr.vault.ChangeRequestState;
 import com.konfigyr.vault.ProfileManager;
 import com.konfigyr.vault.ProfileNotFoundException;
 import com.konfigyr.vault.state.StateRepositoryFactory;
-import lombok.RequiredArgsConstructor;
 import org.jmolecules.ddd.annotation.Factory;
 import org.jooq.DSLContext;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,13 +31,20 @@ import static com.konfigyr.data.tables.VaultChangeRequests.VAULT_CHANGE_REQUESTS
  * @see GateContext
  */
 @Factory
-@RequiredArgsConstructor
 class GateContextFactory {
 
 	private final DSLContext context;
 	private final Services services;
 	private final ProfileManager profiles;
-	private final StateRepositoryFactory stateRepositoryFactory;
+	private final RepositorySnapshot.Provider repositorySnapshotProvider;
+
+	GateContextFactory(DSLContext context, Services services, ProfileManager profiles, StateRepositoryFactory factory) {
+		this.context = context;
+		this.services = services;
+		this.profiles = profiles;
+		// shared between evaluations as it caches the outcomes of the dry-run merges
+		this.repositorySnapshotProvider = new RepositorySnapshot.Provider(factory);
+	}
 
 	/**
 	 * Creates a new {@link GateContext} for the given change request identifier.
@@ -57,7 +63,7 @@ class GateContextFactory {
 				.profileSnapshotProvider(ctx -> profiles.get(ctx.profileId())
 						.orElseThrow(() -> new ProfileNotFoundException(ctx.profileId()))
 				)
-				.repositorySnapshotProvider(new RepositorySnapshot.Provider(stateRepositoryFactory))
+				.repositorySnapshotProvider(repositorySnapshotProvider)
 				.reviewSnapshotProvider(new ReviewSnapshot.Provider(context))
 				.build();
 	}
@@ -1,13 +1,18 @@
 package com.konfigyr.vault.gatekeeper;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.konfigyr.vault.state.RepositoryState;
+import com.konfigyr.vault.state.RepositoryStateException;
 import com.konfigyr.vault.state.StateRepository;
 import com.konfigyr.vault.state.StateRepositoryFactory;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.errors.MissingObjectException;
 import org.jspecify.annotations.NullMarked;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.time.Duration;
 
 /**
  * Represents a snapshot of {@link com.konfigyr.vault.state.StateRepository} relevant
@@ -27,19 +32,78 @@ record RepositorySnapshot(String revision, boolean conflicted) implements Serial
 	@Serial
 	private static final long serialVersionUID = 5936555726403049696L;
 
-	@RequiredArgsConstructor
+	/**
+	 * Provider that resolves the {@link RepositorySnapshot} from the {@link StateRepository} of the service.
+	 * <p>
+	 * When the target profile branch has moved since the changeset was created, the provider performs a dry
+	 * run merge of the changeset into the current profile state to detect conflicts. The outcome of the dry
+	 * run only depends on the two revisions, it is therefore cached by the revision pair so that repeated
+	 * evaluations of the same change request do not perform the same merge again.
+	 * <p>
+	 * When the changeset revision can no longer be resolved, for instance when it was garbage collected,
+	 * the snapshot is reported without conflicts which results in an outdated change request. Any other
+	 * repository state failure is propagated.
+	 */
+	@Slf4j
 	static final class Provider implements SnapshotProvider<RepositorySnapshot> {
 
 		private final StateRepositoryFactory stateRepositoryFactory;
+		private final Cache<MergeKey, Boolean> conflicts;
+
+		Provider(StateRepositoryFactory stateRepositoryFactory) {
+			this.stateRepositoryFactory = stateRepositoryFactory;
+			this.conflicts = Caffeine.newBuilder()
+					.maximumSize(10_000)
+					.expireAfterAccess(Duration.ofHours(1))
+					.build();
+		}
 
 		@Override
 		public RepositorySnapshot get(GateContext context) {
-			final StateRepository repository = stateRepositoryFactory.get(context.service());
-			final RepositoryState state = repository.get(context.profile());
+			try (StateRepository repository = stateRepositoryFactory.get(context.service())) {
+				final RepositoryState state = repository.get(context.profile());
+
+				// changeset is based on the current profile state, merging it would result in a fast-forward
+				if (context.baseRevision().equals(state.revision())) {
+					return new RepositorySnapshot(state.revision(), false);
+				}
+
+				final Boolean conflicted;
+
+				try {
+					conflicted = conflicts.get(new MergeKey(state.revision(), context.headRevision()),
+							key -> repository.isConflicting(context.profile(), key.target(), key.source()));
+				} catch (RepositoryStateException ex) {
+					if (!isMissingRevision(ex, context.headRevision())) {
+						throw ex;
+					}
+
+					// the changeset head revision no longer exists, it can not be merged until it is recreated
+					// from the current profile state, which is reported as an outdated change request
+					log.warn("Could not resolve changeset revision '{}' of profile '{}', treating it as outdated",
+							context.headRevision(), context.profile().slug(), ex);
 
-			return new RepositorySnapshot(state.revision(), false);
+					return new RepositorySnapshot(state.revision(), false);
+				}
+
+				return new RepositorySnapshot(state.revision(), Boolean.TRUE.equals(conflicted));
+			}
+		}
+
+		/**
+		 * Checks if the exception was caused by the missing changeset revision. Other invalid states, like a
+		 * corrupted object or an unreadable index, must not be reported as an outdated change request.
+		 */
+		private static boolean isMissingRevision(RepositoryStateException ex, String revision) {
+			return ex.getErrorCode() == RepositoryStateException.ErrorCode.INVALID_STATE
+					&& ex.getCause() instanceof MissingObjectException missing
+					&& missing.getObjectId() != null
+					&& revision.equals(missing.getObjectId().name());
 		}
 
 	}
 
+	private record MergeKey(String target, String source) {
+	}
+
 }
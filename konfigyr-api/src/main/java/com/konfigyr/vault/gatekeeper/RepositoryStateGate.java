@@ -17,17 +17,19 @@ final class RepositoryStateGate implements Gate {
 	public GateResult evaluate(GateContext context) {
 		final RepositorySnapshot snapshot = context.repositorySnapshot();
 
+		// conflicts can only occur when the target profile has moved, they take precedence over the outdated
+		// status as the change request needs to be manually resolved before it can be merged
+		if (snapshot.conflicted()) {
+			return GateResult.block(ChangeRequestMergeStatus.CONFLICTING,
+					"Change request can not be merged due to conflicts in the repository state.");
+		}
+
 		if (!context.baseRevision().equals(snapshot.revision())) {
 			return GateResult.block(ChangeRequestMergeStatus.OUTDATED,
 					"Changeset is outdated, StateRepository(revision='%s') != ChangeRequest(baseRevision='%s')"
 							.formatted(snapshot.revision(), context.baseRevision()));
 		}
 
-		if (snapshot.conflicted()) {
-			return GateResult.block(ChangeRequestMergeStatus.CONFLICTING,
-					"Change request can not be merged due to conflicts in the repository state.");
-		}
-
 		return GateResult.pass();
 	}
 }
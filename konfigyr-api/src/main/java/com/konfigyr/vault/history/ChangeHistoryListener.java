@@ -1,6 +1,7 @@
 package com.konfigyr.vault.history;
 
 import com.konfigyr.vault.ProfileNotFoundException;
+import com.konfigyr.vault.VaultBatchEvent;
 import com.konfigyr.vault.VaultEvent;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.event.EventListener;
@@ -17,7 +18,16 @@ class ChangeHistoryListener {
 	@Async
 	@EventListener(id = "vault-change-history-listener", value = VaultEvent.ChangesApplied.class)
 	void createChangeHistory(VaultEvent.ChangesApplied event) {
-		service.commit(event.id(), event.result());
+		// changes applied in a batch are recorded together when the batch event is received
+		if (!event.isBatched()) {
+			service.commit(event.id(), event.result());
+		}
+	}
+
+	@Async
+	@EventListener(id = "vault-batch-change-history-listener", value = VaultBatchEvent.ChangesApplied.class)
+	void createChangeHistory(VaultBatchEvent.ChangesApplied event) {
+		service.commit(event.results());
 	}
 
 	@Async
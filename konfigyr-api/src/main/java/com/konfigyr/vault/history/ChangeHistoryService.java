@@ -2,7 +2,7 @@ package com.konfigyr.vault.history;
 
 import com.konfigyr.data.CursorPage;
 import com.konfigyr.data.CursorPageable;
-import com.konfigyr.data.Routines;
+import com.konfigyr.data.CursorPageableExecutor;
 import com.konfigyr.data.SettableRecord;
 import com.konfigyr.entity.EntityId;
 import com.konfigyr.io.ByteArray;
@@ -15,11 +15,9 @@ import org.jooq.*;
 import org.jooq.Record;
 import org.jooq.impl.DSL;
 import org.jspecify.annotations.Nullable;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.OffsetDateTime;
 import java.util.*;
 
 import static com.konfigyr.data.Keys.VAULT_PROPERTIES_PKEY;
@@ -58,6 +56,18 @@ public class ChangeHistoryService implements VaultChronicle {
 			VAULT_PROPERTY_HISTORY.CREATED_AT
 	);
 
+	private static final CursorPageableExecutor changeHistoryPageableExecutor = CursorPageableExecutor.builder()
+			.seekField(VAULT_CHANGE_HISTORY.CREATED_AT)
+			.seekField(VAULT_CHANGE_HISTORY.ID)
+			.codec(HistoryCursorToken.CODEC)
+			.build();
+
+	private static final CursorPageableExecutor propertyHistoryPageableExecutor = CursorPageableExecutor.builder()
+			.seekField(VAULT_PROPERTY_HISTORY.CREATED_AT)
+			.seekField(VAULT_PROPERTY_HISTORY.CHANGE_ID)
+			.codec(HistoryCursorToken.CODEC)
+			.build();
+
 	private final DSLContext context;
 
 	/**
@@ -139,6 +149,41 @@ public class ChangeHistoryService implements VaultChronicle {
 				ownership.namespace(), ownership.service(), ownership.profile(), result.revision());
 	}
 
+	/**
+	 * Records new revisions in the chronicle for all {@link Profile profiles} that were modified by a
+	 * single {@link BatchVault} operation.
+	 * <p>
+	 * The revisions are recorded in the same transaction, either the change history is recorded for
+	 * all profiles within the batch or for none of them.
+	 *
+	 * @param results the changes applied to the configuration states mapped by the profile, must not be {@code null}
+	 * @see #commit(EntityId, ApplyResult)
+	 */
+	@Transactional(label = "vault.commit-batch-change-history")
+	void commit(Map<Profile, ApplyResult> results) {
+		results.forEach((profile, result) -> commit(profile.id(), result));
+
+		log.info("Successfully committed change history for a batch of {} profiles", results.size());
+	}
+
+	/**
+	 * Records the changes that were written to the configuration state of the {@link Profile} outside
+	 * a {@link Vault}, such as the state that is seeded when a profile is created from a source profile.
+	 * <p>
+	 * The revision is recorded in the change history and the property index is synchronized within the
+	 * same transaction, without publishing the {@link VaultEvent.ChangesApplied} event.
+	 *
+	 * @param profile the entity identifier of the profile to which the changes are applied, must not be {@code null}
+	 * @param result the changes applied to the configuration state, must not be {@code null}
+	 * @see #commit(EntityId, ApplyResult)
+	 * @see #synchronize(EntityId, ApplyResult)
+	 */
+	@Transactional(label = "vault.record-change-history")
+	public void record(EntityId profile, ApplyResult result) {
+		commit(profile, result);
+		synchronize(profile, result);
+	}
+
 	/**
 	 * Synchronizes the currently active property state for a {@link Profile} to reflect the
 	 * {@link PropertyTransition transitions} contained within the given {@link ApplyResult}.
@@ -175,72 +220,12 @@ public class ChangeHistoryService implements VaultChronicle {
 	@Override
 	@Transactional(label = "vault.retrieve-change-history", readOnly = true)
 	public CursorPage<ChangeHistory> fetchHistory(Profile profile, CursorPageable pageable) {
-		// it is an unpaged request, return all changes for profile...
-		if (pageable.isUnpaged()) {
-			return CursorPage.of(
-					createChangeHistoryQuery(VAULT_CHANGE_HISTORY.PROFILE_ID.eq(profile.id().get()))
-							.orderBy(VAULT_CHANGE_HISTORY.CREATED_AT.desc())
-							.fetch(ChangeHistoryService::toChangeHistory)
-			);
-		}
-
-		final HistoryCursorToken token = HistoryCursorToken.decode(pageable);
-		final boolean isReversed = token != null && token.reversed();
-		final SortOrder sortOrder = isReversed ? SortOrder.ASC : SortOrder.DESC;
-
-		final List<Condition> conditions = new ArrayList<>();
-		conditions.add(VAULT_CHANGE_HISTORY.PROFILE_ID.eq(profile.id().get()));
-
-		if (token != null) {
-			if (sortOrder == SortOrder.DESC) {
-				conditions.add(VAULT_CHANGE_HISTORY.ID.lessThan(token.identifier()));
-				conditions.add(VAULT_CHANGE_HISTORY.CREATED_AT.lessThan(token.timestamp()));
-			} else {
-				conditions.add(VAULT_CHANGE_HISTORY.ID.greaterThan(token.identifier()));
-				conditions.add(VAULT_CHANGE_HISTORY.CREATED_AT.greaterThan(token.timestamp()));
-			}
-		}
-
-		final List<Record> results = createChangeHistoryQuery(DSL.and(conditions))
-				.orderBy(VAULT_CHANGE_HISTORY.ID.sort(sortOrder), VAULT_CHANGE_HISTORY.CREATED_AT.sort(sortOrder))
-				.limit(pageable.size() + 1)
-				.fetch();
-
-		final boolean hasMore = results.size() > pageable.size();
-		final List<Record> content = hasMore ? results.subList(0, pageable.size()) : results;
-
-		if (isReversed) {
-			Collections.reverse(content);
-		}
-
-		CursorPageable nextPageable = null;
-		CursorPageable previousPageable = null;
-
-		// If we were moving forward and found 'more', we have a next page...
-		// If we were moving backward, we definitely have a next page...
-		if (hasMore || isReversed) {
-			// Use the last element in the 'content' list to create the next token
-			final Record lastItem = content.getLast();
-			nextPageable = encodeNextCursor(
-					lastItem.get(VAULT_CHANGE_HISTORY.ID),
-					lastItem.get(VAULT_CHANGE_HISTORY.CREATED_AT),
-					pageable.size()
-			);
-		}
-
-		// the previous page should be specified when there was a token present...
-		if (pageable.token() != null && (!isReversed || hasMore)) {
-			final Record firstItem = content.getFirst();
-			previousPageable = encodePreviousCursor(
-					firstItem.get(VAULT_CHANGE_HISTORY.ID),
-					firstItem.get(VAULT_CHANGE_HISTORY.CREATED_AT),
-					pageable.size()
-			);
-		}
-
-		// we have reached the end, there is no next pageable...
-		return CursorPage.of(content, nextPageable, previousPageable)
-				.map(ChangeHistoryService::toChangeHistory);
+		return changeHistoryPageableExecutor.execute(
+				() -> context.select(CHANGE_HISTORY_FIELDS).from(VAULT_CHANGE_HISTORY),
+				() -> VAULT_CHANGE_HISTORY.PROFILE_ID.eq(profile.id().get()),
+				ChangeHistoryService::toChangeHistory,
+				pageable
+		);
 	}
 
 	@Override
@@ -255,73 +240,15 @@ public class ChangeHistoryService implements VaultChronicle {
 	@Override
 	@Transactional(label = "vault.trace-property-history", readOnly = true)
 	public CursorPage<PropertyHistory> traceProperty(Profile profile, String propertyName, CursorPageable pageable) {
-		final List<Condition> conditions = new ArrayList<>();
-		conditions.add(VAULT_PROPERTY_HISTORY.PROFILE_ID.eq(profile.id().get()));
-		conditions.add(VAULT_PROPERTY_HISTORY.PROPERTY_NAME.eq(propertyName));
-
-		// it is an unpaged request, return all changes for property within a profile...
-		if (pageable.isUnpaged()) {
-			return CursorPage.of(
-					createPropertyHistoryQuery(DSL.and(conditions))
-							.orderBy(VAULT_PROPERTY_HISTORY.CREATED_AT.desc())
-							.fetch(ChangeHistoryService::toPropertyHistory)
-			);
-		}
-
-		final HistoryCursorToken token = HistoryCursorToken.decode(pageable);
-		final boolean isReversed = token != null && token.reversed();
-		final SortOrder sortOrder = isReversed ? SortOrder.ASC : SortOrder.DESC;
-
-		if (token != null) {
-			if (sortOrder == SortOrder.DESC) {
-				conditions.add(VAULT_PROPERTY_HISTORY.CHANGE_ID.lessThan(token.identifier()));
-				conditions.add(VAULT_PROPERTY_HISTORY.CREATED_AT.lessThan(token.timestamp()));
-			} else {
-				conditions.add(VAULT_PROPERTY_HISTORY.CHANGE_ID.greaterThan(token.identifier()));
-				conditions.add(VAULT_PROPERTY_HISTORY.CREATED_AT.greaterThan(token.timestamp()));
-			}
-		}
-
-		final List<Record> results = createPropertyHistoryQuery(DSL.and(conditions))
-				.orderBy(VAULT_PROPERTY_HISTORY.CHANGE_ID.sort(sortOrder), VAULT_PROPERTY_HISTORY.CREATED_AT.sort(sortOrder))
-				.limit(pageable.size() + 1)
-				.fetch();
-
-		final boolean hasMore = results.size() > pageable.size();
-		final List<Record> content = hasMore ? results.subList(0, pageable.size()) : results;
-
-		if (isReversed) {
-			Collections.reverse(content);
-		}
-
-		CursorPageable nextPageable = null;
-		CursorPageable previousPageable = null;
-
-		// If we were moving forward and found 'more', we have a next page...
-		// If we were moving backward, we definitely have a next page...
-		if (hasMore || isReversed) {
-			// Use the last element in the 'content' list to create the next token
-			final Record lastItem = content.getLast();
-			nextPageable = encodeNextCursor(
-					lastItem.get(VAULT_PROPERTY_HISTORY.CHANGE_ID),
-					lastItem.get(VAULT_PROPERTY_HISTORY.CREATED_AT),
-					pageable.size()
-			);
-		}
-
-		// the previous page should be specified when there was a token present...
-		if (pageable.token() != null && (!isReversed || hasMore)) {
-			final Record firstItem = content.getFirst();
-			previousPageable = encodePreviousCursor(
-					firstItem.get(VAULT_PROPERTY_HISTORY.CHANGE_ID),
-					firstItem.get(VAULT_PROPERTY_HISTORY.CREATED_AT),
-					pageable.size()
-			);
-		}
-
-		// we have reached the end, there is no next pageable...
-		return CursorPage.of(content, nextPageable, previousPageable)
-				.map(ChangeHistoryService::toPropertyHistory);
+		return propertyHistoryPageableExecutor.execute(
+				this::createPropertyHistoryQuery,
+				() -> DSL.and(
+						VAULT_PROPERTY_HISTORY.PROFILE_ID.eq(profile.id().get()),
+						VAULT_PROPERTY_HISTORY.PROPERTY_NAME.eq(propertyName)
+				),
+				ChangeHistoryService::toPropertyHistory,
+				pageable
+		);
 	}
 
 	@Override
@@ -333,14 +260,6 @@ public class ChangeHistoryService implements VaultChronicle {
 				.fetch(ChangeHistoryService::toPropertyHistory);
 	}
 
-	@Transactional(label = "vault.create-revision-change-partitions")
-	@Scheduled(cron = "${konfigyr.vault.change-history.partitioning-cron:0 0 0 * * *}")
-	void createPartitions() {
-		final OffsetDateTime tomorrow = OffsetDateTime.now().plusDays(1);
-		Routines.createChangeHistoryPartition(context.configuration(), tomorrow);
-		Routines.createPropertyHistoryPartition(context.configuration(), tomorrow);
-	}
-
 	private long removePropertiesFromIndex(VaultOwnership ownership, Collection<String> propertyNames) {
 		if (propertyNames.isEmpty()) {
 			return 0;
@@ -410,11 +329,14 @@ public class ChangeHistoryService implements VaultChronicle {
 	}
 
 	private SelectConditionStep<Record> createPropertyHistoryQuery(Condition condition) {
+		return createPropertyHistoryQuery().where(condition);
+	}
+
+	private SelectOnConditionStep<Record> createPropertyHistoryQuery() {
 		return context.select(PROPERTY_HISTORY_FIELDS)
 				.from(VAULT_PROPERTY_HISTORY)
 				.innerJoin(VAULT_CHANGE_HISTORY)
-				.on(VAULT_CHANGE_HISTORY.ID.eq(VAULT_PROPERTY_HISTORY.CHANGE_ID))
-				.where(condition);
+				.on(VAULT_CHANGE_HISTORY.ID.eq(VAULT_PROPERTY_HISTORY.CHANGE_ID));
 	}
 
 	private VaultOwnership lookupOwnership(EntityId profile) {
@@ -427,20 +349,6 @@ public class ChangeHistoryService implements VaultChronicle {
 				.orElseThrow(() -> new ProfileNotFoundException(profile));
 	}
 
-	private static CursorPageable encodeNextCursor(UUID identifier, OffsetDateTime timestamp, int size) {
-		return CursorPageable.of(
-				HistoryCursorToken.of(identifier, timestamp).value(),
-				size
-		);
-	}
-
-	private static CursorPageable encodePreviousCursor(UUID identifier, OffsetDateTime timestamp, int size) {
-		return CursorPageable.of(
-				HistoryCursorToken.of(identifier, timestamp, true).value(),
-				size
-		);
-	}
-
 	private static ChangeHistory toChangeHistory(Record record) {
 		MarkdownContents description = null;
 
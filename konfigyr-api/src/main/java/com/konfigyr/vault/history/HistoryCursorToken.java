@@ -1,16 +1,17 @@
 package com.konfigyr.vault.history;
 
-import com.konfigyr.data.CursorPageable;
+import com.konfigyr.data.CursorPageableExecutor;
 import org.apache.commons.codec.DecoderException;
 import org.apache.commons.codec.binary.Hex;
 import org.jmolecules.ddd.annotation.ValueObject;
 import org.jspecify.annotations.NullMarked;
-import org.jspecify.annotations.Nullable;
 
 import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.UUID;
 
 @NullMarked
@@ -18,6 +19,27 @@ import java.util.UUID;
 record HistoryCursorToken(String value, UUID identifier, boolean reversed, OffsetDateTime timestamp) {
 
 	private static final byte VERSION = 0x1;
+	private static final byte MICROS_VERSION = 0x2;
+
+	/**
+	 * Codec used by the {@link CursorPageableExecutor} that is seeking over the {@code (created_at, id)} fields.
+	 */
+	static final CursorPageableExecutor.Codec CODEC = new CursorPageableExecutor.Codec() {
+		@Override
+		public CursorPageableExecutor.Position decode(String token) {
+			final HistoryCursorToken decoded = HistoryCursorToken.decode(token);
+			return new CursorPageableExecutor.Position(List.of(decoded.timestamp(), decoded.identifier()), decoded.reversed());
+		}
+
+		@Override
+		public String encode(CursorPageableExecutor.Position position) {
+			return HistoryCursorToken.of(
+					position.get(1, UUID.class),
+					position.get(0, OffsetDateTime.class),
+					position.reversed()
+			).value();
+		}
+	};
 
 	static HistoryCursorToken of(UUID identifier, OffsetDateTime timestamp) {
 		return of(identifier, timestamp, false);
@@ -25,20 +47,19 @@ record HistoryCursorToken(String value, UUID identifier, boolean reversed, Offse
 
 	static HistoryCursorToken of(UUID identifier, OffsetDateTime timestamp, boolean reversed) {
 		final ByteBuffer buffer = ByteBuffer.allocate(26);
-		buffer.put(VERSION);
+		final Instant instant = timestamp.toInstant();
+		// timestamps with sub-millisecond precision need to be encoded in microseconds, as the seek
+		// predicate would otherwise skip, or repeat, records created within the same millisecond
+		final boolean micros = instant.getNano() % 1_000_000 != 0;
+
+		buffer.put(micros ? MICROS_VERSION : VERSION);
 		buffer.put(reversed ? (byte) 0x1 : (byte) 0x0);
 		buffer.putLong(identifier.getMostSignificantBits());
 		buffer.putLong(identifier.getLeastSignificantBits());
-		buffer.putLong(timestamp.toInstant().toEpochMilli());
+		buffer.putLong(micros ? ChronoUnit.MICROS.between(Instant.EPOCH, instant) : instant.toEpochMilli());
 		return new HistoryCursorToken(Hex.encodeHexString(buffer.array()), identifier, reversed, timestamp);
 	}
 
-	@Nullable
-	static HistoryCursorToken decode(CursorPageable pageable) {
-		final String token = pageable.token();
-		return token == null ? null : decode(token);
-	}
-
 	static HistoryCursorToken decode(String encoded) {
 		if (encoded.length() != 52) {
 			throw new IllegalArgumentException("Invalid cursor token of: " + encoded);
@@ -52,8 +73,12 @@ record HistoryCursorToken(String value, UUID identifier, boolean reversed, Offse
 			throw new IllegalArgumentException("Invalid cursor token of: " + encoded, ex);
 		}
 
-		// skip version
-		buffer.get();
+		final byte version = buffer.get();
+
+		if (version != VERSION && version != MICROS_VERSION) {
+			throw new IllegalArgumentException("Invalid cursor token of: " + encoded);
+		}
+
 		// check if this is a reversed token
 		final byte reversed = buffer.get();
 
@@ -67,7 +92,11 @@ record HistoryCursorToken(String value, UUID identifier, boolean reversed, Offse
 		}
 
 		return new HistoryCursorToken(encoded, new UUID(mostSigBits, leastSigBits), reversed != 0,
-				Instant.ofEpochMilli(timestamp).atOffset(ZoneOffset.UTC));
+				toInstant(version, timestamp).atOffset(ZoneOffset.UTC));
+	}
+
+	private static Instant toInstant(byte version, long timestamp) {
+		return version == MICROS_VERSION ? Instant.EPOCH.plus(timestamp, ChronoUnit.MICROS) : Instant.ofEpochMilli(timestamp);
 	}
 
 }
@@ -6,6 +6,7 @@ import com.konfigyr.vault.PropertyChange;
 import com.konfigyr.vault.PropertyChanges;
 import org.jmolecules.ddd.annotation.ValueObject;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import org.springframework.core.io.InputStreamSource;
 
 import java.io.IOException;
@@ -19,11 +20,24 @@ import java.util.Iterator;
 public record Changeset(
 		AuthenticatedPrincipal author,
 		Properties properties,
-		PropertyChanges changes
+		PropertyChanges changes,
+		@Nullable String revision
 ) implements InputStreamSource, Iterable<PropertyChange>, Serializable {
 
 	@Serial
-	private static final long serialVersionUID = 2754166536195908346L;
+	private static final long serialVersionUID = 5901899032344116515L;
+
+	/**
+	 * Creates a new {@link Changeset} that is not bound to the revision of the profile state it was
+	 * prepared from.
+	 *
+	 * @param author the author of the changes, can't be {@literal null}
+	 * @param properties the properties state with applied changes, can't be {@literal null}
+	 * @param changes the property changes, can't be {@literal null}
+	 */
+	public Changeset(AuthenticatedPrincipal author, Properties properties, PropertyChanges changes) {
+		this(author, properties, changes, null);
+	}
 
 	@Override
 	public Iterator<PropertyChange> iterator() {
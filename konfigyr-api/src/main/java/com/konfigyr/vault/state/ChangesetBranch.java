@@ -0,0 +1,24 @@
+package com.konfigyr.vault.state;
+
+import org.jmolecules.ddd.annotation.ValueObject;
+import org.jspecify.annotations.NullMarked;
+
+import java.time.Instant;
+
+/**
+ * Record that describes a changeset branch that exists in the {@link StateRepository}.
+ * <p>
+ * Changeset branches are created when changes are applied to a {@link com.konfigyr.vault.Profile} and are
+ * either merged and discarded right away, or are kept alive for as long as the change request that uses
+ * them is open.
+ *
+ * @param name the full name of the changeset branch, can't be {@literal null}
+ * @param revision the revision to which the changeset branch currently points to, can't be {@literal null}
+ * @param timestamp the time when the latest revision of the changeset branch was created, can't be {@literal null}
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@NullMarked
+@ValueObject
+public record ChangesetBranch(String name, String revision, Instant timestamp) {
+}
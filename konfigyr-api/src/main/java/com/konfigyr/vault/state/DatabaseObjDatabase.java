@@ -0,0 +1,351 @@
+package com.konfigyr.vault.state;
+
+import com.konfigyr.io.ByteArray;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.internal.storage.dfs.*;
+import org.eclipse.jgit.internal.storage.pack.PackExt;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.time.OffsetDateTime;
+import java.util.*;
+
+import static com.konfigyr.data.Keys.PK_VAULT_REPOSITORY_FILES;
+import static com.konfigyr.data.tables.VaultRepositoryFiles.VAULT_REPOSITORY_FILES;
+import static com.konfigyr.data.tables.VaultRepositoryPacks.VAULT_REPOSITORY_PACKS;
+
+/**
+ * Implementation of the JGit {@link DfsObjDatabase} that stores the pack files of the {@link DatabaseRepository}
+ * in the {@code vault_repository_files} table and the descriptions of the committed packs in the
+ * {@code vault_repository_packs} table.
+ * <p>
+ * Pack files are written in full before their pack is committed, and are never modified afterward. A pack is
+ * only visible to the repository readers once its description is inserted, which happens in the same
+ * transaction that removes the packs it replaces. Pack files are read in blocks, each block is read from the
+ * database using the {@code substring} function, and is then retained by the {@link DfsBlockCache}.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@Slf4j
+@NullMarked
+final class DatabaseObjDatabase extends DfsObjDatabase {
+
+	private final DSLContext context;
+	private final long service;
+
+	DatabaseObjDatabase(DfsRepository repository, DfsReaderOptions options, DSLContext context, long service) {
+		super(repository, options);
+		this.context = context;
+		this.service = service;
+	}
+
+	@Override
+	public long getApproximateObjectCount() {
+		long count = 0;
+		for (DfsPackFile pack : getCurrentPacks()) {
+			count += pack.getPackDescription().getObjectCount();
+		}
+		return count;
+	}
+
+	@Override
+	protected DfsPackDescription newPack(PackSource source) {
+		// pack names must be unique as the block cache keys are derived from the repository and pack file names
+		final String name = "pack-" + UUID.randomUUID() + "-" + source.name();
+		return new DfsPackDescription(getRepository().getDescription(), name, source);
+	}
+
+	@Override
+	protected void commitPackImpl(Collection<DfsPackDescription> desc, @Nullable Collection<DfsPackDescription> replaces) {
+		final List<String> replaced = replaces == null ? List.of() : replaces.stream()
+				.map(DatabaseObjDatabase::getPackName)
+				.toList();
+
+		context.transaction(configuration -> {
+			final DSLContext transaction = configuration.dsl();
+
+			for (DfsPackDescription pack : desc) {
+				transaction.insertInto(VAULT_REPOSITORY_PACKS)
+						.set(VAULT_REPOSITORY_PACKS.SERVICE_ID, service)
+						.set(VAULT_REPOSITORY_PACKS.NAME, getPackName(pack))
+						.set(VAULT_REPOSITORY_PACKS.SOURCE, pack.getPackSource().name())
+						.set(VAULT_REPOSITORY_PACKS.OBJECT_COUNT, pack.getObjectCount())
+						.set(VAULT_REPOSITORY_PACKS.DELTA_COUNT, pack.getDeltaCount())
+						.set(VAULT_REPOSITORY_PACKS.INDEX_VERSION, pack.getIndexVersion())
+						.execute();
+			}
+
+			if (!replaced.isEmpty()) {
+				transaction.deleteFrom(VAULT_REPOSITORY_PACKS)
+						.where(VAULT_REPOSITORY_PACKS.SERVICE_ID.eq(service))
+						.and(VAULT_REPOSITORY_PACKS.NAME.in(replaced))
+						.execute();
+
+				transaction.deleteFrom(VAULT_REPOSITORY_FILES)
+						.where(VAULT_REPOSITORY_FILES.SERVICE_ID.eq(service))
+						.and(VAULT_REPOSITORY_FILES.PACK_NAME.in(replaced))
+						.execute();
+			}
+		});
+
+		log.debug("Committed {} packs, replacing {} packs, for database repository of Service({})",
+				desc.size(), replaced.size(), service);
+	}
+
+	@Override
+	protected void rollbackPack(Collection<DfsPackDescription> desc) {
+		final List<String> names = desc.stream()
+				.map(DatabaseObjDatabase::getPackName)
+				.toList();
+
+		context.deleteFrom(VAULT_REPOSITORY_FILES)
+				.where(VAULT_REPOSITORY_FILES.SERVICE_ID.eq(service))
+				.and(VAULT_REPOSITORY_FILES.PACK_NAME.in(names))
+				.execute();
+	}
+
+	@Override
+	protected List<DfsPackDescription> listPacks() {
+		final Map<String, DfsPackDescription> packs = new LinkedHashMap<>();
+
+		context.select(
+						VAULT_REPOSITORY_PACKS.NAME,
+						VAULT_REPOSITORY_PACKS.SOURCE,
+						VAULT_REPOSITORY_PACKS.OBJECT_COUNT,
+						VAULT_REPOSITORY_PACKS.DELTA_COUNT,
+						VAULT_REPOSITORY_PACKS.INDEX_VERSION,
+						VAULT_REPOSITORY_PACKS.CREATED_AT,
+						VAULT_REPOSITORY_FILES.EXTENSION,
+						VAULT_REPOSITORY_FILES.SIZE
+				)
+				.from(VAULT_REPOSITORY_PACKS)
+				.innerJoin(VAULT_REPOSITORY_FILES)
+				.on(VAULT_REPOSITORY_FILES.SERVICE_ID.eq(VAULT_REPOSITORY_PACKS.SERVICE_ID))
+				.and(VAULT_REPOSITORY_FILES.PACK_NAME.eq(VAULT_REPOSITORY_PACKS.NAME))
+				.where(VAULT_REPOSITORY_PACKS.SERVICE_ID.eq(service))
+				.orderBy(VAULT_REPOSITORY_PACKS.CREATED_AT.desc(), VAULT_REPOSITORY_PACKS.NAME)
+				.forEach(record -> {
+					final DfsPackDescription pack = packs.computeIfAbsent(record.get(VAULT_REPOSITORY_PACKS.NAME), name -> {
+						final OffsetDateTime timestamp = record.get(VAULT_REPOSITORY_PACKS.CREATED_AT);
+
+						return new DfsPackDescription(getRepository().getDescription(), name,
+								PackSource.valueOf(record.get(VAULT_REPOSITORY_PACKS.SOURCE)))
+								.setObjectCount(record.get(VAULT_REPOSITORY_PACKS.OBJECT_COUNT))
+								.setDeltaCount(record.get(VAULT_REPOSITORY_PACKS.DELTA_COUNT))
+								.setIndexVersion(record.get(VAULT_REPOSITORY_PACKS.INDEX_VERSION))
+								.setLastModified(timestamp.toInstant().toEpochMilli());
+					});
+
+					final PackExt extension = lookupExtension(record.get(VAULT_REPOSITORY_FILES.EXTENSION));
+
+					if (extension != null) {
+						pack.addFileExt(extension);
+						pack.setFileSize(extension, record.get(VAULT_REPOSITORY_FILES.SIZE));
+					}
+				});
+
+		return new ArrayList<>(packs.values());
+	}
+
+	@Override
+	protected ReadableChannel openFile(DfsPackDescription desc, PackExt ext) throws IOException {
+		final String name = getPackName(desc);
+
+		final Long size = context.select(VAULT_REPOSITORY_FILES.SIZE)
+				.from(VAULT_REPOSITORY_FILES)
+				.where(VAULT_REPOSITORY_FILES.SERVICE_ID.eq(service))
+				.and(VAULT_REPOSITORY_FILES.PACK_NAME.eq(name))
+				.and(VAULT_REPOSITORY_FILES.EXTENSION.eq(ext.getExtension()))
+				.fetchOne(VAULT_REPOSITORY_FILES.SIZE);
+
+		if (size == null) {
+			throw new FileNotFoundException(desc.getFileName(ext));
+		}
+
+		return new DatabaseReadableChannel(name, ext, size);
+	}
+
+	@Override
+	protected DfsOutputStream writeFile(DfsPackDescription desc, PackExt ext) {
+		return new DatabaseOutputStream(getPackName(desc), ext);
+	}
+
+	static String getPackName(DfsPackDescription desc) {
+		final String name = desc.getFileName(PackExt.PACK);
+		return name.substring(0, name.length() - PackExt.PACK.getExtension().length() - 1);
+	}
+
+	@Nullable
+	private static PackExt lookupExtension(String extension) {
+		for (PackExt candidate : PackExt.values()) {
+			if (candidate.getExtension().equals(extension)) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Channel that reads the blocks of a single pack file from the database. The block size is not defined
+	 * by the channel, the block size of the {@link DfsBlockCache} is used instead.
+	 */
+	private final class DatabaseReadableChannel implements ReadableChannel {
+
+		private final String name;
+		private final PackExt extension;
+		private final long size;
+
+		private long position;
+		private boolean open = true;
+
+		private DatabaseReadableChannel(String name, PackExt extension, long size) {
+			this.name = name;
+			this.extension = extension;
+			this.size = size;
+		}
+
+		@Override
+		public int read(ByteBuffer dst) throws IOException {
+			if (!open) {
+				throw new ClosedChannelException();
+			}
+
+			final int length = (int) Math.min(dst.remaining(), size - position);
+
+			if (length <= 0) {
+				return -1;
+			}
+
+			// substring positions in PostgreSQL are 1-based, this is why the position is incremented
+			final Field<byte[]> block = DSL.field("substring({0} from {1} for {2})", SQLDataType.BLOB,
+					VAULT_REPOSITORY_FILES.DATA, DSL.val(Math.toIntExact(position + 1)), DSL.val(length));
+
+			final byte[] data = context.select(block)
+					.from(VAULT_REPOSITORY_FILES)
+					.where(VAULT_REPOSITORY_FILES.SERVICE_ID.eq(service))
+					.and(VAULT_REPOSITORY_FILES.PACK_NAME.eq(name))
+					.and(VAULT_REPOSITORY_FILES.EXTENSION.eq(extension.getExtension()))
+					.fetchOne(block);
+
+			if (data == null) {
+				throw new FileNotFoundException(name + "." + extension.getExtension());
+			}
+
+			dst.put(data);
+			position += data.length;
+
+			return data.length;
+		}
+
+		@Override
+		public long position() {
+			return position;
+		}
+
+		@Override
+		public void position(long position) {
+			this.position = position;
+		}
+
+		@Override
+		public long size() {
+			return size;
+		}
+
+		@Override
+		public int blockSize() {
+			return 0;
+		}
+
+		@Override
+		public void setReadAheadBytes(int bufferSize) {
+			// read ahead is not supported, blocks are read on demand
+		}
+
+		@Override
+		public boolean isOpen() {
+			return open;
+		}
+
+		@Override
+		public void close() {
+			open = false;
+		}
+
+	}
+
+	/**
+	 * Output stream that buffers the pack file contents in memory and stores them in the database once the
+	 * stream is closed. Pack files of the state repositories are small, as they only contain the changes of a
+	 * single operation, until they are compacted.
+	 */
+	private final class DatabaseOutputStream extends DfsOutputStream {
+
+		private final Buffer buffer = new Buffer();
+		private final String name;
+		private final PackExt extension;
+
+		private DatabaseOutputStream(String name, PackExt extension) {
+			this.name = name;
+			this.extension = extension;
+		}
+
+		@Override
+		public void write(byte[] buf, int off, int len) {
+			buffer.write(buf, off, len);
+		}
+
+		@Override
+		public int read(long position, ByteBuffer buf) {
+			return buffer.read(position, buf);
+		}
+
+		@Override
+		public void close() {
+			final ByteArray data = new ByteArray(buffer.toByteArray());
+
+			context.insertInto(VAULT_REPOSITORY_FILES)
+					.set(VAULT_REPOSITORY_FILES.SERVICE_ID, service)
+					.set(VAULT_REPOSITORY_FILES.PACK_NAME, name)
+					.set(VAULT_REPOSITORY_FILES.EXTENSION, extension.getExtension())
+					.set(VAULT_REPOSITORY_FILES.SIZE, (long) data.size())
+					.set(VAULT_REPOSITORY_FILES.DATA, data)
+					.onConflictOnConstraint(PK_VAULT_REPOSITORY_FILES)
+					.doUpdate()
+					.set(VAULT_REPOSITORY_FILES.SIZE, (long) data.size())
+					.set(VAULT_REPOSITORY_FILES.DATA, data)
+					.execute();
+		}
+
+	}
+
+	/**
+	 * In-memory buffer of the pack file contents that can be read while the pack file is being written,
+	 * without copying the buffered contents on every read.
+	 */
+	private static final class Buffer extends ByteArrayOutputStream {
+
+		int read(long position, ByteBuffer target) {
+			final int length = (int) Math.min(target.remaining(), count - position);
+
+			if (length <= 0) {
+				return -1;
+			}
+
+			target.put(buf, (int) position, length);
+			return length;
+		}
+
+	}
+
+}
@@ -0,0 +1,258 @@
+package com.konfigyr.vault.state;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.internal.storage.dfs.DfsRefDatabase;
+import org.eclipse.jgit.internal.storage.dfs.DfsRepository;
+import org.eclipse.jgit.lib.*;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.transport.ReceiveCommand;
+import org.eclipse.jgit.util.RefList;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.konfigyr.data.tables.VaultRepositoryRefs.VAULT_REPOSITORY_REFS;
+
+/**
+ * Implementation of the JGit {@link DfsRefDatabase} that stores the refs of the {@link DatabaseRepository}
+ * in the {@code vault_repository_refs} table.
+ * <p>
+ * Every ref is stored as a single row that either contains the {@link ObjectId} the ref points to, or the
+ * name of the target ref in case of symbolic refs. Refs are updated using a row level compare-and-swap, the
+ * update or delete statement only matches the row when it still contains the value that was read by the
+ * updating {@link RefUpdate}. When another application instance has changed the ref in the meantime, no rows
+ * are affected and the update is rejected with a {@link RefUpdate.Result#LOCK_FAILURE}.
+ * <p>
+ * Atomic {@link BatchRefUpdate batch ref updates} are executed within a single database transaction, where
+ * a failure of one compare-and-swap operation rolls back the changes of all the other commands.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@Slf4j
+@NullMarked
+final class DatabaseRefDatabase extends DfsRefDatabase {
+
+	private final DSLContext context;
+	private final long service;
+
+	DatabaseRefDatabase(DfsRepository repository, DSLContext context, long service) {
+		super(repository);
+		this.context = context;
+		this.service = service;
+	}
+
+	@Override
+	public boolean performsAtomicTransactions() {
+		return true;
+	}
+
+	@Override
+	public BatchRefUpdate newBatchUpdate() {
+		return new DatabaseBatchRefUpdate(this);
+	}
+
+	/**
+	 * Reflogs are not stored for database backed Git repositories, there is no reflog to be read.
+	 *
+	 * @param ref the ref whose reflog should be read
+	 * @return always {@literal null}
+	 */
+	@Override
+	public @Nullable ReflogReader getReflogReader(Ref ref) {
+		return null;
+	}
+
+	@Override
+	protected RefCache scanAllRefs() {
+		final RefList.Builder<Ref> ids = new RefList.Builder<>();
+		final RefList.Builder<Ref> symbolic = new RefList.Builder<>();
+
+		context.select(VAULT_REPOSITORY_REFS.NAME, VAULT_REPOSITORY_REFS.OBJECT_ID, VAULT_REPOSITORY_REFS.TARGET)
+				.from(VAULT_REPOSITORY_REFS)
+				.where(VAULT_REPOSITORY_REFS.SERVICE_ID.eq(service))
+				.forEach(record -> {
+					final String name = record.get(VAULT_REPOSITORY_REFS.NAME);
+					final String target = record.get(VAULT_REPOSITORY_REFS.TARGET);
+
+					if (target != null) {
+						final Ref ref = new SymbolicRef(name, new ObjectIdRef.Unpeeled(Ref.Storage.NEW, target, null));
+						symbolic.add(ref);
+						ids.add(ref);
+					} else {
+						ids.add(new ObjectIdRef.Unpeeled(Ref.Storage.PACKED, name,
+								ObjectId.fromString(record.get(VAULT_REPOSITORY_REFS.OBJECT_ID))));
+					}
+				});
+
+		ids.sort();
+		symbolic.sort();
+
+		return new RefCache(ids.toRefList(), symbolic.toRefList());
+	}
+
+	@Override
+	protected boolean compareAndPut(@Nullable Ref oldRef, Ref newRef) {
+		final String target = newRef.isSymbolic() ? newRef.getTarget().getName() : null;
+		final ObjectId id = newRef.isSymbolic() ? null : newRef.getObjectId();
+
+		if (oldRef == null || oldRef.getStorage() == Ref.Storage.NEW) {
+			return insert(context, newRef.getName(), id, target);
+		}
+
+		return update(context, newRef.getName(), matches(oldRef), id, target);
+	}
+
+	@Override
+	protected boolean compareAndRemove(Ref oldRef) {
+		if (oldRef.getStorage() == Ref.Storage.NEW) {
+			return true;
+		}
+
+		return delete(context, oldRef.getName(), matches(oldRef));
+	}
+
+	private boolean insert(DSLContext context, String name, @Nullable ObjectId id, @Nullable String target) {
+		return context.insertInto(VAULT_REPOSITORY_REFS)
+				.set(VAULT_REPOSITORY_REFS.SERVICE_ID, service)
+				.set(VAULT_REPOSITORY_REFS.NAME, name)
+				.set(VAULT_REPOSITORY_REFS.OBJECT_ID, id == null ? null : id.name())
+				.set(VAULT_REPOSITORY_REFS.TARGET, target)
+				.onConflictDoNothing()
+				.execute() == 1;
+	}
+
+	private boolean update(DSLContext context, String name, Condition expected, @Nullable ObjectId id, @Nullable String target) {
+		return context.update(VAULT_REPOSITORY_REFS)
+				.set(VAULT_REPOSITORY_REFS.OBJECT_ID, id == null ? null : id.name())
+				.set(VAULT_REPOSITORY_REFS.TARGET, target)
+				.set(VAULT_REPOSITORY_REFS.UPDATED_AT, DSL.currentOffsetDateTime())
+				.where(VAULT_REPOSITORY_REFS.SERVICE_ID.eq(service))
+				.and(VAULT_REPOSITORY_REFS.NAME.eq(name))
+				.and(expected)
+				.execute() == 1;
+	}
+
+	private boolean delete(DSLContext context, String name, Condition expected) {
+		return context.deleteFrom(VAULT_REPOSITORY_REFS)
+				.where(VAULT_REPOSITORY_REFS.SERVICE_ID.eq(service))
+				.and(VAULT_REPOSITORY_REFS.NAME.eq(name))
+				.and(expected)
+				.execute() == 1;
+	}
+
+	private static Condition matches(Ref ref) {
+		if (ref.isSymbolic()) {
+			return matches(null, ref.getTarget().getName());
+		}
+		return matches(ref.getObjectId(), null);
+	}
+
+	private static Condition matches(@Nullable ObjectId id, @Nullable String target) {
+		if (target != null) {
+			return VAULT_REPOSITORY_REFS.TARGET.eq(target);
+		}
+		if (id == null || ObjectId.zeroId().equals(id)) {
+			return VAULT_REPOSITORY_REFS.OBJECT_ID.isNull().and(VAULT_REPOSITORY_REFS.TARGET.isNull());
+		}
+		return VAULT_REPOSITORY_REFS.OBJECT_ID.eq(id.name()).and(VAULT_REPOSITORY_REFS.TARGET.isNull());
+	}
+
+	/**
+	 * Batch ref update that executes the atomic batches within a single database transaction. Non-atomic
+	 * batches are executed using the default implementation, one {@link RefUpdate} per command.
+	 */
+	private final class DatabaseBatchRefUpdate extends BatchRefUpdate {
+
+		private DatabaseBatchRefUpdate(RefDatabase database) {
+			super(database);
+		}
+
+		@Override
+		public void execute(RevWalk walk, ProgressMonitor monitor, @Nullable List<String> options) throws IOException {
+			if (!isAtomic()) {
+				super.execute(walk, monitor, options);
+				return;
+			}
+
+			final List<ReceiveCommand> commands = ReceiveCommand.filter(getCommands(), ReceiveCommand.Result.NOT_ATTEMPTED);
+
+			if (commands.isEmpty()) {
+				return;
+			}
+
+			for (ReceiveCommand command : commands) {
+				if (command.getType() == ReceiveCommand.Type.UPDATE) {
+					command.updateType(walk);
+				}
+
+				if (command.getType() == ReceiveCommand.Type.UPDATE_NONFASTFORWARD && !isAllowNonFastForwards()) {
+					command.setResult(ReceiveCommand.Result.REJECTED_NONFASTFORWARD);
+					ReceiveCommand.abort(commands);
+					return;
+				}
+			}
+
+			monitor.beginTask("Updating references", commands.size());
+
+			try {
+				context.transaction(configuration -> {
+					final DSLContext transaction = configuration.dsl();
+
+					for (ReceiveCommand command : commands) {
+						if (!apply(transaction, command)) {
+							command.setResult(ReceiveCommand.Result.LOCK_FAILURE);
+							throw new ConcurrentRefUpdateException(command);
+						}
+						monitor.update(1);
+					}
+				});
+
+				commands.forEach(command -> command.setResult(ReceiveCommand.Result.OK));
+			} catch (ConcurrentRefUpdateException ex) {
+				log.debug("Atomic ref update for database repository of Service({}) failed as ref '{}' was changed",
+						service, ex.getMessage());
+
+				ReceiveCommand.abort(commands);
+			} catch (RuntimeException ex) {
+				ReceiveCommand.abort(commands);
+				throw ex;
+			} finally {
+				monitor.endTask();
+				refresh();
+			}
+		}
+
+		private boolean apply(DSLContext transaction, ReceiveCommand command) {
+			final String name = command.getRefName();
+
+			return switch (command.getType()) {
+				case CREATE -> insert(transaction, name, command.getNewSymref() == null ? command.getNewId() : null,
+						command.getNewSymref());
+				case UPDATE, UPDATE_NONFASTFORWARD -> update(transaction, name,
+						matches(command.getOldId(), command.getOldSymref()),
+						command.getNewSymref() == null ? command.getNewId() : null, command.getNewSymref());
+				case DELETE -> delete(transaction, name, matches(command.getOldId(), command.getOldSymref()));
+			};
+		}
+
+	}
+
+	/**
+	 * Exception used to roll back the transaction of an atomic batch when one of its compare-and-swap
+	 * operations does not match the current value of the ref.
+	 */
+	private static final class ConcurrentRefUpdateException extends RuntimeException {
+
+		private ConcurrentRefUpdateException(ReceiveCommand command) {
+			super(command.getRefName(), null, false, false);
+		}
+
+	}
+
+}
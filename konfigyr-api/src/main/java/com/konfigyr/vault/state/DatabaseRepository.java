@@ -0,0 +1,119 @@
+package com.konfigyr.vault.state;
+
+import com.konfigyr.namespace.Service;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.internal.storage.dfs.DfsObjDatabase;
+import org.eclipse.jgit.internal.storage.dfs.DfsReaderOptions;
+import org.eclipse.jgit.internal.storage.dfs.DfsRepository;
+import org.eclipse.jgit.internal.storage.dfs.DfsRepositoryBuilder;
+import org.eclipse.jgit.internal.storage.dfs.DfsRepositoryDescription;
+import org.eclipse.jgit.lib.RefDatabase;
+import org.jooq.DSLContext;
+import org.jspecify.annotations.NullMarked;
+
+import static com.konfigyr.data.tables.VaultRepositoryFiles.VAULT_REPOSITORY_FILES;
+import static com.konfigyr.data.tables.VaultRepositoryPacks.VAULT_REPOSITORY_PACKS;
+import static com.konfigyr.data.tables.VaultRepositoryRefs.VAULT_REPOSITORY_REFS;
+
+/**
+ * Implementation of the JGit {@link DfsRepository} that stores the Git objects and refs of a {@link Service}
+ * state repository in the database.
+ * <p>
+ * Git objects are stored in immutable pack files, that are written by the {@link DatabaseObjDatabase}, while
+ * the refs are stored as rows that are updated using a compare-and-swap operation by the {@link DatabaseRefDatabase}.
+ * This allows every application instance to serve any {@link Service} repository without the need for a shared
+ * file system. Blocks of the pack files that were read from the database are kept in the JVM wide
+ * {@link org.eclipse.jgit.internal.storage.dfs.DfsBlockCache}, as pack files are never modified once written.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ * @see DatabaseObjDatabase
+ * @see DatabaseRefDatabase
+ */
+@Slf4j
+@NullMarked
+final class DatabaseRepository extends DfsRepository {
+
+	private final long service;
+	private final DSLContext context;
+	private final DatabaseObjDatabase objectDatabase;
+	private final DatabaseRefDatabase refDatabase;
+
+	/**
+	 * Creates a new {@link Builder} for the {@link DatabaseRepository} of the given {@link Service}.
+	 *
+	 * @param context the jOOQ DSL context used to access the repository storage, can't be {@literal null}
+	 * @param service the repository owner, can't be {@literal null}
+	 * @return the repository builder, never {@literal null}
+	 */
+	static Builder builder(DSLContext context, Service service) {
+		return new Builder(context, service);
+	}
+
+	private DatabaseRepository(Builder builder) {
+		super(builder);
+		this.context = builder.context;
+		this.service = builder.service.id().get();
+		this.objectDatabase = new DatabaseObjDatabase(this, builder.getReaderOptions(), context, service);
+		this.refDatabase = new DatabaseRefDatabase(this, context, service);
+	}
+
+	@Override
+	public DfsObjDatabase getObjectDatabase() {
+		return objectDatabase;
+	}
+
+	@Override
+	public RefDatabase getRefDatabase() {
+		return refDatabase;
+	}
+
+	/**
+	 * Removes all refs, packs and pack files of this repository from the database within a single transaction.
+	 */
+	void destroy() {
+		context.transaction(configuration -> {
+			final DSLContext transaction = configuration.dsl();
+
+			final int refs = transaction.deleteFrom(VAULT_REPOSITORY_REFS)
+					.where(VAULT_REPOSITORY_REFS.SERVICE_ID.eq(service))
+					.execute();
+
+			final int packs = transaction.deleteFrom(VAULT_REPOSITORY_PACKS)
+					.where(VAULT_REPOSITORY_PACKS.SERVICE_ID.eq(service))
+					.execute();
+
+			transaction.deleteFrom(VAULT_REPOSITORY_FILES)
+					.where(VAULT_REPOSITORY_FILES.SERVICE_ID.eq(service))
+					.execute();
+
+			log.debug("Removed {} refs and {} packs of the database repository for Service({})", refs, packs, service);
+		});
+
+		refDatabase.refresh();
+	}
+
+	@NullMarked
+	static final class Builder extends DfsRepositoryBuilder<Builder, DatabaseRepository> {
+
+		private final DSLContext context;
+		private final Service service;
+
+		private Builder(DSLContext context, Service service) {
+			this.context = context;
+			this.service = service;
+
+			setReaderOptions(new DfsReaderOptions());
+			setRepositoryDescription(new DfsRepositoryDescription(
+					GitStateRepository.REPOSITORY_DIRECTORY_PREFIX + service.id().serialize()
+			));
+		}
+
+		@Override
+		public DatabaseRepository build() {
+			return new DatabaseRepository(this);
+		}
+
+	}
+
+}
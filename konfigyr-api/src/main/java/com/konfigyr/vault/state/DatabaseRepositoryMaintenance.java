@@ -0,0 +1,164 @@
+package com.konfigyr.vault.state;
+
+import com.konfigyr.data.scheduling.ClusterSingleton;
+import com.konfigyr.entity.EntityId;
+import com.konfigyr.namespace.Service;
+import com.konfigyr.namespace.Services;
+import com.konfigyr.vault.VaultProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.internal.storage.dfs.DfsGarbageCollector;
+import org.eclipse.jgit.lib.NullProgressMonitor;
+import org.eclipse.jgit.storage.pack.PackConfig;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.konfigyr.data.tables.VaultRepositoryPacks.VAULT_REPOSITORY_PACKS;
+
+/**
+ * Component responsible for the background maintenance of the state repositories that are stored in the
+ * database, the {@link StateStorage#DATABASE database storage}.
+ * <p>
+ * Every operation that changes the configuration state commits at least one new pack to the repository of the
+ * {@link Service}, and packs are never modified once they are committed. The number of packs, that need to be
+ * searched when reading the objects, would grow without bounds. The maintenance task would:
+ * <ul>
+ *     <li>
+ *         select the repositories whose number of packs exceeds the configured pack files threshold, ordered
+ *         by the number of packs, up to the maximum number of repositories
+ *     </li>
+ *     <li>
+ *         run the JGit DFS garbage collection for each selected repository, which repacks all reachable objects
+ *         into a single pack with bitmap indexes and drops the unreachable objects once they are older than
+ *         the configured prune expiry
+ *     </li>
+ * </ul>
+ * The packs that were replaced by the garbage collection are removed in the same transaction that commits the
+ * new packs, which keeps the repository readable by other application instances during the maintenance. Packs
+ * that are committed while the garbage collection is running are not replaced.
+ * <p>
+ * Repositories are maintained one by one, with a configurable pause between them, to limit the pressure that
+ * the maintenance puts on the database. The maintenance is scheduled using the cron expression that is defined
+ * by the {@link VaultProperties.Maintenance#getCron()} property.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ * @see VaultProperties.Maintenance
+ * @see DatabaseObjDatabase
+ */
+@Slf4j
+@NullMarked
+public class DatabaseRepositoryMaintenance implements MeterBinder {
+
+	private final DSLContext context;
+	private final Services services;
+	private final VaultProperties.Maintenance properties;
+
+	private MeterRegistry registry = Metrics.globalRegistry;
+
+	public DatabaseRepositoryMaintenance(DSLContext context, Services services, VaultProperties.Maintenance properties) {
+		this.context = context;
+		this.services = services;
+		this.properties = properties;
+	}
+
+	@Override
+	public void bindTo(@NonNull MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	/**
+	 * Executes the maintenance of the state repositories stored in the database. Failures are logged per
+	 * repository, so a single failing repository does not prevent the maintenance of the others.
+	 * <p>
+	 * This is a cluster singleton job, only one application instance performs the maintenance at a time.
+	 */
+	@ClusterSingleton(value = "vault-database-repository-maintenance", lockAtMostFor = "6h")
+	public void maintain() {
+		final List<Long> candidates = context.select(VAULT_REPOSITORY_PACKS.SERVICE_ID)
+				.from(VAULT_REPOSITORY_PACKS)
+				.groupBy(VAULT_REPOSITORY_PACKS.SERVICE_ID)
+				.having(DSL.count().ge(Math.toIntExact(properties.getPackFilesThreshold())))
+				.orderBy(DSL.count().desc(), VAULT_REPOSITORY_PACKS.SERVICE_ID)
+				.limit(properties.getMaxRepositories())
+				.fetch(VAULT_REPOSITORY_PACKS.SERVICE_ID);
+
+		log.info("Starting maintenance of {} database repositories", candidates.size());
+
+		for (int i = 0; i < candidates.size(); i++) {
+			if (i > 0 && !pause()) {
+				log.warn("Database repository maintenance was interrupted, {} repositories were not maintained",
+						candidates.size() - i);
+				break;
+			}
+
+			final Optional<Service> service = services.get(EntityId.from(candidates.get(i)));
+
+			if (service.isEmpty()) {
+				log.debug("Skipping maintenance of database repository for unknown Service({})", candidates.get(i));
+				continue;
+			}
+
+			try {
+				maintain(service.get());
+			} catch (Exception ex) {
+				log.error("Failed to maintain database repository for Service({})", service.get().id(), ex);
+			}
+		}
+	}
+
+	/**
+	 * Runs the garbage collection for the database repository of the given {@link Service}.
+	 *
+	 * @param service the service that owns the repository, can't be {@literal null}
+	 * @return {@literal true} when the packs were replaced, {@literal false} when the packs were concurrently
+	 * 		   replaced by another garbage collection
+	 * @throws Exception when the garbage collection fails
+	 */
+	boolean maintain(Service service) throws Exception {
+		final Timer.Sample sample = Timer.start(registry);
+		String outcome = "failure";
+
+		try (DatabaseRepository repository = DatabaseRepository.builder(context, service).build()) {
+			final PackConfig config = new PackConfig(repository);
+			config.setBuildBitmaps(true);
+
+			final DfsGarbageCollector gc = new DfsGarbageCollector(repository)
+					.setPackConfig(config)
+					.setGarbageTtl(properties.getPruneExpiry().toMillis(), TimeUnit.MILLISECONDS);
+
+			final boolean packed = gc.pack(NullProgressMonitor.INSTANCE);
+			outcome = "success";
+
+			log.info("Successfully maintained database repository for Service({}), packed: {}, replaced packs: {}",
+					service.id(), packed, gc.getSourcePacks().size());
+
+			return packed;
+		} finally {
+			sample.stop(Timer.builder(GitRepositoryMaintenance.MAINTENANCE_METRIC_NAME)
+					.description("Time spent maintaining a Git-based state repository")
+					.tag("outcome", outcome)
+					.register(registry));
+		}
+	}
+
+	private boolean pause() {
+		try {
+			Thread.sleep(properties.getDelay());
+			return true;
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,87 @@
+package com.konfigyr.vault.state;
+
+import com.konfigyr.namespace.Service;
+import com.konfigyr.vault.VaultProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.internal.storage.dfs.DfsBlockCache;
+import org.eclipse.jgit.internal.storage.dfs.DfsBlockCacheConfig;
+import org.jooq.DSLContext;
+import org.jspecify.annotations.NullMarked;
+
+import java.io.IOException;
+
+import static com.konfigyr.vault.state.RepositoryStateException.ErrorCode.*;
+
+/**
+ * Implementation of the {@link StateRepositoryFactory} that stores the Git objects and refs of the
+ * {@link GitStateRepository state repositories} in the database, using the JGit DFS storage abstraction.
+ * <p>
+ * Creating this factory reconfigures the JVM wide {@link DfsBlockCache} that is used as a local cache of the
+ * pack file blocks read from the database. Cached blocks never become stale, as pack files are immutable and
+ * their names are unique, which allows any application instance to serve any state repository.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ * @see StateStorage#DATABASE
+ * @see DatabaseRepository
+ */
+@Slf4j
+@NullMarked
+public class DatabaseStateRepositoryFactory implements StateRepositoryFactory {
+
+	private final DSLContext context;
+	private final StateLayout layout;
+
+	public DatabaseStateRepositoryFactory(DSLContext context, StateLayout layout, VaultProperties.Database properties) {
+		this.context = context;
+		this.layout = layout;
+
+		DfsBlockCache.reconfigure(new DfsBlockCacheConfig()
+				.setBlockLimit(properties.getCacheSize().toBytes())
+				.setBlockSize(Math.toIntExact(properties.getBlockSize().toBytes()))
+		);
+	}
+
+	@Override
+	public StateRepository create(Service service) {
+		final DatabaseRepository repository = DatabaseRepository.builder(context, service).build();
+
+		if (exists(service, repository)) {
+			repository.close();
+
+			throw new RepositoryStateException(REPOSITORY_ALREADY_EXISTS, "Repository already exists for Service(%s, %s)"
+					.formatted(service.id(), service.slug()));
+		}
+
+		log.debug("Initializing database repository for Service({})", service.id());
+
+		return GitStateRepository.initialize(service, repository, layout);
+	}
+
+	@Override
+	public StateRepository get(Service service) {
+		final DatabaseRepository repository = DatabaseRepository.builder(context, service).build();
+
+		if (!exists(service, repository)) {
+			repository.close();
+
+			throw new RepositoryStateException(UNKNOWN_REPOSITORY, "Could not find repository for Service(%s, %s)"
+					.formatted(service.id(), service.slug()));
+		}
+
+		return GitStateRepository.load(service, repository, layout);
+	}
+
+	private static boolean exists(Service service, DatabaseRepository repository) {
+		try {
+			return repository.exists();
+		} catch (IOException ex) {
+			repository.close();
+
+			throw new RepositoryStateException(UNAVAILABLE,
+					"I/O failure while accessing or executing Git repository operation for Service(%s, %s)"
+							.formatted(service.id(), service.slug()), ex);
+		}
+	}
+
+}
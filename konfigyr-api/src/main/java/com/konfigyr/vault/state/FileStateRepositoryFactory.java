@@ -0,0 +1,34 @@
+package com.konfigyr.vault.state;
+
+import com.konfigyr.namespace.Service;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.NullMarked;
+
+import java.nio.file.Path;
+
+/**
+ * Implementation of the {@link StateRepositoryFactory} that stores the {@link GitStateRepository state repositories}
+ * as bare Git repositories within the given root directory on the local file system.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ * @see StateStorage#FILE
+ */
+@NullMarked
+@RequiredArgsConstructor
+public class FileStateRepositoryFactory implements StateRepositoryFactory {
+
+	private final Path directory;
+	private final StateLayout layout;
+
+	@Override
+	public StateRepository create(Service service) {
+		return GitStateRepository.initialize(service, directory, layout);
+	}
+
+	@Override
+	public StateRepository get(Service service) {
+		return GitStateRepository.load(service, directory, layout);
+	}
+
+}
@@ -0,0 +1,375 @@
+package com.konfigyr.vault.state;
+
+import com.konfigyr.data.scheduling.ClusterSingleton;
+import com.konfigyr.entity.EntityId;
+import com.konfigyr.namespace.Service;
+import com.konfigyr.namespace.Services;
+import com.konfigyr.vault.VaultProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static com.konfigyr.data.tables.Services.SERVICES;
+import static com.konfigyr.vault.state.RepositoryStateException.ErrorCode.*;
+
+/**
+ * Component responsible for the backup and restore of the {@link StateRepository state repositories} using
+ * Git bundles that are written to a directory on the local file system.
+ * <p>
+ * Each backup writes a single bundle that contains the branches of the repository as they were when the backup
+ * started, which makes the backup consistent even when the repository is being modified at the same time. The
+ * branch revisions of the last written bundle are stored in the {@code watermark} file of the service backup
+ * directory. The following backups only write the objects that are not reachable from the watermark revisions,
+ * and no bundle is written at all when the branches have not changed since the last backup.
+ * <p>
+ * Bundles are stored in the {@code <directory>/service-repository-<id>/<sequence>-<type>.bundle} location, next
+ * to their SHA-256 checksum files. A full bundle, that has no prerequisites, is written for the first backup and
+ * after the configured number of incremental bundles, older bundles are then removed as they are no longer needed
+ * to restore the repository.
+ * <p>
+ * The repository is restored from the last full bundle and all the incremental bundles that follow it, where the
+ * checksums of all bundles are verified before the repository is created.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ * @see VaultProperties.Backup
+ */
+@Slf4j
+@NullMarked
+@RequiredArgsConstructor
+public class GitRepositoryBackup {
+
+	static final String WATERMARK_FILE_NAME = "watermark";
+	static final String BUNDLE_EXTENSION = ".bundle";
+	static final String CHECKSUM_EXTENSION = ".sha256";
+
+	private static final Pattern BUNDLE_NAME_PATTERN = Pattern.compile("^(\\d+)-(full|incremental)\\.bundle$");
+
+	private final DSLContext context;
+	private final Services services;
+	private final StateRepositoryFactory factory;
+	private final VaultProperties.Backup properties;
+
+	/**
+	 * Writes the backup bundles for the state repositories of all {@link Service services}. Failures are logged
+	 * per service, so a single failing repository does not prevent the backup of the others.
+	 * <p>
+	 * To change the execution interval, set the {@code konfigyr.vault.backup.cron} configuration property
+	 * to a valid cron expression. To disable this task, set it to {@code '-'}.
+	 * <p>
+	 * This is a cluster singleton job, only one application instance performs the backup at a time.
+	 *
+	 * @return the number of written backup bundles
+	 */
+	@ClusterSingleton(value = "vault-repository-backup", lockAtMostFor = "6h")
+	@Scheduled(cron = "${konfigyr.vault.backup.cron:0 0 2 * * *}")
+	long backup() {
+		final List<Long> identifiers = context.select(SERVICES.ID)
+				.from(SERVICES)
+				.orderBy(SERVICES.ID)
+				.fetch(SERVICES.ID);
+
+		long count = 0;
+
+		for (Long identifier : identifiers) {
+			final Optional<Service> service = services.get(EntityId.from(identifier));
+
+			if (service.isEmpty()) {
+				continue;
+			}
+
+			try {
+				if (backup(service.get()) != null) {
+					count++;
+				}
+			} catch (RepositoryStateException ex) {
+				if (ex.getErrorCode() == UNKNOWN_REPOSITORY) {
+					log.debug("Skipping backup for Service({}) as it has no state repository", identifier);
+				} else {
+					log.error("Failed to write backup bundle for Service({})", identifier, ex);
+				}
+			} catch (Exception ex) {
+				log.error("Failed to write backup bundle for Service({})", identifier, ex);
+			}
+		}
+
+		log.info("Successfully written {} backup bundles to: {}", count, properties.getDirectory());
+
+		return count;
+	}
+
+	/**
+	 * Writes the backup bundle for the state repository of the given {@link Service}. The bundle is incremental,
+	 * unless this is the first backup of the repository or the configured number of incremental bundles was
+	 * reached since the last full bundle.
+	 *
+	 * @param service the service whose repository should be backed up, can't be {@literal null}
+	 * @return the location of the written bundle or {@literal null} when the repository has not changed
+	 * @throws RepositoryStateException when the state repository could not be bundled
+	 * @throws UncheckedIOException when the bundle could not be written
+	 */
+	@Nullable
+	public Path backup(Service service) {
+		final Path location = createBackupLocation(service);
+		Path temporary = null;
+
+		try (StateRepository repository = factory.get(service)) {
+			final Map<String, String> references = repository.references();
+			final Map<String, String> watermark = readWatermark(location);
+
+			if (references.equals(watermark)) {
+				log.debug("Skipping backup for Service({}) as the repository has not changed since the last backup",
+						service.id());
+				return null;
+			}
+
+			final List<Bundle> bundles = listBundles(location);
+			final boolean full = watermark.isEmpty() || countIncrementalBundles(bundles) >= properties.getFullBackupInterval();
+			final long sequence = bundles.isEmpty() ? 1 : bundles.getLast().sequence() + 1;
+
+			final Path target = location.resolve("%06d-%s%s".formatted(sequence, full ? "full" : "incremental", BUNDLE_EXTENSION));
+			temporary = target.resolveSibling(target.getFileName() + ".tmp");
+
+			Files.createDirectories(location);
+
+			final MessageDigest digest = createMessageDigest();
+
+			try (OutputStream output = new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)), digest)) {
+				repository.bundle(references, full ? Set.of() : Set.copyOf(watermark.values()), output);
+			}
+
+			// the checksum is written before the bundle is moved to its final location, a bundle is therefore
+			// never present without its checksum, and the watermark is only moved once the bundle is in place
+			Files.writeString(createChecksumLocation(target), "%s  %s%n".formatted(
+					HexFormat.of().formatHex(digest.digest()), target.getFileName()), StandardCharsets.UTF_8);
+			Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+			writeWatermark(location, references);
+
+			if (full) {
+				removeBundles(bundles);
+			}
+
+			log.info("Successfully written {} backup bundle for Service({}) to: {}",
+					full ? "full" : "incremental", service.id(), target);
+
+			return target;
+		} catch (IOException ex) {
+			throw new UncheckedIOException("Failed to write backup bundle for Service(%s, %s)"
+					.formatted(service.id(), service.slug()), ex);
+		} finally {
+			if (temporary != null) {
+				try {
+					Files.deleteIfExists(temporary);
+				} catch (IOException ex) {
+					log.warn("Failed to delete temporary backup bundle: {}", temporary, ex);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Restores the state repository of the given {@link Service} from the last full backup bundle and the
+	 * incremental bundles that were written after it.
+	 * <p>
+	 * The checksums of all bundles are verified before the state repository is created, which means that the
+	 * repository must not exist when restoring it. When a bundle fails to be restored, the created state
+	 * repository is destroyed.
+	 *
+	 * @param service the service whose repository should be restored, can't be {@literal null}
+	 * @return the restored branch names and their revisions, never {@literal null}
+	 * @throws RepositoryStateException when there is no backup for the service, the checksums do not match or
+	 *                                  when the state repository already exists
+	 * @throws UncheckedIOException when the bundles could not be read
+	 */
+	public Map<String, String> restore(Service service) {
+		final Path location = createBackupLocation(service);
+		final List<Bundle> bundles;
+
+		try {
+			bundles = listBundles(location);
+		} catch (IOException ex) {
+			throw new UncheckedIOException("Failed to list backup bundles for Service(%s, %s)"
+					.formatted(service.id(), service.slug()), ex);
+		}
+
+		int start = bundles.size() - 1;
+		while (start >= 0 && !bundles.get(start).full()) {
+			start--;
+		}
+
+		if (start < 0) {
+			throw new RepositoryStateException(UNKNOWN_REPOSITORY, "Could not find full backup bundle for Service(%s, %s)"
+					.formatted(service.id(), service.slug()));
+		}
+
+		final List<Bundle> chain = bundles.subList(start, bundles.size());
+
+		for (Bundle bundle : chain) {
+			verifyChecksum(service, bundle);
+		}
+
+		try (StateRepository repository = factory.create(service)) {
+			try {
+				Map<String, String> references = Map.of();
+
+				for (Bundle bundle : chain) {
+					try (InputStream input = new BufferedInputStream(Files.newInputStream(bundle.location()))) {
+						references = repository.restore(input);
+					}
+				}
+
+				log.info("Successfully restored state repository for Service({}) from {} backup bundles",
+						service.id(), chain.size());
+
+				return references;
+			} catch (IOException ex) {
+				repository.destroy();
+
+				throw new UncheckedIOException("Failed to read backup bundle for Service(%s, %s)"
+						.formatted(service.id(), service.slug()), ex);
+			} catch (RuntimeException ex) {
+				repository.destroy();
+				throw ex;
+			}
+		}
+	}
+
+	private Path createBackupLocation(Service service) {
+		return properties.getDirectory().resolve(GitStateRepository.REPOSITORY_DIRECTORY_PREFIX + service.id().serialize());
+	}
+
+	private void verifyChecksum(Service service, Bundle bundle) {
+		final Path checksum = createChecksumLocation(bundle.location());
+
+		try {
+			if (!Files.exists(checksum)) {
+				throw new RepositoryStateException(INVALID_STATE, "Missing checksum for backup bundle '%s' of Service(%s, %s)"
+						.formatted(bundle.location().getFileName(), service.id(), service.slug()));
+			}
+
+			final String expected = Files.readString(checksum, StandardCharsets.UTF_8).trim().split("\\s+")[0];
+			final MessageDigest digest = createMessageDigest();
+
+			try (InputStream input = new DigestInputStream(new BufferedInputStream(Files.newInputStream(bundle.location())), digest)) {
+				input.transferTo(OutputStream.nullOutputStream());
+			}
+
+			if (!MessageDigest.isEqual(HexFormat.of().parseHex(expected), digest.digest())) {
+				throw new RepositoryStateException(INVALID_STATE, "Checksum mismatch for backup bundle '%s' of Service(%s, %s)"
+						.formatted(bundle.location().getFileName(), service.id(), service.slug()));
+			}
+		} catch (IllegalArgumentException ex) {
+			throw new RepositoryStateException(INVALID_STATE, "Invalid checksum for backup bundle '%s' of Service(%s, %s)"
+					.formatted(bundle.location().getFileName(), service.id(), service.slug()), ex);
+		} catch (IOException ex) {
+			throw new UncheckedIOException("Failed to verify backup bundle checksum for Service(%s, %s)"
+					.formatted(service.id(), service.slug()), ex);
+		}
+	}
+
+	private static Map<String, String> readWatermark(Path location) throws IOException {
+		final Path watermark = location.resolve(WATERMARK_FILE_NAME);
+
+		if (!Files.exists(watermark)) {
+			return Map.of();
+		}
+
+		final Map<String, String> references = new TreeMap<>();
+
+		for (String line : Files.readAllLines(watermark, StandardCharsets.UTF_8)) {
+			final String[] parts = line.trim().split("\\s+", 2);
+
+			if (parts.length == 2) {
+				references.put(parts[1], parts[0]);
+			}
+		}
+
+		return references;
+	}
+
+	private static void writeWatermark(Path location, Map<String, String> references) throws IOException {
+		final Path watermark = location.resolve(WATERMARK_FILE_NAME);
+		final Path temporary = watermark.resolveSibling(WATERMARK_FILE_NAME + ".tmp");
+
+		// uses the same `<revision> <branch>` line format as the Git bundle header
+		final StringBuilder contents = new StringBuilder();
+		references.forEach((name, revision) -> contents.append(revision).append(' ').append(name).append('\n'));
+
+		Files.writeString(temporary, contents, StandardCharsets.UTF_8);
+		Files.move(temporary, watermark, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private static List<Bundle> listBundles(Path location) throws IOException {
+		if (!Files.isDirectory(location)) {
+			return List.of();
+		}
+
+		try (Stream<Path> files = Files.list(location)) {
+			return files.map(Bundle::from)
+					.filter(Objects::nonNull)
+					.sorted(Comparator.comparingLong(Bundle::sequence))
+					.toList();
+		}
+	}
+
+	private static int countIncrementalBundles(List<Bundle> bundles) {
+		int count = 0;
+		for (int i = bundles.size() - 1; i >= 0 && !bundles.get(i).full(); i--) {
+			count++;
+		}
+		return count;
+	}
+
+	private static void removeBundles(List<Bundle> bundles) throws IOException {
+		for (Bundle bundle : bundles) {
+			Files.deleteIfExists(createChecksumLocation(bundle.location()));
+			Files.deleteIfExists(bundle.location());
+		}
+	}
+
+	private static Path createChecksumLocation(Path bundle) {
+		return bundle.resolveSibling(bundle.getFileName() + CHECKSUM_EXTENSION);
+	}
+
+	private static MessageDigest createMessageDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 message digest is not supported", ex);
+		}
+	}
+
+	private record Bundle(long sequence, boolean full, Path location) {
+
+		@Nullable
+		static Bundle from(Path location) {
+			final Matcher matcher = BUNDLE_NAME_PATTERN.matcher(location.getFileName().toString());
+
+			if (!matcher.matches()) {
+				return null;
+			}
+
+			return new Bundle(Long.parseLong(matcher.group(1)), "full".equals(matcher.group(2)), location);
+		}
+
+	}
+
+}
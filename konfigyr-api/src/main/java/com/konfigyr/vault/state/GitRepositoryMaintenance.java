@@ -0,0 +1,333 @@
+package com.konfigyr.vault.state;
+
+import com.konfigyr.data.scheduling.ClusterSingleton;
+import com.konfigyr.vault.VaultProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.internal.storage.file.GC;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.storage.pack.PackConfig;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * Component responsible for the background maintenance of the Git-based state repositories.
+ * <p>
+ * Every operation that changes the configuration state writes new loose objects and refs to the repository
+ * of the {@link com.konfigyr.namespace.Service}, and nothing else removes or packs them. The maintenance
+ * task, that is executed by default every day at 3 AM, would:
+ * <ul>
+ *     <li>collect the object and ref statistics of every state repository</li>
+ *     <li>
+ *         select the repositories that exceed one of the configured loose object, pack file or loose ref
+ *         thresholds, ordered by the number of loose objects, up to the maximum number of repositories
+ *     </li>
+ *     <li>
+ *         run the JGit garbage collection for each selected repository, which packs the refs, repacks the
+ *         objects into a single pack with bitmap indexes and prunes the expired unreachable loose objects
+ *     </li>
+ * </ul>
+ * Repositories are maintained one by one, with a configurable pause between them, to limit the I/O pressure
+ * that the maintenance puts on the foreground repository operations. The collected statistics are exposed as
+ * metrics and through the Git repository health indicator.
+ * <p>
+ * The maintenance is only available when the state repositories are stored in the repository directory, the
+ * {@link StateStorage#FILE file storage}. It is scheduled using the cron expression that is defined by the
+ * {@link VaultProperties.Maintenance#getCron()} property.
+ * <p>
+ * The statistics are not persisted, they are kept in memory of the application instance that executed the
+ * last maintenance run. As the maintenance is a cluster singleton job, the metrics and the health details of
+ * the other application instances only reflect the maintenance runs that they have executed themselves.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ * @see VaultProperties.Maintenance
+ */
+@Slf4j
+@NullMarked
+public class GitRepositoryMaintenance implements MeterBinder {
+
+	static final String REPOSITORIES_METRIC_NAME = "konfigyr.vault.repositories";
+	static final String LOOSE_OBJECTS_METRIC_NAME = "konfigyr.vault.repositories.loose.objects";
+	static final String PACK_FILES_METRIC_NAME = "konfigyr.vault.repositories.pack.files";
+	static final String SIZE_METRIC_NAME = "konfigyr.vault.repositories.size";
+	static final String MAINTENANCE_METRIC_NAME = "konfigyr.vault.repositories.maintenance";
+
+	private final Path directory;
+	private final VaultProperties.Maintenance properties;
+	private final Clock clock;
+	private final Map<String, Statistics> statistics = new ConcurrentHashMap<>();
+
+	private volatile @Nullable Instant lastRun;
+	private MeterRegistry registry = Metrics.globalRegistry;
+
+	public GitRepositoryMaintenance(Path directory, VaultProperties.Maintenance properties) {
+		this(directory, properties, Clock.systemUTC());
+	}
+
+	GitRepositoryMaintenance(Path directory, VaultProperties.Maintenance properties, Clock clock) {
+		this.directory = directory;
+		this.properties = properties;
+		this.clock = clock;
+	}
+
+	@Override
+	public void bindTo(@NonNull MeterRegistry registry) {
+		this.registry = registry;
+
+		Gauge.builder(REPOSITORIES_METRIC_NAME, statistics, Map::size)
+				.description("Number of Git-based state repositories")
+				.register(registry);
+
+		Gauge.builder(LOOSE_OBJECTS_METRIC_NAME, statistics, it -> sum(it, Statistics::looseObjects))
+				.description("Total number of loose objects in all Git-based state repositories")
+				.register(registry);
+
+		Gauge.builder(PACK_FILES_METRIC_NAME, statistics, it -> sum(it, Statistics::packFiles))
+				.description("Total number of pack files in all Git-based state repositories")
+				.register(registry);
+
+		Gauge.builder(SIZE_METRIC_NAME, statistics, it -> sum(it, Statistics::size))
+				.description("Total size in bytes of loose and packed objects in all Git-based state repositories")
+				.baseUnit("bytes")
+				.register(registry);
+	}
+
+	/**
+	 * Returns the statistics of the Git-based state repositories that were collected by the last maintenance
+	 * run, ordered by the number of loose objects, starting with the repository that has the most of them.
+	 * <p>
+	 * The statistics are only collected by this application instance, they are empty when the maintenance
+	 * was executed by another instance of the cluster.
+	 *
+	 * @return the repository statistics, never {@literal null}
+	 */
+	public List<Statistics> statistics() {
+		return statistics.values().stream()
+				.sorted(Comparator.comparingLong(Statistics::looseObjects).reversed())
+				.toList();
+	}
+
+	/**
+	 * Returns the time when the last maintenance run was completed by this application instance.
+	 *
+	 * @return the last maintenance run time, or {@literal null} when the maintenance was not yet executed
+	 */
+	public @Nullable Instant lastRun() {
+		return lastRun;
+	}
+
+	/**
+	 * Checks if the repository with the given statistics exceeds one of the configured maintenance thresholds.
+	 *
+	 * @param statistics the repository statistics, can't be {@literal null}
+	 * @return {@literal true} when the repository should be maintained, {@literal false} otherwise
+	 */
+	public boolean requiresMaintenance(Statistics statistics) {
+		return statistics.looseObjects() >= properties.getLooseObjectsThreshold()
+				|| statistics.packFiles() >= properties.getPackFilesThreshold()
+				|| statistics.looseRefs() >= properties.getLooseRefsThreshold();
+	}
+
+	/**
+	 * Executes the maintenance of the Git-based state repositories. Failures are logged per repository, so
+	 * a single failing repository does not prevent the maintenance of the others.
+	 * <p>
+	 * This is a cluster singleton job, only one application instance performs the maintenance at a time.
+	 */
+	@ClusterSingleton(value = "vault-repository-maintenance", lockAtMostFor = "6h")
+	public void maintain() {
+		final Map<String, Path> repositories = repositories();
+
+		statistics.keySet().retainAll(repositories.keySet());
+
+		repositories.forEach((name, location) -> {
+			try {
+				statistics.put(name, collect(name, location));
+			} catch (Exception ex) {
+				log.warn("Failed to collect statistics for Git repository: {}", location, ex);
+			}
+		});
+
+		final List<Statistics> candidates = statistics().stream()
+				.filter(this::requiresMaintenance)
+				.limit(properties.getMaxRepositories())
+				.toList();
+
+		log.info("Starting maintenance of {} out of {} Git repositories", candidates.size(), repositories.size());
+
+		for (int i = 0; i < candidates.size(); i++) {
+			if (i > 0 && !pause()) {
+				log.warn("Git repository maintenance was interrupted, {} repositories were not maintained",
+						candidates.size() - i);
+				break;
+			}
+
+			final Statistics candidate = candidates.get(i);
+
+			try {
+				statistics.put(candidate.repository(), maintain(candidate.repository(), repositories.get(candidate.repository())));
+			} catch (Exception ex) {
+				log.error("Failed to maintain Git repository: {}", candidate.repository(), ex);
+			}
+		}
+
+		lastRun = clock.instant();
+	}
+
+	/**
+	 * Runs the garbage collection for the Git repository at the given location.
+	 *
+	 * @param name the name of the repository, can't be {@literal null}
+	 * @param location the location of the repository, can't be {@literal null}
+	 * @return the repository statistics after the garbage collection, never {@literal null}
+	 * @throws Exception when the garbage collection fails
+	 */
+	Statistics maintain(String name, Path location) throws Exception {
+		final Timer.Sample sample = Timer.start(registry);
+		String outcome = "failure";
+
+		try (FileRepository repository = open(location)) {
+			final PackConfig config = new PackConfig(repository);
+			config.setBuildBitmaps(true);
+
+			final GC gc = new GC(repository);
+			gc.setPackConfig(config);
+			gc.setExpireAgeMillis(properties.getPruneExpiry().toMillis());
+
+			// garbage collection packs the refs, repacks all reachable objects into a new pack with bitmap
+			// indexes and prunes the expired loose objects, the returned future is already completed as the
+			// collection is not executed in the background
+			gc.gc().join();
+
+			final Statistics result = Statistics.of(name, gc.getStatistics(), clock.instant());
+			outcome = "success";
+
+			log.info("Successfully maintained Git repository: {}", result);
+
+			return result;
+		} finally {
+			sample.stop(Timer.builder(MAINTENANCE_METRIC_NAME)
+					.description("Time spent maintaining a Git-based state repository")
+					.tag("outcome", outcome)
+					.register(registry));
+		}
+	}
+
+	private Statistics collect(String name, Path location) throws IOException {
+		final Statistics previous = statistics.get(name);
+
+		try (FileRepository repository = open(location)) {
+			return Statistics.of(name, new GC(repository).getStatistics(), previous == null ? null : previous.maintainedAt());
+		}
+	}
+
+	private Map<String, Path> repositories() {
+		if (!Files.isDirectory(directory)) {
+			return Map.of();
+		}
+
+		try (Stream<Path> stream = Files.list(directory)) {
+			final Map<String, Path> repositories = new LinkedHashMap<>();
+
+			stream.filter(Files::isDirectory)
+					.filter(it -> it.getFileName().toString().startsWith(GitStateRepository.REPOSITORY_DIRECTORY_PREFIX))
+					.forEach(it -> repositories.put(it.getFileName().toString(), it));
+
+			return repositories;
+		} catch (IOException ex) {
+			log.error("Failed to list Git repositories in directory: {}", directory, ex);
+			return Map.of();
+		}
+	}
+
+	private boolean pause() {
+		try {
+			Thread.sleep(properties.getDelay());
+			return true;
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private static FileRepository open(Path location) throws IOException {
+		return (FileRepository) new FileRepositoryBuilder()
+				.setGitDir(location.toFile())
+				.setMustExist(true)
+				.build();
+	}
+
+	private static long sum(Map<String, Statistics> statistics, ToLongFunction<Statistics> extractor) {
+		return statistics.values().stream().mapToLong(extractor).sum();
+	}
+
+	/**
+	 * Record that contains the object and ref statistics of a single Git-based state repository.
+	 *
+	 * @param repository the name of the repository directory
+	 * @param looseObjects the number of loose objects
+	 * @param looseObjectsSize the size in bytes of the loose objects
+	 * @param packedObjects the number of packed objects
+	 * @param packedObjectsSize the size in bytes of the pack files
+	 * @param packFiles the number of pack files
+	 * @param bitmaps the number of bitmap indexes
+	 * @param looseRefs the number of loose refs
+	 * @param packedRefs the number of packed refs
+	 * @param maintainedAt the time when the repository was last maintained, can be {@literal null}
+	 */
+	public record Statistics(
+			String repository,
+			long looseObjects,
+			long looseObjectsSize,
+			long packedObjects,
+			long packedObjectsSize,
+			long packFiles,
+			long bitmaps,
+			long looseRefs,
+			long packedRefs,
+			@Nullable Instant maintainedAt
+	) {
+
+		static Statistics of(String repository, GC.RepoStatistics statistics, @Nullable Instant maintainedAt) {
+			return new Statistics(
+					repository,
+					statistics.numberOfLooseObjects,
+					statistics.sizeOfLooseObjects,
+					statistics.numberOfPackedObjects,
+					statistics.sizeOfPackedObjects,
+					statistics.numberOfPackFiles,
+					statistics.numberOfBitmaps,
+					statistics.numberOfLooseRefs,
+					statistics.numberOfPackedRefs,
+					maintainedAt
+			);
+		}
+
+		/**
+		 * Returns the total size in bytes of the loose and packed objects.
+		 *
+		 * @return the repository size in bytes
+		 */
+		public long size() {
+			return looseObjectsSize + packedObjectsSize;
+		}
+	}
+
+}
@@ -2,13 +2,22 @@ package com.konfigyr.vault.state;
 
 import com.konfigyr.namespace.Service;
 import com.konfigyr.vault.Profile;
+import com.konfigyr.vault.Properties;
+import com.konfigyr.vault.PropertyChange;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheBuilder;
+import org.eclipse.jgit.dircache.DirCacheEntry;
 import org.eclipse.jgit.errors.CorruptObjectException;
+import org.eclipse.jgit.errors.IncorrectObjectTypeException;
 import org.eclipse.jgit.errors.IndexReadException;
 import org.eclipse.jgit.errors.IndexWriteException;
+import org.eclipse.jgit.errors.InvalidObjectIdException;
+import org.eclipse.jgit.errors.MissingBundlePrerequisiteException;
+import org.eclipse.jgit.errors.MissingObjectException;
 import org.eclipse.jgit.errors.RepositoryNotFoundException;
 import org.eclipse.jgit.lib.*;
 import org.eclipse.jgit.merge.MergeStrategy;
@@ -18,11 +27,20 @@ import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.revwalk.RevSort;
 import org.eclipse.jgit.revwalk.RevTree;
 import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.revwalk.filter.RevFilter;
+import org.eclipse.jgit.transport.BundleWriter;
+import org.eclipse.jgit.transport.FetchConnection;
+import org.eclipse.jgit.transport.ReceiveCommand;
+import org.eclipse.jgit.transport.Transport;
+import org.eclipse.jgit.transport.TransportBundleStream;
+import org.eclipse.jgit.transport.URIish;
 import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
 import org.eclipse.jgit.treewalk.TreeWalk;
-import org.eclipse.jgit.treewalk.filter.PathFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
 import org.eclipse.jgit.util.FS;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -30,12 +48,11 @@ import org.springframework.util.function.ThrowingSupplier;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
-import java.util.UUID;
+import java.time.Instant;
+import java.util.*;
 
 import static com.konfigyr.vault.state.RepositoryStateException.ErrorCode.*;
 
@@ -61,6 +78,13 @@ import static com.konfigyr.vault.state.RepositoryStateException.ErrorCode.*;
  *         pointer manipulation (branch creation, deletion, and HEAD management).
  *     </li>
  * </ul>
+ * <h3>Configuration State Layout</h3>
+ * The configuration state of a profile can be stored using one of the supported {@link StateLayout layouts}.
+ * By default, the state is stored in a single {@code application.properties} Blob in the root of the tree.
+ * Profiles with a large number of properties should use the {@link StateLayout#SHARDED sharded} layout,
+ * where the state is split into multiple Blobs inside the {@code shards} directory. Commits would then only
+ * create Blobs for shards that contain changed properties, and the Git merge would only need to resolve
+ * shards that were changed on both sides. The state is always read from either layout.
  * <h3>Best Practices for Developers</h3>
  * When updating the logic in this class, you <b>MUST</b> adhere to the following:
  * <ul>
@@ -119,12 +143,31 @@ public final class GitStateRepository implements StateRepository {
 	static final String CONFIGURATION_STATE_FILE_NAME = "application.properties";
 
 	/**
-	 * The path filter used to identify configuration state files when walking the Git repository tree.
+	 * The name of the directory withing the Git repository that stores the configuration state shards.
 	 */
-	static final PathFilter CONFIGURATION_STATE_PATH_FILTER = PathFilter.create(CONFIGURATION_STATE_FILE_NAME);
+	static final String CONFIGURATION_SHARDS_DIRECTORY_NAME = "shards";
+
+	/**
+	 * The path filter used to identify all configuration state files, either the single state file or
+	 * the state shards, when walking the Git repository tree.
+	 */
+	static final TreeFilter CONFIGURATION_STATE_FILES_FILTER = PathFilterGroup.createFromStrings(
+			CONFIGURATION_STATE_FILE_NAME, CONFIGURATION_SHARDS_DIRECTORY_NAME
+	);
+
+	/**
+	 * The prefix of the directory names of the service Git repositories within the root Git directory.
+	 */
+	static final String REPOSITORY_DIRECTORY_PREFIX = "service-repository-";
+
+	/**
+	 * The prefix of the changeset branch names, changeset branches are named {@code <prefix><profile>/<uuid>}.
+	 */
+	static final String CHANGESET_REF_PREFIX = Constants.R_HEADS + "changeset/";
 
 	private final Service service;
 	private final Repository repository;
+	private final StateLayout layout;
 
 	private volatile boolean closed = false;
 
@@ -138,6 +181,21 @@ public final class GitStateRepository implements StateRepository {
 	 * @throws RepositoryStateException when there was an issue while loading the Git repository
 	 */
 	public static GitStateRepository load(Service service, Path directory) {
+		return load(service, directory, StateLayout.SINGLE);
+	}
+
+	/**
+	 * Creates a new instance of the {@link GitStateRepository} by loading the underlying Git {@link Repository}
+	 * from the given root Git directory location that would write configuration states using the given
+	 * {@link StateLayout}.
+	 *
+	 * @param service the repository owner, can't be {@literal null}
+	 * @param directory the root Git directory location, can't be {@literal null}
+	 * @param layout the layout used when writing configuration states, can't be {@literal null}
+	 * @return the Git backed state repository, never {@literal null}
+	 * @throws RepositoryStateException when there was an issue while loading the Git repository
+	 */
+	public static GitStateRepository load(Service service, Path directory, StateLayout layout) {
 		final Path location = createRepositoryLocation(directory, service);
 
 		log.debug("Loading repository for Service({}) with location: {}", service.id(), location);
@@ -151,7 +209,7 @@ public final class GitStateRepository implements StateRepository {
 					.setMustExist(true)
 					.build();
 
-			return new GitStateRepository(service, repository);
+			return load(service, repository, layout);
 		} catch (RepositoryNotFoundException ex) {
 			throw new RepositoryStateException(UNKNOWN_REPOSITORY, "Could not find repository for Service(%s, %s)"
 					.formatted(service.id(), service.slug()), ex);
@@ -178,6 +236,20 @@ public final class GitStateRepository implements StateRepository {
 	 * @throws RepositoryStateException when there was an issue while initializing the Git repository
 	 */
 	public static GitStateRepository initialize(Service service, Path directory) {
+		return initialize(service, directory, StateLayout.SINGLE);
+	}
+
+	/**
+	 * Initializes the source control repository for the given {@link Service} under the supplied
+	 * root Git directory location that would write configuration states using the given {@link StateLayout}.
+	 *
+	 * @param service the repository owner, can't be {@literal null}
+	 * @param directory the root Git directory location, can't be {@literal null}
+	 * @param layout the layout used when writing configuration states, can't be {@literal null}
+	 * @return initialized Git backed state repository, never {@literal null}
+	 * @throws RepositoryStateException when there was an issue while initializing the Git repository
+	 */
+	public static GitStateRepository initialize(Service service, Path directory, StateLayout layout) {
 		final Path location = createRepositoryLocation(directory, service);
 
 		if (Files.exists(location)) {
@@ -187,11 +259,43 @@ public final class GitStateRepository implements StateRepository {
 
 		log.debug("Initializing repository for Service({}) with location: {}", service.id(), location);
 
+		try {
+			return initialize(service, FileRepositoryBuilder.create(location.toFile()), layout);
+		} catch (IOException ex) {
+			throw new RepositoryStateException(INITIALIZATION_FAILED,
+					"Unexpected error occurred while initializing Git Repository for Service(%s, %s)"
+							.formatted(service.id(), service.slug()), ex);
+		}
+	}
+
+	/**
+	 * Creates a new instance of the {@link GitStateRepository} that uses the given, existing, Git {@link Repository}
+	 * that would write configuration states using the given {@link StateLayout}.
+	 *
+	 * @param service the repository owner, can't be {@literal null}
+	 * @param repository the existing Git repository, can't be {@literal null}
+	 * @param layout the layout used when writing configuration states, can't be {@literal null}
+	 * @return the Git backed state repository, never {@literal null}
+	 */
+	static GitStateRepository load(Service service, Repository repository, StateLayout layout) {
+		return new GitStateRepository(service, repository, layout);
+	}
+
+	/**
+	 * Initializes the given Git {@link Repository}, that is not yet created in its storage, for the given
+	 * {@link Service} that would write configuration states using the given {@link StateLayout}.
+	 *
+	 * @param service the repository owner, can't be {@literal null}
+	 * @param repository the Git repository that should be created, can't be {@literal null}
+	 * @param layout the layout used when writing configuration states, can't be {@literal null}
+	 * @return initialized Git backed state repository, never {@literal null}
+	 * @throws RepositoryStateException when there was an issue while initializing the Git repository
+	 */
+	static GitStateRepository initialize(Service service, Repository repository, StateLayout layout) {
 		// Create a new bare Git repository for the service as we intend to interact with Git the database
 		// directly, not git work tree. To properly set up the repository and the HEAD state, an empty commit
 		// would be created, this would then be used as a starting point when creating profile refs
 		try {
-			final Repository repository = FileRepositoryBuilder.create(location.toFile());
 			repository.create(true);
 
 			// Let's try to create a commit with an empty tree (no files) and update the main ref
@@ -220,10 +324,12 @@ public final class GitStateRepository implements StateRepository {
 				}
 			}
 
-			return new GitStateRepository(service, repository);
+			return new GitStateRepository(service, repository, layout);
 		} catch (RepositoryStateException ex) {
+			repository.close();
 			throw ex;
 		} catch (Exception ex) {
+			repository.close();
 			throw new RepositoryStateException(INITIALIZATION_FAILED,
 					"Unexpected error occurred while initializing Git Repository for Service(%s, %s)"
 							.formatted(service.id(), service.slug()), ex);
@@ -237,41 +343,38 @@ public final class GitStateRepository implements StateRepository {
 
 	@Override
 	public String create(Profile profile) {
-		// In Git, a branch is just a small text file in .git/refs/heads/ containing a 40-character commit hash.
-		// We do not need to create the branch using the CLI-style commands, let's create that reference manually,
-		// using the Low-Level approach via RefUpdate. This approach is the most performant way because it skips the
-		// overhead of the command validation layers and talks directly to the Git reference database.
-		return executeRepositoryOperation(() -> {
-			final String referenceName = formatProfileRefName(profile);
+		return executeRepositoryOperation(() -> createProfileBranch(profile, repository.resolve(Constants.HEAD)));
+	}
 
-			// let's check first if the profile branch already exists, if it does, throw the exception
-			if (repository.findRef(referenceName) != null) {
-				throw new RepositoryStateException(PROFILE_ALREADY_EXISTS, "Profile '%s' already exists for Service(%s, %s)"
-						.formatted(profile.slug(), service.id(), service.slug()));
+	@Override
+	public String create(Profile profile, Profile source, @Nullable String revision) {
+		return executeRepositoryOperation(() -> {
+			try (RevWalk walker = new RevWalk(repository)) {
+				return createProfileBranch(profile, parseSourceCommit(walker, profile, source, revision));
 			}
+		});
+	}
 
-			log.debug("Attempting to create profile branch '{}' for Service({})", referenceName, service.id());
+	@Override
+	public MergeOutcome create(Profile profile, Profile source, Changeset changeset) {
+		return executeRepositoryOperation(() -> {
+			log.debug("Attempting to create profile '{}' from profile '{}' with changeset for Service({})",
+					profile.slug(), source.slug(), service.id());
 
-			// We need to create the RefUpdate with the full reference name (e.g., refs/heads/profile/new-profile)
-			final RefUpdate update = repository.updateRef(referenceName);
+			try (ObjectInserter inserter = repository.newObjectInserter(); RevWalk walker = new RevWalk(repository)) {
+				final RevCommit parent = parseSourceCommit(walker, profile, source, changeset.revision());
+				final PersonIdent author = GitConverters.convertToPersonIdent(changeset.author());
 
-			// Now we need to set the destination hash, the commit the branch will point to. By default,
-			// it's the current HEAD. In the future we should allow creating profiles from other profile branches
-			update.setNewObjectId(repository.resolve(Constants.HEAD));
-			final RefUpdate.Result result = update.update();
+				// the commit is written before the profile branch exists, the branch is then created pointing
+				// directly to it, so the profile can never be observed without the state of this changeset
+				final ObjectId commitId = createStateCommit(inserter, parent, changeset, author);
+				inserter.flush();
 
-			return switch (result) {
-				case NEW, FAST_FORWARD, NO_CHANGE, RENAMED -> {
-					log.info("Successfully created a new profile branch with name '{}' for Service({})",
-							referenceName, service.id());
+				createProfileBranch(profile, commitId);
 
-					yield update.getNewObjectId().getName();
-				}
-				default -> throw createSourceControlExceptionForRefUpdateResult(update, result,
-						"Failed to create Git ref for profile '%s' owned by Service(%s, %s)".formatted(
-								profile.slug(), service.id(), service.slug())
-				);
-			};
+				return MergeOutcome.applied(formatProfileRefName(profile), GitConverters.formatPerson(author),
+						commitId.name());
+			}
 		});
 	}
 
@@ -305,6 +408,37 @@ public final class GitStateRepository implements StateRepository {
 		});
 	}
 
+	@Override
+	public RepositoryState snapshot(Profile profile, String revision) {
+		return executeRepositoryOperation(() -> {
+			final ObjectId branchId = repository.resolve(formatProfileRefName(profile));
+
+			if (branchId == null) {
+				throw new RepositoryStateException(UNKNOWN_PROFILE,
+						"Failed to retrieve state from profile '%s' as it does not exist for Service(%s, %s)"
+								.formatted(profile.slug(), service.id(), service.slug()));
+			}
+
+			try (RevWalk walker = new RevWalk(repository)) {
+				final RevCommit commit = walker.parseCommit(ObjectId.fromString(revision));
+
+				// the revision must be reachable from the profile branch, otherwise it would be possible to read
+				// the state of other profiles, or of changesets that were never applied, using this profile
+				if (!walker.isMergedInto(commit, walker.parseCommit(branchId))) {
+					throw new RepositoryStateException(INVALID_STATE,
+							"Revision '%s' is not part of the history of profile '%s' for Service(%s, %s)"
+									.formatted(revision, profile.slug(), service.id(), service.slug()));
+				}
+
+				return loadState(commit);
+			} catch (MissingObjectException | IncorrectObjectTypeException | InvalidObjectIdException ex) {
+				throw new RepositoryStateException(INVALID_STATE,
+						"Failed to retrieve state of revision '%s' from profile '%s' for Service(%s, %s)"
+								.formatted(revision, profile.slug(), service.id(), service.slug()), ex);
+			}
+		});
+	}
+
 	@Override
 	public MergeOutcome update(Profile profile, Changeset changeset) {
 		return executeRepositoryOperation(() -> {
@@ -317,7 +451,12 @@ public final class GitStateRepository implements StateRepository {
 								.formatted(profile.slug(), service.id(), service.slug()));
 			}
 
-			final String changesetBranchName = createChangesetBranchForProfile(profile, profileObjectId);
+			// when the changeset was prepared from a known revision, the changeset branch is created from that
+			// revision so that any changes made to the profile in the meantime are merged instead of overwritten
+			final ObjectId baseObjectId = changeset.revision() == null ? profileObjectId
+					: ObjectId.fromString(changeset.revision());
+
+			final String changesetBranchName = createChangesetBranchForProfile(profile, baseObjectId);
 
 			log.debug("Attempting to update changeset branch '{}' for Service({}) with: {}",
 					changesetBranchName, service.id(), changeset);
@@ -327,58 +466,16 @@ public final class GitStateRepository implements StateRepository {
 			// to that new Blob instead of the old one. This is the most performant way to modify a repository
 			// without touching the physical disk.
 			try (ObjectInserter inserter = repository.newObjectInserter(); RevWalk walker = new RevWalk(repository)) {
-				// First, we need to create a Blob for the new content
-				final InputStream contentsStream = changeset.getInputStream();
-				final ObjectId newBlobId = inserter.insert(Constants.OBJ_BLOB,
-						contentsStream.available(), contentsStream);
-
-				// then resolve the current Tree from the changeset branch head
+				// First, resolve the current head commit of the changeset branch
 				final ObjectId headId = repository.resolve(changesetBranchName);
 				final RevCommit headCommit = walker.parseCommit(headId);
-				final RevTree headTree = headCommit.getTree();
-
-				// Use TreeFormatter to build a new Tree and copy any existing entries except for
-				// the one we are changing the configuration state file should be present in the current tree
-				final TreeFormatter formatter = new TreeFormatter();
-				try (TreeWalk tree = new TreeWalk(repository)) {
-					tree.addTree(headTree);
-					// no need for a recursive tree walk, the file we are changing is in the
-					// root repository directory
-					tree.setRecursive(false);
-
-					boolean found = false;
-					while (tree.next()) {
-						// Replace the old Blob ID with our new one, or copy existing entries as-is
-						if (CONFIGURATION_STATE_PATH_FILTER.matchFilter(tree) == 0) {
-							formatter.append(tree.getNameString(), tree.getFileMode(0), newBlobId);
-							found = true;
-						} else {
-							formatter.append(tree.getNameString(), tree.getFileMode(0), tree.getObjectId(0));
-						}
-					}
-
-					// If the file didn't exist, append it as a new entry
-					if (!found) {
-						formatter.append(CONFIGURATION_STATE_FILE_NAME, FileMode.REGULAR_FILE, newBlobId);
-					}
-				}
 
 				// Create the Git person information from the changeset author
 				final PersonIdent author = GitConverters.convertToPersonIdent(changeset.author());
-				// Crete the Git commit message
-				final String message = GitConverters.convertToCommitMessage(changeset.changes());
-
-				// Now that we have a new Tree, we need to write it and commit it
-				final CommitBuilder commit = new CommitBuilder();
-				commit.setTreeId(inserter.insert(formatter));
-				commit.setParentId(headId);
-				commit.setMessage(message);
-				commit.setAuthor(author);
-				commit.setCommitter(author);
 
 				// Generate the new commit identifier and update the current HEAD reference
 				// for the given changeset branch
-				final ObjectId newCommitId = inserter.insert(commit);
+				final ObjectId newCommitId = createStateCommit(inserter, headCommit, changeset, author);
 				inserter.flush();
 
 				final RefUpdate update = repository.updateRef(changesetBranchName);
@@ -436,39 +533,31 @@ public final class GitStateRepository implements StateRepository {
 				final PersonIdent author = sourceCommit.getAuthorIdent();
 
 				if (success) {
-					final CommitBuilder commit = new CommitBuilder();
-					commit.setTreeId(merger.getResultTreeId());
-					commit.setParentId(targetCommit);
-					commit.setMessage(sourceCommit.getFullMessage());
-					commit.setAuthor(author);
-					commit.setCommitter(sourceCommit.getCommitterIdent());
-
-					final ObjectId squashCommitId = inserter.insert(commit);
-					inserter.flush();
-
-					// Update the branch reference, this is the only real disk write
-					final RefUpdate update = repository.updateRef(formatProfileRefName(profile));
-					update.setNewObjectId(squashCommitId);
-					update.setExpectedOldObjectId(targetCommit);
-
-					final RefUpdate.Result result = update.update();
-
-					switch (result) {
-						case FAST_FORWARD, NO_CHANGE -> log.info(
-								"Successfully applied changeset '{}' to profile '{}' of Service({}) with commit: {}",
-								changeset, profile.slug(), service.id(), squashCommitId.name()
-						);
-						default -> throw createSourceControlExceptionForRefUpdateResult(update, result,
-								"Failed to apply changeset '%s' to Git profile Ref '%s' owned by Service(%s, %s)"
-										.formatted(changeset, profile.slug(), service.id(), service.slug())
-						);
+					return applyMerge(inserter, profile, changeset, targetCommit, sourceCommit, merger.getResultTreeId());
+				}
+
+				// Git is not able to merge the states that are stored in the binary format, they are merged on
+				// the property level instead. This is also the case when one of the states is still stored in
+				// the text format, as it would be the case for repositories that are not yet fully migrated.
+				// Sharded states are merged shard by shard, only shards changed on both sides are merged.
+				final StateVersions versions = loadStateVersions(walker, targetCommit, sourceCommit);
+
+				if (versions.isSharded() || isBinaryState(versions)) {
+					final StateMerge result = mergeStates(inserter, versions);
+
+					if (result.isConflicting()) {
+						log.warn("Failed to apply changeset '{}' to profile '{}', {} conflicting properties require manual resolution.",
+								changeset, profile.slug(), result.conflicts().size());
+
+						return MergeOutcome.conflicting(profile.slug(), author.toExternalString(),
+								result.format(changeset, profile.slug()));
 					}
 
-					// remove the changeset branch once it is successfully applied...
-					removeRef(repository, changeset);
+					return applyMerge(inserter, profile, changeset, targetCommit, sourceCommit,
+							createStateTree(inserter, targetCommit.getTree(), result.files()));
+				}
 
-					return MergeOutcome.applied(changeset, GitConverters.formatPerson(author), squashCommitId.name());
-				} else if (merger instanceof ResolveMerger resolveMerger) {
+				if (merger instanceof ResolveMerger resolveMerger) {
 					log.warn("Failed to apply changeset '{}' to profile '{}', manual resolution required.",
 							changeset, profile.slug());
 
@@ -483,6 +572,161 @@ public final class GitStateRepository implements StateRepository {
 		});
 	}
 
+	@Override
+	public boolean isConflicting(Profile profile, String target, String source) {
+		return executeRepositoryOperation(() -> {
+			log.debug("Checking if revision '{}' can be merged into revision '{}' of profile: {}", source, target, profile);
+
+			try (RevWalk walker = new RevWalk(repository); ObjectInserter inserter = new InMemoryObjectInserter(repository)) {
+				final RevCommit targetCommit = walker.parseCommit(ObjectId.fromString(target));
+				final RevCommit sourceCommit = walker.parseCommit(ObjectId.fromString(source));
+
+				// Perform the same in memory merge that is used when applying the changeset. The merged objects
+				// are only kept by the in-memory inserter, they are never written to the object database and no
+				// refs are updated, making this a read-only dry run of the merge operation
+				final ThreeWayMerger merger = MergeStrategy.RECURSIVE.newMerger(repository, true);
+				merger.setObjectInserter(inserter);
+
+				if (merger.merge(false, targetCommit, sourceCommit)) {
+					return false;
+				}
+
+				final StateVersions versions = loadStateVersions(walker, targetCommit, sourceCommit);
+
+				if (versions.isSharded() || isBinaryState(versions)) {
+					return mergeStates(inserter, versions).isConflicting();
+				}
+
+				return true;
+			} catch (MissingObjectException | IncorrectObjectTypeException | InvalidObjectIdException ex) {
+				throw new RepositoryStateException(INVALID_STATE,
+						"Failed to check for conflicts between revisions '%s' and '%s' of profile '%s' for Service(%s, %s)"
+								.formatted(target, source, profile.slug(), service.id(), service.slug()), ex);
+			}
+		});
+	}
+
+	@Override
+	public MergeOutcome commit(Profile profile, Changeset changeset) {
+		return executeRepositoryOperation(() -> {
+			log.debug("Attempting to commit changeset to profile '{}' for Service({})", profile, service.id());
+
+			final String referenceName = formatProfileRefName(profile);
+			final ObjectId currentId = repository.resolve(referenceName);
+
+			if (currentId == null) {
+				throw new RepositoryStateException(UNKNOWN_PROFILE,
+						"Could not commit changes to an unknown profile with name '%s' for Service(%s, %s)"
+								.formatted(profile.slug(), service.id(), service.slug()));
+			}
+
+			// use the revision from which the changeset was prepared as the expected head, when present
+			final ObjectId headId = changeset.revision() == null ? currentId : ObjectId.fromString(changeset.revision());
+
+			try (ObjectInserter inserter = repository.newObjectInserter(); RevWalk walker = new RevWalk(repository)) {
+				final PersonIdent author = GitConverters.convertToPersonIdent(changeset.author());
+				final ObjectId commitId = createStateCommit(inserter, walker.parseCommit(headId), changeset, author);
+				inserter.flush();
+
+				// The profile ref is only moved when it still points to the commit that was used as the parent,
+				// this is a compare-and-swap operation that would fail with a lock failure when the head moved.
+				final RefUpdate update = repository.updateRef(referenceName);
+				update.setExpectedOldObjectId(headId);
+				update.setNewObjectId(commitId);
+				update.setRefLogMessage("commit changeset", false);
+
+				final RefUpdate.Result result = update.update(walker);
+
+				switch (result) {
+					case FAST_FORWARD -> log.info(
+							"Successfully committed changes to profile '{}' of Service({}) with commit: {}",
+							profile.slug(), service.id(), commitId.name()
+					);
+					default -> throw createSourceControlExceptionForRefUpdateResult(update, result,
+							"Failed to commit changes to profile '%s' owned by Service(%s, %s)".formatted(
+									profile.slug(), service.id(), service.slug())
+					);
+				}
+
+				return MergeOutcome.applied(referenceName, GitConverters.formatPerson(author), commitId.name());
+			}
+		});
+	}
+
+	@Override
+	public Map<Profile, MergeOutcome> commit(Map<Profile, Changeset> changesets) {
+		return executeRepositoryOperation(() -> {
+			log.debug("Attempting to commit changesets to profiles {} for Service({})", changesets.keySet(), service.id());
+
+			final BatchRefUpdate batch = repository.getRefDatabase().newBatchUpdate();
+			batch.setAtomic(true);
+			batch.setRefLogMessage("commit changesets", false);
+
+			final Map<Profile, MergeOutcome> outcomes = new LinkedHashMap<>(changesets.size());
+
+			// Commits are created directly on top of the current profile heads, without changeset branches. The
+			// profile refs are then updated using a single atomic batch that would compare the current ref values
+			// against the heads that were used as parents, no ref is updated if any of the heads has moved.
+			try (ObjectInserter inserter = repository.newObjectInserter(); RevWalk walker = new RevWalk(repository)) {
+				for (Map.Entry<Profile, Changeset> entry : changesets.entrySet()) {
+					final Profile profile = entry.getKey();
+					final Changeset changeset = entry.getValue();
+					final String referenceName = formatProfileRefName(profile);
+					final ObjectId currentId = repository.resolve(referenceName);
+
+					if (currentId == null) {
+						throw new RepositoryStateException(UNKNOWN_PROFILE,
+								"Could not commit changes to an unknown profile with name '%s' for Service(%s, %s)"
+										.formatted(profile.slug(), service.id(), service.slug()));
+					}
+
+					// use the revision from which the changeset was prepared as the expected head, when present
+					final ObjectId headId = changeset.revision() == null ? currentId : ObjectId.fromString(changeset.revision());
+
+					final PersonIdent author = GitConverters.convertToPersonIdent(changeset.author());
+					final ObjectId commitId = createStateCommit(inserter, walker.parseCommit(headId), changeset, author);
+
+					batch.addCommand(new ReceiveCommand(headId, commitId, referenceName, ReceiveCommand.Type.UPDATE));
+					outcomes.put(profile, MergeOutcome.applied(referenceName, GitConverters.formatPerson(author), commitId.name()));
+				}
+
+				// all objects must be persisted before any of the references is updated
+				inserter.flush();
+
+				batch.execute(walker, NullProgressMonitor.INSTANCE);
+			}
+
+			// an atomic batch rejects all remaining commands once a single command fails, look for the actual cause
+			final List<ReceiveCommand> rejected = batch.getCommands().stream()
+					.filter(command -> command.getResult() != ReceiveCommand.Result.OK)
+					.toList();
+
+			for (ReceiveCommand command : rejected) {
+				if (command.getResult() == ReceiveCommand.Result.LOCK_FAILURE
+						|| command.getResult() == ReceiveCommand.Result.REJECTED_NONFASTFORWARD) {
+					throw new RepositoryStateException(CONFLICT,
+							"Failed to commit changes to profiles %s owned by Service(%s, %s). Concurrent modification detected when updating the Git ref with name '%s'."
+									.formatted(changesets.keySet().stream().map(Profile::slug).toList(), service.id(),
+											service.slug(), command.getRefName()));
+				}
+			}
+
+			if (!rejected.isEmpty()) {
+				final ReceiveCommand command = rejected.getFirst();
+
+				throw new RepositoryStateException(INVALID_STATE,
+						"Failed to commit changes to profiles %s owned by Service(%s, %s). Unexpected result '%s' when updating the Git ref with name '%s'."
+								.formatted(changesets.keySet().stream().map(Profile::slug).toList(), service.id(),
+										service.slug(), command.getResult(), command.getRefName()));
+			}
+
+			log.info("Successfully committed changes to profiles {} of Service({})", changesets.keySet().stream()
+					.map(Profile::slug).toList(), service.id());
+
+			return Collections.unmodifiableMap(outcomes);
+		});
+	}
+
 	@Override
 	public void discard(Profile profile, String changeset) {
 		executeRepositoryOperation(() -> {
@@ -499,6 +743,86 @@ public final class GitStateRepository implements StateRepository {
 		});
 	}
 
+	@Override
+	public List<ChangesetBranch> changesets() {
+		return executeRepositoryOperation(() -> {
+			final List<Ref> refs = repository.getRefDatabase().getRefsByPrefix(CHANGESET_REF_PREFIX);
+			final List<ChangesetBranch> changesets = new ArrayList<>(refs.size());
+
+			// only the commit headers are parsed, the commit time of the changeset head is used to determine
+			// when the changeset branch was last updated as bare repositories do not keep ref logs
+			try (RevWalk walker = new RevWalk(repository)) {
+				walker.setRetainBody(false);
+
+				for (Ref ref : refs) {
+					final ObjectId objectId = ref.getObjectId();
+
+					if (objectId == null) {
+						continue;
+					}
+
+					final RevCommit commit = walker.parseCommit(objectId);
+
+					changesets.add(new ChangesetBranch(ref.getName(), objectId.name(),
+							Instant.ofEpochSecond(commit.getCommitTime())));
+				}
+			}
+
+			return Collections.unmodifiableList(changesets);
+		});
+	}
+
+	@Override
+	public int discard(Collection<ChangesetBranch> changesets) {
+		if (changesets.isEmpty()) {
+			return 0;
+		}
+
+		return executeRepositoryOperation(() -> {
+			final List<ReceiveCommand> commands = new ArrayList<>(changesets.size());
+
+			for (ChangesetBranch changeset : changesets) {
+				if (!changeset.name().startsWith(CHANGESET_REF_PREFIX)) {
+					throw new RepositoryStateException(INVALID_STATE,
+							"Failed to discard branch '%s' as it is not a changeset branch of Service(%s, %s)"
+									.formatted(changeset.name(), service.id(), service.slug()));
+				}
+
+				commands.add(new ReceiveCommand(ObjectId.fromString(changeset.revision()), ObjectId.zeroId(),
+						changeset.name(), ReceiveCommand.Type.DELETE));
+			}
+
+			// Attempt to remove all changeset branches with a single atomic batch first, this rewrites the
+			// packed refs only once. The atomic batch is rejected as a whole when any of the branches was
+			// updated in the meantime, in that case the branches are removed one by one and the updated
+			// branches are skipped as their expected revision no longer matches.
+			List<ReceiveCommand> result = executeBatchRefUpdate(commands, true, "discard changesets");
+
+			if (result.stream().anyMatch(command -> command.getResult() != ReceiveCommand.Result.OK)) {
+				result = executeBatchRefUpdate(commands.stream()
+						.map(command -> new ReceiveCommand(command.getOldId(), command.getNewId(),
+								command.getRefName(), command.getType()))
+						.toList(), false, "discard changesets");
+			}
+
+			int discarded = 0;
+
+			for (ReceiveCommand command : result) {
+				if (command.getResult() == ReceiveCommand.Result.OK) {
+					discarded++;
+				} else {
+					log.debug("Changeset branch '{}' was not discarded for Service({}), result was: {}",
+							command.getRefName(), service.id(), command.getResult());
+				}
+			}
+
+			log.info("Successfully discarded {} out of {} changeset branches for Service({})",
+					discarded, commands.size(), service.id());
+
+			return discarded;
+		});
+	}
+
 	@Override
 	public void delete(Profile profile) {
 		executeRepositoryOperation(() -> {
@@ -521,6 +845,14 @@ public final class GitStateRepository implements StateRepository {
 	@Override
 	public void destroy() {
 		executeRepositoryOperation(() -> {
+			if (repository instanceof DatabaseRepository database) {
+				database.destroy();
+
+				log.info("Successfully destroyed database Git repository for Service({})", service.id());
+
+				return Void.TYPE;
+			}
+
 			final Path directory = repository.getDirectory().toPath();
 
 			log.debug("Attempting to destroy Git repository for Service({}) under location: {}", service.id(), directory);
@@ -575,6 +907,115 @@ public final class GitStateRepository implements StateRepository {
 		});
 	}
 
+	@Override
+	public Map<String, String> references() {
+		return executeRepositoryOperation(() -> {
+			final Map<String, String> references = new TreeMap<>();
+
+			for (Ref ref : repository.getRefDatabase().getRefsByPrefix(Constants.R_HEADS)) {
+				references.put(ref.getName(), ref.getObjectId().name());
+			}
+
+			return Collections.unmodifiableMap(references);
+		});
+	}
+
+	@Override
+	public void bundle(Map<String, String> references, Collection<String> prerequisites, OutputStream output) {
+		executeRepositoryOperation(() -> {
+			final BundleWriter writer = new BundleWriter(repository);
+			references.forEach((name, revision) -> writer.include(name, ObjectId.fromString(revision)));
+
+			// prerequisites are the revisions of the previous bundle, objects reachable from them are not
+			// written again. Revisions that are no longer present, e.g. when the repository was recreated,
+			// are skipped, which would make the bundle contain all the objects of the included branches.
+			try (RevWalk walker = new RevWalk(repository)) {
+				for (String prerequisite : prerequisites) {
+					try {
+						writer.assume(walker.parseCommit(ObjectId.fromString(prerequisite)));
+					} catch (MissingObjectException | IncorrectObjectTypeException ex) {
+						log.debug("Skipping unknown bundle prerequisite '{}' for Service({})", prerequisite, service.id());
+					}
+				}
+			}
+
+			writer.writeBundle(NullProgressMonitor.INSTANCE, output);
+
+			log.debug("Successfully written Git bundle with {} branches and {} prerequisites for Service({})",
+					references.size(), prerequisites.size(), service.id());
+
+			return Void.TYPE;
+		});
+	}
+
+	@Override
+	public Map<String, String> restore(InputStream bundle) {
+		return executeRepositoryOperation(() -> {
+			final Map<String, String> references = new TreeMap<>();
+
+			// The bundle fetch connection verifies that all the bundle prerequisites are present in the
+			// repository before the objects are inserted, the branches are updated afterward in one batch
+			try (Transport transport = new TransportBundleStream(repository, new URIish().setPath("bundle"), bundle);
+				 FetchConnection connection = transport.openFetch()) {
+				final Collection<Ref> refs = connection.getRefs();
+				connection.fetch(NullProgressMonitor.INSTANCE, refs, Set.of());
+
+				for (Ref ref : refs) {
+					if (ref.getName().startsWith(Constants.R_HEADS)) {
+						references.put(ref.getName(), ref.getObjectId().name());
+					}
+				}
+			} catch (MissingBundlePrerequisiteException ex) {
+				throw new RepositoryStateException(INVALID_STATE,
+						"Failed to restore Git bundle as its prerequisites are missing for Service(%s, %s)"
+								.formatted(service.id(), service.slug()), ex);
+			}
+
+			final Map<String, Ref> current = new HashMap<>();
+			for (Ref ref : repository.getRefDatabase().getRefsByPrefix(Constants.R_HEADS)) {
+				current.put(ref.getName(), ref);
+			}
+
+			final List<ReceiveCommand> commands = new ArrayList<>();
+
+			references.forEach((name, revision) -> {
+				final Ref ref = current.remove(name);
+				final ObjectId target = ObjectId.fromString(revision);
+
+				if (ref == null) {
+					commands.add(new ReceiveCommand(ObjectId.zeroId(), target, name, ReceiveCommand.Type.CREATE));
+				} else if (!target.equals(ref.getObjectId())) {
+					commands.add(new ReceiveCommand(ref.getObjectId(), target, name, ReceiveCommand.Type.UPDATE_NONFASTFORWARD));
+				}
+			});
+
+			current.values().forEach(ref -> commands.add(new ReceiveCommand(ref.getObjectId(), ObjectId.zeroId(),
+					ref.getName(), ReceiveCommand.Type.DELETE)));
+
+			if (!commands.isEmpty()) {
+				final List<ReceiveCommand> rejected = executeBatchRefUpdate(commands, true, "restore bundle").stream()
+						.filter(command -> command.getResult() != ReceiveCommand.Result.OK)
+						.toList();
+
+				if (!rejected.isEmpty()) {
+					// an atomic batch rejects all remaining commands once a single command fails, look for the actual cause
+					final ReceiveCommand command = rejected.stream()
+							.filter(it -> it.getResult() == ReceiveCommand.Result.LOCK_FAILURE)
+							.findFirst()
+							.orElse(rejected.getFirst());
+
+					throw new RepositoryStateException(command.getResult() == ReceiveCommand.Result.LOCK_FAILURE ? CONFLICT : INVALID_STATE,
+							"Failed to restore branches from Git bundle for Service(%s, %s). Unexpected result '%s' when updating the Git ref with name '%s'."
+									.formatted(service.id(), service.slug(), command.getResult(), command.getRefName()));
+				}
+			}
+
+			log.info("Successfully restored {} branches from Git bundle for Service({})", references.size(), service.id());
+
+			return Collections.unmodifiableMap(references);
+		});
+	}
+
 	@Override
 	public void close() {
 		if (!closed) {
@@ -631,6 +1072,80 @@ public final class GitStateRepository implements StateRepository {
 		}
 	}
 
+	private String createProfileBranch(Profile profile, ObjectId target) throws IOException {
+		// In Git, a branch is just a small text file in .git/refs/heads/ containing a 40-character commit hash.
+		// We do not need to create the branch using the CLI-style commands, let's create that reference manually,
+		// using the Low-Level approach via RefUpdate. This approach is the most performant way because it skips the
+		// overhead of the command validation layers and talks directly to the Git reference database. As the new
+		// branch only points to an existing commit, no objects are copied regardless of the profile state size.
+		final String referenceName = formatProfileRefName(profile);
+
+		// let's check first if the profile branch already exists, if it does, throw the exception
+		if (repository.findRef(referenceName) != null) {
+			throw new RepositoryStateException(PROFILE_ALREADY_EXISTS, "Profile '%s' already exists for Service(%s, %s)"
+					.formatted(profile.slug(), service.id(), service.slug()));
+		}
+
+		log.debug("Attempting to create profile branch '{}' for Service({}) pointing to: {}",
+				referenceName, service.id(), target.name());
+
+		// We need to create the RefUpdate with the full reference name (e.g., refs/heads/profile/new-profile)
+		final RefUpdate update = repository.updateRef(referenceName);
+
+		// Now we need to set the destination hash, the commit the branch will point to. This is either the
+		// current HEAD, for empty profiles, or a revision of the profile from which the new one is branched.
+		// The reference is only created when it does not exist, a concurrently created branch is never moved.
+		update.setNewObjectId(target);
+		update.setExpectedOldObjectId(ObjectId.zeroId());
+		final RefUpdate.Result result = update.update();
+
+		return switch (result) {
+			case NEW, FAST_FORWARD, NO_CHANGE, RENAMED -> {
+				log.info("Successfully created a new profile branch with name '{}' for Service({})",
+						referenceName, service.id());
+
+				yield update.getNewObjectId().getName();
+			}
+			default -> throw createSourceControlExceptionForRefUpdateResult(update, result,
+					"Failed to create Git ref for profile '%s' owned by Service(%s, %s)".formatted(
+							profile.slug(), service.id(), service.slug())
+			);
+		};
+	}
+
+	private RevCommit parseSourceCommit(RevWalk walker, Profile profile, Profile source, @Nullable String revision)
+			throws IOException {
+		final ObjectId sourceId = repository.resolve(formatProfileRefName(source));
+
+		if (sourceId == null) {
+			throw new RepositoryStateException(UNKNOWN_PROFILE,
+					"Failed to create profile '%s' from profile '%s' as it does not exist for Service(%s, %s)"
+							.formatted(profile.slug(), source.slug(), service.id(), service.slug()));
+		}
+
+		if (revision == null) {
+			return walker.parseCommit(sourceId);
+		}
+
+		try {
+			final RevCommit commit = walker.parseCommit(ObjectId.fromString(revision));
+
+			// same as with snapshots, the new profile can only be branched from a revision that is reachable
+			// from the source profile branch, changesets that were never applied must not be used as a source
+			if (!walker.isMergedInto(commit, walker.parseCommit(sourceId))) {
+				throw new RepositoryStateException(INVALID_STATE,
+						"Revision '%s' is not part of the history of profile '%s' for Service(%s, %s)"
+								.formatted(revision, source.slug(), service.id(), service.slug()));
+			}
+
+			return commit;
+		} catch (MissingObjectException | IncorrectObjectTypeException | InvalidObjectIdException ex) {
+			throw new RepositoryStateException(INVALID_STATE,
+					"Failed to create profile '%s' from revision '%s' of profile '%s' for Service(%s, %s)"
+							.formatted(profile.slug(), revision, source.slug(), service.id(), service.slug()), ex);
+		}
+	}
+
 	private RepositoryState loadState(ObjectId branchId) throws IOException {
 		// The most optimal way to read file contents is to read the file contents is to pull it
 		// directly from the Git Object database and avoid the physical disk. For this we need to
@@ -638,27 +1153,309 @@ public final class GitStateRepository implements StateRepository {
 		try (RevWalk walker = new RevWalk(repository)) {
 			final RevCommit commit = walker.parseCommit(branchId);
 
-			// Use a TreeWalk to navigate the tree of that commit and find our configuration state file
-			try (TreeWalk tree = new TreeWalk(repository)) {
-				tree.addTree(commit.getTree());
-				tree.setRecursive(false);
-				tree.setFilter(CONFIGURATION_STATE_PATH_FILTER);
-
-				// the file is not found, this is because the profile branch was just created, and it
-				// contains no configuration state yet. If this was the changeset branch, it was most
-				// likely created from this 'clean' profile branch. In this case we should return an
-				// empty string and let the user create his first configuration state.
-				if (!tree.next()) {
-					return GitConverters.convertToRepositoryState(commit, InputStream::nullInputStream);
-				}
+			// Use a TreeWalk to navigate the tree of that commit and find our configuration state files
+			final SortedMap<String, ObjectId> files = loadStateFiles(commit.getTree());
 
-				// load the file contents and return it as an input stream
-				final ObjectId objectId = tree.getObjectId(0);
-				final ObjectLoader loader = repository.open(objectId);
+			// the files are not found, this is because the profile branch was just created, and it
+			// contains no configuration state yet. If this was the changeset branch, it was most
+			// likely created from this 'clean' profile branch. In this case we should return an
+			// empty string and let the user create his first configuration state.
+			if (files.isEmpty()) {
+				return GitConverters.convertToRepositoryState(commit, InputStream::nullInputStream);
+			}
+
+			// load the single file contents and return it as an input stream
+			if (StateVersions.layoutOf(files) == StateLayout.SINGLE) {
+				final ObjectLoader loader = repository.open(files.get(CONFIGURATION_STATE_FILE_NAME));
 
 				return GitConverters.convertToRepositoryState(commit, loader::openStream);
 			}
+
+			// the state is sharded, the shards are combined into a single state when the contents are read
+			return GitConverters.convertToRepositoryState(commit, () -> loadProperties(files).getInputStream());
+		}
+	}
+
+	private MergeOutcome applyMerge(
+			ObjectInserter inserter,
+			Profile profile,
+			String changeset,
+			RevCommit targetCommit,
+			RevCommit sourceCommit,
+			ObjectId treeId
+	) throws IOException {
+		final PersonIdent author = sourceCommit.getAuthorIdent();
+
+		final CommitBuilder commit = new CommitBuilder();
+		commit.setTreeId(treeId);
+		commit.setParentId(targetCommit);
+		commit.setMessage(sourceCommit.getFullMessage());
+		commit.setAuthor(author);
+		commit.setCommitter(sourceCommit.getCommitterIdent());
+
+		final ObjectId squashCommitId = inserter.insert(commit);
+		inserter.flush();
+
+		// Update the branch reference, this is the only real disk write
+		final RefUpdate update = repository.updateRef(formatProfileRefName(profile));
+		update.setNewObjectId(squashCommitId);
+		update.setExpectedOldObjectId(targetCommit);
+
+		final RefUpdate.Result result = update.update();
+
+		switch (result) {
+			case FAST_FORWARD, NO_CHANGE -> log.info(
+					"Successfully applied changeset '{}' to profile '{}' of Service({}) with commit: {}",
+					changeset, profile.slug(), service.id(), squashCommitId.name()
+			);
+			default -> throw createSourceControlExceptionForRefUpdateResult(update, result,
+					"Failed to apply changeset '%s' to Git profile Ref '%s' owned by Service(%s, %s)"
+							.formatted(changeset, profile.slug(), service.id(), service.slug())
+			);
+		}
+
+		// remove the changeset branch once it is successfully applied...
+		removeRef(repository, changeset);
+
+		return MergeOutcome.applied(changeset, GitConverters.formatPerson(author), squashCommitId.name());
+	}
+
+	private ObjectId createStateCommit(ObjectInserter inserter, RevCommit parent, Changeset changeset, PersonIdent author)
+			throws IOException {
+		final RevTree tree = parent.getTree();
+
+		// we need to create the Blobs for the new content, depending on the layout this is either
+		// a single Blob with the entire state or a Blob for each of the changed state shards
+		final SortedMap<String, ObjectId> files = switch (layout) {
+			case SINGLE -> {
+				final InputStream contentsStream = changeset.getInputStream();
+				final ObjectId newBlobId = inserter.insert(Constants.OBJ_BLOB,
+						contentsStream.available(), contentsStream);
+
+				yield new TreeMap<>(Map.of(CONFIGURATION_STATE_FILE_NAME, newBlobId));
+			}
+			case SHARDED -> createStateShards(inserter, tree, changeset);
+		};
+
+		// Now that we have a new Tree, we need to write it and commit it
+		final CommitBuilder commit = new CommitBuilder();
+		commit.setTreeId(createStateTree(inserter, tree, files));
+		commit.setParentId(parent);
+		commit.setMessage(GitConverters.convertToCommitMessage(changeset.changes()));
+		commit.setAuthor(author);
+		commit.setCommitter(author);
+
+		return inserter.insert(commit);
+	}
+
+	private ObjectId createStateTree(ObjectInserter inserter, RevTree tree, SortedMap<String, ObjectId> files)
+			throws IOException {
+		// Use an in-core DirCache to build a new Tree, it takes care of the ordering of the tree entries and
+		// the subtree that holds the state shards. Copy any existing entries except for the configuration
+		// state files, they are replaced by the ones we are writing.
+		final DirCache index = DirCache.newInCore();
+		final DirCacheBuilder builder = index.builder();
+
+		try (TreeWalk walk = new TreeWalk(repository)) {
+			walk.addTree(tree);
+			walk.setRecursive(true);
+
+			while (walk.next()) {
+				if (!isStateFile(walk.getPathString())) {
+					builder.add(createIndexEntry(walk.getPathString(), walk.getFileMode(0), walk.getObjectId(0)));
+				}
+			}
 		}
+
+		files.forEach((path, blobId) -> builder.add(createIndexEntry(path, FileMode.REGULAR_FILE, blobId)));
+		builder.finish();
+
+		return index.writeTree(inserter);
+	}
+
+	private SortedMap<String, ObjectId> createStateShards(ObjectInserter inserter, RevTree tree, Changeset changeset)
+			throws IOException {
+		final SortedMap<String, ObjectId> files = loadStateFiles(tree);
+
+		// the state is still stored in a single file, all shards need to be written
+		if (StateVersions.layoutOf(files) == StateLayout.SINGLE) {
+			return createStateFiles(inserter, changeset.properties(), StateLayout.SHARDED);
+		}
+
+		// only the shards that contain changed properties are written, others are kept as-is
+		final Set<String> shards = new HashSet<>();
+		for (PropertyChange change : changeset) {
+			shards.add(formatShardPath(change.name()));
+		}
+
+		final Map<String, Properties.Builder> contents = new HashMap<>();
+		changeset.properties().forEachProperty((name, value) -> {
+			final String shard = formatShardPath(name);
+
+			if (shards.contains(shard)) {
+				contents.computeIfAbsent(shard, it -> Properties.builder()).add(name, value);
+			}
+		});
+
+		for (String shard : shards) {
+			final Properties.Builder builder = contents.get(shard);
+
+			// shard no longer contains any properties, remove it from the tree
+			if (builder == null) {
+				files.remove(shard);
+			} else {
+				files.put(shard, insertState(inserter, builder.build()));
+			}
+		}
+
+		return files;
+	}
+
+	private SortedMap<String, ObjectId> createStateFiles(ObjectInserter inserter, Properties properties, StateLayout layout)
+			throws IOException {
+		final SortedMap<String, ObjectId> files = new TreeMap<>();
+
+		if (properties.size() == 0) {
+			return files;
+		}
+
+		if (layout == StateLayout.SINGLE) {
+			files.put(CONFIGURATION_STATE_FILE_NAME, insertState(inserter, properties));
+			return files;
+		}
+
+		final Map<String, Properties.Builder> shards = new HashMap<>();
+		properties.forEachProperty((name, value) -> shards.computeIfAbsent(formatShardPath(name),
+				it -> Properties.builder()).add(name, value));
+
+		for (Map.Entry<String, Properties.Builder> shard : shards.entrySet()) {
+			files.put(shard.getKey(), insertState(inserter, shard.getValue().build()));
+		}
+
+		return files;
+	}
+
+	private StateMerge mergeStates(ObjectInserter inserter, StateVersions versions) throws IOException {
+		final List<PropertiesMerger.Conflict> conflicts = new ArrayList<>();
+
+		// states are stored using different layouts, which is the case while the repository is migrated
+		// to a new layout, merge the entire state and write it using the current layout
+		if (versions.isMixed()) {
+			final PropertiesMerger.Result result = PropertiesMerger.merge(
+					loadProperties(versions.base()), loadProperties(versions.ours()), loadProperties(versions.theirs())
+			);
+
+			return new StateMerge(createStateFiles(inserter, result.properties(), layout), result.conflicts());
+		}
+
+		final SortedMap<String, ObjectId> files = new TreeMap<>();
+		final Set<String> paths = new TreeSet<>(versions.base().keySet());
+		paths.addAll(versions.ours().keySet());
+		paths.addAll(versions.theirs().keySet());
+
+		for (String path : paths) {
+			final ObjectId base = versions.base().get(path);
+			final ObjectId ours = versions.ours().get(path);
+			final ObjectId theirs = versions.theirs().get(path);
+
+			@Nullable ObjectId merged;
+
+			if (Objects.equals(ours, theirs) || Objects.equals(base, theirs)) {
+				merged = ours;
+			} else if (Objects.equals(base, ours)) {
+				merged = theirs;
+			} else {
+				// the state file was changed on both sides, merge it on the property level
+				final PropertiesMerger.Result result = PropertiesMerger.merge(
+						loadProperties(base), loadProperties(ours), loadProperties(theirs)
+				);
+
+				conflicts.addAll(result.conflicts());
+				merged = result.properties().size() == 0 ? null : insertState(inserter, result.properties());
+			}
+
+			if (merged != null) {
+				files.put(path, merged);
+			}
+		}
+
+		return new StateMerge(files, conflicts);
+	}
+
+	private StateVersions loadStateVersions(RevWalk walker, RevCommit target, RevCommit source) throws IOException {
+		// changesets are always branched off the profile branch, there is only one merge base
+		walker.reset();
+		walker.setRevFilter(RevFilter.MERGE_BASE);
+		walker.markStart(target);
+		walker.markStart(source);
+
+		final RevCommit base = walker.next();
+
+		walker.reset();
+		walker.setRevFilter(RevFilter.ALL);
+
+		return new StateVersions(
+				base == null ? new TreeMap<>() : loadStateFiles(walker.parseCommit(base).getTree()),
+				loadStateFiles(target.getTree()),
+				loadStateFiles(source.getTree())
+		);
+	}
+
+	private SortedMap<String, ObjectId> loadStateFiles(RevTree tree) throws IOException {
+		final SortedMap<String, ObjectId> files = new TreeMap<>();
+
+		try (TreeWalk walk = new TreeWalk(repository)) {
+			walk.addTree(tree);
+			walk.setRecursive(true);
+			walk.setFilter(CONFIGURATION_STATE_FILES_FILTER);
+
+			while (walk.next()) {
+				files.put(walk.getPathString(), walk.getObjectId(0));
+			}
+		}
+
+		return files;
+	}
+
+	private boolean isBinaryState(StateVersions versions) throws IOException {
+		for (SortedMap<String, ObjectId> files : List.of(versions.base(), versions.ours(), versions.theirs())) {
+			for (ObjectId blobId : files.values()) {
+				if (Properties.Format.detect(loadStateContents(blobId)) == Properties.Format.BINARY) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private Properties loadProperties(SortedMap<String, ObjectId> files) throws IOException {
+		final Properties.Builder builder = Properties.builder();
+
+		for (ObjectId blobId : files.values()) {
+			Properties.from(loadStateContents(blobId)).forEachProperty(builder::add);
+		}
+
+		return builder.build();
+	}
+
+	private Properties loadProperties(@Nullable ObjectId blobId) throws IOException {
+		return blobId == null ? Properties.builder().build() : Properties.from(loadStateContents(blobId));
+	}
+
+	private byte[] loadStateContents(ObjectId blobId) throws IOException {
+		return repository.open(blobId, Constants.OBJ_BLOB).getBytes();
+	}
+
+	private static ObjectId insertState(ObjectInserter inserter, Properties properties) throws IOException {
+		final InputStream contents = properties.getInputStream();
+		return inserter.insert(Constants.OBJ_BLOB, contents.available(), contents);
+	}
+
+	private static DirCacheEntry createIndexEntry(String path, FileMode mode, ObjectId objectId) {
+		final DirCacheEntry entry = new DirCacheEntry(path);
+		entry.setFileMode(mode);
+		entry.setObjectId(objectId);
+		return entry;
 	}
 
 	private String createChangesetBranchForProfile(Profile profile, ObjectId profileObjectId) throws IOException {
@@ -688,6 +1485,24 @@ public final class GitStateRepository implements StateRepository {
 		return changesetName;
 	}
 
+	/**
+	 * Resolves the path of the state shard where the property with the given name is stored. The shard is
+	 * selected by folding the property name hash code, which is stable across JVMs, into one of 256 buckets.
+	 *
+	 * @param name the property name, can't be {@literal null}
+	 * @return the state shard path, never {@literal null}
+	 */
+	static String formatShardPath(String name) {
+		final int hash = name.hashCode();
+		final byte bucket = (byte) (hash ^ (hash >>> 8) ^ (hash >>> 16) ^ (hash >>> 24));
+
+		return CONFIGURATION_SHARDS_DIRECTORY_NAME + "/" + HexFormat.of().toHexDigits(bucket);
+	}
+
+	private static boolean isStateFile(String path) {
+		return CONFIGURATION_STATE_FILE_NAME.equals(path) || path.startsWith(CONFIGURATION_SHARDS_DIRECTORY_NAME + "/");
+	}
+
 	private static String formatProfileRefName(Profile profile) {
 		return Constants.R_HEADS + "profile/" + profile.slug();
 	}
@@ -696,11 +1511,26 @@ public final class GitStateRepository implements StateRepository {
 		if (changeset.startsWith(Constants.R_HEADS)) {
 			return changeset;
 		}
-		return Constants.R_HEADS + "changeset/" + profile.slug() + "/" + changeset;
+		return CHANGESET_REF_PREFIX + profile.slug() + "/" + changeset;
 	}
 
 	private static Path createRepositoryLocation(Path parent, Service service) {
-		return parent.resolve("service-repository-%s".formatted(service.id().serialize()));
+		return parent.resolve(REPOSITORY_DIRECTORY_PREFIX + service.id().serialize());
+	}
+
+	private List<ReceiveCommand> executeBatchRefUpdate(List<ReceiveCommand> commands, boolean atomic, String message)
+			throws IOException {
+		final BatchRefUpdate batch = repository.getRefDatabase().newBatchUpdate();
+		batch.setAtomic(atomic);
+		batch.setAllowNonFastForwards(true);
+		batch.setRefLogMessage(message, false);
+		batch.addCommand(commands);
+
+		try (RevWalk walker = new RevWalk(repository)) {
+			batch.execute(walker, NullProgressMonitor.INSTANCE);
+		}
+
+		return batch.getCommands();
 	}
 
 	private static void removeRef(Repository repository, String branch) throws IOException {
@@ -755,4 +1585,58 @@ public final class GitStateRepository implements StateRepository {
 		}
 	}
 
+	/**
+	 * Configuration state files, mapped by their path, of the merge base, target and source that are used
+	 * when the state needs to be merged on the property level.
+	 */
+	private record StateVersions(
+			SortedMap<String, ObjectId> base,
+			SortedMap<String, ObjectId> ours,
+			SortedMap<String, ObjectId> theirs
+	) {
+
+		static @Nullable StateLayout layoutOf(SortedMap<String, ObjectId> files) {
+			if (files.isEmpty()) {
+				return null;
+			}
+			return files.containsKey(CONFIGURATION_STATE_FILE_NAME) ? StateLayout.SINGLE : StateLayout.SHARDED;
+		}
+
+		boolean isSharded() {
+			return layoutOf(base) == StateLayout.SHARDED || layoutOf(ours) == StateLayout.SHARDED
+					|| layoutOf(theirs) == StateLayout.SHARDED;
+		}
+
+		boolean isMixed() {
+			final Set<StateLayout> layouts = EnumSet.noneOf(StateLayout.class);
+
+			for (SortedMap<String, ObjectId> files : List.of(base, ours, theirs)) {
+				final StateLayout layout = layoutOf(files);
+
+				if (layout != null) {
+					layouts.add(layout);
+				}
+			}
+
+			return layouts.size() > 1;
+		}
+	}
+
+	/**
+	 * The outcome of the property level merge of the configuration state files.
+	 *
+	 * @param files the merged configuration state files, mapped by their path
+	 * @param conflicts the conflicting properties, empty when the merge was successful
+	 */
+	private record StateMerge(SortedMap<String, ObjectId> files, List<PropertiesMerger.Conflict> conflicts) {
+
+		boolean isConflicting() {
+			return !conflicts.isEmpty();
+		}
+
+		String format(String ours, String theirs) throws IOException {
+			return new PropertiesMerger.Result(Properties.builder().build(), conflicts).format(ours, theirs);
+		}
+	}
+
 }
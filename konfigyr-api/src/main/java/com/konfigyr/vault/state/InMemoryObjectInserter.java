@@ -0,0 +1,137 @@
+package com.konfigyr.vault.state;
+
+import org.eclipse.jgit.errors.IncorrectObjectTypeException;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.*;
+import org.eclipse.jgit.transport.PackParser;
+import org.jspecify.annotations.NullMarked;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Implementation of the {@link ObjectInserter} that keeps the inserted Git objects in memory and never writes
+ * them to the object database of the {@link Repository}.
+ * <p>
+ * The inserters of the file based repositories write loose objects as soon as they are inserted, even when
+ * they are never flushed. This inserter is used for merge dry runs, where the merged trees and blobs are only
+ * needed to detect conflicts. The readers created by this inserter would first look up the objects that were
+ * inserted in memory and then the objects that are present in the repository, which allows the merge to read
+ * back the objects it has created.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@NullMarked
+final class InMemoryObjectInserter extends ObjectInserter {
+
+	private final Repository repository;
+	private final Map<ObjectId, ObjectLoader> objects = new HashMap<>();
+
+	InMemoryObjectInserter(Repository repository) {
+		this.repository = repository;
+	}
+
+	@Override
+	public ObjectId insert(int type, long length, InputStream in) throws IOException {
+		final byte[] data = in.readNBytes(Math.toIntExact(length));
+
+		if (data.length != length) {
+			throw new IOException("Unexpected end of stream while inserting object of %d bytes".formatted(length));
+		}
+
+		final ObjectId id = idFor(type, data);
+		objects.putIfAbsent(id, new ObjectLoader.SmallObject(type, data));
+		return id;
+	}
+
+	@Override
+	public PackParser newPackParser(InputStream in) {
+		throw new UnsupportedOperationException("Pack files can not be inserted into an in-memory object inserter");
+	}
+
+	@Override
+	public ObjectReader newReader() {
+		return new Reader(repository.newObjectReader());
+	}
+
+	@Override
+	public void flush() {
+		// objects are only kept in memory, there is nothing to flush
+	}
+
+	@Override
+	public void close() {
+		objects.clear();
+	}
+
+	private final class Reader extends ObjectReader.Filter {
+
+		private final ObjectReader delegate;
+
+		private Reader(ObjectReader delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		protected ObjectReader delegate() {
+			return delegate;
+		}
+
+		@Override
+		public ObjectReader newReader() {
+			return new Reader(delegate.newReader());
+		}
+
+		@Override
+		public boolean has(AnyObjectId id) throws IOException {
+			return objects.containsKey(id) || delegate.has(id);
+		}
+
+		@Override
+		public boolean has(AnyObjectId id, int typeHint) throws IOException {
+			return objects.containsKey(id) || delegate.has(id, typeHint);
+		}
+
+		@Override
+		public ObjectLoader open(AnyObjectId id) throws IOException {
+			return open(id, OBJ_ANY);
+		}
+
+		@Override
+		public ObjectLoader open(AnyObjectId id, int typeHint) throws IOException {
+			final ObjectLoader loader = objects.get(id);
+
+			if (loader == null) {
+				return delegate.open(id, typeHint);
+			}
+
+			if (typeHint != OBJ_ANY && loader.getType() != typeHint) {
+				throw new IncorrectObjectTypeException(id.copy(), typeHint);
+			}
+
+			return loader;
+		}
+
+		@Override
+		public long getObjectSize(AnyObjectId id, int typeHint) throws MissingObjectException,
+				IncorrectObjectTypeException, IOException {
+			final ObjectLoader loader = objects.get(id);
+			return loader == null ? delegate.getObjectSize(id, typeHint) : loader.getSize();
+		}
+
+		@Override
+		public ObjectInserter getCreatedFromInserter() {
+			return InMemoryObjectInserter.this;
+		}
+
+		@Override
+		public void close() {
+			delegate.close();
+		}
+
+	}
+
+}
@@ -0,0 +1,141 @@
+package com.konfigyr.vault.state;
+
+import com.konfigyr.vault.Properties;
+import com.konfigyr.vault.PropertyValue;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Performs a three-way merge of the configuration {@link Properties} states on the property level.
+ * <p>
+ * Git can only merge the configuration state when it is stored in a text format, where each property is
+ * written on its own line. States stored in the {@link Properties.Format#BINARY binary format} are opaque to
+ * the Git merge machinery, which is why they are merged by comparing the sealed {@link PropertyValue values}
+ * of each property from the common ancestor, the target and the source state.
+ * <p>
+ * Sealed values are compared using their checksums, as the ciphertext of the same plaintext value differs
+ * each time it is sealed. A property is considered to be in conflict when both the target and the source
+ * state changed it to a different value, or when one side changed it while the other one removed it.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@NullMarked
+final class PropertiesMerger {
+
+	private PropertiesMerger() {
+		// noop
+	}
+
+	/**
+	 * Merges the changes from the source, or theirs, state into the target, or ours, state. The resulting
+	 * state preserves the order of the target state, where new properties from the source state are
+	 * appended in their source order.
+	 *
+	 * @param base the state of the common ancestor, can't be {@literal null}
+	 * @param ours the state of the merge target, can't be {@literal null}
+	 * @param theirs the state of the merge source, can't be {@literal null}
+	 * @return the merge result, never {@literal null}
+	 */
+	static Result merge(Properties base, Properties ours, Properties theirs) {
+		final Properties.Builder builder = Properties.builder();
+		final List<Conflict> conflicts = new ArrayList<>();
+
+		ours.forEachProperty((name, value) -> {
+			final PropertyValue ancestor = base.get(name).orElse(null);
+			final PropertyValue source = theirs.get(name).orElse(null);
+
+			if (Objects.equals(value, source) || Objects.equals(ancestor, source)) {
+				builder.add(name, value);
+			} else if (Objects.equals(ancestor, value)) {
+				// unchanged on our side, take their value or drop the property if they removed it
+				if (source != null) {
+					builder.add(name, source);
+				}
+			} else {
+				conflicts.add(new Conflict(name, value, source));
+			}
+		});
+
+		theirs.forEachProperty((name, value) -> {
+			if (ours.has(name)) {
+				return;
+			}
+
+			final PropertyValue ancestor = base.get(name).orElse(null);
+
+			if (ancestor == null) {
+				builder.add(name, value);
+			} else if (!ancestor.equals(value)) {
+				// the property was removed on our side while it was changed on theirs
+				conflicts.add(new Conflict(name, null, value));
+			}
+		});
+
+		return new Result(builder.build(), List.copyOf(conflicts));
+	}
+
+	/**
+	 * The outcome of the three-way merge of the configuration {@link Properties} states.
+	 *
+	 * @param properties the merged properties, without the conflicting properties
+	 * @param conflicts the conflicting properties, empty when the merge was successful
+	 */
+	record Result(Properties properties, List<Conflict> conflicts) {
+
+		boolean isConflicting() {
+			return !conflicts.isEmpty();
+		}
+
+		/**
+		 * Formats the conflicting properties using the Git conflict markers, where the conflicting values are
+		 * written in the {@link Properties.Format#TEXT text format}.
+		 *
+		 * @param ours the label of the target state
+		 * @param theirs the label of the source state
+		 * @return the formatted conflicts, never {@literal null}
+		 * @throws IOException when the conflicting values can not be formatted
+		 */
+		String format(String ours, String theirs) throws IOException {
+			final StringBuilder builder = new StringBuilder();
+
+			for (Conflict conflict : conflicts) {
+				builder.append("<<<<<<< ").append(ours).append('\n')
+						.append(format(conflict.name(), conflict.ours()))
+						.append("=======\n")
+						.append(format(conflict.name(), conflict.theirs()))
+						.append(">>>>>>> ").append(theirs).append('\n');
+			}
+
+			return builder.toString();
+		}
+
+		private static String format(String name, @Nullable PropertyValue value) throws IOException {
+			if (value == null) {
+				return "";
+			}
+
+			final ByteArrayOutputStream output = new ByteArrayOutputStream();
+			Properties.builder().add(name, value).build().transferTo(output, Properties.Format.TEXT);
+			return output.toString(StandardCharsets.UTF_8);
+		}
+	}
+
+	/**
+	 * Property that could not be merged as it was changed on both sides.
+	 *
+	 * @param name the property name
+	 * @param ours the value in the target state, {@literal null} when it was removed
+	 * @param theirs the value in the source state, {@literal null} when it was removed
+	 */
+	record Conflict(String name, @Nullable PropertyValue ours, @Nullable PropertyValue theirs) {
+	}
+
+}
@@ -0,0 +1,118 @@
+package com.konfigyr.vault.state;
+
+import com.konfigyr.crypto.KeysetOperations;
+import com.konfigyr.namespace.Service;
+import com.konfigyr.security.AuthenticatedPrincipal;
+import com.konfigyr.vault.*;
+import com.konfigyr.vault.Properties;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.util.*;
+
+@Slf4j
+@Builder
+final class RepositoryBatchVault implements BatchVault {
+
+	private final Service service;
+	private final List<Profile> profiles;
+	private final AuthenticatedPrincipal author;
+	private final StateRepository stateRepository;
+	private final KeysetOperations keysetOperations;
+
+	@NonNull
+	@Override
+	public Service service() {
+		return service;
+	}
+
+	@NonNull
+	@Override
+	public List<Profile> profiles() {
+		return Collections.unmodifiableList(profiles);
+	}
+
+	@NonNull
+	@Override
+	public Map<Profile, ApplyResult> apply(@NonNull Collection<PropertyChanges> changes) {
+		Assert.notEmpty(changes, "Property changes must not be empty");
+
+		final Map<Profile, PropertyChanges> targets = new LinkedHashMap<>(changes.size());
+
+		for (PropertyChanges change : changes) {
+			final Profile profile = lookup(change.profile());
+
+			if (targets.putIfAbsent(profile, change) != null) {
+				throw new IllegalArgumentException("Profile '%s' of Service(%s, %s) can only be changed once per batch"
+						.formatted(profile.slug(), service.id(), service.slug()));
+			}
+		}
+
+		targets.keySet().forEach(RepositoryBatchVault::assertDirectChangesAllowed);
+
+		final Map<Profile, Properties> states = new LinkedHashMap<>(targets.size());
+		final Map<Profile, Changeset> changesets = new LinkedHashMap<>(targets.size());
+
+		targets.forEach((profile, change) -> {
+			final RepositoryState state = stateRepository.get(profile);
+			final Properties current = read(profile, state);
+			final Properties updated = current.apply(change, keysetOperations);
+
+			states.put(profile, current);
+			changesets.put(profile, new Changeset(author, updated, change, state.revision()));
+		});
+
+		final Map<Profile, MergeOutcome> outcomes = stateRepository.commit(changesets);
+		final Map<Profile, ApplyResult> results = new LinkedHashMap<>(outcomes.size());
+
+		changesets.forEach((profile, changeset) -> {
+			final MergeOutcome outcome = outcomes.get(profile);
+
+			Assert.state(outcome != null && outcome.isApplied(), () -> "Unexpected outcome when attempting to commit " +
+					"changeset for profile '%s': %s".formatted(profile.slug(), outcome));
+
+			results.put(profile, RepositoryVault.createChangeResult(outcome, changeset.revision(), author,
+					changeset.changes(), states.get(profile), changeset.properties()));
+		});
+
+		log.debug("Successfully applied changes to {} profiles of Service({}, {})", results.size(), service.id(), service.slug());
+
+		return Collections.unmodifiableMap(results);
+	}
+
+	@Override
+	public void close() throws Exception {
+		stateRepository.close();
+	}
+
+	private Profile lookup(Profile profile) {
+		return profiles.stream()
+				.filter(candidate -> candidate.id().equals(profile.id()))
+				.findFirst()
+				.orElseThrow(() -> new IllegalArgumentException("Profile '%s' is not part of the batch for Service(%s, %s)"
+						.formatted(profile.slug(), service.id(), service.slug())));
+	}
+
+	private Properties read(Profile profile, RepositoryState state) {
+		try {
+			return Properties.from(state);
+		} catch (IOException ex) {
+			throw new RepositoryStateException(RepositoryStateException.ErrorCode.CORRUPTED_STATE,
+					"Failed read repository configuration state for '%s' profile of Service(%s, %s)".formatted(
+							profile.slug(), service.id(), service.slug()), ex);
+		}
+	}
+
+	private static void assertDirectChangesAllowed(Profile profile) {
+		if (profile.policy() == ProfilePolicy.IMMUTABLE) {
+			throw ProfilePolicyViolationException.immutableProfile(profile);
+		}
+		if (profile.policy() == ProfilePolicy.PROTECTED) {
+			throw ProfilePolicyViolationException.protectedProfile(profile);
+		}
+	}
+
+}
@@ -88,6 +88,24 @@ final class RepositoryVault implements Vault {
 		return revision().properties();
 	}
 
+	@NonNull
+	@Override
+	public Properties state(@NonNull String revision) {
+		final Revision current = revision();
+
+		if (current.revision().equals(revision)) {
+			return current.properties();
+		}
+
+		try {
+			return Properties.from(stateRepository.snapshot(profile, revision));
+		} catch (IOException ex) {
+			throw new RepositoryStateException(RepositoryStateException.ErrorCode.CORRUPTED_STATE,
+					"Failed read repository configuration state of '%s' revision for '%s' profile of Service(%s, %s)"
+							.formatted(revision, profile.slug(), service.id(), service.slug()), ex);
+		}
+	}
+
 	@NonNull
 	@Override
 	public ApplyResult apply(@NonNull PropertyChanges changes) {
@@ -98,40 +116,35 @@ final class RepositoryVault implements Vault {
 			throw ProfilePolicyViolationException.protectedProfile(profile);
 		}
 
-		final Properties current = state();
+		final Revision base = revision();
+		final Properties current = base.properties();
 		final Properties updated = current.apply(changes, keysetOperations);
 
-		final Changeset changeset = new Changeset(author, updated, changes);
-
-		final MergeOutcome updateOutcome = stateRepository.update(profile, changeset);
-
-		if (!updateOutcome.isApplied()) {
-			stateRepository.discard(profile, updateOutcome.branch());
-
-			throw new IllegalStateException("Failed to prepare changeset for profile '%s' of Service(%s, %s) due to: %s"
-					.formatted(profile.slug(), service.id(), service.slug(), updateOutcome));
-		}
+		final Changeset changeset = new Changeset(author, updated, changes, base.revision());
 
-		final MergeOutcome mergeOutcome = stateRepository.merge(profile, updateOutcome.branch());
+		MergeOutcome outcome;
+		boolean merged = false;
 
-		if (mergeOutcome.isConflicting()) {
-			stateRepository.discard(profile, updateOutcome.branch());
+		// Unprotected profiles are changed by committing the changeset directly on top of the revision it was
+		// prepared from. The merge of a temporary changeset branch is only needed when the profile has moved.
+		try {
+			outcome = stateRepository.commit(profile, changeset);
+		} catch (RepositoryStateException ex) {
+			if (ex.getErrorCode() != RepositoryStateException.ErrorCode.CONFLICT) {
+				throw ex;
+			}
 
-			Assert.state(mergeOutcome.conflicts() != null, "Merge conflicts must not be null");
-			throw new ConflictingProfileStateException(profile, mergeOutcome.conflicts());
-		} else if (mergeOutcome.isUnknown()) {
-			stateRepository.discard(profile, updateOutcome.branch());
+			log.debug("Profile '{}' of Service({}, {}) was modified after revision {}, attempting to merge the changes",
+					profile.slug(), service.id(), service.slug(), base.revision());
 
-			throw new IllegalStateException("Failed to apply changes to profile '%s' of Service(%s, %s) due to: %s"
-					.formatted(profile.slug(), service.id(), service.slug(), mergeOutcome));
+			outcome = mergeChangeset(changeset);
+			merged = true;
 		}
 
-		Assert.state(mergeOutcome.isApplied(), "Unexpected outcome when attempting to merge changeset: " + mergeOutcome);
-
-		final ApplyResult result = createChangeResult(mergeOutcome, changes, current, updated);
+		final ApplyResult result = createChangeResult(outcome, changes, current, updated);
 
-		// update the new state of the vault...
-		revision = new Revision(result.revision(), updated);
+		// update the new state of the vault, the merged state needs to be read again from the repository...
+		revision = merged ? null : new Revision(result.revision(), updated);
 
 		return result;
 	}
@@ -241,7 +254,41 @@ final class RepositoryVault implements Vault {
 		stateRepository.close();
 	}
 
+	private MergeOutcome mergeChangeset(Changeset changeset) {
+		final MergeOutcome updateOutcome = stateRepository.update(profile, changeset);
+
+		if (!updateOutcome.isApplied()) {
+			stateRepository.discard(profile, updateOutcome.branch());
+
+			throw new IllegalStateException("Failed to prepare changeset for profile '%s' of Service(%s, %s) due to: %s"
+					.formatted(profile.slug(), service.id(), service.slug(), updateOutcome));
+		}
+
+		final MergeOutcome mergeOutcome = stateRepository.merge(profile, updateOutcome.branch());
+
+		if (mergeOutcome.isConflicting()) {
+			stateRepository.discard(profile, updateOutcome.branch());
+
+			Assert.state(mergeOutcome.conflicts() != null, "Merge conflicts must not be null");
+			throw new ConflictingProfileStateException(profile, mergeOutcome.conflicts());
+		} else if (mergeOutcome.isUnknown()) {
+			stateRepository.discard(profile, updateOutcome.branch());
+
+			throw new IllegalStateException("Failed to apply changes to profile '%s' of Service(%s, %s) due to: %s"
+					.formatted(profile.slug(), service.id(), service.slug(), mergeOutcome));
+		}
+
+		Assert.state(mergeOutcome.isApplied(), "Unexpected outcome when attempting to merge changeset: " + mergeOutcome);
+
+		return mergeOutcome;
+	}
+
 	private ApplyResult createChangeResult(MergeOutcome outcome, PropertyChanges changes, Properties current, Properties next) {
+		return createChangeResult(outcome, revision().revision(), author, changes, current, next);
+	}
+
+	static ApplyResult createChangeResult(MergeOutcome outcome, String previousRevision, AuthenticatedPrincipal author,
+			PropertyChanges changes, Properties current, Properties next) {
 		Assert.state(outcome.revision() != null, "Merge outcome revision must not be null");
 
 		final SortedSet<PropertyTransition> transitions = new TreeSet<>(PropertyTransition::compareTo);
@@ -267,7 +314,7 @@ final class RepositoryVault implements Vault {
 
 		return new ApplyResult(
 				outcome.revision(),
-				revision().revision(),
+				previousRevision,
 				changes.subject(),
 				changes.description(),
 				Collections.unmodifiableSet(transitions),
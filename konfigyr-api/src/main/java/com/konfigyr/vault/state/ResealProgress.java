@@ -0,0 +1,50 @@
+package com.konfigyr.vault.state;
+
+import com.konfigyr.entity.EntityId;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+
+/**
+ * Record that describes the progress of the re-encryption of the profile states of a service vault with
+ * the primary key of its keyset, which is performed by the {@link StateResealer}.
+ *
+ * @param service the identifier of the service whose profile states are resealed, can't be {@literal null}
+ * @param key the identifier of the primary key that is used to reseal the profile states, can't be {@literal null}
+ * @param totalProfiles the number of profiles that existed when the reseal was started
+ * @param resealedProfiles the number of profiles whose state was resealed
+ * @param resealedProperties the number of property values that were resealed
+ * @param startedAt when the reseal was started, can't be {@literal null}
+ * @param updatedAt when the progress was last updated, can't be {@literal null}
+ * @param completedAt when the reseal was completed, can be {@literal null}
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@NullMarked
+public record ResealProgress(
+		EntityId service,
+		String key,
+		int totalProfiles,
+		int resealedProfiles,
+		long resealedProperties,
+		OffsetDateTime startedAt,
+		OffsetDateTime updatedAt,
+		@Nullable OffsetDateTime completedAt
+) implements Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 4630214913587716254L;
+
+	/**
+	 * Checks if all the profile states were resealed with the primary key.
+	 *
+	 * @return {@code true} when the reseal is completed, {@code false} otherwise
+	 */
+	public boolean isCompleted() {
+		return completedAt != null;
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.konfigyr.vault.state;
+
+/**
+ * Enumeration that defines how the configuration state of a {@link com.konfigyr.vault.Profile} is laid out
+ * in the Git tree that is managed by the {@link GitStateRepository}.
+ * <p>
+ * The layout only controls how the state is written, the {@link GitStateRepository} is always capable of
+ * reading the state from either of the layouts. This allows the layout to be changed for existing repositories
+ * where the profile states are converted to the new layout with their next commit.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+public enum StateLayout {
+
+	/**
+	 * The configuration state is stored in a single {@code application.properties} Blob that is located
+	 * in the root of the Git tree. Any change to the state would rewrite the entire Blob.
+	 */
+	SINGLE,
+
+	/**
+	 * The configuration state is split into up to 256 shards that are stored as separate Blobs within the
+	 * {@code shards} directory of the Git tree. Properties are assigned to a shard using a hash bucket of the
+	 * property name, which means that a change to the state only rewrites the shards that contain the
+	 * changed properties. This layout should be used for profiles with a large number of properties.
+	 */
+	SHARDED
+
+}
@@ -3,11 +3,16 @@ package com.konfigyr.vault.state;
 import com.konfigyr.namespace.Service;
 import com.konfigyr.vault.Profile;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Interface that provides an abstraction over a source-control configuration state repository.
@@ -90,6 +95,45 @@ public interface StateRepository extends AutoCloseable, DisposableBean {
 	 */
 	String create(Profile profile);
 
+	/**
+	 * Creates a new profile configuration state for the given {@link Profile} that is branched from the
+	 * configuration state of the source {@link Profile} within this repository.
+	 * <p>
+	 * The configuration state is not copied, the new profile branch points to the same revision as the source
+	 * profile. When the revision is not specified, the latest revision of the source profile is used, otherwise
+	 * the revision must be part of the history of the source profile.
+	 * <p>
+	 * Implementations should prevent accidental overwriting of existing profiles.
+	 *
+	 * @param profile the profile for which the state branch would be created, can't be {@literal null}
+	 * @param source the profile from which the state is branched, can't be {@literal null}
+	 * @param revision the revision of the source profile state, can be {@literal null}
+	 * @return the revision to which the newly created profile branch points to, never {@literal null}.
+	 * @throws RepositoryStateException with the {@link RepositoryStateException.ErrorCode#INVALID_STATE} error
+	 * code when the revision does not exist or is not part of the source profile history
+	 */
+	String create(Profile profile, Profile source, @Nullable String revision);
+
+	/**
+	 * Creates a new {@link Profile} specific state branch whose configuration state is the result of committing
+	 * the given {@link Changeset} on top of the configuration state of the source {@link Profile}.
+	 * <p>
+	 * The changeset is committed on top of its {@link Changeset#revision() revision}, which must be part of the
+	 * history of the source profile, or on top of the latest revision of the source profile when it is not
+	 * specified. Implementations must create the profile branch pointing directly to the committed state, the
+	 * new profile should never be observed with the state of the source profile.
+	 * <p>
+	 * Implementations should prevent accidental overwriting of existing profiles.
+	 *
+	 * @param profile the profile for which the state branch would be created, can't be {@literal null}
+	 * @param source the profile from which the state is branched, can't be {@literal null}
+	 * @param changeset the changeset to be committed to the new profile branch, can't be {@literal null}
+	 * @return the commit outcome, never {@literal null}.
+	 * @throws RepositoryStateException with the {@link RepositoryStateException.ErrorCode#INVALID_STATE} error
+	 * code when the revision does not exist or is not part of the source profile history
+	 */
+	MergeOutcome create(Profile profile, Profile source, Changeset changeset);
+
 	/**
 	 * Retrieves the current configuration state of the given {@link Profile} as a binary {@link InputStream}.
 	 * <p>
@@ -115,13 +159,31 @@ public interface StateRepository extends AutoCloseable, DisposableBean {
 	 */
 	RepositoryState get(Profile profile, String changeset);
 
+	/**
+	 * Retrieves the configuration state of the given {@link Profile} as it was at the given revision.
+	 * <p>
+	 * The revision must be part of the history of the profile, revisions that belong to other profiles or
+	 * to changesets that were never applied to the profile must be rejected.
+	 * <p>
+	 * Implementations should ensure this method is read-only and has no side effects.
+	 *
+	 * @param profile the profile for which the state would be retrieved, can't be {@literal null}
+	 * @param revision the revision of the profile state, can't be {@literal null}
+	 * @return the profile state contents at the given revision, never {@literal null}.
+	 * @throws RepositoryStateException with the {@link RepositoryStateException.ErrorCode#INVALID_STATE} error
+	 * code when the revision does not exist or is not part of the profile history
+	 */
+	RepositoryState snapshot(Profile profile, String revision);
+
 	/**
 	 * Updates the configuration state of the given {@link Profile} with the given {@link Changeset}.
 	 * <p>
 	 * This method represents the primary mutation point for configuration changes. All edits should occur
 	 * in a dedicated changeset branch and never directly on a profile.
 	 * <p>
-	 * Implementations should treat the update atomically and avoid partial writes.
+	 * Implementations should treat the update atomically and avoid partial writes. When the changeset defines
+	 * the {@link Changeset#revision() revision} it was prepared from, the changeset should be based on that
+	 * revision, so that any later changes to the profile are merged rather than overwritten.
 	 *
 	 * @param profile the profile for which the changes would be prepared, can't be {@literal null}
 	 * @param changeset the changeset to be applied, can't be {@literal null}
@@ -144,6 +206,56 @@ public interface StateRepository extends AutoCloseable, DisposableBean {
 	 */
 	MergeOutcome merge(Profile profile, String changeset);
 
+	/**
+	 * Checks if the changes from the {@code source} revision can be merged into the {@code target} revision
+	 * of the given {@link Profile} without any conflicts.
+	 * <p>
+	 * This is a dry run of the {@link #merge(Profile, String)} operation, implementations should use the same
+	 * merge strategy but must not modify the state of the profile or any of its changesets. As the result only
+	 * depends on the given revisions, it is safe to cache it by the revision pair.
+	 *
+	 * @param profile the profile that owns both revisions, can't be {@literal null}
+	 * @param target the revision into which the changes would be merged, can't be {@literal null}
+	 * @param source the revision containing the changes that would be merged, can't be {@literal null}
+	 * @return {@code true} when merging the revisions would result in conflicts, {@code false} otherwise
+	 * @throws RepositoryStateException with the {@link RepositoryStateException.ErrorCode#INVALID_STATE} error
+	 * code when any of the revisions does not exist
+	 */
+	boolean isConflicting(Profile profile, String target, String source);
+
+	/**
+	 * Updates the authoritative configuration state of the {@link Profile} by committing the given
+	 * {@link Changeset} directly on top of its current state.
+	 * <p>
+	 * Unlike the {@link #update(Profile, Changeset)} and {@link #merge(Profile, String)} operations, the
+	 * changeset is not staged in a dedicated changeset branch. This should only be used for profiles that
+	 * allow direct changes. When the changeset defines the {@link Changeset#revision() revision} it was
+	 * prepared from, the profile state is only updated if it still points to that revision.
+	 *
+	 * @param profile the profile to which the changeset would be committed, can't be {@literal null}
+	 * @param changeset the changeset to be committed, can't be {@literal null}
+	 * @return the merge outcome, never {@literal null}.
+	 * @throws RepositoryStateException with the {@link RepositoryStateException.ErrorCode#CONFLICT} error code
+	 * when the state of the profile was concurrently modified
+	 */
+	MergeOutcome commit(Profile profile, Changeset changeset);
+
+	/**
+	 * Updates the authoritative configuration state of multiple {@link Profile profiles} by committing the
+	 * given {@link Changeset changesets} directly on top of their current states.
+	 * <p>
+	 * Unlike the {@link #update(Profile, Changeset)} and {@link #merge(Profile, String)} operations, the
+	 * changesets are not staged in a dedicated changeset branch. Implementations must apply the changesets
+	 * atomically, either all profiles are updated or none of them is. When the state of any of the profiles
+	 * was modified after the changesets were prepared, the operation must fail without applying any changes.
+	 *
+	 * @param changesets the changesets to be committed, mapped by their target profile, can't be {@literal null}
+	 * @return the merge outcomes mapped by the profile, never {@literal null}.
+	 * @throws RepositoryStateException with the {@link RepositoryStateException.ErrorCode#CONFLICT} error code
+	 * when the state of any profile was concurrently modified
+	 */
+	Map<Profile, MergeOutcome> commit(Map<Profile, Changeset> changesets);
+
 	/**
 	 * Discards a changeset and all staged changes.
 	 * <p>
@@ -156,6 +268,24 @@ public interface StateRepository extends AutoCloseable, DisposableBean {
 	 */
 	void discard(Profile profile, String changeset);
 
+	/**
+	 * Retrieves all changeset branches, of every profile, that currently exist in this repository.
+	 *
+	 * @return the existing changeset branches, never {@literal null}
+	 */
+	List<ChangesetBranch> changesets();
+
+	/**
+	 * Discards the given changeset branches using batched ref updates.
+	 * <p>
+	 * A changeset branch is only discarded when it still points to the revision of the given
+	 * {@link ChangesetBranch}, changeset branches that were updated in the meantime are kept.
+	 *
+	 * @param changesets the changeset branches to be discarded, can't be {@literal null}
+	 * @return the number of discarded changeset branches
+	 */
+	int discard(Collection<ChangesetBranch> changesets);
+
 	/**
 	 * Permanently deletes the configuration state of the given {@link Profile}.
 	 * <p>
@@ -176,6 +306,47 @@ public interface StateRepository extends AutoCloseable, DisposableBean {
 	 */
 	Page<RepositoryVersion> history(Profile profile, Pageable pageable);
 
+	/**
+	 * Returns the current revisions of all branches in this repository, the profile and changeset branches,
+	 * keyed by their full branch names.
+	 *
+	 * @return the branch names and their current revisions, never {@literal null}
+	 */
+	Map<String, String> references();
+
+	/**
+	 * Writes a Git bundle that contains the given branches, and all the objects reachable from their revisions,
+	 * to the given output stream.
+	 * <p>
+	 * Objects that are reachable from the prerequisite revisions are excluded from the bundle, which makes the
+	 * bundle incremental. Such bundles can only be restored into a repository that already contains the
+	 * prerequisite revisions. Prerequisite revisions that are not present in this repository are ignored.
+	 *
+	 * @param references the branch names and revisions to be included in the bundle, can't be {@literal null}
+	 * @param prerequisites the revisions that the bundle should not contain, can't be {@literal null}
+	 * @param output the stream where the bundle would be written, can't be {@literal null}
+	 */
+	void bundle(Map<String, String> references, Collection<String> prerequisites, OutputStream output);
+
+	/**
+	 * Restores the branches from the Git bundle that is read from the given input stream.
+	 * <p>
+	 * The objects of the bundle are added to this repository, after which the branches are updated to match
+	 * the branches of the bundle. Branches that are not present in the bundle are removed.
+	 *
+	 * @param bundle the stream from which the bundle would be read, can't be {@literal null}
+	 * @return the restored branch names and their revisions, never {@literal null}
+	 * @throws RepositoryStateException when the bundle prerequisites are not present in this repository
+	 */
+	Map<String, String> restore(InputStream bundle);
+
+	/**
+	 * Closes the repository and releases any underlying resources. Performing operations on a closed
+	 * repository should result in an error.
+	 */
+	@Override
+	void close();
+
 	/**
 	 * Destroys the repository associated with the {@link Service} and all its contents.
 	 * <p>
@@ -1,10 +1,13 @@
 package com.konfigyr.vault.state;
 
+import com.konfigyr.crypto.KeysetOperations;
+import com.konfigyr.crypto.KeysetOperationsFactory;
 import com.konfigyr.namespace.Service;
 import com.konfigyr.namespace.ServiceEvent;
 import com.konfigyr.namespace.ServiceNotFoundException;
 import com.konfigyr.namespace.Services;
-import com.konfigyr.vault.ProfileEvent;
+import com.konfigyr.vault.*;
+import com.konfigyr.vault.history.ChangeHistoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Marker;
@@ -13,6 +16,13 @@ import org.springframework.retry.annotation.Retryable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
 @Slf4j
 @RequiredArgsConstructor
 public class StateRepositoryEventListener {
@@ -24,6 +34,8 @@ public class StateRepositoryEventListener {
 
 	private final Services services;
 	private final StateRepositoryFactory factory;
+	private final ChangeHistoryService history;
+	private final KeysetOperationsFactory keysetOperationsFactory;
 
 	@Async
 	@Retryable
@@ -43,10 +55,20 @@ public class StateRepositoryEventListener {
 		));
 
 		try (StateRepository repository = factory.get(service)) {
-			final String branch = repository.create(event.get());
+			final ProfileSource source = event.source().orElse(null);
+
+			if (source == null) {
+				final String branch = repository.create(event.get());
+
+				log.info(PROFILE_CREATED, "Successfully created Git profile branch with name '{}' for: {}",
+						branch, event.get());
+				return;
+			}
 
-			log.info(PROFILE_CREATED, "Successfully created Git profile branch with name '{}' for: {}",
-					branch, event.get());
+			final String revision = createProfileFromSource(repository, service, event.get(), source);
+
+			log.info(PROFILE_CREATED, "Successfully created Git profile branch at revision '{}' from {} for: {}",
+					revision, source.profile(), event.get());
 		}
 	}
 
@@ -76,4 +98,70 @@ public class StateRepositoryEventListener {
 		}
 	}
 
+	/**
+	 * Creates the profile branch with the configuration state of the source profile.
+	 * <p>
+	 * The checksums of the property values are derived from the profile identifier, the values of the source
+	 * profile are therefore sealed again for the new profile and committed on top of the source revision. The
+	 * profile branch is created pointing directly to that commit, so the new profile can not be modified before
+	 * its state is sealed. The committed state is recorded in the change history as a single revision that adds
+	 * all the properties, instead of replaying the history of the source profile. The history is written directly,
+	 * as no changes were applied through the {@link Vault} and no {@link VaultEvent.ChangesApplied} event should
+	 * be published.
+	 */
+	private String createProfileFromSource(StateRepository repository, Service service, Profile profile,
+										   ProfileSource source) throws Exception {
+		final RepositoryState snapshot = source.revision() == null ? repository.get(source.profile())
+				: repository.snapshot(source.profile(), source.revision());
+
+		final Properties current = Properties.from(snapshot);
+
+		if (current.size() == 0) {
+			return repository.create(profile, source.profile(), snapshot.revision());
+		}
+
+		final KeysetOperations operations = keysetOperationsFactory.create(
+				VaultStateManager.createKeysetDefinition(service));
+
+		final String subject = "Created from profile '%s'".formatted(source.profile().slug());
+		final Properties.Builder state = Properties.builder();
+		final PropertyChanges.Builder changes = PropertyChanges.builder()
+				.profile(profile)
+				.subject(subject);
+		final SortedSet<PropertyTransition> transitions = new TreeSet<>(PropertyTransition::compareTo);
+
+		// the checksum is used as the change value, as it does not reveal the plaintext property value
+		current.forEachProperty((name, value) -> {
+			final PropertyValue sealed = PropertyValue.create(profile.id(), name,
+					value.unseal(operations).toString(StandardCharsets.UTF_8)).seal(operations);
+
+			state.add(name, sealed);
+			changes.createProperty(name, sealed.checksum().encodeHex());
+			transitions.add(PropertyTransition.added(name, sealed));
+		});
+
+		final MergeOutcome outcome = repository.create(profile, source.profile(),
+				new Changeset(source.author(), state.build(), changes.build(), snapshot.revision()));
+
+		if (!outcome.isApplied()) {
+			throw new RepositoryStateException(RepositoryStateException.ErrorCode.INVALID_STATE,
+					"Failed to seed the configuration state of profile '%s' with outcome: %s"
+							.formatted(profile.slug(), outcome));
+		}
+
+		final String revision = Objects.requireNonNull(outcome.revision());
+
+		history.record(profile.id(), new ApplyResult(
+				revision,
+				null,
+				subject,
+				null,
+				Collections.unmodifiableSet(transitions),
+				source.author(),
+				OffsetDateTime.now()
+		));
+
+		return revision;
+	}
+
 }
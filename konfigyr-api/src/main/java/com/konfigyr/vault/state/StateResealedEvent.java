@@ -0,0 +1,60 @@
+package com.konfigyr.vault.state;
+
+import com.konfigyr.entity.EntityEvent;
+import com.konfigyr.entity.EntityId;
+import org.jspecify.annotations.NonNull;
+
+import java.util.Set;
+
+/**
+ * Event that is published by the {@link StateResealer} once the states of all the profiles of a service were
+ * resealed with the primary key of the service vault keyset.
+ * <p>
+ * The event contains the identifiers of the keys that are no longer referenced by any sealed value of the
+ * service, neither by the current profile states, nor by the open changesets, the change requests or the
+ * change history, and could be disabled, or scheduled for destruction.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+public final class StateResealedEvent extends EntityEvent {
+
+	private final String key;
+	private final Set<String> unreferencedKeys;
+
+	/**
+	 * Create a new {@link StateResealedEvent} with the {@link EntityId entity identifier} of the service whose
+	 * profile states were resealed.
+	 *
+	 * @param id entity identifier of the service
+	 * @param key identifier of the primary key that was used to reseal the states
+	 * @param unreferencedKeys identifiers of the keys that are no longer referenced by any sealed value
+	 */
+	public StateResealedEvent(EntityId id, String key, Set<String> unreferencedKeys) {
+		super(id);
+		this.key = key;
+		this.unreferencedKeys = Set.copyOf(unreferencedKeys);
+	}
+
+	/**
+	 * Returns the identifier of the primary key that was used to reseal the profile states.
+	 *
+	 * @return primary key identifier, never {@literal null}
+	 */
+	@NonNull
+	public String key() {
+		return key;
+	}
+
+	/**
+	 * Returns the identifiers of the keys, from the service vault keyset, that are no longer referenced by
+	 * any sealed value of the service.
+	 *
+	 * @return unreferenced key identifiers, never {@literal null}
+	 */
+	@NonNull
+	public Set<String> unreferencedKeys() {
+		return unreferencedKeys;
+	}
+
+}
@@ -0,0 +1,578 @@
+package com.konfigyr.vault.state;
+
+import com.konfigyr.crypto.KeysetDefinition;
+import com.konfigyr.crypto.KeysetOperations;
+import com.konfigyr.crypto.KeysetOperationsFactory;
+import com.konfigyr.data.scheduling.ClusterSingleton;
+import com.konfigyr.entity.EntityId;
+import com.konfigyr.namespace.Service;
+import com.konfigyr.namespace.Services;
+import com.konfigyr.queue.QueuedTaskState;
+import com.konfigyr.security.AuthenticatedPrincipal;
+import com.konfigyr.security.PrincipalType;
+import com.konfigyr.vault.Profile;
+import com.konfigyr.vault.ProfileManager;
+import com.konfigyr.vault.Properties;
+import com.konfigyr.vault.PropertyChanges;
+import com.konfigyr.vault.VaultEvent;
+import com.konfigyr.vault.VaultProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.konfigyr.data.tables.KeysetKeys.KEYSET_KEYS;
+import static com.konfigyr.data.tables.Services.SERVICES;
+import static com.konfigyr.data.tables.VaultChangeRequestProperties.VAULT_CHANGE_REQUEST_PROPERTIES;
+import static com.konfigyr.data.tables.VaultChangeRequests.VAULT_CHANGE_REQUESTS;
+import static com.konfigyr.data.tables.VaultProfiles.VAULT_PROFILES;
+import static com.konfigyr.data.tables.VaultPropertyHistory.VAULT_PROPERTY_HISTORY;
+import static com.konfigyr.data.tables.VaultResealProgress.VAULT_RESEAL_PROGRESS;
+import static com.konfigyr.data.tables.WorkerQueue.WORKER_QUEUE;
+
+/**
+ * Component responsible for the re-encryption of the profile states of a {@link Service} vault after its
+ * keyset was rotated.
+ * <p>
+ * Rotating the {@code vault/<service>} keyset only changes the key that is used to seal new property values,
+ * existing values stay sealed by the key versions that were primary at the time they were written. The
+ * resealer detects that the primary key of the vault keyset has changed and schedules a reseal task for the
+ * service on the worker queue. The task walks every profile of the service, unseals all of its property
+ * values and seals them again with the primary key, where the resealed state of each profile is written
+ * with a single commit. The commit only succeeds when the profile state was not changed in the meantime,
+ * otherwise the task fails and is retried by the worker queue. The commits are not applied through a
+ * {@link com.konfigyr.vault.Vault}, as they must not be subject to the profile policies, the
+ * {@link VaultEvent.ChangesApplied} event is published for each of them instead, which records the
+ * change history and lets the consumers of the configuration state react to the new revision.
+ * <p>
+ * The task is throttled, it only reseals the configured number of profiles per execution, with a pause
+ * between each profile, and reschedules itself on the worker queue until all the profiles are resealed.
+ * The identifier of the last resealed profile is stored in the {@code vault_reseal_progress} table, which
+ * allows the reseal to be resumed after a failure and to expose its {@link ResealProgress progress}.
+ * <p>
+ * Once all the profile states were resealed, the {@link StateResealedEvent} is published with the keys that
+ * are no longer referenced. Open changeset branches, change requests and the change history are not resealed,
+ * the keys are detected by reading the Tink output prefix of the sealed values that they contain.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ * @see VaultProperties.Reseal
+ */
+@Slf4j
+@NullMarked
+@RequiredArgsConstructor
+public class StateResealer {
+
+	public static final String QUEUE_NAME = "vault.state-reseal";
+
+	private static final AuthenticatedPrincipal AUTHOR = new ResealPrincipal();
+
+	private static final int TINK_PREFIX_SIZE = 5;
+	private static final byte TINK_START_BYTE = 0x01;
+	private static final byte LEGACY_START_BYTE = 0x00;
+
+	private final DSLContext context;
+	private final Services services;
+	private final ProfileManager profiles;
+	private final StateRepositoryFactory factory;
+	private final KeysetOperationsFactory keysetOperationsFactory;
+	private final ApplicationEventPublisher publisher;
+	private final VaultProperties.Reseal properties;
+
+	/**
+	 * Schedules the reseal tasks for all {@link Service services} whose vault keyset was rotated since their
+	 * profile states were last resealed. Vault keysets that were never rotated are skipped.
+	 * <p>
+	 * To change the execution interval, set the {@code konfigyr.vault.reseal.cron} configuration property
+	 * to a valid cron expression. To disable this task, set it to {@code '-'}.
+	 * <p>
+	 * This is a cluster singleton job, only one application instance schedules the reseal tasks at a time.
+	 *
+	 * @return the number of scheduled reseal tasks
+	 */
+	@ClusterSingleton(value = "vault-state-reseal-scheduler", lockAtMostFor = "10m")
+	@Scheduled(cron = "${konfigyr.vault.reseal.cron:0 */15 * * * *}")
+	long schedule() {
+		final Field<Integer> versions = DSL.count();
+
+		final Map<String, Integer> rotated = context.select(KEYSET_KEYS.KEYSET_NAME, versions)
+				.from(KEYSET_KEYS)
+				.where(KEYSET_KEYS.KEYSET_NAME.startsWith("vault/"))
+				.groupBy(KEYSET_KEYS.KEYSET_NAME)
+				.having(versions.gt(1))
+				.fetchMap(KEYSET_KEYS.KEYSET_NAME, versions);
+
+		final Map<String, String> primaries = context.select(KEYSET_KEYS.KEYSET_NAME, KEYSET_KEYS.KEY_ID)
+				.from(KEYSET_KEYS)
+				.where(KEYSET_KEYS.KEYSET_NAME.startsWith("vault/"))
+				.and(KEYSET_KEYS.KEY_PRIMARY.isTrue())
+				.fetchMap(KEYSET_KEYS.KEYSET_NAME, KEYSET_KEYS.KEY_ID);
+
+		final Map<Long, String> resealed = context.select(VAULT_RESEAL_PROGRESS.SERVICE_ID, VAULT_RESEAL_PROGRESS.KEY_ID)
+				.from(VAULT_RESEAL_PROGRESS)
+				.fetchMap(VAULT_RESEAL_PROGRESS.SERVICE_ID, VAULT_RESEAL_PROGRESS.KEY_ID);
+
+		final List<Long> identifiers = context.select(SERVICES.ID)
+				.from(SERVICES)
+				.orderBy(SERVICES.ID)
+				.fetch(SERVICES.ID);
+
+		long count = 0;
+
+		for (Long identifier : identifiers) {
+			final Optional<Service> service = services.get(EntityId.from(identifier));
+
+			if (service.isEmpty()) {
+				continue;
+			}
+
+			final String name = VaultStateManager.createKeysetDefinition(service.get()).getName();
+
+			// the keyset was not yet created or was never rotated, all values are sealed by the primary key
+			if (!rotated.containsKey(name)) {
+				continue;
+			}
+
+			final String primary = primaries.get(name);
+
+			if (primary != null && !primary.equals(resealed.get(identifier))) {
+				try {
+					schedule(service.get());
+					count++;
+				} catch (Exception ex) {
+					log.error("Failed to schedule vault state reseal for Service({})", identifier, ex);
+				}
+			}
+		}
+
+		if (count > 0) {
+			log.info("Successfully scheduled {} vault state reseal tasks", count);
+		}
+
+		return count;
+	}
+
+	/**
+	 * Schedules the reseal task for the profile states of the given {@link Service} with the current primary
+	 * key of its vault keyset. Any progress of the previous reseal for this service is reset.
+	 *
+	 * @param service the service whose profile states should be resealed, can't be {@literal null}
+	 * @return the progress of the scheduled reseal, never {@literal null}
+	 */
+	public ResealProgress schedule(Service service) {
+		final String key = lookupPrimaryKey(service);
+		final OffsetDateTime timestamp = OffsetDateTime.now();
+
+		final int total = context.fetchCount(VAULT_PROFILES, VAULT_PROFILES.SERVICE_ID.eq(service.id().get()));
+
+		final ResealProgress progress = context.insertInto(VAULT_RESEAL_PROGRESS)
+				.set(VAULT_RESEAL_PROGRESS.SERVICE_ID, service.id().get())
+				.set(VAULT_RESEAL_PROGRESS.KEY_ID, key)
+				.set(VAULT_RESEAL_PROGRESS.TOTAL_PROFILES, total)
+				.set(VAULT_RESEAL_PROGRESS.STARTED_AT, timestamp)
+				.set(VAULT_RESEAL_PROGRESS.UPDATED_AT, timestamp)
+				.onConflict(VAULT_RESEAL_PROGRESS.SERVICE_ID)
+				.doUpdate()
+				.set(VAULT_RESEAL_PROGRESS.KEY_ID, key)
+				.set(VAULT_RESEAL_PROGRESS.TOTAL_PROFILES, total)
+				.set(VAULT_RESEAL_PROGRESS.RESEALED_PROFILES, 0)
+				.set(VAULT_RESEAL_PROGRESS.RESEALED_PROPERTIES, 0L)
+				.setNull(VAULT_RESEAL_PROGRESS.LAST_PROFILE_ID)
+				.set(VAULT_RESEAL_PROGRESS.STARTED_AT, timestamp)
+				.set(VAULT_RESEAL_PROGRESS.UPDATED_AT, timestamp)
+				.setNull(VAULT_RESEAL_PROGRESS.COMPLETED_AT)
+				.returning()
+				.fetchOne(StateResealer::toResealProgress);
+
+		context.insertInto(WORKER_QUEUE)
+				.set(WORKER_QUEUE.QUEUE_NAME, QUEUE_NAME)
+				.set(WORKER_QUEUE.ENTITY_ID, service.id().get())
+				.set(WORKER_QUEUE.STATUS, QueuedTaskState.PENDING.name())
+				.set(WORKER_QUEUE.SCHEDULED_AT, timestamp)
+				.set(WORKER_QUEUE.CREATED_AT, timestamp)
+				.onDuplicateKeyUpdate()
+				.set(WORKER_QUEUE.STATUS, DSL.when(WORKER_QUEUE.STATUS.eq(QueuedTaskState.RUNNING.name()), QueuedTaskState.RUNNING.name())
+						.otherwise(QueuedTaskState.PENDING.name()))
+				.set(WORKER_QUEUE.SCHEDULED_AT, timestamp)
+				.set(WORKER_QUEUE.NEEDS_RESCHEDULE, true)
+				.execute();
+
+		log.info("Scheduled vault state reseal for Service({}, {}) with key '{}' and {} profiles",
+				service.id(), service.slug(), key, total);
+
+		return Objects.requireNonNull(progress, "Failed to store vault state reseal progress");
+	}
+
+	/**
+	 * Returns the progress of the last scheduled reseal of the profile states of the given {@link Service}.
+	 *
+	 * @param service the service for which the progress should be returned, can't be {@literal null}
+	 * @return the reseal progress or an empty {@link Optional} when the states were never resealed
+	 */
+	public Optional<ResealProgress> progress(Service service) {
+		return context.selectFrom(VAULT_RESEAL_PROGRESS)
+				.where(VAULT_RESEAL_PROGRESS.SERVICE_ID.eq(service.id().get()))
+				.fetchOptional(StateResealer::toResealProgress);
+	}
+
+	/**
+	 * Reseals the next batch of profile states of the {@link Service} with the given identifier. This is the
+	 * {@link com.konfigyr.queue.QueueProcessor} of the {@code vault.state-reseal} worker queue.
+	 * <p>
+	 * When there are profiles left to be resealed after the batch, the queued task is marked to be
+	 * rescheduled, which lets the worker queue execute it again after the configured backoff period.
+	 *
+	 * @param id the identifier of the service whose profile states should be resealed, can't be {@literal null}
+	 */
+	public void reseal(EntityId id) {
+		final Optional<Service> service = services.get(id);
+		final Optional<ResealProgress> progress = service.flatMap(this::progress);
+
+		if (service.isEmpty() || progress.isEmpty() || progress.get().isCompleted()) {
+			log.debug("Skipping vault state reseal for Service({}) as there is nothing to reseal", id);
+			return;
+		}
+
+		final String key = lookupPrimaryKey(service.get());
+
+		// the keyset was rotated again, start over as already resealed profiles reference the previous key
+		if (!key.equals(progress.get().key())) {
+			schedule(service.get());
+			return;
+		}
+
+		final Long cursor = context.select(VAULT_RESEAL_PROGRESS.LAST_PROFILE_ID)
+				.from(VAULT_RESEAL_PROGRESS)
+				.where(VAULT_RESEAL_PROGRESS.SERVICE_ID.eq(id.get()))
+				.fetchOne(VAULT_RESEAL_PROGRESS.LAST_PROFILE_ID);
+
+		final List<Long> identifiers = context.select(VAULT_PROFILES.ID)
+				.from(VAULT_PROFILES)
+				.where(VAULT_PROFILES.SERVICE_ID.eq(id.get()))
+				.and(cursor == null ? DSL.noCondition() : VAULT_PROFILES.ID.gt(cursor))
+				.orderBy(VAULT_PROFILES.ID)
+				.limit(properties.getBatchSize() + 1)
+				.fetch(VAULT_PROFILES.ID);
+
+		final KeysetOperations operations = keysetOperationsFactory.create(
+				VaultStateManager.createKeysetDefinition(service.get()));
+
+		try (StateRepository repository = factory.get(service.get())) {
+			for (int i = 0; i < Math.min(identifiers.size(), properties.getBatchSize()); i++) {
+				if (i > 0) {
+					pause();
+				}
+
+				final Long identifier = identifiers.get(i);
+				final int count = profiles.get(EntityId.from(identifier))
+						.map(profile -> reseal(repository, operations, profile, key))
+						.orElse(0);
+
+				context.update(VAULT_RESEAL_PROGRESS)
+						.set(VAULT_RESEAL_PROGRESS.LAST_PROFILE_ID, identifier)
+						.set(VAULT_RESEAL_PROGRESS.RESEALED_PROFILES, VAULT_RESEAL_PROGRESS.RESEALED_PROFILES.plus(1))
+						.set(VAULT_RESEAL_PROGRESS.RESEALED_PROPERTIES, VAULT_RESEAL_PROGRESS.RESEALED_PROPERTIES.plus(count))
+						.set(VAULT_RESEAL_PROGRESS.UPDATED_AT, OffsetDateTime.now())
+						.where(VAULT_RESEAL_PROGRESS.SERVICE_ID.eq(id.get()))
+						.execute();
+			}
+		}
+
+		if (identifiers.size() > properties.getBatchSize()) {
+			context.update(WORKER_QUEUE)
+					.set(WORKER_QUEUE.NEEDS_RESCHEDULE, true)
+					.where(WORKER_QUEUE.QUEUE_NAME.eq(QUEUE_NAME))
+					.and(WORKER_QUEUE.ENTITY_ID.eq(id.get()))
+					.execute();
+
+			log.debug("Resealed {} profile states for Service({}), rescheduling the remaining profiles",
+					properties.getBatchSize(), id);
+			return;
+		}
+
+		complete(service.get(), key);
+	}
+
+	private int reseal(StateRepository repository, KeysetOperations operations, Profile profile, String key) {
+		final RepositoryState state;
+
+		try {
+			state = repository.get(profile);
+		} catch (RepositoryStateException ex) {
+			if (ex.getErrorCode() == RepositoryStateException.ErrorCode.UNKNOWN_PROFILE) {
+				log.debug("Skipping reseal of profile '{}' as it has no state", profile.slug());
+				return 0;
+			}
+			throw ex;
+		}
+
+		final Properties current;
+
+		try {
+			current = Properties.from(state);
+		} catch (IOException ex) {
+			throw new UncheckedIOException("Failed to read state of profile '%s'".formatted(profile.slug()), ex);
+		}
+
+		if (current.size() == 0) {
+			return 0;
+		}
+
+		final Properties.Builder resealed = Properties.builder();
+		final PropertyChanges.Builder changes = PropertyChanges.builder()
+				.profile(profile)
+				.subject("Reseal configuration state")
+				.description("Property values are sealed with the primary vault key: " + key);
+
+		// the checksum is used as the change value, as it does not reveal the plaintext property value
+		current.forEachProperty((name, value) -> {
+			resealed.add(name, value.unseal(operations).seal(operations));
+			changes.modifyProperty(name, value.checksum().encodeHex());
+		});
+
+		final Properties next = resealed.build();
+		final PropertyChanges applied = changes.build();
+		final MergeOutcome outcome = repository.commit(profile,
+				new Changeset(AUTHOR, next, applied, state.revision()));
+
+		log.debug("Resealed {} property values of profile '{}' with outcome: {}", current.size(), profile.slug(), outcome);
+
+		if (outcome.isApplied()) {
+			publisher.publishEvent(new VaultEvent.ChangesApplied(profile, RepositoryVault.createChangeResult(
+					outcome, state.revision(), AUTHOR, applied, current, next)));
+		}
+
+		return current.size();
+	}
+
+	private void complete(Service service, String key) {
+		context.update(VAULT_RESEAL_PROGRESS)
+				.set(VAULT_RESEAL_PROGRESS.COMPLETED_AT, OffsetDateTime.now())
+				.set(VAULT_RESEAL_PROGRESS.UPDATED_AT, OffsetDateTime.now())
+				.where(VAULT_RESEAL_PROGRESS.SERVICE_ID.eq(service.id().get()))
+				.execute();
+
+		final Set<String> unreferenced = lookupUnreferencedKeys(service, key);
+
+		log.info("Successfully resealed vault state for Service({}, {}) with key '{}', unreferenced keys: {}",
+				service.id(), service.slug(), key, unreferenced);
+
+		publisher.publishEvent(new StateResealedEvent(service.id(), key, unreferenced));
+	}
+
+	/**
+	 * Looks up the keys of the vault keyset that are not referenced by any sealed value of the service. The
+	 * current profile states, open changeset branches, change requests and the change history are inspected.
+	 * <p>
+	 * The key that sealed the value is read from the Tink output prefix of the ciphertext. When a ciphertext
+	 * does not contain a prefix, it is not possible to tell which key sealed it and no key is reported.
+	 */
+	private Set<String> lookupUnreferencedKeys(Service service, String key) {
+		final Set<String> keys = context.select(KEYSET_KEYS.KEY_ID)
+				.from(KEYSET_KEYS)
+				.where(KEYSET_KEYS.KEYSET_NAME.eq(VaultStateManager.createKeysetDefinition(service).getName()))
+				.and(KEYSET_KEYS.KEY_ID.ne(key))
+				.fetchSet(KEYSET_KEYS.KEY_ID);
+
+		if (keys.isEmpty()) {
+			return keys;
+		}
+
+		final List<byte[]> ciphertexts = new ArrayList<>();
+
+		final List<Long> identifiers = context.select(VAULT_PROFILES.ID)
+				.from(VAULT_PROFILES)
+				.where(VAULT_PROFILES.SERVICE_ID.eq(service.id().get()))
+				.fetch(VAULT_PROFILES.ID);
+
+		try (StateRepository repository = factory.get(service)) {
+			for (Long identifier : identifiers) {
+				profiles.get(EntityId.from(identifier))
+						.ifPresent(profile -> collectCiphertexts(repository, profile, null, ciphertexts));
+			}
+
+			// changeset branch names are formatted as: refs/heads/changeset/<profile slug>/<changeset name>
+			for (ChangesetBranch changeset : repository.changesets()) {
+				final String name = changeset.name().substring(GitStateRepository.CHANGESET_REF_PREFIX.length());
+				final int separator = name.indexOf('/');
+
+				profiles.get(service, separator < 0 ? name : name.substring(0, separator))
+						.ifPresent(profile -> collectCiphertexts(repository, profile, changeset.name(), ciphertexts));
+			}
+		}
+
+		ciphertexts.addAll(lookupCiphertextPrefixes(
+				VAULT_PROPERTY_HISTORY, VAULT_PROPERTY_HISTORY.NEW_VALUE_CIPHER, VAULT_PROPERTY_HISTORY.OLD_VALUE_CIPHER,
+				VAULT_PROPERTY_HISTORY.PROFILE_ID.in(DSL.select(VAULT_PROFILES.ID)
+						.from(VAULT_PROFILES)
+						.where(VAULT_PROFILES.SERVICE_ID.eq(service.id().get())))
+		));
+
+		ciphertexts.addAll(lookupCiphertextPrefixes(
+				VAULT_CHANGE_REQUEST_PROPERTIES, VAULT_CHANGE_REQUEST_PROPERTIES.NEW_VALUE_CIPHER,
+				VAULT_CHANGE_REQUEST_PROPERTIES.OLD_VALUE_CIPHER,
+				VAULT_CHANGE_REQUEST_PROPERTIES.CHANGE_REQUEST_ID.in(DSL.select(VAULT_CHANGE_REQUESTS.ID)
+						.from(VAULT_CHANGE_REQUESTS)
+						.where(VAULT_CHANGE_REQUESTS.SERVICE_ID.eq(service.id().get())))
+		));
+
+		final Set<String> unreferenced = new HashSet<>(keys);
+
+		for (byte[] ciphertext : ciphertexts) {
+			final String referenced = lookupKeyId(ciphertext);
+
+			if (referenced == null) {
+				log.warn("Could not determine the key that sealed a value of Service({}), keeping all the keys", service.id());
+				return Set.of();
+			}
+
+			unreferenced.remove(referenced);
+		}
+
+		return unreferenced;
+	}
+
+	private void collectCiphertexts(StateRepository repository, Profile profile, @Nullable String changeset,
+									List<byte[]> ciphertexts) {
+		final Properties state;
+
+		try {
+			state = Properties.from(changeset == null ? repository.get(profile) : repository.get(profile, changeset));
+		} catch (RepositoryStateException ex) {
+			if (ex.getErrorCode() == RepositoryStateException.ErrorCode.UNKNOWN_PROFILE
+					|| ex.getErrorCode() == RepositoryStateException.ErrorCode.UNKNOWN_CHANGESET) {
+				return;
+			}
+			throw ex;
+		} catch (IOException ex) {
+			throw new UncheckedIOException("Failed to read state of profile '%s'".formatted(profile.slug()), ex);
+		}
+
+		state.forEachProperty((name, value) -> ciphertexts.add(value.get().array()));
+	}
+
+	private List<byte[]> lookupCiphertextPrefixes(Table<?> table, Field<?> next, Field<?> previous, Condition condition) {
+		final Field<byte[]> nextPrefix = ciphertextPrefix(next);
+		final Field<byte[]> previousPrefix = ciphertextPrefix(previous);
+
+		return context.selectDistinct(nextPrefix)
+				.from(table)
+				.where(condition)
+				.and(next.isNotNull())
+				.union(context.selectDistinct(previousPrefix)
+						.from(table)
+						.where(condition)
+						.and(previous.isNotNull()))
+				.fetch(0, byte[].class);
+	}
+
+	private static Field<byte[]> ciphertextPrefix(Field<?> field) {
+		return DSL.field("substring({0} from 1 for {1})", SQLDataType.BLOB, field, DSL.val(TINK_PREFIX_SIZE));
+	}
+
+	/**
+	 * Reads the identifier of the key that sealed the value from the Tink output prefix of the ciphertext,
+	 * which consists of a single version byte followed by the 4-byte big-endian key identifier.
+	 *
+	 * @param ciphertext the sealed value, or its prefix, can't be {@literal null}
+	 * @return the key identifier or {@literal null} when the ciphertext does not contain the prefix
+	 */
+	@Nullable
+	static String lookupKeyId(byte[] ciphertext) {
+		if (ciphertext.length < TINK_PREFIX_SIZE || (ciphertext[0] != TINK_START_BYTE && ciphertext[0] != LEGACY_START_BYTE)) {
+			return null;
+		}
+
+		return Integer.toUnsignedString(ByteBuffer.wrap(ciphertext, 1, TINK_PREFIX_SIZE - 1).getInt());
+	}
+
+	private String lookupPrimaryKey(Service service) {
+		final KeysetDefinition definition = VaultStateManager.createKeysetDefinition(service);
+
+		return context.select(KEYSET_KEYS.KEY_ID)
+				.from(KEYSET_KEYS)
+				.where(KEYSET_KEYS.KEYSET_NAME.eq(definition.getName()))
+				.and(KEYSET_KEYS.KEY_PRIMARY.isTrue())
+				.fetchOptional(KEYSET_KEYS.KEY_ID)
+				.orElseThrow(() -> new IllegalStateException("Could not find primary key of the vault keyset '%s'"
+						.formatted(definition.getName())));
+	}
+
+	private void pause() {
+		if (properties.getDelay().isZero()) {
+			return;
+		}
+
+		try {
+			Thread.sleep(properties.getDelay());
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Vault state reseal was interrupted", ex);
+		}
+	}
+
+	private static ResealProgress toResealProgress(Record record) {
+		return new ResealProgress(
+				record.get(VAULT_RESEAL_PROGRESS.SERVICE_ID, EntityId.class),
+				record.get(VAULT_RESEAL_PROGRESS.KEY_ID),
+				record.get(VAULT_RESEAL_PROGRESS.TOTAL_PROFILES),
+				record.get(VAULT_RESEAL_PROGRESS.RESEALED_PROFILES),
+				record.get(VAULT_RESEAL_PROGRESS.RESEALED_PROPERTIES),
+				record.get(VAULT_RESEAL_PROGRESS.STARTED_AT),
+				record.get(VAULT_RESEAL_PROGRESS.UPDATED_AT),
+				record.get(VAULT_RESEAL_PROGRESS.COMPLETED_AT)
+		);
+	}
+
+	/**
+	 * System principal that is used as the author of the reseal commits.
+	 */
+	private static final class ResealPrincipal implements AuthenticatedPrincipal {
+
+		@Serial
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public String get() {
+			return "system";
+		}
+
+		@Override
+		public PrincipalType getType() {
+			return PrincipalType.SYSTEM;
+		}
+
+		@Override
+		public Optional<@Nullable String> getEmail() {
+			return Optional.of("system@konfigyr.com");
+		}
+
+		@Override
+		public Optional<@Nullable String> getDisplayName() {
+			return Optional.of("Konfigyr");
+		}
+	}
+
+}
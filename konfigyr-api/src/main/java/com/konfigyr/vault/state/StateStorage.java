@@ -0,0 +1,25 @@
+package com.konfigyr.vault.state;
+
+/**
+ * Enumeration that defines where the Git objects and refs of the {@link GitStateRepository state repositories}
+ * are stored.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+public enum StateStorage {
+
+	/**
+	 * The state repositories are stored as bare Git repositories within the configured repository directory
+	 * on the local file system. Deployments with multiple application instances must share this directory.
+	 */
+	FILE,
+
+	/**
+	 * The Git objects and refs of the state repositories are stored in the database, where refs are updated
+	 * using a row level compare-and-swap. Any application instance can serve any state repository without
+	 * a shared file system, recently read pack file blocks are kept in a local in-memory cache.
+	 */
+	DATABASE
+
+}
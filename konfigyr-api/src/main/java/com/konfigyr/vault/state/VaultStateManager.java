@@ -6,6 +6,7 @@ import com.konfigyr.crypto.KeysetOperationsFactory;
 import com.konfigyr.crypto.tink.TinkAlgorithm;
 import com.konfigyr.namespace.Service;
 import com.konfigyr.security.AuthenticatedPrincipal;
+import com.konfigyr.vault.BatchVault;
 import com.konfigyr.vault.Profile;
 import com.konfigyr.vault.Vault;
 import com.konfigyr.vault.VaultAccessor;
@@ -15,8 +16,11 @@ import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NullMarked;
+import org.springframework.util.Assert;
 
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
 
 @Slf4j
 @NullMarked
@@ -24,26 +28,35 @@ import java.nio.file.Path;
 public class VaultStateManager implements StateRepositoryFactory, VaultAccessor {
 
 	private final VaultExtension extension;
-	private final Path repositoryLocation;
+	private final StateRepositoryFactory repositories;
 	private final ChangeRequestManager changeRequestManager;
 	private final KeysetOperationsFactory keysetOperationsFactory;
 
+	public VaultStateManager(
+			VaultExtension extension,
+			Path repositoryLocation,
+			StateLayout stateLayout,
+			ChangeRequestManager changeRequestManager,
+			KeysetOperationsFactory keysetOperationsFactory
+	) {
+		this(extension, new FileStateRepositoryFactory(repositoryLocation, stateLayout),
+				changeRequestManager, keysetOperationsFactory);
+	}
+
 	@Override
 	public StateRepository get(Service service) {
-		return GitStateRepository.load(service, repositoryLocation);
+		return repositories.get(service);
 	}
 
 	@Override
 	public StateRepository create(Service service) {
-		return GitStateRepository.initialize(service, repositoryLocation);
+		return repositories.create(service);
 	}
 
 	@Override
 	@Observed(name = "konfigyr.vault.open")
 	public Vault open(AuthenticatedPrincipal principal, Service service, Profile profile) {
-		final KeysetOperations keysetOperations = keysetOperationsFactory.create(
-				KeysetDefinition.of("vault/" + service.id().serialize(), TinkAlgorithm.AES256_GCM)
-		);
+		final KeysetOperations keysetOperations = createKeysetOperations(service);
 
 		final Vault vault = RepositoryVault.builder()
 				.author(principal)
@@ -57,4 +70,40 @@ public class VaultStateManager implements StateRepositoryFactory, VaultAccessor
 		return extension.extend(vault);
 	}
 
+	@Override
+	@Observed(name = "konfigyr.vault.open-batch")
+	public BatchVault open(AuthenticatedPrincipal principal, Service service, Collection<Profile> profiles) {
+		Assert.notEmpty(profiles, "Batch vault profiles must not be empty");
+
+		for (Profile profile : profiles) {
+			Assert.isTrue(service.id().equals(profile.service()), () -> "Profile '%s' does not belong to Service(%s, %s)"
+					.formatted(profile.slug(), service.id(), service.slug()));
+		}
+
+		final BatchVault vault = RepositoryBatchVault.builder()
+				.author(principal)
+				.service(service)
+				.profiles(List.copyOf(profiles))
+				.keysetOperations(createKeysetOperations(service))
+				.stateRepository(get(service))
+				.build();
+
+		return extension.extend(vault);
+	}
+
+	private KeysetOperations createKeysetOperations(Service service) {
+		return keysetOperationsFactory.create(createKeysetDefinition(service));
+	}
+
+	/**
+	 * Creates the {@link KeysetDefinition} of the keyset that is used to seal the property values
+	 * stored in the vaults of the given {@link Service}.
+	 *
+	 * @param service the service that owns the vault keyset, can't be {@literal null}
+	 * @return the vault keyset definition, never {@literal null}
+	 */
+	static KeysetDefinition createKeysetDefinition(Service service) {
+		return KeysetDefinition.of("vault/" + service.id().serialize(), TinkAlgorithm.AES256_GCM);
+	}
+
 }
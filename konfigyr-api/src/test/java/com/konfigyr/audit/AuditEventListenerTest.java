@@ -1078,7 +1078,7 @@ class AuditEventListenerTest extends AbstractIntegrationTest {
 		final var repository = mock(AuditEventRepository.class);
 		doThrow(new RuntimeException("DB down")).when(repository).insert(any());
 
-		final var listener = new AuditEventListener(repository, mock(), ObservationRegistry.NOOP);
+		final var listener = new AuditEventListener(AuditEventWriter.direct(repository), mock(), ObservationRegistry.NOOP);
 
 		assertThatNoException()
 				.isThrownBy(() -> listener.on(new AccountEvent.Updated(EntityId.from(999))));
@@ -1090,7 +1090,7 @@ class AuditEventListenerTest extends AbstractIntegrationTest {
 	@DisplayName("should observe audit event listener")
 	void shouldObserveEventListener() {
 		final var registry = TestObservationRegistry.create();
-		final var listener = new AuditEventListener(repository, mock(), registry);
+		final var listener = new AuditEventListener(AuditEventWriter.direct(repository), mock(), registry);
 
 		assertThatNoException()
 				.isThrownBy(() -> listener.on(new AccountEvent.Deleted(EntityId.from(1))));
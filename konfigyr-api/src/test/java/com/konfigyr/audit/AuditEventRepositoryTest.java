@@ -12,6 +12,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.*;
@@ -62,6 +63,105 @@ class AuditEventRepositoryTest extends AbstractIntegrationTest {
 				);
 	}
 
+	@Test
+	@Transactional
+	@DisplayName("should insert multiple audit events using a single statement")
+	void shouldInsertAuditEventsInBatch() {
+		final AuditEvent first = AuditEvent.builder()
+				.namespace(EntityId.from(1))
+				.entityId(EntityId.from(200))
+				.entityType("service")
+				.eventType("service.created")
+				.actor(new Actor("system", "system", "System"))
+				.details("slug", "batched-service")
+				.build();
+
+		final AuditEvent second = AuditEvent.builder()
+				.entityId(EntityId.from(200))
+				.entityType("service")
+				.eventType("service.deleted")
+				.actor(new Actor("system", "system", "System"))
+				.build();
+
+		final OffsetDateTime timestamp = OffsetDateTime.now().minusSeconds(30).truncatedTo(ChronoUnit.MILLIS);
+
+		repository.insertAll(List.of(
+				new AuditEventRepository.Recorded(first, timestamp),
+				new AuditEventRepository.Recorded(second, timestamp)
+		));
+
+		final CursorPage<AuditRecord> page = repository.find(
+				SearchQuery.builder()
+						.criteria(AuditRecord.ENTITY_TYPE_CRITERIA, "service")
+						.criteria(AuditRecord.ENTITY_ID_CRITERIA, EntityId.from(200))
+						.build(),
+				CursorPageable.unpaged()
+		);
+
+		assertThat(page.content())
+				.hasSize(2)
+				.extracting(AuditRecord::eventType, AuditRecord::namespaceId, AuditRecord::details)
+				.containsExactlyInAnyOrder(
+						tuple("service.created", EntityId.from(1), Map.of("slug", "batched-service")),
+						tuple("service.deleted", null, Map.of())
+				);
+
+		assertThat(page.content())
+				.as("Should retain the time when the audit events were recorded")
+				.extracting(AuditRecord::createdAt)
+				.allSatisfy(it -> assertThat(it).isAtSameInstantAs(timestamp));
+	}
+
+	@Test
+	@Transactional
+	@DisplayName("should move audit events recorded in the outbox using a single statement")
+	void shouldDrainAuditEventsFromOutbox() {
+		final AuditEvent first = AuditEvent.builder()
+				.namespace(EntityId.from(1))
+				.entityId(EntityId.from(300))
+				.entityType("service")
+				.eventType("service.created")
+				.actor(new Actor("system", "system", "System"))
+				.details("slug", "outbox-service")
+				.build();
+
+		final AuditEvent second = AuditEvent.builder()
+				.entityId(EntityId.from(300))
+				.entityType("service")
+				.eventType("service.deleted")
+				.actor(new Actor("system", "system", "System"))
+				.build();
+
+		repository.enqueueAll(List.of(
+				AuditEventRepository.Recorded.of(first),
+				AuditEventRepository.Recorded.of(second)
+		));
+
+		assertThat(repository.drain(10, 1))
+				.as("Should move both audit events from the outbox")
+				.isEqualTo(2);
+
+		assertThat(repository.drain(10, 1))
+				.as("Should not move the same audit events twice")
+				.isZero();
+
+		final CursorPage<AuditRecord> page = repository.find(
+				SearchQuery.builder()
+						.criteria(AuditRecord.ENTITY_TYPE_CRITERIA, "service")
+						.criteria(AuditRecord.ENTITY_ID_CRITERIA, EntityId.from(300))
+						.build(),
+				CursorPageable.unpaged()
+		);
+
+		assertThat(page.content())
+				.hasSize(2)
+				.extracting(AuditRecord::eventType, AuditRecord::namespaceId, AuditRecord::details)
+				.containsExactlyInAnyOrder(
+						tuple("service.created", EntityId.from(1), Map.of("slug", "outbox-service")),
+						tuple("service.deleted", null, Map.of())
+				);
+	}
+
 	@Test
 	@Transactional
 	@DisplayName("should insert audit event without namespace and details")
@@ -310,11 +410,4 @@ class AuditEventRepositoryTest extends AbstractIntegrationTest {
 		);
 	}
 
-	@Test
-	@Transactional
-	@DisplayName("should create new audit table partition")
-	void createPartition() {
-		assertThatNoException().isThrownBy(repository::createPartition);
-	}
-
 }
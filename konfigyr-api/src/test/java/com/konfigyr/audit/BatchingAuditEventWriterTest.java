@@ -0,0 +1,224 @@
+package com.konfigyr.audit;
+
+import com.konfigyr.account.AccountEvent;
+import com.konfigyr.entity.EntityId;
+import com.konfigyr.test.AbstractIntegrationTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+import static com.konfigyr.data.tables.AuditEventOutbox.AUDIT_EVENT_OUTBOX;
+import static com.konfigyr.data.tables.AuditEvents.AUDIT_EVENTS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = {
+		"konfigyr.audit.writer.batching=true",
+		"konfigyr.audit.writer.capacity=2",
+		"konfigyr.audit.writer.batch-size=10",
+		"konfigyr.audit.writer.flush-interval=1h"
+})
+class BatchingAuditEventWriterTest extends AbstractIntegrationTest {
+
+	static final String ENTITY_TYPE = "batching-test";
+
+	@Autowired
+	DSLContext context;
+
+	@Autowired
+	BatchingAuditEventWriter writer;
+
+	@Autowired
+	ApplicationEventPublisher publisher;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	TransactionTemplate transactions;
+
+	@BeforeEach
+	void setup() {
+		transactions = new TransactionTemplate(transactionManager);
+	}
+
+	@AfterEach
+	void cleanup() {
+		writer.flush();
+
+		context.deleteFrom(AUDIT_EVENT_OUTBOX)
+				.where(AUDIT_EVENT_OUTBOX.ENTITY_TYPE.in(ENTITY_TYPE, "account"))
+				.execute();
+
+		context.deleteFrom(AUDIT_EVENTS)
+				.where(AUDIT_EVENTS.ENTITY_TYPE.eq(ENTITY_TYPE))
+				.or(AUDIT_EVENTS.ENTITY_TYPE.eq("account").and(AUDIT_EVENTS.ENTITY_ID.eq(9001L)))
+				.execute();
+	}
+
+	@Test
+	@DisplayName("should buffer audit events and write them to the audit log when flushed")
+	void bufferAndFlush() {
+		final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		writer.bindTo(registry);
+
+		final OffsetDateTime start = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+		writer.write(event(1));
+		writer.write(event(2));
+
+		assertThat(registry.get(BatchingAuditEventWriter.QUEUE_SIZE_METRIC_NAME).gauge().value())
+				.as("Should report the number of buffered audit events")
+				.isEqualTo(2);
+
+		assertThat(context.fetchCount(AUDIT_EVENTS, AUDIT_EVENTS.ENTITY_TYPE.eq(ENTITY_TYPE)))
+				.as("Should not write the audit events to the audit log before the buffer is flushed")
+				.isZero();
+
+		assertThat(context.fetchCount(AUDIT_EVENT_OUTBOX, AUDIT_EVENT_OUTBOX.ENTITY_TYPE.eq(ENTITY_TYPE)))
+				.as("Should not record buffered audit events in the outbox")
+				.isZero();
+
+		final OffsetDateTime flushed = OffsetDateTime.now();
+
+		writer.flush();
+
+		assertThat(writer.size()).isZero();
+
+		assertThat(context.select(AUDIT_EVENTS.CREATED_AT)
+				.from(AUDIT_EVENTS)
+				.where(AUDIT_EVENTS.ENTITY_TYPE.eq(ENTITY_TYPE))
+				.fetch(AUDIT_EVENTS.CREATED_AT))
+				.as("Should retain the time when the audit events were buffered")
+				.hasSize(2)
+				.allSatisfy(it -> assertThat(it).isBetween(start, flushed));
+
+		assertThat(registry.get(BatchingAuditEventWriter.FLUSH_METRIC_NAME).tag("outcome", "success").timer().count())
+				.isOne();
+
+		assertThat(registry.get(BatchingAuditEventWriter.BATCH_SIZE_METRIC_NAME).summary().totalAmount())
+				.isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("should record audit events in the outbox when the buffer is full")
+	void overflowToOutbox() {
+		final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		writer.bindTo(registry);
+
+		writer.write(event(1));
+		writer.write(event(2));
+		writer.write(event(3));
+
+		assertThat(writer.size()).isEqualTo(2);
+
+		assertThat(context.select(AUDIT_EVENT_OUTBOX.ENTITY_ID)
+				.from(AUDIT_EVENT_OUTBOX)
+				.where(AUDIT_EVENT_OUTBOX.ENTITY_TYPE.eq(ENTITY_TYPE))
+				.fetch(AUDIT_EVENT_OUTBOX.ENTITY_ID))
+				.as("Should record the audit event that does not fit the buffer in the outbox")
+				.containsExactly(3L);
+
+		assertThat(registry.get(BatchingAuditEventWriter.OVERFLOW_METRIC_NAME).counter().count())
+				.isOne();
+
+		writer.flush();
+
+		assertThat(context.fetchCount(AUDIT_EVENT_OUTBOX, AUDIT_EVENT_OUTBOX.ENTITY_TYPE.eq(ENTITY_TYPE)))
+				.as("Should drain the outbox when flushed")
+				.isZero();
+
+		assertThat(context.select(AUDIT_EVENTS.ENTITY_ID)
+				.from(AUDIT_EVENTS)
+				.where(AUDIT_EVENTS.ENTITY_TYPE.eq(ENTITY_TYPE))
+				.fetch(AUDIT_EVENTS.ENTITY_ID))
+				.as("Should write both the buffered audit events and the ones from the outbox")
+				.containsExactlyInAnyOrder(1L, 2L, 3L);
+	}
+
+	@Test
+	@DisplayName("should not buffer audit events when the publishing transaction is rolled back")
+	void discardOnRollback() {
+		transactions.executeWithoutResult(status -> {
+			publisher.publishEvent(new AccountEvent.Updated(EntityId.from(9001)));
+			status.setRollbackOnly();
+		});
+
+		assertThat(writer.size()).isZero();
+
+		writer.flush();
+
+		assertThat(context.fetchCount(AUDIT_EVENTS, AUDIT_EVENTS.ENTITY_TYPE.eq("account")
+				.and(AUDIT_EVENTS.ENTITY_ID.eq(9001L))))
+				.isZero();
+	}
+
+	@Test
+	@DisplayName("should keep audit events that can not be moved in the outbox and move the remaining ones")
+	void retainFailedEvents() {
+		// there is no audit log partition that can store this event
+		context.insertInto(AUDIT_EVENT_OUTBOX)
+				.set(AUDIT_EVENT_OUTBOX.ENTITY_TYPE, ENTITY_TYPE)
+				.set(AUDIT_EVENT_OUTBOX.ENTITY_ID, 1L)
+				.set(AUDIT_EVENT_OUTBOX.EVENT_TYPE, "test.failed")
+				.set(AUDIT_EVENT_OUTBOX.ACTOR_ID, AuditEventListener.SYSTEM_ACTOR.id())
+				.set(AUDIT_EVENT_OUTBOX.ACTOR_TYPE, AuditEventListener.SYSTEM_ACTOR.type())
+				.set(AUDIT_EVENT_OUTBOX.ACTOR_NAME, AuditEventListener.SYSTEM_ACTOR.name())
+				.set(AUDIT_EVENT_OUTBOX.CREATED_AT, OffsetDateTime.of(2000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC))
+				.execute();
+
+		writer.write(event(2));
+
+		writer.flush();
+
+		assertThat(context.fetchCount(AUDIT_EVENTS, AUDIT_EVENTS.ENTITY_TYPE.eq(ENTITY_TYPE)))
+				.as("Should move the audit event that can be stored in the audit log")
+				.isOne();
+
+		assertThat(context.selectFrom(AUDIT_EVENT_OUTBOX)
+				.where(AUDIT_EVENT_OUTBOX.ENTITY_TYPE.eq(ENTITY_TYPE))
+				.fetch())
+				.as("Should keep the failed audit event in the outbox and record the attempt")
+				.singleElement()
+				.returns(1L, it -> it.get(AUDIT_EVENT_OUTBOX.ENTITY_ID))
+				.returns(1, it -> it.get(AUDIT_EVENT_OUTBOX.ATTEMPTS))
+				.satisfies(it -> assertThat(it.get(AUDIT_EVENT_OUTBOX.LAST_ERROR)).isNotBlank());
+	}
+
+	@Test
+	@DisplayName("should buffer audit events for domain events once the publishing transaction is committed")
+	void recordDomainEvents() {
+		transactions.executeWithoutResult(status -> publisher.publishEvent(
+				new AccountEvent.Updated(EntityId.from(9001))
+		));
+
+		assertThat(writer.size()).isOne();
+
+		writer.flush();
+
+		assertThat(context.fetchCount(AUDIT_EVENTS, AUDIT_EVENTS.ENTITY_TYPE.eq("account")
+				.and(AUDIT_EVENTS.ENTITY_ID.eq(9001L))
+				.and(AUDIT_EVENTS.EVENT_TYPE.eq("account.updated"))))
+				.isOne();
+	}
+
+	static AuditEvent event(long id) {
+		return AuditEvent.builder()
+				.entityType(ENTITY_TYPE)
+				.entityId(EntityId.from(id))
+				.eventType("test.recorded")
+				.actor(AuditEventListener.SYSTEM_ACTOR)
+				.build();
+	}
+
+}
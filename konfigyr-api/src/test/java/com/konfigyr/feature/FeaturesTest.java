@@ -81,6 +81,58 @@ class FeaturesTest {
 		verify(empty).get("konfigyr");
 	}
 
+	@Test
+	@DisplayName("should cache resolved feature values per namespace")
+	void shouldCacheFeatureValues() {
+		final var values = FeatureValues.builder()
+				.add(TestFeatureDefinitions.LIMITED, FeatureValue.limited(5))
+				.add(TestFeatureDefinitions.RATE_LIMITED, FeatureValue.rateLimit(10, DurationUnit.MINUTES))
+				.build();
+
+		doReturn(values).when(provider).get("konfigyr");
+
+		assertThat(features.find("konfigyr", TestFeatureDefinitions.LIMITED))
+				.isEqualTo(FeatureValue.limited(5));
+
+		assertThat(features.find("konfigyr", TestFeatureDefinitions.RATE_LIMITED))
+				.isEqualTo(FeatureValue.rateLimit(10, DurationUnit.MINUTES));
+
+		assertThat(features.has("konfigyr", TestFeatureDefinitions.LIMITED))
+				.isTrue();
+
+		verify(provider).get("konfigyr");
+		verify(empty).get("konfigyr");
+	}
+
+	@Test
+	@DisplayName("should invalidate cached feature values for namespace when feature values are changed")
+	void shouldInvalidateChangedFeatureValues() {
+		doReturn(FeatureValues.empty()).when(provider).get("konfigyr");
+
+		assertThat(features.find("konfigyr", TestFeatureDefinitions.LIMITED))
+				.isNull();
+
+		doReturn(FeatureValues.builder().add(TestFeatureDefinitions.LIMITED, FeatureValue.limited(3)).build())
+				.when(provider).get("konfigyr");
+
+		assertThat(features.find("konfigyr", TestFeatureDefinitions.LIMITED))
+				.as("should still return the cached feature value")
+				.isNull();
+
+		((ProviderFeatures) features).on(FeaturesEvent.changed("konfigyr"));
+
+		assertThat(features.find("konfigyr", TestFeatureDefinitions.LIMITED))
+				.isEqualTo(FeatureValue.limited(3));
+
+		((ProviderFeatures) features).on(FeaturesEvent.reset());
+
+		assertThat(features.find("konfigyr", TestFeatureDefinitions.LIMITED))
+				.isEqualTo(FeatureValue.limited(3));
+
+		verify(provider, times(3)).get("konfigyr");
+		verify(empty, times(3)).get("konfigyr");
+	}
+
 	@Test
 	@DisplayName("should resolve Beta feature values")
 	void shouldResolveBetaFeatures() {
@@ -88,6 +140,9 @@ class FeaturesTest {
 
 		assertThat(values.get(NamespaceFeatures.MEMBERS_COUNT))
 				.hasValue(FeatureValue.unlimited());
+
+		assertThat(values.get(NamespaceFeatures.CONFIGURATION_RATE_LIMIT))
+				.hasValue(FeatureValue.rateLimit(600, DurationUnit.MINUTES));
 	}
 
 }
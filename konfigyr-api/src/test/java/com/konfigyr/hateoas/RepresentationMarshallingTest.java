@@ -3,11 +3,13 @@ package com.konfigyr.hateoas;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.konfigyr.data.CursorPage;
 import com.konfigyr.data.CursorPageable;
+import com.konfigyr.data.EstimatedPage;
 import org.jspecify.annotations.NonNull;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import tools.jackson.databind.DeserializationFeature;
 import tools.jackson.databind.JavaType;
 import tools.jackson.databind.ObjectMapper;
@@ -102,6 +104,24 @@ public class RepresentationMarshallingTest {
 				.isEqualTo(model);
 	}
 
+	@Test
+	@DisplayName("should serialize estimated page model")
+	void estimatedPagedModel() {
+		Page<@NonNull EntityModel<Person>> page = new EstimatedPage<>(List.of(Person.create(Link.of("https://localhost/1"))),
+				PageRequest.of(0, 1), 2);
+		RepresentationModel<?> model = PagedModel.of(page, Link.of("https://localhost"));
+
+		final var json = mapper.writeValueAsString(model);
+
+		assertThat(json)
+				.isEqualTo("{\"data\":[{\"firstName\":\"John\",\"lastName\":\"Doe\",\"links\":[{\"rel\":\"self\",\"href\":\"https://localhost/1\",\"method\":\"GET\"}]}]," +
+						"\"metadata\":{\"size\":1,\"number\":1,\"total\":2,\"pages\":2,\"estimated\":true}," +
+						"\"links\":[{\"rel\":\"self\",\"href\":\"https://localhost\",\"method\":\"GET\"}]}");
+
+		assertThatObject(mapper.readValue(json, pageTypeFor(Person.class)))
+				.isEqualTo(model);
+	}
+
 	@Test
 	@DisplayName("should serialize cursor model")
 	void cursorModel() {
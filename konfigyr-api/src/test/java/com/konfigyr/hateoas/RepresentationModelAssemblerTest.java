@@ -2,6 +2,7 @@ package com.konfigyr.hateoas;
 
 import com.konfigyr.data.CursorPage;
 import com.konfigyr.data.CursorPageable;
+import com.konfigyr.data.EstimatedPage;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.PageImpl;
@@ -68,6 +69,30 @@ class RepresentationModelAssemblerTest {
 				);
 	}
 
+	@Test
+	@DisplayName("should assemble estimated page of entities into a paged model without last page link")
+	void assembleToEstimatedPagedModel() {
+		final var page = new EstimatedPage<>(List.of("foo", "bar"), PageRequest.of(2, 2), 7);
+		final PagedModel<EntityModel<String>> model = assembler.assemble(page);
+
+		assertThat(model)
+				.hasSize(2)
+				.containsExactly(EntityModel.of("foo"), EntityModel.of("bar"));
+
+		assertThat(model.getMetadata())
+				.isNotNull()
+				.returns(true, PagedModel.PageMetadata::estimated)
+				.returns(7L, PagedModel.PageMetadata::totalElements);
+
+		assertThat(model.getLinks())
+				.hasSize(3)
+				.containsExactlyInAnyOrder(
+						Link.of("/?page=1", LinkRelation.FIRST),
+						Link.of("/?page=4", LinkRelation.NEXT),
+						Link.of("/?page=2", LinkRelation.PREVIOUS)
+				);
+	}
+
 	@Test
 	@DisplayName("should assemble page of entities into a cursor model")
 	void assembleToCursorModel() {
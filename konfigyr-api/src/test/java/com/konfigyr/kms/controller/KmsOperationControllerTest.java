@@ -304,6 +304,124 @@ class KmsOperationControllerTest extends AbstractControllerTest {
 				));
 	}
 
+	@Test
+	@DisplayName("should encrypt a batch of data using KMS keyset")
+	void encryptBatch() {
+		mvc.post().uri("/namespaces/{slug}/kms/{id}/encrypt/batch", "konfigyr", EntityId.from(2).serialize())
+				.with(authentication(TestPrincipals.john(), OAuthScope.WRITE_NAMESPACES))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"parallel\": true, \"items\": [{\"plaintext\": \"first secret\",\"aad\": \"additional authentication data\"},{\"plaintext\": \"second secret\"}]}")
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.hasStatusOk()
+				.hasContentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+				.bodyJson()
+				.hasPathSatisfying("items.length()", it -> it.assertThat().isEqualTo(2))
+				.hasPathSatisfying("items[0].index", it -> it.assertThat().isEqualTo(0))
+				.hasPathSatisfying("items[0].ciphertext", assertBase64())
+				.hasPathSatisfying("items[0].checksum", assertBase64())
+				.hasPathSatisfying("items[1].index", it -> it.assertThat().isEqualTo(1))
+				.hasPathSatisfying("items[1].ciphertext", assertBase64())
+				.hasPathSatisfying("items[1].checksum", assertBase64());
+	}
+
+	@Test
+	@DisplayName("should decrypt a batch of data using KMS keyset and report errors for each item")
+	void decryptBatch() {
+		mvc.post().uri("/namespaces/{slug}/kms/{id}/decrypt/batch", "konfigyr", EntityId.from(2).serialize())
+				.with(authentication(TestPrincipals.john(), OAuthScope.WRITE_NAMESPACES))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"items\": [" +
+						"{\"ciphertext\": \"AQALRfL98l+pQ/PN6uj6h6+9ju4cb4rOfIZcNMqYFSkvH8ElseN5DPeAoo3gNGUd1GbpJ+/qXJGpKw==\",\"aad\": \"additional authentication data\"}," +
+						"{\"ciphertext\": \"aW52YWxpZCBkYXRh\",\"aad\": \"additional authentication data\"}," +
+						"{\"ciphertext\": \"not base64 encoded\"}" +
+						"]}")
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.hasStatusOk()
+				.hasContentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+				.bodyJson()
+				.hasPathSatisfying("items.length()", it -> it.assertThat().isEqualTo(3))
+				.hasPathSatisfying("items[0].plaintext", it -> it.assertThat().isEqualTo("some data to be encrypted"))
+				.doesNotHavePath("items[0].error")
+				.doesNotHavePath("items[1].plaintext")
+				.hasPathSatisfying("items[1].error.status", it -> it.assertThat().isEqualTo(422))
+				.hasPathSatisfying("items[1].error.title", it -> it.assertThat().asString().contains("Decryption failed"))
+				.hasPathSatisfying("items[1].error.operation", it -> it.assertThat().isEqualTo(KeysetOperation.DECRYPT.name()))
+				.hasPathSatisfying("items[2].index", it -> it.assertThat().isEqualTo(2))
+				.hasPathSatisfying("items[2].error.status", it -> it.assertThat().isEqualTo(400));
+	}
+
+	@Test
+	@DisplayName("should sign and verify a batch of data using KMS keyset")
+	void signAndVerifyBatch() {
+		mvc.post().uri("/namespaces/{slug}/kms/{id}/sign/batch", "john-doe", EntityId.from(6).serialize())
+				.with(authentication(TestPrincipals.john(), OAuthScope.WRITE_NAMESPACES))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"items\": [{\"plaintext\": \"first\"},{\"plaintext\": \"second\"}]}")
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.hasStatusOk()
+				.bodyJson()
+				.hasPathSatisfying("items[0].signature", assertBase64())
+				.hasPathSatisfying("items[1].signature", assertBase64());
+
+		mvc.post().uri("/namespaces/{slug}/kms/{id}/verify/batch", "john-doe", EntityId.from(6).serialize())
+				.with(authentication(TestPrincipals.john(), OAuthScope.WRITE_NAMESPACES))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"parallel\": true, \"items\": [" +
+						"{\"plaintext\": \"some data to be signed\",\"signature\": \"AQALRfIwRQIhAKt/ekJLnejvxDurWvWXDy3odnzePkJGhmDYQvCZXisKAiB7XJQgKqMznXyHUoKXMh/s/CfI5AJmDj57yygaufLGgw==\"}," +
+						"{\"plaintext\": \"some data to be signed\",\"signature\": \"aW52YWxpZCBkYXRh\"}" +
+						"]}")
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.hasStatusOk()
+				.bodyJson()
+				.hasPathSatisfying("items[0].valid", assertValid(true))
+				.hasPathSatisfying("items[1].valid", assertValid(false));
+	}
+
+	@ValueSource(strings = {"encrypt", "decrypt", "sign", "verify"})
+	@ParameterizedTest(name = "KMS keyset batch operation: {0}")
+	@DisplayName("should fail to perform KMS batch operation with invalid payload")
+	void batchWithInvalidPayload(String operation) {
+		mvc.post().uri("/namespaces/{slug}/kms/{id}/{operation}/batch", "konfigyr", EntityId.from(2).serialize(), operation)
+				.with(authentication(TestPrincipals.john(), OAuthScope.WRITE_NAMESPACES))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"items\": []}")
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.satisfies(problemDetailFor(HttpStatus.BAD_REQUEST, problem -> problem
+						.hasTitleContaining("Invalid request content")
+						.hasPropertySatisfying("errors", errors -> assertThat(errors)
+								.isNotNull()
+								.isInstanceOf(Collection.class)
+								.asInstanceOf(InstanceOfAssertFactories.collection(Map.class))
+								.extracting("pointer")
+								.containsExactlyInAnyOrder("items")
+						)
+				));
+	}
+
+	@ValueSource(strings = {"encrypt", "decrypt", "sign", "verify"})
+	@ParameterizedTest(name = "KMS keyset batch operation: {0}")
+	@DisplayName("should fail to perform KMS batch operation when user is not a member of namespace")
+	void batchMembershipMissing(String operation) {
+		mvc.post().uri("/namespaces/{slug}/kms/{id}/{operation}/batch", "john-doe", EntityId.from(1).serialize(), operation)
+				.with(authentication(TestPrincipals.jane(), OAuthScope.WRITE_NAMESPACES))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"items\": [{\"plaintext\": \"dummy\",\"ciphertext\": \"dummy\",\"signature\": \"dummy\"}]}")
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.satisfies(forbidden());
+	}
+
 	@ValueSource(strings = {"encrypt", "decrypt", "sign", "verify"})
 	@ParameterizedTest(name = "KMS keyset operation: {0}")
 	@DisplayName("should fail to perform KMS operation when not authenticated")
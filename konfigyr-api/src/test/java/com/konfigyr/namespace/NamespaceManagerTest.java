@@ -3,6 +3,7 @@ package com.konfigyr.namespace;
 
 import com.konfigyr.entity.EntityEvent;
 import com.konfigyr.entity.EntityId;
+import com.konfigyr.feature.FeaturesEvent;
 import com.konfigyr.membership.Member;
 import com.konfigyr.security.NamespaceApplicationSettings;
 import com.konfigyr.security.NamespaceClientType;
@@ -328,6 +329,10 @@ class NamespaceManagerTest extends AbstractIntegrationTest {
 				.matching(NamespaceEvent::id, EntityId.from(2))
 				.matching(NamespaceEvent.Renamed::from, Slug.slugify("konfigyr"))
 				.matching(NamespaceEvent.Renamed::to, Slug.slugify("konfigyr-renamed"));
+
+		events.assertThat()
+				.contains(FeaturesEvent.Changed.class)
+				.matching(FeaturesEvent.Changed::namespace, "konfigyr");
 	}
 
 	@Test
@@ -379,6 +384,10 @@ class NamespaceManagerTest extends AbstractIntegrationTest {
 		events.assertThat()
 				.contains(NamespaceEvent.Deleted.class)
 				.matching(EntityEvent::id, EntityId.from(2));
+
+		events.assertThat()
+				.contains(FeaturesEvent.Changed.class)
+				.matching(FeaturesEvent.Changed::namespace, "konfigyr");
 	}
 
 	@Test
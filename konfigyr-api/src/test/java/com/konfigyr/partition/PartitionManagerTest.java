@@ -0,0 +1,153 @@
+package com.konfigyr.partition;
+
+import com.konfigyr.test.AbstractIntegrationTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.*;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static com.konfigyr.data.tables.AuditEvents.AUDIT_EVENTS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PartitionManagerTest extends AbstractIntegrationTest {
+
+	@Autowired
+	DSLContext context;
+
+	@Autowired
+	JsonMapper mapper;
+
+	@Autowired
+	PartitionRepository repository;
+
+	@Autowired
+	PartitionManager manager;
+
+	@Test
+	@DisplayName("should create partitions for the current and upcoming months")
+	void createPartitions() {
+		final YearMonth month = YearMonth.now(ZoneOffset.UTC);
+
+		manager.maintain();
+
+		for (PartitionedTable table : PartitionedTable.values()) {
+			assertThat(repository.partitions(table))
+					.extracting(Partition::month)
+					.contains(month, month.plusMonths(1), month.plusMonths(2));
+		}
+	}
+
+	@Test
+	@DisplayName("should archive and drop expired partitions and collect partition statistics")
+	void expirePartitions(@TempDir Path directory) throws Exception {
+		final OffsetDateTime timestamp = OffsetDateTime.of(2000, 1, 15, 12, 0, 0, 0, ZoneOffset.UTC);
+		repository.create(PartitionedTable.AUDIT_EVENTS, timestamp);
+
+		context.insertInto(AUDIT_EVENTS)
+				.set(AUDIT_EVENTS.ENTITY_TYPE, "namespace")
+				.set(AUDIT_EVENTS.ENTITY_ID, 1L)
+				.set(AUDIT_EVENTS.EVENT_TYPE, "namespace.created")
+				.set(AUDIT_EVENTS.ACTOR_ID, "system")
+				.set(AUDIT_EVENTS.ACTOR_TYPE, "SYSTEM")
+				.set(AUDIT_EVENTS.ACTOR_NAME, "Konfigyr")
+				.set(AUDIT_EVENTS.CREATED_AT, timestamp)
+				.execute();
+
+		assertThat(repository.partitions(PartitionedTable.AUDIT_EVENTS))
+				.extracting(Partition::name)
+				.contains("audit_events_2000_01");
+
+		final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		final PartitionManager manager = new PartitionManager(repository, new PartitionArchiver(directory, mapper),
+				Map.of(PartitionedTable.AUDIT_EVENTS, Period.ofYears(1)), 0, Clock.systemUTC());
+		manager.bindTo(registry);
+
+		manager.maintain(PartitionedTable.AUDIT_EVENTS);
+
+		assertThat(repository.partitions(PartitionedTable.AUDIT_EVENTS))
+				.isNotEmpty()
+				.extracting(Partition::name)
+				.doesNotContain("audit_events_2000_01");
+
+		final Path archive = directory.resolve("audit_events").resolve("audit_events_2000_01.ndjson.gz");
+
+		assertThat(archive)
+				.isRegularFile();
+
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+				new GZIPInputStream(Files.newInputStream(archive)), StandardCharsets.UTF_8))) {
+			final List<JsonNode> rows = reader.lines().map(mapper::readTree).toList();
+
+			assertThat(rows)
+					.hasSize(1)
+					.first()
+					.satisfies(row -> assertThat(row.get("entity_type").asString()).isEqualTo("namespace"))
+					.satisfies(row -> assertThat(row.get("event_type").asString()).isEqualTo("namespace.created"));
+		}
+
+		assertThat(registry.get(PartitionManager.DROPPED_PARTITIONS_METRIC_NAME).tag("table", "audit_events").counter().count())
+				.isEqualTo(1);
+
+		assertThat(registry.get(PartitionManager.PARTITION_COUNT_METRIC_NAME).tag("table", "audit_events").gauge().value())
+				.isPositive();
+
+		assertThat(registry.get(PartitionManager.PARTITION_SIZE_METRIC_NAME).tag("table", "audit_events").gauge().value())
+				.isPositive();
+	}
+
+	@Test
+	@DisplayName("should never retain referencing table partitions longer than the referenced table partitions")
+	void resolveRetentionCutoff() {
+		final LocalDate today = LocalDate.of(2026, 6, 15);
+
+		PartitionManager manager = new PartitionManager(repository, null, Map.of(), 0, Clock.systemUTC());
+
+		assertThat(manager.cutoff(PartitionedTable.AUDIT_EVENTS, today)).isNull();
+		assertThat(manager.cutoff(PartitionedTable.VAULT_CHANGE_HISTORY, today)).isNull();
+		assertThat(manager.cutoff(PartitionedTable.VAULT_PROPERTY_HISTORY, today)).isNull();
+
+		manager = new PartitionManager(repository, null, Map.of(
+				PartitionedTable.VAULT_CHANGE_HISTORY, Period.ofMonths(6),
+				PartitionedTable.VAULT_PROPERTY_HISTORY, Period.ofYears(1)
+		), 0, Clock.systemUTC());
+
+		assertThat(manager.cutoff(PartitionedTable.VAULT_CHANGE_HISTORY, today)).isEqualTo(LocalDate.of(2025, 12, 15));
+		assertThat(manager.cutoff(PartitionedTable.VAULT_PROPERTY_HISTORY, today)).isEqualTo(LocalDate.of(2025, 12, 15));
+
+		manager = new PartitionManager(repository, null, Map.of(
+				PartitionedTable.VAULT_PROPERTY_HISTORY, Period.ofMonths(3)
+		), 0, Clock.systemUTC());
+
+		assertThat(manager.cutoff(PartitionedTable.VAULT_CHANGE_HISTORY, today)).isNull();
+		assertThat(manager.cutoff(PartitionedTable.VAULT_PROPERTY_HISTORY, today)).isEqualTo(LocalDate.of(2026, 3, 15));
+	}
+
+	@Test
+	@DisplayName("should resolve partitions that follow the monthly naming convention")
+	void resolvePartition() {
+		assertThat(Partition.parse(PartitionedTable.AUDIT_EVENTS, "audit_events_2026_02", 1024))
+				.returns(YearMonth.of(2026, 2), Partition::month)
+				.returns(LocalDate.of(2026, 2, 1), Partition::from)
+				.returns(LocalDate.of(2026, 3, 1), Partition::to)
+				.returns(true, it -> it.isExpired(LocalDate.of(2026, 3, 1)))
+				.returns(false, it -> it.isExpired(LocalDate.of(2026, 2, 28)));
+
+		assertThat(Partition.parse(PartitionedTable.AUDIT_EVENTS, "audit_events_default", 0)).isNull();
+		assertThat(Partition.parse(PartitionedTable.AUDIT_EVENTS, "vault_change_history_2026_02", 0)).isNull();
+	}
+
+}
@@ -0,0 +1,202 @@
+package com.konfigyr.security.basic;
+
+import com.konfigyr.entity.EntityId;
+import com.konfigyr.namespace.Namespace;
+import com.konfigyr.namespace.NamespaceApplication;
+import com.konfigyr.namespace.NamespaceEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NamespaceApplicationCredentialsCacheTest {
+
+	final AtomicLong ticker = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+	final Clock clock = Clock.fixed(Instant.parse("2026-01-01T12:00:00Z"), ZoneOffset.UTC);
+
+	@Mock
+	AuthenticationProvider delegate;
+
+	NamespaceApplicationCredentialsCache cache;
+
+	@BeforeEach
+	void setup() {
+		cache = new NamespaceApplicationCredentialsCache(Duration.ofMinutes(5), 100, ticker::get, clock);
+	}
+
+	@Test
+	@DisplayName("should only return verified principal when the presented secret matches")
+	void matchVerifiedSecret() {
+		final var principal = principal("konfigyr", "client-id", null);
+
+		assertThat(cache.get("client-id", "secret"))
+				.isNull();
+
+		cache.put(principal, "secret");
+
+		assertThat(cache.get("client-id", "secret"))
+				.isEqualTo(principal);
+
+		assertThat(cache.get("client-id", "invalid-secret"))
+				.isNull();
+
+		assertThat(cache.get("unknown-client-id", "secret"))
+				.isNull();
+	}
+
+	@Test
+	@DisplayName("should expire verified credentials after the time-to-live")
+	void expireVerifiedCredentials() {
+		cache.put(principal("konfigyr", "client-id", null), "secret");
+
+		advance(Duration.ofMinutes(4));
+
+		assertThat(cache.get("client-id", "secret"))
+				.isNotNull();
+
+		advance(Duration.ofMinutes(2));
+
+		assertThat(cache.get("client-id", "secret"))
+				.isNull();
+	}
+
+	@Test
+	@DisplayName("should expire verified credentials when the application credentials expire")
+	void expireVerifiedCredentialsWithApplication() {
+		cache.put(principal("konfigyr", "client-id", OffsetDateTime.now(clock).plusMinutes(1)), "secret");
+
+		assertThat(cache.get("client-id", "secret"))
+				.isNotNull();
+
+		advance(Duration.ofSeconds(61));
+
+		assertThat(cache.get("client-id", "secret"))
+				.isNull();
+
+		cache.put(principal("konfigyr", "client-id", OffsetDateTime.now(clock).minusMinutes(1)), "secret");
+
+		assertThat(cache.get("client-id", "secret"))
+				.as("Should not return already expired application credentials")
+				.isNull();
+	}
+
+	@Test
+	@DisplayName("should evict verified credentials when namespace application is updated, reset or removed")
+	void evictOnApplicationEvents() {
+		final var namespace = mock(Namespace.class);
+		doReturn(EntityId.from(1)).when(namespace).id();
+
+		final var application = mock(NamespaceApplication.class);
+		doReturn("client-id").when(application).clientId();
+
+		cache.put(principal("konfigyr", "client-id", null), "secret");
+		cache.on(new NamespaceEvent.ApplicationUpdated(namespace, application));
+
+		assertThat(cache.get("client-id", "secret"))
+				.isNull();
+
+		cache.put(principal("konfigyr", "client-id", null), "secret");
+		cache.on(new NamespaceEvent.ApplicationReset(namespace, application));
+
+		assertThat(cache.get("client-id", "secret"))
+				.isNull();
+
+		cache.put(principal("konfigyr", "client-id", null), "secret");
+		cache.on(new NamespaceEvent.ApplicationRemoved(namespace, application));
+
+		assertThat(cache.get("client-id", "secret"))
+				.isNull();
+	}
+
+	@Test
+	@DisplayName("should evict verified credentials of all applications when namespace is deleted")
+	void evictOnNamespaceDeleted() {
+		final var namespace = mock(Namespace.class);
+		doReturn(EntityId.from(1)).when(namespace).id();
+		doReturn("konfigyr").when(namespace).slug();
+
+		cache.put(principal("konfigyr", "first-client", null), "secret");
+		cache.put(principal("konfigyr", "second-client", null), "secret");
+		cache.put(principal("other", "third-client", null), "secret");
+
+		cache.on(new NamespaceEvent.Deleted(namespace));
+
+		assertThat(cache.get("first-client", "secret"))
+				.isNull();
+
+		assertThat(cache.get("second-client", "secret"))
+				.isNull();
+
+		assertThat(cache.get("third-client", "secret"))
+				.isNotNull();
+	}
+
+	@Test
+	@DisplayName("should authenticate namespace application using verified credentials")
+	void authenticateUsingVerifiedCredentials() {
+		final var provider = new NamespaceApplicationAuthenticationProvider(delegate, cache);
+		final var principal = principal("konfigyr", "client-id", null);
+
+		doReturn(UsernamePasswordAuthenticationToken.authenticated(principal, "secret", principal.getAuthorities()))
+				.when(delegate).authenticate(any());
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("client-id", "secret")))
+					.isNotNull()
+					.returns(true, Authentication::isAuthenticated)
+					.returns(principal, Authentication::getPrincipal);
+		}
+
+		verify(delegate, times(1)).authenticate(any());
+	}
+
+	@Test
+	@DisplayName("should not cache failed namespace application authentication attempts")
+	void authenticateUsingInvalidCredentials() {
+		final var provider = new NamespaceApplicationAuthenticationProvider(delegate, cache);
+
+		doThrow(BadCredentialsException.class).when(delegate).authenticate(any());
+
+		for (int i = 0; i < 2; i++) {
+			assertThatExceptionOfType(BadCredentialsException.class)
+					.isThrownBy(() -> provider.authenticate(
+							UsernamePasswordAuthenticationToken.unauthenticated("client-id", "invalid")
+					));
+		}
+
+		verify(delegate, times(2)).authenticate(any());
+	}
+
+	void advance(Duration duration) {
+		ticker.addAndGet(duration.toNanos());
+	}
+
+	static NamespaceApplicationPrincipal principal(String namespace, String clientId, OffsetDateTime expiresAt) {
+		return NamespaceApplicationPrincipal.builder()
+				.namespace(namespace)
+				.clientId(clientId)
+				.password("{noop}secret")
+				.expiresAt(expiresAt)
+				.build();
+	}
+
+}
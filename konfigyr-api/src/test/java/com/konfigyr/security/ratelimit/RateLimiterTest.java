@@ -0,0 +1,114 @@
+package com.konfigyr.security.ratelimit;
+
+import com.konfigyr.feature.FeatureValue;
+import com.konfigyr.feature.Features;
+import com.konfigyr.namespace.NamespaceFeatures;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimiterTest {
+
+	final AtomicLong ticker = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+	final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@Mock
+	Features features;
+
+	RateLimiter limiter;
+
+	@BeforeEach
+	void setup() {
+		limiter = new RateLimiter(features, NamespaceFeatures.CONFIGURATION_RATE_LIMIT, ticker::get);
+		limiter.bindTo(registry);
+	}
+
+	@Test
+	@DisplayName("should not limit requests when namespace has no rate limit feature value")
+	void unlimitedNamespace() {
+		for (int i = 0; i < 1000; i++) {
+			assertThat(limiter.tryAcquire("konfigyr", "client"))
+					.isZero();
+		}
+
+		assertThat(registry.find(RateLimiter.THROTTLED_METRIC_NAME).counter())
+				.isNull();
+	}
+
+	@Test
+	@DisplayName("should allow a burst of requests up to the rate limit and throttle afterwards")
+	void throttleRequests() {
+		doReturn(FeatureValue.rateLimit(5, ChronoUnit.SECONDS))
+				.when(features).find("konfigyr", NamespaceFeatures.CONFIGURATION_RATE_LIMIT);
+
+		for (int i = 0; i < 5; i++) {
+			assertThat(limiter.tryAcquire("konfigyr", "client"))
+					.as("request %d should be allowed", i + 1)
+					.isZero();
+		}
+
+		assertThat(limiter.tryAcquire("konfigyr", "client"))
+				.as("should throttle request and wait for a single token to be refilled")
+				.isEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+
+		assertThat(limiter.tryAcquire("konfigyr", "other-client"))
+				.as("should not throttle requests from other client")
+				.isZero();
+
+		ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+
+		assertThat(limiter.tryAcquire("konfigyr", "client"))
+				.as("should allow request once the token is refilled")
+				.isZero();
+
+		assertThat(limiter.tryAcquire("konfigyr", "client"))
+				.as("should throttle request once the refilled token is consumed")
+				.isPositive();
+
+		assertThat(registry.get(RateLimiter.THROTTLED_METRIC_NAME).tag("namespace", "konfigyr").counters())
+				.as("should register a single throttled counter per namespace")
+				.hasSize(1)
+				.first()
+				.returns(2.0, Counter::count);
+	}
+
+	@Test
+	@DisplayName("should replace the token bucket when namespace rate limit changes")
+	void updateRateLimit() {
+		doReturn(FeatureValue.rateLimit(1, ChronoUnit.MINUTES))
+				.when(features).find("konfigyr", NamespaceFeatures.CONFIGURATION_RATE_LIMIT);
+
+		assertThat(limiter.tryAcquire("konfigyr", "client")).isZero();
+		assertThat(limiter.tryAcquire("konfigyr", "client")).isEqualTo(TimeUnit.MINUTES.toNanos(1));
+
+		doReturn(FeatureValue.rateLimit(10, ChronoUnit.MINUTES))
+				.when(features).find("konfigyr", NamespaceFeatures.CONFIGURATION_RATE_LIMIT);
+
+		assertThat(limiter.tryAcquire("konfigyr", "client")).isZero();
+		assertThat(limiter.tryAcquire("konfigyr", "client")).isZero();
+	}
+
+	@Test
+	@DisplayName("should convert wait time to retry after duration rounded to seconds")
+	void retryAfter() {
+		assertThat(RateLimitFilter.toRetryAfter(1)).hasSeconds(1);
+		assertThat(RateLimitFilter.toRetryAfter(TimeUnit.SECONDS.toNanos(1))).hasSeconds(1);
+		assertThat(RateLimitFilter.toRetryAfter(TimeUnit.SECONDS.toNanos(1) + 1)).hasSeconds(2);
+		assertThat(RateLimitFilter.toRetryAfter(TimeUnit.MINUTES.toNanos(1))).hasSeconds(60);
+	}
+
+}
@@ -1,5 +1,6 @@
 package com.konfigyr.vault;
 
+import com.konfigyr.vault.state.GitRepositoryMaintenance;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -10,6 +11,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.InstanceOfAssertFactories.MAP;
 
 class GitRepositoryHealthIndicatorTest {
 
@@ -91,4 +93,18 @@ class GitRepositoryHealthIndicatorTest {
 				.matches("\\d+(\\.\\d+)? (B|KILOBYTES|MEGABYTES|GIGABYTES|TERABYTES)");
 	}
 
+	@Test
+	@DisplayName("should report repository maintenance details when maintenance is configured")
+	void shouldReportMaintenanceDetails(@TempDir Path directory) {
+		final var maintenance = new GitRepositoryMaintenance(directory, new VaultProperties.Maintenance());
+		final var indicator = new GitRepositoryHealthIndicator(directory, maintenance);
+
+		assertThat(indicator.health(true).getDetails())
+				.extractingByKey("maintenance", MAP)
+				.containsEntry("lastRun", "never")
+				.containsEntry("repositories", 0)
+				.containsEntry("pending", 0L)
+				.containsKey("statistics");
+	}
+
 }
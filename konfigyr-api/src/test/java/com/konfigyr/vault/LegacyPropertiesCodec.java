@@ -0,0 +1,127 @@
+package com.konfigyr.vault;
+
+import com.konfigyr.io.ByteArray;
+import org.apache.commons.collections4.OrderedMapIterator;
+import org.springframework.util.Assert;
+
+import java.io.*;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The original line based implementation of the serialized {@link Properties} state that is used as
+ * a reference when verifying that the {@link PropertiesCodec} is compatible with the existing state.
+ */
+final class LegacyPropertiesCodec {
+
+	private static final Pattern SEALED_PROPERTY_VALUE_PATTERN =
+			Pattern.compile("\\{crypto:(?<crypto>[^,]+),\\s*checksum:(?<checksum>[^}]+)}");
+
+	private LegacyPropertiesCodec() {
+	}
+
+	static Properties read(byte[] data) throws IOException {
+		final Properties.Builder builder = Properties.builder();
+		final Reader reader = new InputStreamReader(new ByteArrayInputStream(data), StandardCharsets.UTF_8.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPORT)
+				.onUnmappableCharacter(CodingErrorAction.REPORT));
+
+		try (BufferedReader br = new BufferedReader(reader)) {
+			String line;
+
+			while ((line = br.readLine()) != null) {
+				line = line.stripLeading();
+				if (line.isEmpty() || line.startsWith("#") || line.startsWith("!")) {
+					continue;
+				}
+
+				int pivot = findPivot(line);
+
+				if (pivot != -1) {
+					builder.add(
+							unescape(line.substring(0, pivot).trim()),
+							parse(line.substring(pivot + 1).trim())
+					);
+				}
+			}
+		}
+
+		return builder.build();
+	}
+
+	static byte[] write(Properties properties) throws IOException {
+		final ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8))) {
+			final OrderedMapIterator<String, PropertyValue> iterator = properties.iterator();
+
+			while (iterator.hasNext()) {
+				writer.write(escape(iterator.next()));
+				writer.write("=");
+
+				final PropertyValue value = iterator.getValue();
+				Assert.state(value.isSealed(), () ->
+						"Attempted to serialize unsealed property value for property: " + iterator.getKey());
+
+				writer.write("{crypto:");
+				writer.write(value.get().encodeHex());
+				writer.write(",checksum:");
+				writer.write(value.checksum().encodeHex());
+				writer.write("}");
+				writer.newLine();
+			}
+
+			writer.flush();
+		}
+
+		return os.toByteArray();
+	}
+
+	private static int findPivot(String line) {
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (c == '=' || c == ':') {
+				if (i == 0 || line.charAt(i - 1) != '\\') {
+					return i;
+				}
+			}
+		}
+		return -1;
+	}
+
+	private static String escape(String input) {
+		return input.replace("\\", "\\\\")
+				.replace("\n", "\\n")
+				.replace("\r", "\\r")
+				.replace("\t", "\\t")
+				.replace("=", "\\=");
+	}
+
+	private static String unescape(String input) {
+		return input.replace("\\n", "\n")
+				.replace("\\r", "\r")
+				.replace("\\t", "\t")
+				.replace("\\=", "=")
+				.replace("\\\\", "\\");
+	}
+
+	private static PropertyValue parse(String value) {
+		final Matcher matcher = SEALED_PROPERTY_VALUE_PATTERN.matcher(value);
+
+		if (matcher.matches()) {
+			try {
+				return PropertyValue.sealed(
+						ByteArray.fromHexString(matcher.group("crypto")),
+						ByteArray.fromHexString(matcher.group("checksum"))
+				);
+			} catch (Exception ex) {
+				throw new IllegalArgumentException("Invalid serialized property value of: " + value, ex);
+			}
+		}
+
+		throw new IllegalArgumentException("Invalid serialized property value of: " + value);
+	}
+
+}
@@ -4,8 +4,10 @@ import com.konfigyr.entity.EntityEvent;
 import com.konfigyr.entity.EntityId;
 import com.konfigyr.namespace.ServiceNotFoundException;
 import com.konfigyr.namespace.Services;
+import com.konfigyr.security.AuthenticatedPrincipal;
 import com.konfigyr.support.SearchQuery;
 import com.konfigyr.test.AbstractIntegrationTest;
+import com.konfigyr.test.TestPrincipals;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -163,6 +166,57 @@ class ProfileManagerTest extends AbstractIntegrationTest {
 				.matching(EntityEvent::id, profile.id());
 	}
 
+	@Test
+	@Transactional
+	@DisplayName("should create profile from definition using a source profile")
+	void shouldCreateProfileFromSource(AssertablePublishedEvents events) {
+		final var source = new ProfileSource(
+				profiles.get(EntityId.from(4)).orElseThrow(),
+				"fifth-revision",
+				(AuthenticatedPrincipal) TestPrincipals.john().getPrincipal()
+		);
+
+		final var definition = ProfileDefinition.builder()
+				.service(2)
+				.slug("preview")
+				.policy(ProfilePolicy.UNPROTECTED)
+				.build();
+
+		final var profile = profiles.create(definition, source);
+
+		assertThat(profile)
+				.returns(definition.service(), Profile::service)
+				.returns(definition.slug().get(), Profile::slug)
+				.returns(definition.policy(), Profile::policy);
+
+		events.assertThat()
+				.contains(ProfileEvent.Created.class)
+				.matching(ProfileEvent::get, profile)
+				.matching(ProfileEvent.Created::source, Optional.of(source));
+	}
+
+	@Test
+	@DisplayName("should fail to create profile from a source profile that belongs to a different service")
+	void shouldCreateProfileFromSourceOfDifferentService(AssertablePublishedEvents events) {
+		final var source = new ProfileSource(
+				profiles.get(EntityId.from(5)).orElseThrow(),
+				null,
+				(AuthenticatedPrincipal) TestPrincipals.john().getPrincipal()
+		);
+
+		final var definition = ProfileDefinition.builder()
+				.service(2)
+				.slug("preview")
+				.policy(ProfilePolicy.UNPROTECTED)
+				.build();
+
+		assertThatExceptionOfType(ProfileNotFoundException.class)
+				.isThrownBy(() -> profiles.create(definition, source));
+
+		assertThat(events.eventOfTypeWasPublished(ProfileEvent.class))
+				.isFalse();
+	}
+
 	@Test
 	@DisplayName("should fail to create profile for unknown service")
 	void shouldCreateProfileForUnknownService(AssertablePublishedEvents events) {
@@ -0,0 +1,275 @@
+package com.konfigyr.vault;
+
+import com.konfigyr.io.ByteArray;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Property based tests that are verifying that the {@link PropertiesCodec} reads and writes the serialized
+ * text state in the same way as the {@link LegacyPropertiesCodec original implementation}, and that the
+ * binary state can be read back. Each generated sample
+ * is created from a fixed seed, which is displayed in the test name, in order to be reproducible.
+ */
+class PropertiesCodecTest {
+
+	static final int SAMPLES = 500;
+
+	static final String[] NAME_FRAGMENTS = {
+			"spring", "server", "datasource", "url", "port", "konfigyr", "a", "b", "0", "42",
+			".", "-", "_", "[0]", "[key]", " ", "\t", "\\", "\n", "\r", "=", ":", "#", "!",
+			"\u00e9", "\u0436", "\u20ac", "\u00a0", "\u2003", "\u0001", "\ud83d\ude00"
+	};
+
+	static final String[] WHITESPACE = {
+			"", "", " ", "  ", "\t", "\f", "\u000b", "\u0001", "\u001f", "\u00a0", "\u3000", "\u2003", "\u0085"
+	};
+
+	static final String[] TERMINATORS = {"\n", "\n", "\n", "\r\n", "\r"};
+
+	static LongStream seeds() {
+		return LongStream.range(0, SAMPLES).map(index -> 0x6b6f6e666967L * 31 + index);
+	}
+
+	@MethodSource("seeds")
+	@ParameterizedTest(name = "seed: {0}")
+	@DisplayName("should serialize random properties to the same text state as the original implementation")
+	void writeProperties(long seed) throws Exception {
+		final Properties properties = generateProperties(new Random(seed));
+
+		assertThat(PropertiesCodec.write(properties, Properties.Format.TEXT))
+				.isEqualTo(LegacyPropertiesCodec.write(properties));
+	}
+
+	@MethodSource("seeds")
+	@ParameterizedTest(name = "seed: {0}")
+	@DisplayName("should deserialize random properties text state in the same way as the original implementation")
+	void readSerializedProperties(long seed) throws Exception {
+		final byte[] state = LegacyPropertiesCodec.write(generateProperties(new Random(seed)));
+
+		assertThat(outcome(() -> Properties.from(new ByteArrayInputStream(state))))
+				.isEqualTo(outcome(() -> LegacyPropertiesCodec.read(state)));
+	}
+
+	@MethodSource("seeds")
+	@ParameterizedTest(name = "seed: {0}")
+	@DisplayName("should serialize and deserialize random properties using the binary format")
+	void binaryRoundTrip(long seed) throws Exception {
+		final Properties properties = generateProperties(new Random(seed));
+		final byte[] state = PropertiesCodec.write(properties, Properties.Format.BINARY);
+
+		assertThat(Properties.Format.detect(state))
+				.isEqualTo(Properties.Format.BINARY);
+
+		assertThat(outcome(() -> Properties.from(state)))
+				.isEqualTo(outcome(() -> properties));
+
+		assertThat(state.length)
+				.as("Binary state should be smaller than the text state")
+				.isLessThanOrEqualTo(PropertiesCodec.write(properties, Properties.Format.TEXT).length);
+	}
+
+	@Test
+	@DisplayName("should fail to deserialize a truncated binary state")
+	void readTruncatedBinaryState() throws Exception {
+		final Properties properties = generateProperties(new Random(42));
+		final byte[] state = PropertiesCodec.write(properties, Properties.Format.BINARY);
+
+		for (int length = 4; length < state.length; length++) {
+			final byte[] truncated = Arrays.copyOf(state, length);
+
+			assertThatIllegalArgumentException()
+					.isThrownBy(() -> Properties.from(truncated))
+					.withMessageContaining("Invalid serialized properties state");
+		}
+	}
+
+	@Test
+	@DisplayName("should fail to deserialize a binary state with trailing data or an unsupported version")
+	void readInvalidBinaryState() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> Properties.from(new byte[] {0x00, 'K', 'F', 'G', 0x01, 0x00, 0x00}))
+				.withMessage("Invalid serialized properties state, found 1 unexpected trailing bytes");
+
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> Properties.from(new byte[] {0x00, 'K', 'F', 'G', 0x02, 0x00}))
+				.withMessage("Unsupported serialized properties format version: 2");
+
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> Properties.from(new byte[] {0x00, 'K', 'F', 'G', 0x01, (byte) 0xFF, (byte) 0xFF,
+						(byte) 0xFF, (byte) 0xFF, (byte) 0xFF}))
+				.withMessageContaining("Invalid serialized properties state, malformed length");
+	}
+
+	@MethodSource("seeds")
+	@ParameterizedTest(name = "seed: {0}")
+	@DisplayName("should deserialize random contents in the same way as the original implementation")
+	void readArbitraryContents(long seed) throws Exception {
+		final byte[] contents = generateContents(new Random(seed)).getBytes(StandardCharsets.UTF_8);
+
+		assertThat(outcome(() -> Properties.from(new ByteArrayInputStream(contents))))
+				.isEqualTo(outcome(() -> LegacyPropertiesCodec.read(contents)));
+	}
+
+	@Test
+	@DisplayName("should deserialize properties containing escaped and ambiguous property names")
+	void readEscapedNames() throws Exception {
+		final String value = "{crypto:0a0b,checksum:0c0d}";
+		final String contents = String.join("\n",
+				"a\\=b=" + value,
+				"c\\\\=d=" + value,
+				"e\\\\n\\tf:" + value,
+				"  \u2003 g.h  =  " + value + " ",
+				"i={crypto:0e0f,  checksum:0a0b}"
+		);
+
+		assertThat(Properties.from(contents))
+				.isEqualTo(LegacyPropertiesCodec.read(contents.getBytes(StandardCharsets.UTF_8)))
+				.hasSize(5);
+	}
+
+	@ValueSource(strings = {"c3", "c080", "eda080", "f4908080", "f8", "e282", "ff", "80"})
+	@ParameterizedTest(name = "malformed sequence: {0}")
+	@DisplayName("should fail to deserialize properties containing malformed UTF-8 byte sequences")
+	void readMalformedContents(String sequence) {
+		final byte[] prefix = "server.port={crypto:0a,checksum:0b}\nname".getBytes(StandardCharsets.UTF_8);
+		final byte[] malformed = HexFormat.of().parseHex(sequence);
+		final byte[] contents = new byte[prefix.length + malformed.length];
+
+		System.arraycopy(prefix, 0, contents, 0, prefix.length);
+		System.arraycopy(malformed, 0, contents, prefix.length, malformed.length);
+
+		assertThatExceptionOfType(CharacterCodingException.class)
+				.isThrownBy(() -> LegacyPropertiesCodec.read(contents));
+
+		assertThatExceptionOfType(CharacterCodingException.class)
+				.isThrownBy(() -> Properties.from(new ByteArrayInputStream(contents)));
+	}
+
+	static Object outcome(Callable<Properties> parser) {
+		final List<String> outcome = new ArrayList<>();
+
+		try {
+			// property values are compared by their checksums, the ciphertext needs to be compared explicitly
+			parser.call().forEachProperty((name, value) -> outcome.add(
+					name + " -> " + value.get().encodeHex() + ":" + value.checksum().encodeHex()
+			));
+		} catch (Exception ex) {
+			outcome.add(ex.getClass().getName() + ": " + ex.getMessage());
+		}
+
+		return outcome;
+	}
+
+	static Properties generateProperties(Random random) {
+		final Properties.Builder builder = Properties.builder();
+		final int size = random.nextInt(20);
+
+		for (int i = 0; i < size; i++) {
+			// generated names may consist only of whitespace characters, prefix them to be valid property names
+			builder.add("property" + generateName(random), PropertyValue.sealed(
+					new ByteArray(generateBytes(random, 1 + random.nextInt(64))),
+					new ByteArray(generateBytes(random, 32))
+			));
+		}
+
+		return builder.build();
+	}
+
+	static String generateContents(Random random) {
+		final StringBuilder builder = new StringBuilder();
+		final int lines = random.nextInt(12);
+
+		for (int i = 0; i < lines; i++) {
+			builder.append(pick(random, WHITESPACE)).append(generateLine(random));
+
+			if (i < lines - 1 || random.nextBoolean()) {
+				builder.append(pick(random, TERMINATORS));
+			}
+		}
+
+		return builder.toString();
+	}
+
+	static String generateLine(Random random) {
+		return switch (random.nextInt(10)) {
+			case 0 -> "";
+			case 1 -> pick(random, List.of("#", "!")) + generateName(random);
+			case 2 -> generateName(random);
+			case 3 -> generateName(random) + pick(random, WHITESPACE) + pick(random, List.of("=", ":"))
+					+ pick(random, WHITESPACE) + generateMalformedValue(random) + pick(random, WHITESPACE);
+			default -> generateName(random) + pick(random, WHITESPACE) + pick(random, List.of("=", "=", ":"))
+					+ pick(random, WHITESPACE) + generateValue(random) + pick(random, WHITESPACE);
+		};
+	}
+
+	static String generateName(Random random) {
+		final StringBuilder builder = new StringBuilder();
+		final int length = 1 + random.nextInt(8);
+
+		for (int i = 0; i < length; i++) {
+			builder.append(pick(random, NAME_FRAGMENTS));
+		}
+
+		return builder.toString();
+	}
+
+	static String generateValue(Random random) {
+		return "{crypto:" + generateHex(random, 1 + random.nextInt(32)) + ","
+				+ pick(random, List.of("", "", " ", "\t ")) + "checksum:" + generateHex(random, 32) + "}";
+	}
+
+	static String generateMalformedValue(Random random) {
+		final String crypto = generateHex(random, 1 + random.nextInt(8));
+		final String checksum = generateHex(random, 4);
+
+		return switch (random.nextInt(12)) {
+			case 0 -> "";
+			case 1 -> "{}";
+			case 2 -> "{crypto:" + crypto + "}";
+			case 3 -> "{crypto:,checksum:" + checksum + "}";
+			case 4 -> "{crypto:" + crypto + ",checksum:}";
+			case 5 -> "{crypto:" + crypto + ",checksum:" + checksum;
+			case 6 -> "{crypto:" + crypto + ",checksum:" + checksum + "}}";
+			case 7 -> "{crypto:" + crypto + ",checksum:" + checksum + "} trailing";
+			case 8 -> "{crypto:" + crypto.toUpperCase() + ",checksum:" + checksum.toUpperCase() + "}";
+			case 9 -> "{crypto:" + crypto + "0,checksum:" + checksum + "}";
+			case 10 -> "{crypto:" + crypto + "xyz,checksum:" + checksum + "}";
+			default -> "{crypto:" + crypto + ",checksum:" + checksum + "," + checksum + "}";
+		};
+	}
+
+	static String generateHex(Random random, int length) {
+		return HexFormat.of().formatHex(generateBytes(random, length));
+	}
+
+	static byte[] generateBytes(Random random, int length) {
+		final byte[] bytes = new byte[length];
+		random.nextBytes(bytes);
+		return bytes;
+	}
+
+	static String pick(Random random, String[] values) {
+		return values[random.nextInt(values.length)];
+	}
+
+	static String pick(Random random, List<String> values) {
+		return values.get(random.nextInt(values.size()));
+	}
+
+}
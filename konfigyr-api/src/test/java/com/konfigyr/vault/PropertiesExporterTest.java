@@ -0,0 +1,123 @@
+package com.konfigyr.vault;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.HexFormat;
+
+import static com.konfigyr.vault.PropertiesTest.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PropertiesExporterTest {
+
+	@Test
+	@DisplayName("should export unsealed properties in the .properties format")
+	void exportUnsealedProperties() throws IOException {
+		final var state = Properties.builder()
+				.add("spring.application.name", propertyValueFor("spring.application.name", "konfigyr-api"))
+				.add("logging.pattern", propertyValueFor("logging.pattern", " %d\t%msg = #1\n"))
+				.build();
+
+		final var result = export(PropertiesExporter.unsealed(PropertiesExporter.Format.PROPERTIES, vault()), state);
+
+		assertThat(result)
+				.isEqualTo("spring.application.name=konfigyr-api\nlogging.pattern=\\ %d\\t%msg \\= \\#1\\n\n");
+
+		final var loaded = new java.util.Properties();
+		loaded.load(new StringReader(result));
+
+		assertThat(loaded)
+				.hasSize(2)
+				.containsEntry("spring.application.name", "konfigyr-api")
+				.containsEntry("logging.pattern", " %d\t%msg = #1\n");
+	}
+
+	@Test
+	@DisplayName("should export unsealed properties in the YAML format")
+	void exportUnsealedYaml() throws IOException {
+		assertThat(export(PropertiesExporter.unsealed(PropertiesExporter.Format.YAML, vault()), createSpringProperties()))
+				.isEqualTo("""
+						"spring.application.name": "konfigyr-api"
+						"server.port": "8080"
+						"server.ssl.enabled": "false"
+						""");
+	}
+
+	@Test
+	@DisplayName("should export unsealed properties in the JSON format")
+	void exportUnsealedJson() throws IOException {
+		final var state = Properties.builder()
+				.add("spring.application.name", propertyValueFor("spring.application.name", "konfigyr \"api\""))
+				.add("server.port", propertyValueFor("server.port", "8080"))
+				.build();
+
+		assertThat(export(PropertiesExporter.unsealed(PropertiesExporter.Format.JSON, vault()), state))
+				.isEqualTo("""
+						{
+						  "spring.application.name": "konfigyr \\"api\\"",
+						  "server.port": "8080"
+						}""");
+
+		assertThat(export(PropertiesExporter.unsealed(PropertiesExporter.Format.JSON, vault()), Properties.builder().build()))
+				.isEqualTo("{}");
+	}
+
+	@ParameterizedTest(name = "format: {0}")
+	@EnumSource(PropertiesExporter.Format.class)
+	@DisplayName("should export sealed properties without unsealing them")
+	void exportSealedProperties(PropertiesExporter.Format format) throws IOException {
+		final var value = propertyValueFor("server.port", "8080");
+		final var state = Properties.builder()
+				.add("server.port", value)
+				.build();
+
+		final var sealed = "{crypto:" + HexFormat.of().formatHex(value.get().array())
+				+ ",checksum:" + HexFormat.of().formatHex(value.checksum().array()) + "}";
+
+		assertThat(export(PropertiesExporter.sealed(format), state))
+				.contains(format == PropertiesExporter.Format.PROPERTIES ? sealed.replace(":", "\\:") : sealed)
+				.doesNotContain("8080");
+	}
+
+	@ParameterizedTest(name = "format: {0}")
+	@EnumSource(PropertiesExporter.Format.class)
+	@DisplayName("should export properties that can be imported back into the profile")
+	void exportAndImportProperties(PropertiesExporter.Format format) throws IOException {
+		final var state = Properties.builder()
+				.add("spring.application.name", propertyValueFor("spring.application.name", "konfigyr-api"))
+				.add("logging.pattern", propertyValueFor("logging.pattern", "%d: \"%msg\"\t#1"))
+				.build();
+
+		final var result = export(PropertiesExporter.unsealed(format, vault()), state);
+		final var importer = new PropertiesImporter(PropertiesImporterTest.vault(), true);
+
+		assertThat(importer.read(new StringReader(result), format == PropertiesExporter.Format.PROPERTIES
+				? PropertiesImporter.Format.PROPERTIES : PropertiesImporter.Format.YAML, "Import", null))
+				.containsExactlyInAnyOrder(
+						PropertyChange.create("logging.pattern", propertyValueFor("logging.pattern", "%d: \"%msg\"\t#1")),
+						PropertyChange.remove("server.port"),
+						PropertyChange.remove("server.ssl.enabled")
+				);
+	}
+
+	static String export(PropertiesExporter exporter, Properties state) throws IOException {
+		final var writer = new StringWriter();
+		exporter.write(state, writer);
+		return writer.toString();
+	}
+
+	static Vault vault() {
+		final var vault = mock(Vault.class);
+		doAnswer(invocation -> invocation.getArgument(0, PropertyValue.class).unseal(keysetOperations))
+				.when(vault).unseal(any(PropertyValue.class));
+		return vault;
+	}
+
+}
@@ -0,0 +1,182 @@
+package com.konfigyr.vault;
+
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import static com.konfigyr.vault.PropertiesTest.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PropertiesImporterTest {
+
+	@Test
+	@DisplayName("should import properties from a .properties source")
+	void importProperties() throws IOException {
+		final var source = """
+				# application properties
+				! another comment
+
+				spring.application.name = konfigyr-api
+				server.port: 8081
+				server.servlet.context-path /api
+				spring.datasource.url=jdbc:postgresql://localhost:5432/\\
+				    konfigyr
+				logging.pattern.console=%d{HH:mm:ss}\\t%msg\\u0021
+				""";
+
+		final var changes = read(source, PropertiesImporter.Format.PROPERTIES, false);
+
+		assertThatObject(changes)
+				.returns(profile, PropertyChanges::profile)
+				.returns("Import", PropertyChanges::subject)
+				.returns("Imported properties", PropertyChanges::description);
+
+		assertThat(changes)
+				.containsExactly(
+						PropertyChange.modify("server.port", propertyValueFor("server.port", "8081")),
+						PropertyChange.create("server.servlet.context-path", propertyValueFor("server.servlet.context-path", "/api")),
+						PropertyChange.create("spring.datasource.url", propertyValueFor("spring.datasource.url", "jdbc:postgresql://localhost:5432/konfigyr")),
+						PropertyChange.create("logging.pattern.console", propertyValueFor("logging.pattern.console", "%d{HH:mm:ss}\t%msg!"))
+				);
+		assertThat(changes)
+				.as("Should only retain the sealed values of the imported properties")
+				.allSatisfy(change -> assertThat(change)
+						.returns(null, PropertyChange::value)
+						.satisfies(it -> assertThat(it.sealed()).isNotNull().returns(true, PropertyValue::isSealed))
+				);
+	}
+
+	@Test
+	@DisplayName("should import properties from a YAML source")
+	void importYaml() throws IOException {
+		final var source = """
+				spring:
+				  application:
+				    name: konfigyr-api
+				  profiles:
+				    active: [ development, local ]
+				server:
+				  port: 8081
+				management:
+				  endpoints:
+				    - name: health
+				      enabled: true
+				""";
+
+		assertThat(read(source, PropertiesImporter.Format.YAML, false))
+				.containsExactly(
+						PropertyChange.create("spring.profiles.active[0]", propertyValueFor("spring.profiles.active[0]", "development")),
+						PropertyChange.create("spring.profiles.active[1]", propertyValueFor("spring.profiles.active[1]", "local")),
+						PropertyChange.modify("server.port", propertyValueFor("server.port", "8081")),
+						PropertyChange.create("management.endpoints[0].name", propertyValueFor("management.endpoints[0].name", "health")),
+						PropertyChange.create("management.endpoints[0].enabled", propertyValueFor("management.endpoints[0].enabled", "true"))
+				);
+	}
+
+	@ParameterizedTest(name = "format: {0}")
+	@EnumSource(PropertiesImporter.Format.class)
+	@DisplayName("should remove properties that are not present in the imported source when replacing the state")
+	void replaceProperties(PropertiesImporter.Format format) throws IOException {
+		final var source = format == PropertiesImporter.Format.YAML ? "server.port: 8080" : "server.port=8080";
+
+		assertThat(read(source, format, true))
+				.containsExactly(
+						PropertyChange.remove("spring.application.name"),
+						PropertyChange.remove("server.ssl.enabled")
+				);
+	}
+
+	@Test
+	@DisplayName("should collect errors for all invalid properties of the imported source")
+	void importInvalidProperties() {
+		final var source = """
+				server.port=8081
+				server.port=8082
+				server.address=
+				\\ =value
+				unicode=\\u00zz
+				""";
+
+		assertThatExceptionOfType(PropertiesImportException.class)
+				.isThrownBy(() -> read(source, PropertiesImporter.Format.PROPERTIES, false))
+				.returns(PropertiesImportException.Reason.INVALID_PROPERTIES, PropertiesImportException::getReason)
+				.returns(profile, PropertiesImportException::getProfile)
+				.extracting(PropertiesImportException::getErrors, InstanceOfAssertFactories.list(PropertiesImportException.Error.class))
+				.containsExactly(
+						new PropertiesImportException.Error("server.port", 2, "Property is defined more than once"),
+						new PropertiesImportException.Error("server.address", 3, "Property value must not be empty"),
+						new PropertiesImportException.Error(" ", 4, "Invalid configuration property name"),
+						new PropertiesImportException.Error(null, 5, "Malformed \\uxxxx escape sequence")
+				);
+	}
+
+	@Test
+	@DisplayName("should fail to import unsupported YAML sources")
+	void importInvalidYaml() {
+		assertThatExceptionOfType(PropertiesImportException.class)
+				.isThrownBy(() -> read("server.port: 8080\n---\nserver.port: 8081", PropertiesImporter.Format.YAML, false))
+				.extracting(PropertiesImportException::getErrors, InstanceOfAssertFactories.list(PropertiesImportException.Error.class))
+				.containsExactly(new PropertiesImportException.Error(null, 2, "Multiple YAML documents are not supported"));
+
+		assertThatExceptionOfType(PropertiesImportException.class)
+				.isThrownBy(() -> read("server:\n  port: [8080", PropertiesImporter.Format.YAML, false))
+				.extracting(PropertiesImportException::getErrors, InstanceOfAssertFactories.list(PropertiesImportException.Error.class))
+				.hasSize(1)
+				.first()
+				.returns(null, PropertiesImportException.Error::pointer)
+				.satisfies(error -> assertThat(error.detail()).startsWith("Invalid YAML"));
+	}
+
+	@Test
+	@DisplayName("should fail to import more properties than allowed by the import limit")
+	void importExceedingLimit() {
+		final var importer = new PropertiesImporter(vault(), false, 2);
+		final Reader reader = new StringReader("first=1\nsecond=2\nthird=3\nfourth=4");
+
+		assertThatExceptionOfType(PropertiesImportException.class)
+				.isThrownBy(() -> importer.read(reader, PropertiesImporter.Format.PROPERTIES, "Import", null))
+				.extracting(PropertiesImportException::getErrors, InstanceOfAssertFactories.list(PropertiesImportException.Error.class))
+				.containsExactly(new PropertiesImportException.Error("third", 3, "Import exceeds the maximum number of 2 properties"));
+	}
+
+	@Test
+	@DisplayName("should fail to import properties that match the current profile state")
+	void importUnchangedProperties() {
+		final var source = """
+				spring.application.name=konfigyr-api
+				server.port=8080
+				""";
+
+		assertThatExceptionOfType(PropertiesImportException.class)
+				.isThrownBy(() -> read(source, PropertiesImporter.Format.PROPERTIES, false))
+				.returns(PropertiesImportException.Reason.NO_CHANGES, PropertiesImportException::getReason)
+				.returns(profile, PropertiesImportException::getProfile)
+				.satisfies(ex -> assertThat(ex.getErrors()).isEmpty());
+	}
+
+	static Vault vault() {
+		final var vault = mock(Vault.class);
+		doReturn(profile).when(vault).profile();
+		doReturn(createSpringProperties()).when(vault).state();
+		doAnswer(invocation -> invocation.getArgument(0, PropertyValue.class).seal(keysetOperations))
+				.when(vault).seal(any(PropertyValue.class));
+		return vault;
+	}
+
+	static PropertyChanges read(String source, PropertiesImporter.Format format, boolean replace) throws IOException {
+		final var importer = new PropertiesImporter(vault(), replace);
+
+		try (Reader reader = new StringReader(source)) {
+			return importer.read(reader, format, "Import", "Imported properties");
+		}
+	}
+
+}
@@ -85,6 +85,37 @@ class PropertiesTest {
 				.isFalse();
 	}
 
+	@Test
+	@DisplayName("should apply property changes with values that are already sealed")
+	void applySealedChanges() {
+		final var properties = createSpringProperties();
+		final var group = propertyValueFor("spring.application.group", "api");
+		final var port = propertyValueFor("server.port", "8081");
+
+		final var changes = PropertyChanges.builder()
+				.profile(profile)
+				.subject("Test changes")
+				.add(PropertyChange.create("spring.application.group", group))
+				.add(PropertyChange.modify("server.port", port))
+				.build();
+
+		final var updated = properties.apply(changes, keysetOperations);
+
+		assertThatObject(updated)
+				.returns(4, Properties::size)
+				.satisfies(hasProperty("spring.application.group", "api"))
+				.satisfies(hasProperty("server.port", "8081"));
+
+		assertThat(updated.get("server.port"))
+				.as("Should use the sealed value as is")
+				.hasValueSatisfying(value -> assertThat(value.get()).isEqualTo(port.get()));
+
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> PropertyChange.create("server.port",
+						PropertyValue.create(profile.id(), "server.port", "8081")))
+				.withMessageContaining("is not sealed");
+	}
+
 	@Test
 	@DisplayName("should not seal and modify property value when value checksum is the same")
 	void assertModifiedPropertyChangeIdentity() {
@@ -194,13 +225,12 @@ class PropertiesTest {
 	}
 
 	@Test
-	@DisplayName("should serialize properties to an input stream")
+	@DisplayName("should serialize properties to an input stream using the binary format")
 	void serializeToInputStream() throws IOException {
 		final var properties = createPropertiesFromSource();
 
-		assertThat(properties.getInputStream())
-				.asString(StandardCharsets.UTF_8)
-				.hasLineCount(properties.size());
+		assertThat(Properties.Format.detect(properties.getInputStream().readAllBytes()))
+				.isEqualTo(Properties.Format.BINARY);
 
 		assertThatObject(Properties.from(properties.getInputStream()))
 				.as("The serialized properties should be equal to the original properties")
@@ -211,11 +241,10 @@ class PropertiesTest {
 	@DisplayName("should serialize properties to a byte array")
 	void serializeToInputArray() throws IOException {
 		final var properties = createPropertiesFromSource();
-		final var serialized = properties.getInputStream();
+		final var serialized = properties.getInputStream().readAllBytes();
 
 		assertThat(serialized)
-				.asString(StandardCharsets.UTF_8)
-				.hasLineCount(properties.size());
+				.startsWith(0x00, 'K', 'F', 'G', 0x01);
 
 		assertThatObject(Properties.from(serialized))
 				.as("The serialized properties should be equal to the original properties")
@@ -230,10 +259,29 @@ class PropertiesTest {
 
 		assertThatNoException().isThrownBy(() -> properties.transferTo(os));
 
+		assertThat(Properties.Format.detect(os.toByteArray()))
+				.isEqualTo(Properties.Format.BINARY);
+
+		assertThatObject(Properties.from(new ByteArrayInputStream(os.toByteArray())))
+				.as("The serialized properties should be equal to the original properties")
+				.isEqualTo(properties);
+	}
+
+	@Test
+	@DisplayName("should serialize properties directly to the output stream using the text format")
+	void serializeToOutputStreamUsingTextFormat() throws IOException {
+		final var properties = createPropertiesFromSource();
+		final var os = new ByteArrayOutputStream();
+
+		assertThatNoException().isThrownBy(() -> properties.transferTo(os, Properties.Format.TEXT));
+
 		assertThat(os.toByteArray())
 				.asString(StandardCharsets.UTF_8)
 				.hasLineCount(properties.size());
 
+		assertThat(Properties.Format.detect(os.toByteArray()))
+				.isEqualTo(Properties.Format.TEXT);
+
 		assertThatObject(Properties.from(new ByteArrayInputStream(os.toByteArray())))
 				.as("The serialized properties should be equal to the original properties")
 				.isEqualTo(properties);
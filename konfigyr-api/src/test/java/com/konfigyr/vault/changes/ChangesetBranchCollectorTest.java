@@ -0,0 +1,128 @@
+package com.konfigyr.vault.changes;
+
+import com.konfigyr.entity.EntityId;
+import com.konfigyr.namespace.Service;
+import com.konfigyr.namespace.Services;
+import com.konfigyr.test.AbstractIntegrationTest;
+import com.konfigyr.vault.VaultProperties;
+import com.konfigyr.vault.state.ChangesetBranch;
+import com.konfigyr.vault.state.RepositoryStateException;
+import com.konfigyr.vault.state.StateRepository;
+import com.konfigyr.vault.state.StateRepositoryFactory;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangesetBranchCollectorTest extends AbstractIntegrationTest {
+
+	@Autowired
+	DSLContext context;
+
+	@Autowired
+	Services services;
+
+	@Mock
+	StateRepositoryFactory factory;
+
+	@Mock
+	StateRepository repository;
+
+	@Captor
+	ArgumentCaptor<Collection<ChangesetBranch>> captor;
+
+	VaultProperties.Changesets properties;
+	ChangesetBranchCollector collector;
+
+	@BeforeEach
+	void setup() {
+		properties = new VaultProperties.Changesets();
+		properties.setBatchSize(1);
+
+		collector = new ChangesetBranchCollector(context, services, factory, properties);
+
+		doAnswer(invocation -> {
+			final Service service = invocation.getArgument(0);
+
+			if (EntityId.from(2).equals(service.id())) {
+				return repository;
+			}
+
+			throw new RepositoryStateException(RepositoryStateException.ErrorCode.UNKNOWN_REPOSITORY,
+					"Could not find repository for " + service.slug());
+		}).when(factory).get(any());
+	}
+
+	@Test
+	@DisplayName("should remove changeset branches that are not used by open change requests after the grace period")
+	void collectOrphanedChangesetBranches() {
+		final var stale = Instant.now().minus(Duration.ofDays(2));
+
+		// branch of an open change request
+		final var open = new ChangesetBranch("refs/cr/2", "rev-b2", stale);
+		// branch of a discarded change request that was never removed
+		final var discarded = new ChangesetBranch("refs/cr/6", "rev-e2", stale);
+		// branch left behind by an interrupted apply operation
+		final var abandoned = new ChangesetBranch("refs/heads/changeset/development/abandoned", "rev-f1", stale);
+		// branch of an apply operation that may still be in progress
+		final var recent = new ChangesetBranch("refs/heads/changeset/development/recent", "rev-f2", Instant.now());
+
+		doReturn(List.of(open, discarded, abandoned, recent)).when(repository).changesets();
+		doAnswer(invocation -> invocation.getArgument(0, Collection.class).size())
+				.when(repository).discard(anyCollection());
+
+		assertThat(collector.collect())
+				.isEqualTo(2);
+
+		verify(repository, times(2)).discard(captor.capture());
+		verify(repository).close();
+
+		assertThat(captor.getAllValues())
+				.as("Orphaned changeset branches should be removed in batches of configured size")
+				.containsExactly(List.of(discarded), List.of(abandoned));
+	}
+
+	@Test
+	@DisplayName("should not look up change requests when there are no changeset branches to collect")
+	void collectWithoutChangesetBranches() {
+		doReturn(List.of(new ChangesetBranch("refs/heads/changeset/development/recent", "rev-f2", Instant.now())))
+				.when(repository).changesets();
+
+		assertThat(collector.collect())
+				.isZero();
+
+		verify(repository, never()).discard(anyCollection());
+		verify(repository).close();
+	}
+
+	@Test
+	@DisplayName("should continue collecting changeset branches when collection for a service fails")
+	void collectWhenRepositoryFails() {
+		doThrow(new RepositoryStateException(RepositoryStateException.ErrorCode.UNAVAILABLE, "I/O failure"))
+				.when(repository).changesets();
+
+		assertThat(collector.collect())
+				.isZero();
+
+		verify(factory, atLeast(2)).get(any());
+		verify(repository).close();
+	}
+
+}
@@ -14,8 +14,10 @@ import com.konfigyr.vault.history.RevisionNotFoundException;
 import com.konfigyr.vault.state.StateRepository;
 import com.konfigyr.vault.state.StateRepositoryFactory;
 import org.assertj.core.api.InstanceOfAssertFactories;
+import org.jooq.DSLContext;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,12 +27,16 @@ import java.time.temporal.ChronoUnit;
 import java.util.Collection;
 import java.util.Map;
 
+import static com.konfigyr.data.tables.VaultProfiles.VAULT_PROFILES;
 import static org.assertj.core.api.Assertions.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
 import static com.konfigyr.vault.controller.VaultProfileControllerTest.profileNotFound;
 
 class VaultControllerTest extends AbstractControllerTest {
 
+	@Autowired
+	DSLContext context;
+
 	@Autowired
 	StateRepositoryFactory stateRepositoryFactory;
 
@@ -251,6 +257,83 @@ class VaultControllerTest extends AbstractControllerTest {
 				);
 	}
 
+	@Test
+	@DisplayName("should export the configuration state of a service profile at a given revision")
+	void exportConfigurationState() {
+		final var profile = prepareServiceProfile("development");
+
+		final var result = mvc.post().uri("/namespaces/{slug}/services/{service}/profiles/{profile}/apply", "konfigyr", service.slug(), profile.slug())
+				.with(authentication(TestPrincipals.john(), OAuthScope.WRITE_PROFILES))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"Initial\",\"changes\":[{\"name\":\"server.port\",\"value\":\"8080\",\"operation\":\"CREATE\"}]}")
+				.exchange()
+				.assertThat()
+				.hasStatusOk()
+				.bodyJson()
+				.convertTo(RevisionInformation.class)
+				.actual();
+
+		mvc.post().uri("/namespaces/{slug}/services/{service}/profiles/{profile}/apply", "konfigyr", service.slug(), profile.slug())
+				.with(authentication(TestPrincipals.john(), OAuthScope.WRITE_PROFILES))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"Update\",\"changes\":[{\"name\":\"server.port\",\"value\":\"9090\",\"operation\":\"MODIFY\"}]}")
+				.exchange()
+				.assertThat()
+				.hasStatusOk();
+
+		mvc.get().uri("/namespaces/{slug}/services/{service}/profiles/{profile}/export", "konfigyr", service.slug(), profile.slug())
+				.with(authentication(TestPrincipals.john(), OAuthScope.READ_PROFILES))
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.hasStatusOk()
+				.hasContentTypeCompatibleWith("text/x-java-properties")
+				.hasHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"%s-%s.properties\"".formatted(service.slug(), profile.slug()))
+				.bodyText()
+				.isEqualTo("server.port=9090\n");
+
+		mvc.get().uri("/namespaces/{slug}/services/{service}/profiles/{profile}/export", "konfigyr", service.slug(), profile.slug())
+				.with(authentication(TestPrincipals.john(), OAuthScope.READ_PROFILES))
+				.queryParam("format", "JSON")
+				.queryParam("revision", result.revision())
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.hasStatusOk()
+				.hasContentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+				.bodyJson()
+				.convertTo(InstanceOfAssertFactories.map(String.class, String.class))
+				.containsExactly(entry("server.port", "8080"));
+
+		mvc.get().uri("/namespaces/{slug}/services/{service}/profiles/{profile}/export", "konfigyr", service.slug(), profile.slug())
+				.with(authentication(TestPrincipals.john(), OAuthScope.READ_PROFILES))
+				.queryParam("format", "YAML")
+				.queryParam("sealed", "true")
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.hasStatusOk()
+				.hasContentTypeCompatibleWith("application/yaml")
+				.bodyText()
+				.startsWith("\"server.port\": \"{crypto:")
+				.contains(",checksum:")
+				.doesNotContain("9090");
+	}
+
+	@Test
+	@DisplayName("should fail to export the configuration state of a service profile at an unknown revision")
+	void exportConfigurationStateForUnknownRevision() {
+		final var profile = prepareServiceProfile("development");
+
+		mvc.get().uri("/namespaces/{slug}/services/{service}/profiles/{profile}/export", "konfigyr", service.slug(), profile.slug())
+				.with(authentication(TestPrincipals.john(), OAuthScope.READ_PROFILES))
+				.queryParam("revision", "unknown-revision")
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.satisfies(hasFailedWithException(RevisionNotFoundException.class));
+	}
+
 	@Test
 	@DisplayName("should fail to apply property changes to protected service profile")
 	void applyChangesToProtectedProfile() {
@@ -318,6 +401,221 @@ class VaultControllerTest extends AbstractControllerTest {
 				));
 	}
 
+	@Test
+	@Transactional
+	@DisplayName("should apply property changes to multiple service profiles in a single operation")
+	void applyChangesForMultipleProfiles() {
+		context.insertInto(VAULT_PROFILES)
+				.set(VAULT_PROFILES.ID, 999L)
+				.set(VAULT_PROFILES.SERVICE_ID, service.id().get())
+				.set(VAULT_PROFILES.SLUG, "preview")
+				.set(VAULT_PROFILES.NAME, "Preview")
+				.set(VAULT_PROFILES.STATE, "ACTIVE")
+				.set(VAULT_PROFILES.POLICY, "UNPROTECTED")
+				.execute();
+
+		final var development = prepareServiceProfile("development");
+		final var preview = prepareServiceProfile("preview");
+
+		mvc.post().uri("/namespaces/{slug}/services/{service}/apply", "konfigyr", service.slug())
+				.with(authentication(TestPrincipals.john(), OAuthScope.WRITE_PROFILES))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"Promote changes\",\"profiles\":[\"development\",\"preview\"],\"changes\":[{\"name\":\"server.port\",\"value\":\"8080\",\"operation\":\"CREATE\"}]}")
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.hasStatusOk()
+				.hasContentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+				.bodyJson()
+				.convertTo(collectionModel(ProfileRevisionInformation.class))
+				.extracting(CollectionModel::getContent, InstanceOfAssertFactories.iterable(ProfileRevisionInformation.class))
+				.hasSize(2)
+				.satisfiesExactly(
+						it -> assertThat(it)
+								.returns(development.slug(), ProfileRevisionInformation::profile)
+								.returns("Promote changes", ProfileRevisionInformation::subject)
+								.returns("John Doe", ProfileRevisionInformation::author)
+								.satisfies(revision -> assertThat(revision.revision()).matches("[a-f0-9]{40}")),
+						it -> assertThat(it)
+								.returns(preview.slug(), ProfileRevisionInformation::profile)
+								.returns("Promote changes", ProfileRevisionInformation::subject)
+								.returns("John Doe", ProfileRevisionInformation::author)
+								.satisfies(revision -> assertThat(revision.revision()).matches("[a-f0-9]{40}"))
+				);
+
+		for (Profile profile : new Profile[] { development, preview }) {
+			mvc.get().uri("/namespaces/{slug}/services/{service}/profiles/{profile}/properties", "konfigyr", service.slug(), profile.slug())
+					.with(authentication(TestPrincipals.john(), OAuthScope.READ_PROFILES))
+					.exchange()
+					.assertThat()
+					.apply(log())
+					.hasStatusOk()
+					.bodyJson()
+					.convertTo(InstanceOfAssertFactories.map(String.class, String.class))
+					.hasSize(1)
+					.containsEntry("server.port", "8080");
+		}
+	}
+
+	@Test
+	@DisplayName("should not apply property changes to any of the profiles when one of them is protected")
+	void applyChangesForMultipleProfilesWithProtectedProfile() {
+		final var development = prepareServiceProfile("development");
+		final var staging = prepareServiceProfile("staging");
+
+		mvc.post().uri("/namespaces/{slug}/services/{service}/apply", "konfigyr", service.slug())
+				.with(authentication(TestPrincipals.john(), OAuthScope.WRITE_PROFILES))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"Promote changes\",\"profiles\":[\"development\",\"staging\"],\"changes\":[{\"name\":\"server.port\",\"value\":\"8080\",\"operation\":\"CREATE\"}]}")
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.satisfies(problemDetailFor(HttpStatus.CONFLICT, problem -> problem
+						.hasTitle("Profile is protected")
+						.hasDetailContaining("The %s profile is protected.", staging.name())
+				));
+
+		mvc.get().uri("/namespaces/{slug}/services/{service}/profiles/{profile}/properties", "konfigyr", service.slug(), development.slug())
+				.with(authentication(TestPrincipals.john(), OAuthScope.READ_PROFILES))
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.hasStatusOk()
+				.bodyJson()
+				.convertTo(InstanceOfAssertFactories.map(String.class, String.class))
+				.isEmpty();
+	}
+
+	@Test
+	@DisplayName("should fail to apply property changes to multiple profiles due to invalid payload")
+	void applyChangesForMultipleProfilesWithInvalidPayload() {
+		mvc.post().uri("/namespaces/{slug}/services/{service}/apply", "konfigyr", service.slug())
+				.with(authentication(TestPrincipals.john(), OAuthScope.WRITE_PROFILES))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{}")
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.satisfies(problemDetailFor(HttpStatus.BAD_REQUEST, problem -> problem
+						.hasTitleContaining("Invalid")
+						.hasPropertySatisfying("errors", errors -> assertThat(errors)
+								.isNotNull()
+								.isInstanceOf(Collection.class)
+								.asInstanceOf(InstanceOfAssertFactories.collection(Map.class))
+								.extracting("pointer")
+								.containsExactlyInAnyOrder("changes", "name", "profiles")
+						)
+				));
+	}
+
+	@Test
+	@DisplayName("should fail to apply property changes to multiple profiles when one of them is unknown")
+	void applyChangesForMultipleProfilesWithUnknownProfile() {
+		mvc.post().uri("/namespaces/{slug}/services/{service}/apply", "konfigyr", service.slug())
+				.with(authentication(TestPrincipals.john(), OAuthScope.WRITE_PROFILES))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"Promote changes\",\"profiles\":[\"development\",\"unknown\"],\"changes\":[{\"name\":\"server.port\",\"value\":\"8080\",\"operation\":\"CREATE\"}]}")
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.satisfies(profileNotFound("unknown"));
+	}
+
+	@Test
+	@DisplayName("should fail to apply property changes to multiple profiles without required scope")
+	void applyChangesForMultipleProfilesWithoutScope() {
+		mvc.post().uri("/namespaces/{slug}/services/{service}/apply", "john-doe", "john-doe-blog")
+				.with(authentication(TestPrincipals.john()))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"Promote changes\",\"profiles\":[\"live\"],\"changes\":[{\"name\":\"server.port\",\"value\":\"8080\",\"operation\":\"CREATE\"}]}")
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.satisfies(forbidden(OAuthScope.WRITE_PROFILES));
+	}
+
+	@Test
+	@DisplayName("should import properties into the configuration state for a service profile")
+	void importPropertiesForProfile() {
+		final var profile = prepareServiceProfile("development");
+
+		mvc.post().uri("/namespaces/{slug}/services/{service}/profiles/{profile}/import", "konfigyr", service.slug(), profile.slug())
+				.with(authentication(TestPrincipals.john(), OAuthScope.WRITE_PROFILES))
+				.queryParam("name", "Import properties")
+				.contentType(MediaType.parseMediaType("text/x-java-properties"))
+				.content("spring.application.name=konfigyr\nserver.port=8080\n")
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.hasStatusOk()
+				.bodyJson()
+				.convertTo(RevisionInformation.class)
+				.returns("Import properties", RevisionInformation::subject)
+				.returns("John Doe", RevisionInformation::author);
+
+		mvc.post().uri("/namespaces/{slug}/services/{service}/profiles/{profile}/import", "konfigyr", service.slug(), profile.slug())
+				.with(authentication(TestPrincipals.john(), OAuthScope.WRITE_PROFILES))
+				.queryParam("replace", "true")
+				.contentType(MediaType.APPLICATION_YAML)
+				.content("server:\n  port: 8081\n  address: localhost\n")
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.hasStatusOk()
+				.bodyJson()
+				.convertTo(RevisionInformation.class)
+				.returns("Import configuration properties", RevisionInformation::subject);
+
+		mvc.get().uri("/namespaces/{slug}/services/{service}/profiles/{profile}/properties", "konfigyr", service.slug(), profile.slug())
+				.with(authentication(TestPrincipals.john(), OAuthScope.READ_PROFILES))
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.hasStatusOk()
+				.bodyJson()
+				.convertTo(InstanceOfAssertFactories.map(String.class, String.class))
+				.hasSize(2)
+				.containsEntry("server.port", "8081")
+				.containsEntry("server.address", "localhost");
+	}
+
+	@Test
+	@DisplayName("should fail to import invalid properties into the configuration state for a service profile")
+	void importInvalidPropertiesForProfile() {
+		final var profile = prepareServiceProfile("development");
+
+		mvc.post().uri("/namespaces/{slug}/services/{service}/profiles/{profile}/import", "konfigyr", service.slug(), profile.slug())
+				.with(authentication(TestPrincipals.john(), OAuthScope.WRITE_PROFILES))
+				.contentType(MediaType.TEXT_PLAIN)
+				.content("server.port=8080\nserver.port=8081\nserver.address=\n")
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.satisfies(problemDetailFor(HttpStatus.BAD_REQUEST, problem -> problem
+						.hasTitle("Invalid configuration properties")
+						.hasDetailContaining("The imported configuration properties for the %s profile contain errors", profile.name())
+						.hasPropertySatisfying("errors", errors -> assertThat(errors)
+								.isNotNull()
+								.isInstanceOf(Collection.class)
+								.asInstanceOf(InstanceOfAssertFactories.collection(Map.class))
+								.extracting("pointer")
+								.containsExactly("server.port", "server.address")
+						)
+				).andThen(hasFailedWithException(PropertiesImportException.class, ex -> ex
+						.returns(PropertiesImportException.Reason.INVALID_PROPERTIES, PropertiesImportException::getReason)
+				)));
+
+		mvc.get().uri("/namespaces/{slug}/services/{service}/profiles/{profile}/properties", "konfigyr", service.slug(), profile.slug())
+				.with(authentication(TestPrincipals.john(), OAuthScope.READ_PROFILES))
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.hasStatusOk()
+				.bodyJson()
+				.convertTo(InstanceOfAssertFactories.map(String.class, String.class))
+				.isEmpty();
+	}
+
 	@Test
 	@DisplayName("should fail to apply property changes to an unknown profile")
 	void applyChangesToUnknownProfile() {
@@ -1,6 +1,9 @@
 package com.konfigyr.vault.controller;
 
 import com.konfigyr.entity.EntityId;
+import com.konfigyr.feature.DurationUnit;
+import com.konfigyr.feature.FeatureValue;
+import com.konfigyr.namespace.NamespaceFeatures;
 import com.konfigyr.namespace.Service;
 import com.konfigyr.namespace.Services;
 import com.konfigyr.security.AuthenticatedPrincipal;
@@ -14,12 +17,16 @@ import com.konfigyr.vault.state.StateRepositoryFactory;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 
 import java.util.List;
 import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
 
@@ -113,6 +120,31 @@ public class VaultEnvironmentControllerTest extends AbstractControllerTest {
 				.returns(List.of(), ConfigurationEnvironment::propertySources);
 	}
 
+	@Test
+	@DisplayName("should reject configs requests once the namespace rate limit is exceeded")
+	void retrieveConfigsWithExceededRateLimit() {
+		doReturn(FeatureValue.rateLimit(1, DurationUnit.MINUTES))
+				.when(features).find(anyString(), eq(NamespaceFeatures.CONFIGURATION_RATE_LIMIT));
+
+		mvc.get().uri("/configs/{service}/{profiles}",  "john-doe-blog", "dev")
+				.with(httpBasic(CLIENT, SECRET))
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.hasStatusOk();
+
+		mvc.get().uri("/configs/{service}/{profiles}",  "john-doe-blog", "dev")
+				.with(httpBasic(CLIENT, SECRET))
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.hasHeader(HttpHeaders.RETRY_AFTER, "60")
+				.satisfies(problemDetailFor(HttpStatus.TOO_MANY_REQUESTS, problem -> problem
+						.hasTitle("Too many requests")
+						.hasDetailContaining("Please wait 60 second(s) before sending the next request.")
+				));
+	}
+
 	@Test
 	@DisplayName("should retrieve configs")
 	void retrieveConfigs() throws Exception {
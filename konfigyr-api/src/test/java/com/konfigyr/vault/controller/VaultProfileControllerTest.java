@@ -10,6 +10,7 @@ import com.konfigyr.test.TestPrincipals;
 import com.konfigyr.vault.Profile;
 import com.konfigyr.vault.ProfileNotFoundException;
 import com.konfigyr.vault.ProfilePolicy;
+import com.konfigyr.vault.history.RevisionNotFoundException;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -308,6 +309,51 @@ class VaultProfileControllerTest extends AbstractControllerTest {
 				);
 	}
 
+	@Test
+	@Transactional
+	@DisplayName("should create service profile from the revision of an existing profile")
+	void createProfileFromSourceProfile() {
+		mvc.post().uri("/namespaces/{slug}/services/{service}/profiles", "konfigyr", "konfigyr-id")
+				.with(authentication(TestPrincipals.john(), OAuthScope.WRITE_PROFILES))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"slug\":\"preview\", \"name\":\"Preview\", \"policy\":\"UNPROTECTED\", \"source\":\"locked\", \"revision\":\"fifth-revision\"}")
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.hasContentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+				.bodyJson()
+				.convertTo(Profile.class)
+				.returns("preview", Profile::slug)
+				.returns("Preview", Profile::name)
+				.returns(ProfilePolicy.UNPROTECTED, Profile::policy);
+	}
+
+	@Test
+	@DisplayName("should fail to create service profile from an unknown revision of an existing profile")
+	void createProfileFromUnknownRevision() {
+		mvc.post().uri("/namespaces/{slug}/services/{service}/profiles", "konfigyr", "konfigyr-id")
+				.with(authentication(TestPrincipals.john(), OAuthScope.WRITE_PROFILES))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"slug\":\"preview\", \"name\":\"Preview\", \"policy\":\"UNPROTECTED\", \"source\":\"locked\", \"revision\":\"unknown-revision\"}")
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.satisfies(hasFailedWithException(RevisionNotFoundException.class));
+	}
+
+	@Test
+	@DisplayName("should fail to create service profile from an unknown profile")
+	void createProfileFromUnknownSourceProfile() {
+		mvc.post().uri("/namespaces/{slug}/services/{service}/profiles", "konfigyr", "konfigyr-id")
+				.with(authentication(TestPrincipals.john(), OAuthScope.WRITE_PROFILES))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"slug\":\"preview\", \"name\":\"Preview\", \"policy\":\"UNPROTECTED\", \"source\":\"live\"}")
+				.exchange()
+				.assertThat()
+				.apply(log())
+				.satisfies(hasFailedWithException(ProfileNotFoundException.class));
+	}
+
 	@Test
 	@DisplayName("should fail to create service profile with invalid data")
 	void createProfileWithInvalidPayload() {
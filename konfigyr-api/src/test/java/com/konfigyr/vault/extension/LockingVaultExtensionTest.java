@@ -10,6 +10,8 @@ import org.mockito.Answers;
 import org.mockito.internal.stubbing.answers.AnswersWithDelay;
 import org.mockito.quality.Strictness;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -344,6 +346,78 @@ class LockingVaultExtensionTest {
 		executor.shutdown();
 	}
 
+	@Test
+	@DisplayName("should block readers of all profiles when applying changes to the batch vault")
+	void batchWriterBlocksReaders() throws Exception {
+		final var batch = createBatchVault(1, 2, 1);
+		final var first = createVault(1, 1);
+		final var second = createVault(1, 2);
+
+		assertThat(extension.locks)
+				.as("Batch vault should share the profile locks")
+				.hasSize(2);
+
+		final var executor = Executors.newFixedThreadPool(3);
+
+		final var writerStarted = new CountDownLatch(1);
+		final var writerFinish = new CountDownLatch(1);
+		final var executed = new AtomicBoolean(false);
+
+		executor.submit(() -> {
+			writerStarted.countDown();
+			batch.apply(List.of(mock(PropertyChanges.class)));
+			writerFinish.countDown();
+		});
+
+		writerStarted.await();
+		Thread.sleep(50);
+
+		executor.submit(() -> {
+			first.state();
+			second.state();
+			executed.set(true);
+		});
+
+		Thread.sleep(100);
+
+		assertThat(executed.get())
+				.as("Readers must be blocked while the batch writer holds the locks")
+				.isFalse();
+
+		assertThat(writerFinish.await(2, TimeUnit.SECONDS))
+				.as("Writer should be finished")
+				.isTrue();
+
+		batch.close();
+		first.close();
+		second.close();
+		executor.shutdown();
+
+		assertThat(executor.awaitTermination(2, TimeUnit.SECONDS))
+				.isTrue();
+
+		assertThat(extension.locks)
+				.isEmpty();
+	}
+
+	private BatchVault createBatchVault(long serviceId, long... profileIds) {
+		final var service = mock(Service.class);
+		doReturn(EntityId.from(serviceId)).when(service).id();
+
+		final var profiles = Arrays.stream(profileIds).mapToObj(profileId -> {
+			final var profile = mock(Profile.class);
+			doReturn(EntityId.from(profileId)).when(profile).id();
+			return profile;
+		}).toList();
+
+		final var vault = mock(BatchVault.class, withSettings().strictness(Strictness.LENIENT));
+		doReturn(service).when(vault).service();
+		doReturn(profiles).when(vault).profiles();
+		doAnswer(new AnswersWithDelay(200, Answers.RETURNS_SMART_NULLS)).when(vault).apply(any());
+
+		return extension.extend(vault);
+	}
+
 	private Vault createVault(long serviceId, long profileId) {
 		final var service = mock(Service.class);
 		doReturn(EntityId.from(serviceId)).when(service).id();
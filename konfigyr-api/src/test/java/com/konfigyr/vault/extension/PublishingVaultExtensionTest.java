@@ -1,6 +1,7 @@
 package com.konfigyr.vault.extension;
 
 import com.konfigyr.entity.EntityId;
+import com.konfigyr.namespace.Service;
 import com.konfigyr.vault.*;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +14,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 
+import java.util.List;
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -70,6 +74,39 @@ class PublishingVaultExtensionTest {
 				.returns(result, VaultEvent.ChangesApplied::result);
 	}
 
+	@Test
+	@DisplayName("should publish vault changes applied events when property changes are applied to the batch vault")
+	void publishBatchChangesAppliedEvents() {
+		final var batch = mock(BatchVault.class);
+		final var service = mock(Service.class);
+		final var result = mock(ApplyResult.class);
+
+		doReturn(service).when(batch).service();
+		doReturn(EntityId.from(8143)).when(service).id();
+		doReturn(EntityId.from(57153)).when(profile).id();
+		doReturn(Map.of(profile, result)).when(batch).apply(List.of(changes));
+
+		final var extended = extension.extend(batch);
+
+		assertThat(extended.apply(List.of(changes)))
+				.containsExactly(entry(profile, result));
+
+		verify(eventPublisher, times(2)).publishEvent(captor.capture());
+
+		assertThat(captor.getAllValues())
+				.satisfiesExactly(
+						event -> assertThat(event)
+								.asInstanceOf(InstanceOfAssertFactories.type(VaultEvent.ChangesApplied.class))
+								.returns(EntityId.from(57153), VaultEvent.ChangesApplied::id)
+								.returns(result, VaultEvent.ChangesApplied::result)
+								.returns(true, VaultEvent.ChangesApplied::isBatched),
+						event -> assertThat(event)
+								.asInstanceOf(InstanceOfAssertFactories.type(VaultBatchEvent.ChangesApplied.class))
+								.returns(EntityId.from(8143), VaultBatchEvent.ChangesApplied::id)
+								.returns(Map.of(profile, result), VaultBatchEvent.ChangesApplied::results)
+				);
+	}
+
 	@Test
 	@DisplayName("should not publish vault changes applied event when property changes can not be applied")
 	void doNotPublishChangesAppliedEventWhenCannotApplyChanges() {
@@ -122,7 +122,9 @@ class GatekeeperTest extends AbstractIntegrationTest {
 	@Transactional
 	@DisplayName("should evaluate merge status for outdated change request")
 	void evaluateForOutdatedChangeRequest() {
-		setupChangeRequest(ChangeRequestState.OPEN);
+		final var state = repository.get(profile);
+
+		setupChangeRequest(ChangeRequestState.OPEN, "outdated-revision", state.revision());
 
 		assertThat(gatekeeper.evaluate(CHANGE_REQUEST_ID))
 				.isEqualTo(ChangeRequestMergeStatus.OUTDATED);
@@ -171,6 +173,10 @@ class GatekeeperTest extends AbstractIntegrationTest {
 	}
 
 	private void setupChangeRequest(ChangeRequestState state, String base) {
+		setupChangeRequest(state, base, "head-revision");
+	}
+
+	private void setupChangeRequest(ChangeRequestState state, String base, String head) {
 		context.insertInto(VAULT_CHANGE_REQUESTS)
 				.set(VAULT_CHANGE_REQUESTS.ID, CHANGE_REQUEST_ID.get())
 				.set(VAULT_CHANGE_REQUESTS.SERVICE_ID, profile.service().get())
@@ -181,7 +187,7 @@ class GatekeeperTest extends AbstractIntegrationTest {
 				.set(VAULT_CHANGE_REQUESTS.CHANGE_COUNT, 0)
 				.set(VAULT_CHANGE_REQUESTS.BRANCH_NAME, "change-request-branch")
 				.set(VAULT_CHANGE_REQUESTS.BASE_REVISION, base)
-				.set(VAULT_CHANGE_REQUESTS.HEAD_REVISION, "head-revision")
+				.set(VAULT_CHANGE_REQUESTS.HEAD_REVISION, head)
 				.set(VAULT_CHANGE_REQUESTS.SUBJECT, "Test change request")
 				.set(VAULT_CHANGE_REQUESTS.CREATED_BY, "John Doe")
 				.execute();
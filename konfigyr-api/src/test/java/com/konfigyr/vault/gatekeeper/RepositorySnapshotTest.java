@@ -0,0 +1,172 @@
+package com.konfigyr.vault.gatekeeper;
+
+import com.konfigyr.namespace.Service;
+import com.konfigyr.vault.Profile;
+import com.konfigyr.vault.ChangeRequestMergeStatus;
+import com.konfigyr.vault.state.RepositoryState;
+import com.konfigyr.vault.state.RepositoryStateException;
+import com.konfigyr.vault.state.StateRepository;
+import com.konfigyr.vault.state.StateRepositoryFactory;
+import org.eclipse.jgit.errors.CorruptObjectException;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RepositorySnapshotTest {
+
+	@Mock
+	StateRepositoryFactory factory;
+
+	@Mock
+	StateRepository repository;
+
+	@Mock
+	RepositoryState state;
+
+	@Mock
+	GateContext context;
+
+	@Mock
+	Service service;
+
+	@Mock
+	Profile profile;
+
+	RepositorySnapshot.Provider provider;
+
+	@BeforeEach
+	void setup() {
+		provider = new RepositorySnapshot.Provider(factory);
+
+		doReturn(service).when(context).service();
+		doReturn(profile).when(context).profile();
+		doReturn(repository).when(factory).get(service);
+		doReturn(state).when(repository).get(profile);
+	}
+
+	@Test
+	@DisplayName("should not check for conflicts when the profile revision matches the change request base revision")
+	void resolveSnapshotForUnchangedProfile() {
+		doReturn("base-revision").when(state).revision();
+		doReturn("base-revision").when(context).baseRevision();
+
+		assertThat(provider.get(context))
+				.returns("base-revision", RepositorySnapshot::revision)
+				.returns(false, RepositorySnapshot::conflicted);
+
+		verify(repository, never()).isConflicting(any(), any(), any());
+		verify(repository).close();
+	}
+
+	@Test
+	@DisplayName("should check for conflicts when the profile has moved and cache the result by revisions")
+	void resolveSnapshotForChangedProfile() {
+		doReturn("target-revision").when(state).revision();
+		doReturn("base-revision").when(context).baseRevision();
+		doReturn("head-revision").when(context).headRevision();
+		doReturn(true).when(repository).isConflicting(profile, "target-revision", "head-revision");
+
+		assertThat(provider.get(context))
+				.returns("target-revision", RepositorySnapshot::revision)
+				.returns(true, RepositorySnapshot::conflicted);
+
+		assertThat(provider.get(context))
+				.as("Should resolve the conflict state from the cache")
+				.returns("target-revision", RepositorySnapshot::revision)
+				.returns(true, RepositorySnapshot::conflicted);
+
+		verify(repository, times(1)).isConflicting(profile, "target-revision", "head-revision");
+		verify(repository, times(2)).close();
+	}
+
+	@Test
+	@DisplayName("should report the snapshot without conflicts when the changeset revision can not be resolved")
+	void resolveSnapshotForMissingChangesetRevision() {
+		final ObjectId head = ObjectId.fromString("4b825dc642cb6eb9a060e54bf8d69288fbee4904");
+
+		doReturn("target-revision").when(state).revision();
+		doReturn("base-revision").when(context).baseRevision();
+		doReturn(head.name()).when(context).headRevision();
+		doThrow(new RepositoryStateException(RepositoryStateException.ErrorCode.INVALID_STATE, "Missing revision",
+				new MissingObjectException(head, Constants.OBJ_COMMIT)))
+				.when(repository).isConflicting(profile, "target-revision", head.name());
+
+		assertThat(provider.get(context))
+				.returns("target-revision", RepositorySnapshot::revision)
+				.returns(false, RepositorySnapshot::conflicted);
+
+		assertThat(new RepositoryStateGate().evaluate(contextWithSnapshot(provider.get(context))))
+				.as("Should block the change request as outdated")
+				.isInstanceOf(GateResult.Block.class)
+				.extracting("status")
+				.isEqualTo(ChangeRequestMergeStatus.OUTDATED);
+
+		verify(repository, times(2)).isConflicting(profile, "target-revision", head.name());
+	}
+
+	@Test
+	@DisplayName("should propagate invalid repository states that are not caused by the missing changeset revision")
+	void propagateInvalidRepositoryStates() {
+		final ObjectId head = ObjectId.fromString("4b825dc642cb6eb9a060e54bf8d69288fbee4904");
+		final ObjectId blob = ObjectId.fromString("e69de29bb2d1d6434b8b29ae775ad8c2e48c5391");
+
+		doReturn("target-revision").when(state).revision();
+		doReturn("base-revision").when(context).baseRevision();
+		doReturn(head.name()).when(context).headRevision();
+		doThrow(
+				new RepositoryStateException(RepositoryStateException.ErrorCode.INVALID_STATE, "Corrupted",
+						new CorruptObjectException("Corrupted object")),
+				new RepositoryStateException(RepositoryStateException.ErrorCode.INVALID_STATE, "Missing blob",
+						new MissingObjectException(blob, Constants.OBJ_BLOB))
+		).when(repository).isConflicting(profile, "target-revision", head.name());
+
+		assertThatExceptionOfType(RepositoryStateException.class)
+				.as("Should not report a corrupted repository as an outdated change request")
+				.isThrownBy(() -> provider.get(context))
+				.returns(RepositoryStateException.ErrorCode.INVALID_STATE, RepositoryStateException::getErrorCode)
+				.withCauseInstanceOf(CorruptObjectException.class);
+
+		assertThatExceptionOfType(RepositoryStateException.class)
+				.as("Should not report objects, other than the changeset revision, that are missing as outdated")
+				.isThrownBy(() -> provider.get(context))
+				.returns(RepositoryStateException.ErrorCode.INVALID_STATE, RepositoryStateException::getErrorCode)
+				.withCauseInstanceOf(MissingObjectException.class);
+
+		verify(repository, times(2)).close();
+	}
+
+	@Test
+	@DisplayName("should propagate repository state exceptions that are not caused by missing revisions")
+	void propagateRepositoryStateFailures() {
+		doReturn("target-revision").when(state).revision();
+		doReturn("base-revision").when(context).baseRevision();
+		doReturn("head-revision").when(context).headRevision();
+		doThrow(new RepositoryStateException(RepositoryStateException.ErrorCode.UNAVAILABLE, "Unavailable"))
+				.when(repository).isConflicting(profile, "target-revision", "head-revision");
+
+		assertThatExceptionOfType(RepositoryStateException.class)
+				.isThrownBy(() -> provider.get(context))
+				.returns(RepositoryStateException.ErrorCode.UNAVAILABLE, RepositoryStateException::getErrorCode);
+
+		verify(repository).close();
+	}
+
+	private GateContext contextWithSnapshot(RepositorySnapshot snapshot) {
+		final GateContext gateContext = mock(GateContext.class);
+		doReturn(snapshot).when(gateContext).repositorySnapshot();
+		doReturn("base-revision").when(gateContext).baseRevision();
+		return gateContext;
+	}
+
+}
@@ -45,7 +45,6 @@ class RepositoryStateGateTest {
 		final var revision = "the-change-request-revision";
 		final var snapshot = new RepositorySnapshot(revision, true);
 
-		doReturn(revision).when(context).baseRevision();
 		doReturn(snapshot).when(context).repositorySnapshot();
 
 		assertThat(gate.evaluate(context))
@@ -59,7 +58,7 @@ class RepositoryStateGateTest {
 	@Test
 	@DisplayName("should evaluate to merge status of 'outdated' when change request base revision is outdated")
 	void evaluateForDiscardedChangeRequest() {
-		final var snapshot = new RepositorySnapshot("new-revision", true);
+		final var snapshot = new RepositorySnapshot("new-revision", false);
 
 		doReturn("base-revision").when(context).baseRevision();
 		doReturn(snapshot).when(context).repositorySnapshot();
@@ -74,4 +73,17 @@ class RepositoryStateGateTest {
 				);
 	}
 
+	@Test
+	@DisplayName("should evaluate to merge status of 'conflicted' when outdated change request can not be merged")
+	void evaluateForOutdatedAndConflictedChangeRequest() {
+		final var snapshot = new RepositorySnapshot("new-revision", true);
+
+		doReturn(snapshot).when(context).repositorySnapshot();
+
+		assertThat(gate.evaluate(context))
+				.isInstanceOf(GateResult.Block.class)
+				.asInstanceOf(InstanceOfAssertFactories.type(GateResult.Block.class))
+				.returns(ChangeRequestMergeStatus.CONFLICTING, GateResult.Block::status);
+	}
+
 }
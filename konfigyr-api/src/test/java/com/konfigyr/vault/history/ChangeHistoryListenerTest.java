@@ -1,8 +1,10 @@
 package com.konfigyr.vault.history;
 
+import com.konfigyr.namespace.Service;
 import com.konfigyr.vault.ApplyResult;
 import com.konfigyr.vault.Profile;
 import com.konfigyr.vault.ProfilePolicy;
+import com.konfigyr.vault.VaultBatchEvent;
 import com.konfigyr.vault.VaultEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,8 +13,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class ChangeHistoryListenerTest {
@@ -47,6 +52,31 @@ class ChangeHistoryListenerTest {
 		verify(service).commit(profile.id(), result);
 	}
 
+	@Test
+	@DisplayName("should not commit the applied changes that are part of a batch using the profile event")
+	void skipBatchedAppliedChanges() {
+		final var event = new VaultEvent.ChangesApplied(profile, result, true);
+		assertThatNoException().isThrownBy(() -> listener.createChangeHistory(event));
+
+		verifyNoInteractions(service);
+	}
+
+	@Test
+	@DisplayName("should commit the applied changes for all profiles within the batch to build the property change history")
+	void commitBatchAppliedChanges() {
+		final var owner = Service.builder()
+				.id(profile.service().get())
+				.namespace(1L)
+				.slug("test-service")
+				.name("Test service")
+				.build();
+
+		final var event = new VaultBatchEvent.ChangesApplied(owner, Map.of(profile, result));
+		assertThatNoException().isThrownBy(() -> listener.createChangeHistory(event));
+
+		verify(service).commit(Map.of(profile, result));
+	}
+
 	@Test
 	@DisplayName("should synchronize the applied changes for the profile to build the property index")
 	void syncAppliedChanges() {
@@ -371,12 +371,6 @@ class ChangeHistoryServiceTest extends AbstractIntegrationTest {
 				.isEmpty();
 	}
 
-	@Test
-	@DisplayName("should create partitions for change and property history tables")
-	void createTablePartitions() {
-		assertThatNoException().isThrownBy(chronicle::createPartitions);
-	}
-
 	@Test
 	@Transactional
 	@DisplayName("should upsert added properties and update the checksum, timestamp and author on a later sync")
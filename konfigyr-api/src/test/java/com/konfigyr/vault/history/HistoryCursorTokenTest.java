@@ -1,11 +1,13 @@
 package com.konfigyr.vault.history;
 
+import com.konfigyr.data.CursorPageableExecutor;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -60,4 +62,35 @@ class HistoryCursorTokenTest {
 				.isEqualTo(token);
 	}
 
+	@Test
+	@DisplayName("should encode and decode cursor pagination tokens with microsecond precision")
+	void shouldEncodeAndDecodeMicrosecondTokens() {
+		final var token = HistoryCursorToken.of(
+				new UUID(124097687512745L, 453456715388L),
+				OffsetDateTime.parse("2026-04-01T13:37:32.988123Z")
+		);
+
+		assertThat(token)
+				.returns(OffsetDateTime.parse("2026-04-01T13:37:32.988123Z"), HistoryCursorToken::timestamp)
+				.satisfies(it -> assertThat(it.value()).startsWith("0200"));
+
+		assertThat(HistoryCursorToken.decode(token.value()))
+				.isEqualTo(token);
+	}
+
+	@Test
+	@DisplayName("should convert cursor pagination tokens to seek positions")
+	void shouldConvertTokensToSeekPositions() {
+		final var timestamp = OffsetDateTime.parse("2026-04-07T12:15:11.352Z");
+		final var identifier = new UUID(9124582095215679363L, 736510357437L);
+		final var token = HistoryCursorToken.of(identifier, timestamp, true);
+
+		assertThat(HistoryCursorToken.CODEC.decode(token.value()))
+				.returns(List.of(timestamp, identifier), CursorPageableExecutor.Position::values)
+				.returns(true, CursorPageableExecutor.Position::reversed);
+
+		assertThat(HistoryCursorToken.CODEC.encode(new CursorPageableExecutor.Position(List.of(timestamp, identifier), true)))
+				.isEqualTo(token.value());
+	}
+
 }
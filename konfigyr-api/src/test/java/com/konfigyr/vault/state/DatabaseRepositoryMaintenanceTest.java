@@ -0,0 +1,118 @@
+package com.konfigyr.vault.state;
+
+import com.konfigyr.entity.EntityId;
+import com.konfigyr.namespace.Service;
+import com.konfigyr.namespace.Services;
+import com.konfigyr.test.AbstractIntegrationTest;
+import com.konfigyr.vault.Properties;
+import com.konfigyr.vault.VaultProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+
+import static com.konfigyr.data.tables.VaultRepositoryPacks.VAULT_REPOSITORY_PACKS;
+import static com.konfigyr.vault.state.DatabaseStateRepositoryFactoryTest.createProfile;
+import static com.konfigyr.vault.state.GitStateRepositoryTest.*;
+import static org.assertj.core.api.Assertions.*;
+
+class DatabaseRepositoryMaintenanceTest extends AbstractIntegrationTest {
+
+	@Autowired
+	DSLContext context;
+
+	@Autowired
+	Services services;
+
+	Service service;
+	DatabaseStateRepositoryFactory factory;
+	StateRepository repository;
+	VaultProperties.Maintenance properties;
+
+	@BeforeEach
+	void setup() {
+		service = services.get(EntityId.from(2)).orElseThrow();
+		factory = new DatabaseStateRepositoryFactory(context, StateLayout.SINGLE, new VaultProperties.Database());
+		repository = factory.create(service);
+
+		properties = new VaultProperties.Maintenance();
+		properties.setPackFilesThreshold(3);
+		properties.setDelay(Duration.ZERO);
+	}
+
+	@AfterEach
+	void cleanup() {
+		repository.destroy();
+		repository.close();
+	}
+
+	@Test
+	@DisplayName("should compact the packs of the database repositories that exceed the pack files threshold")
+	void compactRepositoryPacks() throws Exception {
+		final var profile = createProfile(service, 31L, "development");
+		repository.create(profile);
+
+		for (int i = 0; i < 3; i++) {
+			final var revision = repository.get(profile).revision();
+
+			assertThat(repository.commit(profile, withRevision(changesetFor(profile,
+					propertiesFor("server.port", String.valueOf(8080 + i)), "Change " + i, "server.port"), revision)))
+					.returns(true, MergeOutcome::isApplied);
+		}
+
+		final var revision = repository.get(profile).revision();
+		final var packs = countPacks();
+
+		assertThat(packs)
+				.as("Should commit a pack for every configuration state change")
+				.isGreaterThan(3);
+
+		final var maintenance = new DatabaseRepositoryMaintenance(context, services, properties);
+		maintenance.bindTo(new SimpleMeterRegistry());
+
+		assertThatNoException()
+				.isThrownBy(maintenance::maintain);
+
+		assertThat(countPacks())
+				.as("Should replace the packs with the compacted pack of all reachable objects")
+				.isLessThan(packs);
+
+		assertThat(context.fetchExists(VAULT_REPOSITORY_PACKS, VAULT_REPOSITORY_PACKS.SERVICE_ID.eq(service.id().get())
+				.and(VAULT_REPOSITORY_PACKS.SOURCE.eq("GC"))))
+				.as("Should commit the pack created by the garbage collection")
+				.isTrue();
+
+		try (StateRepository other = factory.get(service)) {
+			assertThat(other.get(profile).revision())
+					.isEqualTo(revision);
+
+			assertThat(Properties.from(other.get(profile)))
+					.as("Should read the state from the compacted pack")
+					.isEqualTo(propertiesFor("server.port", "8082"));
+		}
+	}
+
+	@Test
+	@DisplayName("should not compact the packs of the database repositories below the pack files threshold")
+	void skipRepositoryBelowThreshold() {
+		properties.setPackFilesThreshold(100);
+
+		final var packs = countPacks();
+
+		assertThatNoException()
+				.isThrownBy(new DatabaseRepositoryMaintenance(context, services, properties)::maintain);
+
+		assertThat(countPacks())
+				.isEqualTo(packs);
+	}
+
+	int countPacks() {
+		return context.fetchCount(VAULT_REPOSITORY_PACKS, VAULT_REPOSITORY_PACKS.SERVICE_ID.eq(service.id().get()));
+	}
+
+}
@@ -0,0 +1,208 @@
+package com.konfigyr.vault.state;
+
+import com.konfigyr.entity.EntityId;
+import com.konfigyr.namespace.Service;
+import com.konfigyr.namespace.Services;
+import com.konfigyr.test.AbstractIntegrationTest;
+import com.konfigyr.vault.Profile;
+import com.konfigyr.vault.ProfilePolicy;
+import com.konfigyr.vault.Properties;
+import com.konfigyr.vault.VaultProperties;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Map;
+
+import static com.konfigyr.data.tables.VaultRepositoryFiles.VAULT_REPOSITORY_FILES;
+import static com.konfigyr.data.tables.VaultRepositoryPacks.VAULT_REPOSITORY_PACKS;
+import static com.konfigyr.data.tables.VaultRepositoryRefs.VAULT_REPOSITORY_REFS;
+import static com.konfigyr.vault.state.GitStateRepositoryTest.*;
+import static org.assertj.core.api.Assertions.*;
+
+class DatabaseStateRepositoryFactoryTest extends AbstractIntegrationTest {
+
+	@Autowired
+	DSLContext context;
+
+	@Autowired
+	Services services;
+
+	Service service;
+	DatabaseStateRepositoryFactory factory;
+	StateRepository repository;
+
+	@BeforeEach
+	void setup() {
+		service = services.get(EntityId.from(2)).orElseThrow();
+		factory = new DatabaseStateRepositoryFactory(context, StateLayout.SINGLE, new VaultProperties.Database());
+		repository = factory.create(service);
+	}
+
+	@AfterEach
+	void cleanup() {
+		try (StateRepository it = factory.get(service)) {
+			it.destroy();
+		} catch (RepositoryStateException ex) {
+			// repository was already destroyed by the test
+		}
+
+		repository.close();
+	}
+
+	@Test
+	@DisplayName("should initialize the Git repository for a service in the database")
+	void assertRepositoryInitialized() {
+		assertThat(context.fetchCount(VAULT_REPOSITORY_REFS, VAULT_REPOSITORY_REFS.SERVICE_ID.eq(service.id().get())))
+				.as("Should store the HEAD symbolic ref and the initial branch ref")
+				.isEqualTo(2);
+
+		assertThat(context.fetchCount(VAULT_REPOSITORY_PACKS, VAULT_REPOSITORY_PACKS.SERVICE_ID.eq(service.id().get())))
+				.as("Should store the pack with the initial commit")
+				.isEqualTo(1);
+
+		assertThat(context.fetchCount(VAULT_REPOSITORY_FILES, VAULT_REPOSITORY_FILES.SERVICE_ID.eq(service.id().get())))
+				.as("Should store the pack and index files of the initial commit pack")
+				.isGreaterThanOrEqualTo(2);
+
+		assertThatExceptionOfType(RepositoryStateException.class)
+				.as("Should fail to initialize existing repository")
+				.isThrownBy(() -> factory.create(service).close())
+				.returns(RepositoryStateException.ErrorCode.REPOSITORY_ALREADY_EXISTS, RepositoryStateException::getErrorCode);
+	}
+
+	@Test
+	@DisplayName("should fail to load the Git repository for a service that does not have one in the database")
+	void loadUnknownRepository() {
+		final var unknown = services.get(EntityId.from(1)).orElseThrow();
+
+		assertThatExceptionOfType(RepositoryStateException.class)
+				.isThrownBy(() -> factory.get(unknown).close())
+				.returns(RepositoryStateException.ErrorCode.UNKNOWN_REPOSITORY, RepositoryStateException::getErrorCode)
+				.withMessageContaining("Could not find repository for Service(%s, %s)", unknown.id(), unknown.slug());
+	}
+
+	@Test
+	@DisplayName("should share the configuration state between repository instances that are backed by the database")
+	void shareStateBetweenRepositories() {
+		final var profile = createProfile(service, 21L, "development");
+		repository.create(profile);
+
+		final var changeset = repository.update(profile, changesetFor(profile,
+				propertiesFor("server.port", "8080"), "Initial state", "server.port"));
+
+		assertThat(repository.merge(profile, changeset.branch()))
+				.returns(true, MergeOutcome::isApplied);
+
+		try (StateRepository other = factory.get(service)) {
+			assertThat(Properties.from(other.get(profile)))
+					.as("Should read the state that was written by another repository instance")
+					.isEqualTo(propertiesFor("server.port", "8080"));
+
+			assertThat(other.get(profile).revision())
+					.isEqualTo(repository.get(profile).revision());
+
+			assertThat(other.history(profile, Pageable.ofSize(10)))
+					.hasSize(2);
+
+			assertThat(other.changesets())
+					.as("Merged changeset branch should be removed")
+					.isEmpty();
+		}
+	}
+
+	@Test
+	@DisplayName("should atomically commit changesets to multiple profiles stored in the database")
+	void commitChangesetsToProfiles() {
+		final var first = createProfile(service, 22L, "first");
+		final var second = createProfile(service, 23L, "second");
+
+		repository.create(first);
+		repository.create(second);
+
+		final var firstRevision = repository.get(first).revision();
+		final var secondRevision = repository.get(second).revision();
+
+		assertThat(repository.commit(Map.of(
+				first, withRevision(changesetFor(first, propertiesFor("server.port", "8080"), "Batch", "server.port"), firstRevision),
+				second, withRevision(changesetFor(second, propertiesFor("server.port", "9090"), "Batch", "server.port"), secondRevision)
+		)))
+				.hasSize(2)
+				.allSatisfy((profile, outcome) -> assertThat(outcome)
+						.returns(true, MergeOutcome::isApplied)
+				);
+
+		assertThat(Properties.from(repository.get(first)))
+				.isEqualTo(propertiesFor("server.port", "8080"));
+
+		assertThat(Properties.from(repository.get(second)))
+				.isEqualTo(propertiesFor("server.port", "9090"));
+	}
+
+	@Test
+	@DisplayName("should reject ref updates based on a stale ref value that was changed by another repository instance")
+	void rejectConcurrentRefUpdates() {
+		final var profile = createProfile(service, 24L, "staging");
+		repository.create(profile);
+
+		try (StateRepository other = factory.get(service)) {
+			final var revision = other.get(profile).revision();
+			final var stale = other.update(profile, changesetFor(profile,
+					propertiesFor("server.port", "9090"), "Stale changes", "server.port"));
+
+			final var changeset = repository.update(profile, changesetFor(profile,
+					propertiesFor("server.port", "8080"), "Current changes", "server.port"));
+
+			assertThat(repository.merge(profile, changeset.branch()))
+					.returns(true, MergeOutcome::isApplied);
+
+			assertThatExceptionOfType(RepositoryStateException.class)
+					.as("Should fail to update the profile ref as its value was changed by another instance")
+					.isThrownBy(() -> other.merge(profile, stale.branch()))
+					.returns(RepositoryStateException.ErrorCode.CONFLICT, RepositoryStateException::getErrorCode);
+
+			assertThat(revision)
+					.isNotEqualTo(repository.get(profile).revision());
+		}
+
+		assertThat(Properties.from(repository.get(profile)))
+				.as("Should keep the state of the successful update")
+				.isEqualTo(propertiesFor("server.port", "8080"));
+	}
+
+	@Test
+	@DisplayName("should remove all refs, packs and pack files when the database repository is destroyed")
+	void destroyRepository() {
+		repository.create(createProfile(service, 25L, "production"));
+
+		assertThatNoException()
+				.isThrownBy(repository::destroy);
+
+		assertThat(context.fetchCount(VAULT_REPOSITORY_REFS, VAULT_REPOSITORY_REFS.SERVICE_ID.eq(service.id().get())))
+				.isZero();
+
+		assertThat(context.fetchCount(VAULT_REPOSITORY_PACKS, VAULT_REPOSITORY_PACKS.SERVICE_ID.eq(service.id().get())))
+				.isZero();
+
+		assertThat(context.fetchCount(VAULT_REPOSITORY_FILES, VAULT_REPOSITORY_FILES.SERVICE_ID.eq(service.id().get())))
+				.isZero();
+
+		assertThatExceptionOfType(RepositoryStateException.class)
+				.isThrownBy(() -> factory.get(service).close())
+				.returns(RepositoryStateException.ErrorCode.UNKNOWN_REPOSITORY, RepositoryStateException::getErrorCode);
+	}
+
+	static Profile createProfile(Service service, long id, String name) {
+		return Profile.builder()
+				.id(EntityId.from(id))
+				.service(service.id())
+				.name(name)
+				.policy(ProfilePolicy.UNPROTECTED)
+				.build();
+	}
+
+}
@@ -0,0 +1,185 @@
+package com.konfigyr.vault.state;
+
+import com.konfigyr.entity.EntityId;
+import com.konfigyr.namespace.Service;
+import com.konfigyr.namespace.Services;
+import com.konfigyr.test.AbstractIntegrationTest;
+import com.konfigyr.vault.Profile;
+import com.konfigyr.vault.Properties;
+import com.konfigyr.vault.VaultProperties;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.CleanupMode;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.konfigyr.vault.state.DatabaseStateRepositoryFactoryTest.createProfile;
+import static com.konfigyr.vault.state.GitStateRepositoryTest.changesetFor;
+import static com.konfigyr.vault.state.GitStateRepositoryTest.propertiesFor;
+import static org.assertj.core.api.Assertions.*;
+
+class GitRepositoryBackupTest extends AbstractIntegrationTest {
+
+	@Autowired
+	DSLContext context;
+
+	@Autowired
+	Services services;
+
+	Path location;
+	Service service;
+	Profile profile;
+	StateRepositoryFactory factory;
+	StateRepository repository;
+	VaultProperties.Backup properties;
+	GitRepositoryBackup backup;
+
+	@BeforeEach
+	void setup(
+			@TempDir(cleanup = CleanupMode.ALWAYS) Path repositories,
+			@TempDir(cleanup = CleanupMode.ALWAYS) Path directory
+	) {
+		service = services.get(EntityId.from(2)).orElseThrow();
+		profile = createProfile(service, 31L, "development");
+		location = directory.resolve(GitStateRepository.REPOSITORY_DIRECTORY_PREFIX + service.id().serialize());
+
+		properties = new VaultProperties.Backup();
+		properties.setDirectory(directory);
+
+		factory = new FileStateRepositoryFactory(repositories, StateLayout.SINGLE);
+		backup = new GitRepositoryBackup(context, services, factory, properties);
+
+		repository = factory.create(service);
+		repository.create(profile);
+	}
+
+	@AfterEach
+	void cleanup() {
+		repository.close();
+	}
+
+	@Test
+	@DisplayName("should write full bundle for the first backup and incremental bundles for the following changes")
+	void writeFullAndIncrementalBundles() throws IOException {
+		assertThat(backup.backup())
+				.as("Should only back up the repository of the service that has one")
+				.isEqualTo(1);
+
+		assertThat(backup.backup())
+				.as("Should not write a bundle when the repository has not changed")
+				.isZero();
+
+		update("8080");
+
+		assertThat(backup.backup(service))
+				.isEqualTo(location.resolve("000002-incremental.bundle"));
+
+		assertThat(location)
+				.isDirectoryContaining(path -> path.endsWith("000001-full.bundle"))
+				.isDirectoryContaining(path -> path.endsWith("000001-full.bundle.sha256"))
+				.isDirectoryContaining(path -> path.endsWith("000002-incremental.bundle.sha256"))
+				.isDirectoryNotContaining(path -> path.getFileName().toString().endsWith(".tmp"));
+
+		assertThat(location.resolve(GitRepositoryBackup.WATERMARK_FILE_NAME))
+				.content(StandardCharsets.UTF_8)
+				.contains(repository.get(profile).revision() + " refs/heads/profile/development");
+	}
+
+	@Test
+	@DisplayName("should write full bundle and remove older bundles once the full backup interval is reached")
+	void writeFullBundleAfterInterval() {
+		properties.setFullBackupInterval(1);
+
+		assertThat(backup.backup(service))
+				.isEqualTo(location.resolve("000001-full.bundle"));
+
+		update("8080");
+
+		assertThat(backup.backup(service))
+				.isEqualTo(location.resolve("000002-incremental.bundle"));
+
+		update("9090");
+
+		assertThat(backup.backup(service))
+				.isEqualTo(location.resolve("000003-full.bundle"));
+
+		assertThat(location)
+				.isDirectoryContaining(path -> path.endsWith("000003-full.bundle"))
+				.isDirectoryNotContaining(path -> path.endsWith("000001-full.bundle"))
+				.isDirectoryNotContaining(path -> path.endsWith("000002-incremental.bundle"))
+				.isDirectoryNotContaining(path -> path.endsWith("000002-incremental.bundle.sha256"));
+	}
+
+	@Test
+	@DisplayName("should restore the repository from the full and incremental bundles")
+	void restoreRepository() {
+		backup.backup(service);
+		update("8080");
+		backup.backup(service);
+		update("9090");
+		backup.backup(service);
+
+		final var references = repository.references();
+		repository.destroy();
+
+		assertThat(backup.restore(service))
+				.isEqualTo(references);
+
+		try (StateRepository restored = factory.get(service)) {
+			assertThat(restored.references())
+					.isEqualTo(references);
+
+			assertThat(Properties.from(restored.get(profile)))
+					.isEqualTo(propertiesFor("server.port", "9090"));
+		}
+	}
+
+	@Test
+	@DisplayName("should fail to restore the repository when the bundle checksum does not match")
+	void restoreWithChecksumMismatch() throws IOException {
+		backup.backup(service);
+		update("8080");
+		backup.backup(service);
+
+		repository.destroy();
+
+		Files.writeString(location.resolve("000002-incremental.bundle.sha256"),
+				"0".repeat(64) + "  000002-incremental.bundle\n", StandardCharsets.UTF_8);
+
+		assertThatExceptionOfType(RepositoryStateException.class)
+				.isThrownBy(() -> backup.restore(service))
+				.returns(RepositoryStateException.ErrorCode.INVALID_STATE, RepositoryStateException::getErrorCode)
+				.withMessageContaining("Checksum mismatch for backup bundle '000002-incremental.bundle'");
+
+		assertThatExceptionOfType(RepositoryStateException.class)
+				.as("Should not create the repository when the checksums are not verified")
+				.isThrownBy(() -> factory.get(service).close())
+				.returns(RepositoryStateException.ErrorCode.UNKNOWN_REPOSITORY, RepositoryStateException::getErrorCode);
+	}
+
+	@Test
+	@DisplayName("should fail to restore the repository when there is no full backup bundle")
+	void restoreWithoutBackup() {
+		assertThatExceptionOfType(RepositoryStateException.class)
+				.isThrownBy(() -> backup.restore(service))
+				.returns(RepositoryStateException.ErrorCode.UNKNOWN_REPOSITORY, RepositoryStateException::getErrorCode)
+				.withMessageContaining("Could not find full backup bundle for Service(%s, %s)", service.id(), service.slug());
+	}
+
+	void update(String port) {
+		final var changeset = repository.update(profile, changesetFor(profile,
+				propertiesFor("server.port", port), "Update port", "server.port"));
+
+		assertThat(repository.merge(profile, changeset.branch()))
+				.returns(true, MergeOutcome::isApplied);
+	}
+
+}
@@ -0,0 +1,146 @@
+package com.konfigyr.vault.state;
+
+import com.konfigyr.namespace.Service;
+import com.konfigyr.vault.ProfilePolicy;
+import com.konfigyr.vault.VaultProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.CleanupMode;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static com.konfigyr.vault.state.GitStateRepositoryTest.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GitRepositoryMaintenanceTest {
+
+	final Instant now = Instant.parse("2026-01-01T03:00:00Z");
+
+	@Test
+	@DisplayName("should collect statistics and garbage collect repositories that exceed the thresholds")
+	void maintainRepositories(@TempDir(cleanup = CleanupMode.ALWAYS) Path directory) throws Exception {
+		final var busy = createRepository(directory, 1L, 3);
+		final var idle = createRepository(directory, 2L, 0);
+
+		Files.createDirectory(directory.resolve("unrelated-directory"));
+
+		final var properties = new VaultProperties.Maintenance();
+		properties.setLooseObjectsThreshold(5);
+		properties.setDelay(Duration.ZERO);
+
+		final var registry = new SimpleMeterRegistry();
+		final var maintenance = new GitRepositoryMaintenance(directory, properties, Clock.fixed(now, ZoneOffset.UTC));
+		maintenance.bindTo(registry);
+
+		assertThat(maintenance.lastRun()).isNull();
+		assertThat(maintenance.statistics()).isEmpty();
+
+		maintenance.maintain();
+
+		assertThat(maintenance.lastRun())
+				.isEqualTo(now);
+
+		assertThat(maintenance.statistics())
+				.hasSize(2)
+				.satisfiesExactlyInAnyOrder(
+						statistics -> assertThat(statistics)
+								.returns(busy, GitRepositoryMaintenance.Statistics::repository)
+								.returns(0L, GitRepositoryMaintenance.Statistics::looseObjects)
+								.returns(1L, GitRepositoryMaintenance.Statistics::packFiles)
+								.returns(1L, GitRepositoryMaintenance.Statistics::bitmaps)
+								// the HEAD ref is never packed, only the branch refs are
+								.returns(1L, GitRepositoryMaintenance.Statistics::looseRefs)
+								.returns(now, GitRepositoryMaintenance.Statistics::maintainedAt)
+								.satisfies(it -> assertThat(it.packedObjects()).isPositive())
+								.satisfies(it -> assertThat(it.packedRefs()).isPositive()),
+						statistics -> assertThat(statistics)
+								.returns(idle, GitRepositoryMaintenance.Statistics::repository)
+								.returns(0L, GitRepositoryMaintenance.Statistics::packFiles)
+								.returns(null, GitRepositoryMaintenance.Statistics::maintainedAt)
+								.satisfies(it -> assertThat(it.looseObjects()).isPositive())
+								.satisfies(it -> assertThat(maintenance.requiresMaintenance(it)).isFalse())
+				);
+
+		assertThat(registry.get(GitRepositoryMaintenance.REPOSITORIES_METRIC_NAME).gauge().value())
+				.isEqualTo(2);
+
+		assertThat(registry.get(GitRepositoryMaintenance.PACK_FILES_METRIC_NAME).gauge().value())
+				.isEqualTo(1);
+
+		assertThat(registry.get(GitRepositoryMaintenance.SIZE_METRIC_NAME).gauge().value())
+				.isPositive();
+
+		assertThat(registry.get(GitRepositoryMaintenance.MAINTENANCE_METRIC_NAME).tag("outcome", "success").timer().count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("should keep the state of the repository readable after it was maintained")
+	void readMaintainedRepository(@TempDir(cleanup = CleanupMode.ALWAYS) Path directory) throws Exception {
+		final var service = createService(3L);
+		final var profile = createProfile(3L, "maintained", ProfilePolicy.UNPROTECTED);
+
+		try (var repository = GitStateRepository.initialize(service, directory)) {
+			repository.create(profile);
+			repository.commit(profile, changesetFor(profile, propertiesFor("server.port", "8080"), "Initial", "server.port"));
+		}
+
+		final var properties = new VaultProperties.Maintenance();
+		properties.setLooseObjectsThreshold(1);
+
+		final var maintenance = new GitRepositoryMaintenance(directory, properties);
+		maintenance.maintain();
+
+		assertThat(maintenance.statistics())
+				.singleElement()
+				.returns(0L, GitRepositoryMaintenance.Statistics::looseObjects);
+
+		try (var repository = GitStateRepository.load(service, directory)) {
+			assertThat(com.konfigyr.vault.Properties.from(repository.get(profile)))
+					.isEqualTo(propertiesFor("server.port", "8080"));
+		}
+	}
+
+	@Test
+	@DisplayName("should not fail when the repository directory does not exist")
+	void maintainMissingDirectory(@TempDir Path directory) {
+		final var maintenance = new GitRepositoryMaintenance(directory.resolve("missing"), new VaultProperties.Maintenance());
+		maintenance.maintain();
+
+		assertThat(maintenance.statistics()).isEmpty();
+		assertThat(maintenance.lastRun()).isNotNull();
+	}
+
+	static String createRepository(Path directory, long id, int commits) {
+		final var service = createService(id);
+
+		try (var repository = GitStateRepository.initialize(service, directory)) {
+			for (int i = 0; i < commits; i++) {
+				final var profile = createProfile(id * 100 + i, "profile-" + i, ProfilePolicy.UNPROTECTED);
+
+				repository.create(profile);
+				repository.commit(profile, changesetFor(profile,
+						propertiesFor("server.port", String.valueOf(8080 + i)), "Commit " + i, "server.port"));
+			}
+		}
+
+		return GitStateRepository.REPOSITORY_DIRECTORY_PREFIX + service.id().serialize();
+	}
+
+	static Service createService(long id) {
+		return Service.builder()
+				.id(id)
+				.namespace(1L)
+				.slug("service-" + id)
+				.name("Service " + id)
+				.build();
+	}
+
+}
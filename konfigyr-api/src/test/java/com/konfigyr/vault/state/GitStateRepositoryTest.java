@@ -1,12 +1,14 @@
 package com.konfigyr.vault.state;
 
 import com.konfigyr.entity.EntityId;
+import com.konfigyr.io.ByteArray;
 import com.konfigyr.namespace.Service;
 import com.konfigyr.security.AuthenticatedPrincipal;
 import com.konfigyr.vault.Profile;
 import com.konfigyr.vault.ProfilePolicy;
 import com.konfigyr.vault.Properties;
 import com.konfigyr.vault.PropertyChanges;
+import com.konfigyr.vault.PropertyValue;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,12 +19,18 @@ import org.junit.jupiter.api.io.TempDir;
 import org.springframework.data.domain.Pageable;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -193,6 +201,67 @@ class GitStateRepositoryTest {
 				.containsExactly("First changes", "Repository initialized for Service(EntityId(123567, 0000000003RNF), test-service)");
 	}
 
+	@Test
+	@DisplayName("should list and discard changeset branches using batched ref updates")
+	void discardChangesetBranches() {
+		final var profile = createProfile(90L, "test", ProfilePolicy.UNPROTECTED);
+		repository.create(profile);
+
+		final var first = repository.update(profile, changesetFor("First changes", null, "server.port=8080\n"));
+		final var second = repository.update(profile, changesetFor("Second changes", null, "server.port=8081\n"));
+		final var third = repository.update(profile, changesetFor("Third changes", null, "server.port=8082\n"));
+
+		assertThat(repository.changesets())
+				.hasSize(3)
+				.extracting(ChangesetBranch::name, ChangesetBranch::revision)
+				.containsExactlyInAnyOrder(
+						tuple(first.branch(), first.revision()),
+						tuple(second.branch(), second.revision()),
+						tuple(third.branch(), third.revision())
+				);
+
+		assertThat(repository.changesets())
+				.extracting(ChangesetBranch::timestamp)
+				.allSatisfy(timestamp -> assertThat(timestamp).isCloseTo(Instant.now(), within(2, ChronoUnit.SECONDS)));
+
+		final var changesets = repository.changesets().stream()
+				.map(it -> it.name().equals(second.branch())
+						? new ChangesetBranch(it.name(), first.revision(), it.timestamp())
+						: it)
+				.toList();
+
+		assertThat(repository.discard(changesets))
+				.as("Should discard all changesets except the one that points to a different revision")
+				.isEqualTo(2);
+
+		assertThat(repository.changesets())
+				.extracting(ChangesetBranch::name)
+				.containsExactly(second.branch());
+
+		assertThat(repository.get(profile, second.branch()))
+				.returns(second.revision(), RepositoryState::revision);
+
+		assertThat(repository.discard(repository.changesets()))
+				.isEqualTo(1);
+
+		assertThat(repository.changesets())
+				.isEmpty();
+
+		assertThat(repository.discard(List.of()))
+				.isZero();
+
+		assertThatExceptionOfType(RepositoryStateException.class)
+				.as("Should not discard branches that are not changeset branches")
+				.isThrownBy(() -> repository.discard(List.of(
+						new ChangesetBranch("refs/heads/test", first.revision(), Instant.now())
+				)))
+				.returns(RepositoryStateException.ErrorCode.INVALID_STATE, RepositoryStateException::getErrorCode);
+
+		assertThat(repository.get(profile))
+				.as("Profile state should not be affected by discarded changesets")
+				.isNotNull();
+	}
+
 	@Test
 	@DisplayName("should fail to merge changeset due to conflicts on the target profile branch")
 	void shouldFailToMergeDueToConflicts() throws Exception {
@@ -220,6 +289,343 @@ class GitStateRepositoryTest {
 						secondResult.branch(), profile.slug());
 	}
 
+	@Test
+	@DisplayName("should detect merge conflicts between profile and changeset revisions without modifying the profile")
+	void detectMergeConflicts() throws Exception {
+		final var profile = createProfile(122L, "test", ProfilePolicy.PROTECTED);
+
+		assertThatNoException()
+				.as("Should create a new branch for profile without exceptions")
+				.isThrownBy(() -> repository.create(profile));
+
+		final var first = repository.update(profile, changesetFor("First change", null, "server.port=8080\n"));
+		final var second = repository.update(profile, changesetFor("Second change", null, "server.port=8888\n"));
+		final var base = repository.get(profile).revision();
+
+		assertThat(repository.isConflicting(profile, base, first.revision()))
+				.as("Should be able to merge changeset into the unchanged profile revision")
+				.isFalse();
+
+		assertThat(repository.merge(profile, first.branch()))
+				.returns(true, MergeOutcome::isApplied);
+
+		final var target = repository.get(profile).revision();
+		final var files = countRepositoryFiles();
+
+		assertThat(repository.isConflicting(profile, target, second.revision()))
+				.as("Should detect conflicting changes made to the same property")
+				.isTrue();
+
+		assertThat(countRepositoryFiles())
+				.as("Should not write any objects to the repository when checking for conflicts")
+				.isEqualTo(files);
+
+		assertThat(repository.get(profile))
+				.as("Should not modify the profile state when checking for conflicts")
+				.returns(target, RepositoryState::revision);
+
+		assertThat(repository.merge(profile, second.branch()))
+				.as("Changeset should still be available after checking for conflicts")
+				.returns(true, MergeOutcome::isConflicting);
+
+		assertThatExceptionOfType(RepositoryStateException.class)
+				.isThrownBy(() -> repository.isConflicting(profile, target, "0".repeat(40)))
+				.returns(RepositoryStateException.ErrorCode.INVALID_STATE, RepositoryStateException::getErrorCode);
+	}
+
+	@Test
+	@DisplayName("should migrate the single state file to state shards and merge changes made to different shards")
+	void mergeShardedState() throws Exception {
+		final var profile = createProfile(121L, "test", ProfilePolicy.PROTECTED);
+
+		assertThatNoException()
+				.as("Should create a new branch for profile without exceptions")
+				.isThrownBy(() -> repository.create(profile));
+
+		final var initial = propertiesFor("server.port", "8080", "server.address", "localhost", "spring.profiles", "test");
+
+		final var initialResult = repository.update(profile, changesetFor(profile, initial, "Initial",
+				"server.port", "server.address", "spring.profiles"));
+
+		assertThat(repository.merge(profile, initialResult.branch()))
+				.returns(true, MergeOutcome::isApplied);
+
+		try (var sharded = GitStateRepository.load(service, root, StateLayout.SHARDED)) {
+			final var first = propertiesFor("server.port", "8081", "server.address", "localhost", "spring.profiles", "test");
+			final var second = propertiesFor("server.port", "8080", "server.address", "localhost", "spring.profiles", "prod");
+
+			final var firstResult = sharded.update(profile, changesetFor(profile, first, "First", "server.port"));
+			final var secondResult = sharded.update(profile, changesetFor(profile, second, "Second", "spring.profiles"));
+
+			assertThat(sharded.merge(profile, firstResult.branch()))
+					.as("Should migrate the profile state to shards")
+					.returns(true, MergeOutcome::isApplied);
+
+			assertThat(sharded.merge(profile, secondResult.branch()))
+					.as("Should merge changes made to different properties")
+					.returns(true, MergeOutcome::isApplied);
+
+			assertThat(Properties.from(sharded.get(profile)))
+					.isEqualTo(propertiesFor("server.port", "8081", "server.address", "localhost", "spring.profiles", "prod"));
+
+			final var third = propertiesFor("server.port", "9090", "server.address", "localhost", "spring.profiles", "prod");
+			final var fourth = propertiesFor("server.port", "9091", "spring.profiles", "prod");
+
+			final var thirdResult = sharded.update(profile, changesetFor(profile, third, "Third", "server.port"));
+			final var fourthResult = sharded.update(profile, changesetFor(profile, fourth, "Fourth",
+					"server.port", "server.address"));
+
+			assertThat(sharded.merge(profile, thirdResult.branch()))
+					.returns(true, MergeOutcome::isApplied);
+
+			assertThat(sharded.merge(profile, fourthResult.branch()))
+					.as("Should fail to merge changes made to the same property")
+					.returns(false, MergeOutcome::isApplied)
+					.returns(true, MergeOutcome::isConflicting)
+					.extracting(MergeOutcome::conflicts, InstanceOfAssertFactories.STRING)
+					.startsWith("<<<<<<< %s\nserver.port=".formatted(fourthResult.branch()))
+					.doesNotContain("server.address");
+		}
+
+		assertThat(Properties.from(repository.get(profile)))
+				.as("Sharded state should be readable by a repository using the single file layout")
+				.isEqualTo(propertiesFor("server.port", "9090", "server.address", "localhost", "spring.profiles", "prod"));
+	}
+
+	@Test
+	@DisplayName("should commit changeset directly to the profile and merge changesets prepared from stale revisions")
+	void commitChangesetToProfile() throws Exception {
+		final var profile = createProfile(124L, "direct", ProfilePolicy.UNPROTECTED);
+
+		repository.create(profile);
+
+		final var initial = propertiesFor("server.port", "8080", "server.address", "localhost");
+		final var initialRevision = repository.get(profile).revision();
+
+		assertThat(repository.commit(profile, withRevision(changesetFor(profile, initial, "Initial",
+				"server.port", "server.address"), initialRevision)))
+				.returns(true, MergeOutcome::isApplied)
+				.returns("refs/heads/profile/" + profile.slug(), MergeOutcome::branch)
+				.returns(repository.get(profile).revision(), MergeOutcome::revision);
+
+		final var base = repository.get(profile).revision();
+
+		assertThat(repository.commit(profile, withRevision(changesetFor(profile,
+				propertiesFor("server.port", "8081", "server.address", "localhost"), "First", "server.port"), base)))
+				.returns(true, MergeOutcome::isApplied);
+
+		final var stale = withRevision(changesetFor(profile,
+				propertiesFor("server.port", "8080", "server.address", "127.0.0.1"), "Second", "server.address"), base);
+
+		assertThatExceptionOfType(RepositoryStateException.class)
+				.as("Should reject the changeset as the profile has moved since it was prepared")
+				.isThrownBy(() -> repository.commit(profile, stale))
+				.returns(RepositoryStateException.ErrorCode.CONFLICT, RepositoryStateException::getErrorCode);
+
+		final var update = repository.update(profile, stale);
+
+		assertThat(repository.merge(profile, update.branch()))
+				.as("Should merge the changeset that was based on the stale revision")
+				.returns(true, MergeOutcome::isApplied);
+
+		assertThat(Properties.from(repository.get(profile)))
+				.as("Should retain the changes that were made after the changeset was prepared")
+				.isEqualTo(propertiesFor("server.port", "8081", "server.address", "127.0.0.1"));
+	}
+
+	@Test
+	@DisplayName("should retrieve the configuration state of a profile at a given revision")
+	void retrieveStateAtRevision() throws Exception {
+		final var profile = createProfile(124L, "direct", ProfilePolicy.UNPROTECTED);
+		final var other = createProfile(125L, "other", ProfilePolicy.UNPROTECTED);
+
+		repository.create(profile);
+		repository.create(other);
+
+		final var first = repository.commit(profile, changesetFor(profile,
+				propertiesFor("server.port", "8080"), "First", "server.port"));
+
+		repository.commit(profile, changesetFor(profile,
+				propertiesFor("server.port", "8081", "server.address", "localhost"), "Second", "server.address"));
+
+		assertThat(repository.snapshot(profile, first.revision()))
+				.returns(first.revision(), RepositoryState::revision)
+				.satisfies(state -> assertThat(Properties.from(state))
+						.isEqualTo(propertiesFor("server.port", "8080")));
+
+		assertThat(Properties.from(repository.snapshot(profile, repository.get(profile).revision())))
+				.isEqualTo(propertiesFor("server.port", "8081", "server.address", "localhost"));
+
+		assertThatExceptionOfType(RepositoryStateException.class)
+				.as("Should not retrieve state of a revision that is not part of the profile history")
+				.isThrownBy(() -> repository.snapshot(other, first.revision()))
+				.returns(RepositoryStateException.ErrorCode.INVALID_STATE, RepositoryStateException::getErrorCode);
+
+		assertThatExceptionOfType(RepositoryStateException.class)
+				.as("Should not retrieve state of an unknown revision")
+				.isThrownBy(() -> repository.snapshot(profile, "0000000000000000000000000000000000000000"))
+				.returns(RepositoryStateException.ErrorCode.INVALID_STATE, RepositoryStateException::getErrorCode);
+
+		assertThatExceptionOfType(RepositoryStateException.class)
+				.as("Should not retrieve state of an invalid revision")
+				.isThrownBy(() -> repository.snapshot(profile, "invalid-revision"))
+				.returns(RepositoryStateException.ErrorCode.INVALID_STATE, RepositoryStateException::getErrorCode);
+	}
+
+	@Test
+	@DisplayName("should create a profile branch from the revision of an existing profile")
+	void createProfileFromSource() throws Exception {
+		final var source = createProfile(124L, "source", ProfilePolicy.UNPROTECTED);
+		final var preview = createProfile(125L, "preview", ProfilePolicy.UNPROTECTED);
+		final var latest = createProfile(126L, "latest", ProfilePolicy.UNPROTECTED);
+		final var other = createProfile(127L, "other", ProfilePolicy.UNPROTECTED);
+
+		repository.create(source);
+		repository.create(other);
+
+		final var first = repository.commit(source, changesetFor(source,
+				propertiesFor("server.port", "8080"), "First", "server.port"));
+
+		final var second = repository.commit(source, changesetFor(source,
+				propertiesFor("server.port", "8081", "server.address", "localhost"), "Second", "server.address"));
+
+		assertThat(repository.create(preview, source, first.revision()))
+				.isEqualTo(first.revision());
+
+		assertThat(repository.get(preview))
+				.returns(first.revision(), RepositoryState::revision)
+				.satisfies(state -> assertThat(Properties.from(state))
+						.isEqualTo(propertiesFor("server.port", "8080")));
+
+		assertThat(repository.create(latest, source, null))
+				.isEqualTo(second.revision());
+
+		assertThat(Properties.from(repository.get(latest)))
+				.isEqualTo(propertiesFor("server.port", "8081", "server.address", "localhost"));
+
+		assertThatExceptionOfType(RepositoryStateException.class)
+				.as("Should not create a profile branch that already exists")
+				.isThrownBy(() -> repository.create(preview, source, null))
+				.returns(RepositoryStateException.ErrorCode.PROFILE_ALREADY_EXISTS, RepositoryStateException::getErrorCode);
+
+		assertThatExceptionOfType(RepositoryStateException.class)
+				.as("Should not create a profile branch from a revision that is not part of the source profile history")
+				.isThrownBy(() -> repository.create(createProfile(128L, "invalid", ProfilePolicy.UNPROTECTED), other, first.revision()))
+				.returns(RepositoryStateException.ErrorCode.INVALID_STATE, RepositoryStateException::getErrorCode);
+
+		assertThatExceptionOfType(RepositoryStateException.class)
+				.as("Should not create a profile branch from an unknown source profile")
+				.isThrownBy(() -> repository.create(createProfile(128L, "invalid", ProfilePolicy.UNPROTECTED),
+						createProfile(129L, "unknown", ProfilePolicy.UNPROTECTED), null))
+				.returns(RepositoryStateException.ErrorCode.UNKNOWN_PROFILE, RepositoryStateException::getErrorCode);
+	}
+
+	@Test
+	@DisplayName("should create a profile branch pointing to the changeset committed on top of an existing profile")
+	void createProfileFromSourceWithChangeset() {
+		final var source = createProfile(130L, "source", ProfilePolicy.UNPROTECTED);
+		final var seeded = createProfile(131L, "seeded", ProfilePolicy.UNPROTECTED);
+		final var other = createProfile(132L, "other", ProfilePolicy.UNPROTECTED);
+
+		repository.create(source);
+		repository.create(other);
+
+		final var first = repository.commit(source, changesetFor(source,
+				propertiesFor("server.port", "8080"), "First", "server.port"));
+
+		repository.commit(source, changesetFor(source,
+				propertiesFor("server.port", "8081"), "Second", "server.port"));
+
+		final var outcome = repository.create(seeded, source, withRevision(changesetFor(seeded,
+				propertiesFor("server.port", "9090"), "Seeded", "server.port"), first.revision()));
+
+		assertThat(outcome)
+				.returns(true, MergeOutcome::isApplied)
+				.returns(repository.get(seeded).revision(), MergeOutcome::revision);
+
+		assertThat(Properties.from(repository.get(seeded)))
+				.isEqualTo(propertiesFor("server.port", "9090"));
+
+		assertThat(repository.history(seeded, Pageable.ofSize(5)))
+				.as("Should create the profile branch directly at the commit on top of the source revision")
+				.extracting(RepositoryVersion::revision)
+				.startsWith(outcome.revision(), first.revision());
+
+		assertThatExceptionOfType(RepositoryStateException.class)
+				.as("Should not create a profile branch that already exists")
+				.isThrownBy(() -> repository.create(seeded, source, changesetFor(seeded,
+						propertiesFor("server.port", "9091"), "Again", "server.port")))
+				.returns(RepositoryStateException.ErrorCode.PROFILE_ALREADY_EXISTS, RepositoryStateException::getErrorCode);
+
+		assertThat(repository.get(seeded).revision())
+				.as("Should not move the existing profile branch")
+				.isEqualTo(outcome.revision());
+
+		assertThatExceptionOfType(RepositoryStateException.class)
+				.as("Should not create a profile branch from a revision that is not part of the source profile history")
+				.isThrownBy(() -> repository.create(createProfile(133L, "invalid", ProfilePolicy.UNPROTECTED), other,
+						withRevision(changesetFor(seeded, propertiesFor("server.port", "9090"), "Invalid", "server.port"),
+								first.revision())))
+				.returns(RepositoryStateException.ErrorCode.INVALID_STATE, RepositoryStateException::getErrorCode);
+	}
+
+	@Test
+	@DisplayName("should atomically commit changesets to multiple profiles and reject stale profile revisions")
+	void commitChangesetsToProfiles() throws Exception {
+		final var first = createProfile(122L, "first", ProfilePolicy.UNPROTECTED);
+		final var second = createProfile(123L, "second", ProfilePolicy.UNPROTECTED);
+
+		repository.create(first);
+		repository.create(second);
+
+		final var firstRevision = repository.get(first).revision();
+		final var secondRevision = repository.get(second).revision();
+
+		final var outcomes = repository.commit(Map.of(
+				first, withRevision(changesetFor(first, propertiesFor("server.port", "8080"), "Batch", "server.port"), firstRevision),
+				second, withRevision(changesetFor(second, propertiesFor("server.port", "9090"), "Batch", "server.port"), secondRevision)
+		));
+
+		assertThat(outcomes)
+				.hasSize(2)
+				.allSatisfy((profile, outcome) -> assertThat(outcome)
+						.returns(true, MergeOutcome::isApplied)
+						.returns(repository.get(profile).revision(), MergeOutcome::revision)
+				);
+
+		assertThat(Properties.from(repository.get(first)))
+				.isEqualTo(propertiesFor("server.port", "8080"));
+
+		assertThat(Properties.from(repository.get(second)))
+				.isEqualTo(propertiesFor("server.port", "9090"));
+
+		final var currentRevision = repository.get(second).revision();
+
+		assertThatExceptionOfType(RepositoryStateException.class)
+				.as("Should reject the batch as the first profile revision is stale")
+				.isThrownBy(() -> repository.commit(Map.of(
+						first, withRevision(changesetFor(first, propertiesFor("server.port", "8081"), "Stale", "server.port"), firstRevision),
+						second, withRevision(changesetFor(second, propertiesFor("server.port", "9091"), "Stale", "server.port"), currentRevision)
+				)))
+				.returns(RepositoryStateException.ErrorCode.CONFLICT, RepositoryStateException::getErrorCode);
+
+		assertThat(repository.get(second).revision())
+				.as("Should not update any profile when the batch is rejected")
+				.isEqualTo(currentRevision);
+
+		assertThat(Properties.from(repository.get(second)))
+				.isEqualTo(propertiesFor("server.port", "9090"));
+	}
+
+	@Test
+	@DisplayName("should resolve the state shard path for property names")
+	void resolveShardPath() {
+		assertThat(GitStateRepository.formatShardPath("server.port"))
+				.matches("shards/[0-9a-f]{2}")
+				.isEqualTo(GitStateRepository.formatShardPath("server.port"))
+				.isNotEqualTo(GitStateRepository.formatShardPath("spring.profiles"));
+	}
+
 	@Test
 	@DisplayName("should discard changeset by removing the branch from the service Git repository")
 	void discardChangeset() throws Exception {
@@ -260,6 +666,77 @@ class GitStateRepositoryTest {
 				.withMessageContaining("Failed to discard changes from changeset 'unknown'");
 	}
 
+	@Test
+	@DisplayName("should restore the service Git repository from full and incremental bundles")
+	void bundleAndRestoreRepository(@TempDir(cleanup = CleanupMode.ALWAYS) Path target) {
+		final var profile = createProfile(121L, "test", ProfilePolicy.UNPROTECTED);
+		repository.create(profile);
+
+		final var first = repository.update(profile, changesetFor(profile,
+				propertiesFor("server.port", "8080"), "Initial state", "server.port"));
+		repository.merge(profile, first.branch());
+
+		final var full = new ByteArrayOutputStream();
+		final var watermark = repository.references();
+		repository.bundle(watermark, Set.of(), full);
+
+		final var second = repository.update(profile, changesetFor(profile,
+				propertiesFor("server.port", "9090", "server.address", "localhost"), "Next state", "server.port", "server.address"));
+		repository.merge(profile, second.branch());
+
+		final var incremental = new ByteArrayOutputStream();
+		final var references = repository.references();
+		repository.bundle(references, Set.copyOf(watermark.values()), incremental);
+
+		assertThat(references)
+				.as("Should contain the default and the profile branches")
+				.hasSize(2)
+				.containsKey("refs/heads/profile/test")
+				.isNotEqualTo(watermark);
+
+		try (GitStateRepository restored = GitStateRepository.initialize(service, target)) {
+			assertThatExceptionOfType(RepositoryStateException.class)
+					.as("Should fail to restore incremental bundle without its prerequisites")
+					.isThrownBy(() -> restored.restore(new ByteArrayInputStream(incremental.toByteArray())))
+					.returns(RepositoryStateException.ErrorCode.INVALID_STATE, RepositoryStateException::getErrorCode)
+					.withMessageContaining("prerequisites are missing");
+
+			assertThat(restored.restore(new ByteArrayInputStream(full.toByteArray())))
+					.isEqualTo(watermark);
+
+			assertThat(restored.restore(new ByteArrayInputStream(incremental.toByteArray())))
+					.isEqualTo(references);
+
+			assertThat(restored.references())
+					.isEqualTo(references);
+
+			assertThat(Properties.from(restored.get(profile)))
+					.isEqualTo(propertiesFor("server.port", "9090", "server.address", "localhost"));
+
+			assertThat(restored.history(profile, Pageable.ofSize(10)))
+					.hasSize(3);
+		}
+	}
+
+	@Test
+	@DisplayName("should remove branches that are not present in the restored bundle")
+	void restoreRemovesUnknownBranches(@TempDir(cleanup = CleanupMode.ALWAYS) Path target) {
+		final var bundle = new ByteArrayOutputStream();
+		final var references = repository.references();
+		repository.bundle(references, Set.of(), bundle);
+
+		try (GitStateRepository restored = GitStateRepository.initialize(service, target)) {
+			restored.create(createProfile(122L, "staging", ProfilePolicy.UNPROTECTED));
+
+			assertThat(restored.restore(new ByteArrayInputStream(bundle.toByteArray())))
+					.isEqualTo(references)
+					.doesNotContainKey("refs/heads/profile/staging");
+
+			assertThat(restored.references())
+					.isEqualTo(references);
+		}
+	}
+
 	@Test
 	@DisplayName("should fail to create a changeset branch for an unknown profile")
 	void createChangesetForUnknownProfile() throws Exception {
@@ -383,6 +860,12 @@ class GitStateRepositoryTest {
 				.withMessageContaining("Can not perform operations on a closed repository");
 	}
 
+	long countRepositoryFiles() throws IOException {
+		try (var files = Files.walk(root.resolve("service-repository-%s".formatted(service.id().serialize())))) {
+			return files.filter(Files::isRegularFile).count();
+		}
+	}
+
 	static Changeset changesetFor(String subject, String description, String contents) throws IOException {
 		final var author = mock(AuthenticatedPrincipal.class);
 		doReturn("test-author").when(author).get();
@@ -399,6 +882,38 @@ class GitStateRepositoryTest {
 		return new Changeset(author, properties, changes);
 	}
 
+	static Changeset withRevision(Changeset changeset, String revision) {
+		return new Changeset(changeset.author(), changeset.properties(), changeset.changes(), revision);
+	}
+
+	static Changeset changesetFor(Profile profile, Properties properties, String subject, String... changed) {
+		final var author = mock(AuthenticatedPrincipal.class);
+		doReturn("test-author").when(author).get();
+		doReturn(Optional.of("author@test.com")).when(author).getEmail();
+		doReturn(Optional.of("Test Author")).when(author).getDisplayName();
+
+		final var changes = PropertyChanges.builder()
+				.profile(profile)
+				.subject(subject);
+
+		for (String name : changed) {
+			changes.modifyProperty(name, "changed");
+		}
+
+		return new Changeset(author, properties, changes.build());
+	}
+
+	static Properties propertiesFor(String... pairs) {
+		final var builder = Properties.builder();
+
+		for (int i = 0; i < pairs.length; i += 2) {
+			final var value = new ByteArray(pairs[i + 1].getBytes(StandardCharsets.UTF_8));
+			builder.add(pairs[i], PropertyValue.sealed(value, value));
+		}
+
+		return builder.build();
+	}
+
 	static Profile createProfile(long id, String name, ProfilePolicy policy) {
 		return Profile.builder()
 				.id(EntityId.from(id))
@@ -0,0 +1,119 @@
+package com.konfigyr.vault.state;
+
+import com.konfigyr.io.ByteArray;
+import com.konfigyr.vault.Properties;
+import com.konfigyr.vault.PropertyValue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PropertiesMergerTest {
+
+	@Test
+	@DisplayName("should merge changes made to different properties")
+	void mergeDisjointChanges() {
+		final var base = properties("a", "1", "b", "2", "c", "3");
+		final var ours = properties("a", "10", "b", "2", "c", "3", "d", "4");
+		final var theirs = properties("a", "1", "b", "20", "e", "5");
+
+		final var result = PropertiesMerger.merge(base, ours, theirs);
+
+		assertThat(result.isConflicting())
+				.isFalse();
+
+		assertThat(result.properties())
+				.isEqualTo(properties("a", "10", "b", "20", "d", "4", "e", "5"));
+	}
+
+	@Test
+	@DisplayName("should merge when both sides applied the same change")
+	void mergeSameChanges() {
+		final var base = properties("a", "1", "b", "2");
+		final var ours = properties("a", "10");
+		final var theirs = properties("a", "10");
+
+		final var result = PropertiesMerger.merge(base, ours, theirs);
+
+		assertThat(result.conflicts())
+				.isEmpty();
+
+		assertThat(result.properties())
+				.isEqualTo(properties("a", "10"));
+	}
+
+	@Test
+	@DisplayName("should report a conflict when both sides changed the same property")
+	void conflictingChanges() throws Exception {
+		final var base = properties("a", "1", "b", "2");
+		final var ours = properties("a", "10", "b", "2");
+		final var theirs = properties("a", "11", "b", "20");
+
+		final var result = PropertiesMerger.merge(base, ours, theirs);
+
+		assertThat(result.isConflicting())
+				.isTrue();
+
+		assertThat(result.conflicts())
+				.containsExactly(new PropertiesMerger.Conflict("a", value("10"), value("11")));
+
+		assertThat(result.format("changeset", "profile"))
+				.startsWith("<<<<<<< changeset\na={crypto:" + value("10").get().encodeHex())
+				.contains("=======\na={crypto:" + value("11").get().encodeHex())
+				.endsWith(">>>>>>> profile\n");
+	}
+
+	@Test
+	@DisplayName("should report a conflict when one side removed a property that was changed by the other side")
+	void conflictingRemovals() throws Exception {
+		final var base = properties("a", "1", "b", "2");
+		final var ours = properties("b", "2");
+		final var theirs = properties("a", "11", "b", "2");
+
+		final var result = PropertiesMerger.merge(base, ours, theirs);
+
+		assertThat(result.conflicts())
+				.containsExactly(new PropertiesMerger.Conflict("a", null, value("11")));
+
+		assertThat(result.format("changeset", "profile"))
+				.startsWith("<<<<<<< changeset\n=======\na=")
+				.endsWith(">>>>>>> profile\n");
+
+		assertThat(PropertiesMerger.merge(base, theirs, ours).conflicts())
+				.containsExactly(new PropertiesMerger.Conflict("a", value("11"), null));
+	}
+
+	@Test
+	@DisplayName("should remove properties that were removed by one side and left unchanged by the other")
+	void mergeRemovals() {
+		final var base = properties("a", "1", "b", "2", "c", "3");
+		final var ours = properties("a", "1", "c", "3");
+		final var theirs = properties("a", "1", "b", "2");
+
+		final var result = PropertiesMerger.merge(base, ours, theirs);
+
+		assertThat(result.isConflicting())
+				.isFalse();
+
+		assertThat(result.properties())
+				.isEqualTo(properties("a", "1"));
+	}
+
+	static Properties properties(String... pairs) {
+		final Properties.Builder builder = Properties.builder();
+
+		for (int i = 0; i < pairs.length; i += 2) {
+			builder.add(pairs[i], value(pairs[i + 1]));
+		}
+
+		return builder.build();
+	}
+
+	static PropertyValue value(String value) {
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		return PropertyValue.sealed(new ByteArray(bytes), new ByteArray(bytes));
+	}
+
+}
@@ -140,19 +140,18 @@ class RepositoryVaultTest {
 
 		doReturn(state).when(stateRepository).get(profile);
 
-		final var updateOutcome = MergeOutcome.applied("changeset-branch", state.author(), "updated-revision");
-		doReturn(updateOutcome).when(stateRepository).update(eq(profile), any());
-
-		final var mergeOutcome = MergeOutcome.applied("profile-branch", state.author(), "merged-revision");
-		doReturn(mergeOutcome).when(stateRepository).merge(profile, updateOutcome.branch());
+		final var commitOutcome = MergeOutcome.applied("profile-branch", state.author(), "committed-revision");
+		doReturn(commitOutcome).when(stateRepository).commit(eq(profile), argThat(changeset ->
+				state.revision().equals(changeset.revision())
+		));
 
 		assertThatObject(vault.apply(changes))
-				.returns(mergeOutcome.revision(), ApplyResult::revision)
+				.returns(commitOutcome.revision(), ApplyResult::revision)
 				.returns(state.revision(), ApplyResult::previousRevision)
 				.returns(changes.subject(), ApplyResult::subject)
 				.returns(changes.description(), ApplyResult::description)
 				.returns(author, ApplyResult::author)
-				.returns(mergeOutcome.timestamp(), ApplyResult::timestamp)
+				.returns(commitOutcome.timestamp(), ApplyResult::timestamp)
 				.extracting(ApplyResult::changes, InstanceOfAssertFactories.iterable(PropertyTransition.class))
 				.hasSize(changes.size())
 				.satisfiesExactly(
@@ -177,9 +176,96 @@ class RepositoryVaultTest {
 								.returns(null, PropertyTransition::to)
 				);
 
+		assertThat(vault.state())
+				.as("should update the cached configuration state with the committed changes")
+				.hasSize(2);
+
+		verify(stateRepository).get(profile);
+		verify(stateRepository, never()).update(any(), any());
+		verify(stateRepository, never()).merge(any(), any());
+	}
+
+	@Test
+	@DisplayName("should merge configuration changes to unprotected profile when the profile state was concurrently modified")
+	void mergeChangesToConcurrentlyModifiedProfile() {
+		doReturn(EntityId.from(9361)).when(profile).id();
+		doReturn(ProfilePolicy.UNPROTECTED).when(profile).policy();
+
+		final var changes = PropertyChanges.builder()
+				.profile(profile)
+				.subject("Incoming changes")
+				.createProperty("server.port", "8080")
+				.build();
+
+		final var state = RepositoryState.builder()
+				.revision("previous-revision")
+				.summary("Latest configuration state")
+				.author("john.doe@konfigyr.com")
+				.timestamp(OffsetDateTime.now())
+				.contents(() -> new ByteArrayInputStream(new byte[0]))
+				.build();
+
+		doReturn(state).when(stateRepository).get(profile);
+
+		doThrow(new RepositoryStateException(RepositoryStateException.ErrorCode.CONFLICT, "Concurrent modification"))
+				.when(stateRepository).commit(eq(profile), any());
+
+		final var updateOutcome = MergeOutcome.applied("changeset-branch", state.author(), "updated-revision");
+		doReturn(updateOutcome).when(stateRepository).update(eq(profile), argThat(changeset ->
+				state.revision().equals(changeset.revision())
+		));
+
+		final var mergeOutcome = MergeOutcome.applied("profile-branch", state.author(), "merged-revision");
+		doReturn(mergeOutcome).when(stateRepository).merge(profile, updateOutcome.branch());
+
+		assertThatObject(vault.apply(changes))
+				.returns(mergeOutcome.revision(), ApplyResult::revision)
+				.returns(state.revision(), ApplyResult::previousRevision)
+				.returns(mergeOutcome.timestamp(), ApplyResult::timestamp)
+				.extracting(ApplyResult::changes, InstanceOfAssertFactories.iterable(PropertyTransition.class))
+				.hasSize(1);
+
+		assertThat(vault.state())
+				.as("should read the merged configuration state from the repository")
+				.isNotNull();
+
+		verify(stateRepository, times(2)).get(profile);
 		verify(stateRepository, never()).discard(profile, updateOutcome.branch());
 	}
 
+	@Test
+	@DisplayName("should fail to apply configuration changes when the direct commit fails for reasons other than conflicts")
+	void failToCommitChangesToUnprotectedProfile() {
+		doReturn(EntityId.from(9361)).when(profile).id();
+		doReturn(ProfilePolicy.UNPROTECTED).when(profile).policy();
+
+		final var changes = PropertyChanges.builder()
+				.profile(profile)
+				.subject("Incoming changes")
+				.createProperty("server.port", "8080")
+				.build();
+
+		final var state = RepositoryState.builder()
+				.revision("previous-revision")
+				.summary("Latest configuration state")
+				.author("john.doe@konfigyr.com")
+				.timestamp(OffsetDateTime.now())
+				.contents(() -> new ByteArrayInputStream(new byte[0]))
+				.build();
+
+		doReturn(state).when(stateRepository).get(profile);
+
+		final var cause = new RepositoryStateException(RepositoryStateException.ErrorCode.UNAVAILABLE, "I/O failure");
+		doThrow(cause).when(stateRepository).commit(eq(profile), any());
+
+		assertThatException()
+				.isThrownBy(() -> vault.apply(changes))
+				.isSameAs(cause);
+
+		verify(stateRepository, never()).update(any(), any());
+		verify(stateRepository, never()).merge(any(), any());
+	}
+
 	@Test
 	@DisplayName("should fail to apply configuration changes when changeset branch returns a conflicting outcome")
 	void conflictingChangesetBranchOutcomeWhenApplying() {
@@ -202,6 +288,9 @@ class RepositoryVaultTest {
 
 		doReturn(state).when(stateRepository).get(profile);
 
+		doThrow(new RepositoryStateException(RepositoryStateException.ErrorCode.CONFLICT, "Concurrent modification"))
+				.when(stateRepository).commit(eq(profile), any());
+
 		final var updateOutcome = MergeOutcome.conflicting("changeset-branch", state.author(), "conflict");
 		doReturn(updateOutcome).when(stateRepository).update(eq(profile), any());
 
@@ -238,6 +327,9 @@ class RepositoryVaultTest {
 
 		doReturn(state).when(stateRepository).get(profile);
 
+		doThrow(new RepositoryStateException(RepositoryStateException.ErrorCode.CONFLICT, "Concurrent modification"))
+				.when(stateRepository).commit(eq(profile), any());
+
 		final var updateOutcome = MergeOutcome.unknown("changeset-branch", state.author());
 		doReturn(updateOutcome).when(stateRepository).update(eq(profile), any());
 
@@ -274,6 +366,9 @@ class RepositoryVaultTest {
 
 		doReturn(state).when(stateRepository).get(profile);
 
+		doThrow(new RepositoryStateException(RepositoryStateException.ErrorCode.CONFLICT, "Concurrent modification"))
+				.when(stateRepository).commit(eq(profile), any());
+
 		final var updateOutcome = MergeOutcome.applied("changeset-branch", state.author(), state.revision());
 		doReturn(updateOutcome).when(stateRepository).update(eq(profile), any());
 
@@ -312,6 +407,9 @@ class RepositoryVaultTest {
 
 		doReturn(state).when(stateRepository).get(profile);
 
+		doThrow(new RepositoryStateException(RepositoryStateException.ErrorCode.CONFLICT, "Concurrent modification"))
+				.when(stateRepository).commit(eq(profile), any());
+
 		final var updateOutcome = MergeOutcome.applied("changeset-branch", state.author(), state.revision());
 		doReturn(updateOutcome).when(stateRepository).update(eq(profile), any());
 
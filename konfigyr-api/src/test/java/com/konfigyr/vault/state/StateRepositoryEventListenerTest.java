@@ -1,16 +1,17 @@
 package com.konfigyr.vault.state;
 
+import com.konfigyr.crypto.KeysetOperations;
 import com.konfigyr.crypto.KeysetOperationsFactory;
 import com.konfigyr.entity.EntityId;
 import com.konfigyr.namespace.Service;
 import com.konfigyr.namespace.ServiceEvent;
 import com.konfigyr.namespace.ServiceNotFoundException;
 import com.konfigyr.namespace.Services;
-import com.konfigyr.vault.Profile;
-import com.konfigyr.vault.ProfileEvent;
-import com.konfigyr.vault.ProfilePolicy;
-import com.konfigyr.vault.VaultExtension;
+import com.konfigyr.security.AuthenticatedPrincipal;
+import com.konfigyr.test.TestKeysetOperations;
+import com.konfigyr.vault.*;
 import com.konfigyr.vault.changes.ChangeRequestManager;
+import com.konfigyr.vault.history.ChangeHistoryService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,9 +19,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.CleanupMode;
 import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.Optional;
 
@@ -49,6 +53,14 @@ class StateRepositoryEventListenerTest {
 	@Mock
 	Services services;
 
+	@Mock
+	ChangeHistoryService history;
+
+	@Mock
+	KeysetOperationsFactory keysetOperationsFactory;
+
+	final KeysetOperations keysetOperations = TestKeysetOperations.create();
+
 	StateRepository repository;
 
 	StateRepositoryEventListener listener;
@@ -56,10 +68,10 @@ class StateRepositoryEventListenerTest {
 	@BeforeEach
 	void setup(@TempDir(cleanup = CleanupMode.ALWAYS) Path directory) {
 		final var factory = new VaultStateManager(mock(VaultExtension.class), directory,
-				mock(ChangeRequestManager.class), mock(KeysetOperationsFactory.class));
+				StateLayout.SINGLE, mock(ChangeRequestManager.class), mock(KeysetOperationsFactory.class));
 
 		root = directory;
-		listener = new StateRepositoryEventListener(services, factory);
+		listener = new StateRepositoryEventListener(services, factory, history, keysetOperationsFactory);
 	}
 
 	@AfterEach
@@ -105,6 +117,94 @@ class StateRepositoryEventListenerTest {
 		verify(services).get(profile.service());
 	}
 
+	@Test
+	@DisplayName("should create profile branch from the source profile when profile created event is published")
+	void provisionProfileFromSource() throws Exception {
+		repository = GitStateRepository.initialize(service, root);
+
+		final var source = Profile.builder()
+				.id(EntityId.from(11))
+				.service(service.id())
+				.name("source-profile")
+				.policy(ProfilePolicy.UNPROTECTED)
+				.build();
+
+		repository.create(source);
+
+		final var value = PropertyValue.create(source.id(), "server.port", "8080").seal(keysetOperations);
+		final var properties = Properties.builder().add("server.port", value).build();
+		final var outcome = repository.commit(source, GitStateRepositoryTest.changesetFor(
+				source, properties, "Initial", "server.port"));
+
+		doReturn(Optional.of(service)).when(services).get(service.id());
+		doReturn(keysetOperations).when(keysetOperationsFactory).create(any());
+
+		final var author = mock(AuthenticatedPrincipal.class);
+		final var event = new ProfileEvent.Created(profile, new ProfileSource(source, null, author));
+
+		assertThatNoException()
+				.as("Should create profile branch")
+				.isThrownBy(() -> listener.provisionServiceProfile(event));
+
+		final var state = repository.get(profile);
+
+		assertThat(repository.history(profile, Pageable.ofSize(5)))
+				.as("Should create the profile branch at the resealed state committed on top of the source profile revision")
+				.extracting(RepositoryVersion::revision)
+				.startsWith(state.revision(), outcome.revision());
+
+		final var resealed = Properties.from(state).get("server.port").orElseThrow();
+
+		assertThat(resealed)
+				.as("Should reseal the property value with a checksum derived from the new profile")
+				.returns(true, PropertyValue::isSealed)
+				.returns(PropertyValue.create(profile.id(), "server.port", "8080").checksum(), PropertyValue::checksum)
+				.isNotEqualTo(value);
+
+		assertThat(resealed.unseal(keysetOperations).toString(StandardCharsets.UTF_8))
+				.isEqualTo("8080");
+
+		final var captor = ArgumentCaptor.forClass(ApplyResult.class);
+		verify(history).record(eq(profile.id()), captor.capture());
+
+		assertThat(captor.getValue())
+				.returns(state.revision(), ApplyResult::revision)
+				.returns(null, ApplyResult::previousRevision)
+				.returns(author, ApplyResult::author)
+				.returns("Created from profile 'source-profile'", ApplyResult::subject)
+				.satisfies(result -> assertThat(result.changes())
+						.containsExactly(PropertyTransition.added("server.port", resealed)));
+	}
+
+	@Test
+	@DisplayName("should not record change history when the source profile has no state")
+	void provisionProfileFromEmptySource() {
+		repository = GitStateRepository.initialize(service, root);
+
+		final var source = Profile.builder()
+				.id(EntityId.from(11))
+				.service(service.id())
+				.name("source-profile")
+				.policy(ProfilePolicy.UNPROTECTED)
+				.build();
+
+		repository.create(source);
+
+		doReturn(Optional.of(service)).when(services).get(service.id());
+
+		final var event = new ProfileEvent.Created(profile, new ProfileSource(source, null, mock(AuthenticatedPrincipal.class)));
+
+		assertThatNoException()
+				.as("Should create profile branch")
+				.isThrownBy(() -> listener.provisionServiceProfile(event));
+
+		assertThatNoException()
+				.as("Should read the state of the profile branch")
+				.isThrownBy(() -> repository.get(profile));
+
+		verifyNoInteractions(history, keysetOperationsFactory);
+	}
+
 	@Test
 	@DisplayName("should fail to create profile branch when service is not found")
 	void provisionProfileForUnknownService() {
@@ -0,0 +1,334 @@
+package com.konfigyr.vault.state;
+
+import com.konfigyr.crypto.KeyDefinition;
+import com.konfigyr.crypto.KeysetStore;
+import com.konfigyr.crypto.tink.TinkAlgorithm;
+import com.konfigyr.entity.EntityId;
+import com.konfigyr.namespace.Service;
+import com.konfigyr.namespace.Services;
+import com.konfigyr.security.AuthenticatedPrincipal;
+import com.konfigyr.security.PrincipalType;
+import com.konfigyr.test.AbstractIntegrationTest;
+import com.konfigyr.vault.*;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.modulith.test.AssertablePublishedEvents;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.konfigyr.data.tables.KeysetKeys.KEYSET_KEYS;
+import static com.konfigyr.data.tables.WorkerQueue.WORKER_QUEUE;
+import static com.konfigyr.vault.state.VaultStateManagerTest.authenticatedPrincipal;
+import static org.assertj.core.api.Assertions.*;
+
+class StateResealerTest extends AbstractIntegrationTest {
+
+	@Autowired
+	DSLContext context;
+
+	@Autowired
+	Services services;
+
+	@Autowired
+	ProfileManager profiles;
+
+	@Autowired
+	VaultAccessor accessor;
+
+	@Autowired
+	KeysetStore keysetStore;
+
+	@Autowired
+	StateRepositoryFactory stateRepositoryFactory;
+
+	@Autowired
+	StateResealer resealer;
+
+	@Autowired
+	VaultProperties properties;
+
+	Service service;
+	StateRepository repository;
+	AuthenticatedPrincipal principal;
+
+	@BeforeEach
+	void setup() {
+		principal = authenticatedPrincipal();
+		service = services.get(EntityId.from(2)).orElseThrow();
+		repository = stateRepositoryFactory.create(service);
+		properties.getReseal().setDelay(Duration.ZERO);
+	}
+
+	@AfterEach
+	void cleanup() {
+		properties.getReseal().setBatchSize(10);
+		properties.getReseal().setDelay(Duration.ofSeconds(1));
+
+		repository.destroy();
+		repository.close();
+	}
+
+	@Test
+	@Transactional
+	@DisplayName("should reseal profile states with the primary key after the vault keyset was rotated")
+	void resealAfterRotation(AssertablePublishedEvents events) {
+		final var development = prepareServiceProfile("development", "8080");
+		final var staging = prepareServiceProfile("staging", "9090");
+		final var revisions = revisions(development, staging);
+
+		rotate();
+
+		assertThat(resealer.schedule())
+				.as("Should schedule the reseal for the service with the rotated vault keyset")
+				.isEqualTo(1);
+
+		assertThat(resealer.schedule())
+				.as("Should not schedule the reseal again for the same primary key")
+				.isZero();
+
+		assertThat(context.fetchExists(WORKER_QUEUE, WORKER_QUEUE.QUEUE_NAME.eq(StateResealer.QUEUE_NAME)
+				.and(WORKER_QUEUE.ENTITY_ID.eq(service.id().get()))))
+				.as("Should enqueue the reseal task for the service")
+				.isTrue();
+
+		assertThat(resealer.progress(service))
+				.isPresent()
+				.get()
+				.returns(service.id(), ResealProgress::service)
+				.returns(4, ResealProgress::totalProfiles)
+				.returns(0, ResealProgress::resealedProfiles)
+				.returns(false, ResealProgress::isCompleted);
+
+		resealer.reseal(service.id());
+
+		assertThat(resealer.progress(service))
+				.isPresent()
+				.get()
+				.returns(4, ResealProgress::resealedProfiles)
+				.returns(2L, ResealProgress::resealedProperties)
+				.returns(true, ResealProgress::isCompleted);
+
+		assertThat(repository.get(development).revision())
+				.as("Should commit the resealed state of the development profile")
+				.isNotEqualTo(revisions.get(development));
+
+		assertThat(repository.get(staging).revision())
+				.as("Should commit the resealed state of the staging profile")
+				.isNotEqualTo(revisions.get(staging));
+
+		assertUnsealed(development, "8080");
+		assertUnsealed(staging, "9090");
+
+		events.assertThat()
+				.contains(StateResealedEvent.class)
+				.matching(StateResealedEvent::id, service.id())
+				.matching(event -> event.key().equals(resealer.progress(service).orElseThrow().key()))
+				.matching(event -> !event.unreferencedKeys().contains(event.key()));
+
+		assertThat(events.ofType(VaultEvent.ChangesApplied.class)
+				.matching(event -> event.result().author().getType() == PrincipalType.SYSTEM))
+				.as("Should publish the changes applied event for each resealed profile state")
+				.extracting(VaultEvent.ChangesApplied::get)
+				.containsExactlyInAnyOrder(development, staging);
+
+		assertThat(events.ofType(VaultEvent.ChangesApplied.class)
+				.matching(event -> event.result().author().getType() == PrincipalType.SYSTEM))
+				.extracting(VaultEvent.ChangesApplied::result)
+				.allSatisfy(result -> assertThat(result.changes())
+						.singleElement()
+						.returns("server.port", PropertyTransition::name)
+						.returns(PropertyTransitionType.UPDATED, PropertyTransition::type)
+				);
+	}
+
+	@Test
+	@Transactional
+	@DisplayName("should only report the keys that do not seal any value of the service as unreferenced")
+	void reportUnreferencedKeys(AssertablePublishedEvents events) {
+		final var development = prepareServiceProfile("development", "8080");
+		final var staging = profiles.get(service, "staging").orElseThrow();
+		repository.create(staging);
+
+		final var initial = lookupPrimaryKey();
+
+		// the changeset is sealed with the initial key and remains open while the profile states are resealed
+		try (var vault = accessor.open(principal, service, staging)) {
+			vault.submit(PropertyChanges.builder()
+					.profile(staging)
+					.subject("Pending changes")
+					.createProperty("server.port", "9090")
+					.build());
+		} catch (Exception ex) {
+			throw new IllegalStateException("Failed to submit changes to profile: " + staging.slug(), ex);
+		}
+
+		rotate();
+
+		final var unused = lookupPrimaryKey();
+
+		rotate();
+
+		resealer.schedule(service);
+		resealer.reseal(service.id());
+
+		assertUnsealed(development, "8080");
+
+		events.assertThat()
+				.contains(StateResealedEvent.class)
+				.matching(StateResealedEvent::id, service.id())
+				.matching(event -> event.unreferencedKeys().contains(unused))
+				.matching(event -> !event.unreferencedKeys().contains(initial))
+				.matching(event -> !event.unreferencedKeys().contains(event.key()));
+	}
+
+	@Test
+	@DisplayName("should read the key identifier from the Tink output prefix of the ciphertext")
+	void lookupKeyIdentifier() {
+		assertThat(StateResealer.lookupKeyId(new byte[] { 0x01, 0x00, 0x01, (byte) 0x9F, (byte) 0xEB, 0x42 }))
+				.isEqualTo("106475");
+
+		assertThat(StateResealer.lookupKeyId(new byte[] { 0x00, 0x00, 0x06, 0x38, 0x6D }))
+				.isEqualTo("407661");
+
+		assertThat(StateResealer.lookupKeyId(new byte[] { 0x02, 0x00, 0x01, (byte) 0x9F, (byte) 0xEB }))
+				.as("Should not read the key identifier from a ciphertext without the output prefix")
+				.isNull();
+
+		assertThat(StateResealer.lookupKeyId(new byte[] { 0x01, 0x00 }))
+				.isNull();
+	}
+
+	@Test
+	@Transactional
+	@DisplayName("should reseal profile states in batches and resume from the last resealed profile")
+	void resealInBatches(AssertablePublishedEvents events) {
+		final var development = prepareServiceProfile("development", "8080");
+		final var staging = prepareServiceProfile("staging", "9090");
+
+		rotate();
+
+		properties.getReseal().setBatchSize(1);
+
+		assertThat(resealer.schedule(service))
+				.returns(0, ResealProgress::resealedProfiles);
+
+		resealer.reseal(service.id());
+
+		assertThat(resealer.progress(service))
+				.isPresent()
+				.get()
+				.returns(1, ResealProgress::resealedProfiles)
+				.returns(1L, ResealProgress::resealedProperties)
+				.returns(false, ResealProgress::isCompleted);
+
+		assertThat(context.select(WORKER_QUEUE.NEEDS_RESCHEDULE)
+				.from(WORKER_QUEUE)
+				.where(WORKER_QUEUE.QUEUE_NAME.eq(StateResealer.QUEUE_NAME))
+				.and(WORKER_QUEUE.ENTITY_ID.eq(service.id().get()))
+				.fetchOne(WORKER_QUEUE.NEEDS_RESCHEDULE))
+				.as("Should mark the reseal task to be rescheduled for the remaining profiles")
+				.isTrue();
+
+		assertThat(events.ofType(StateResealedEvent.class))
+				.as("Should not publish the event before all profiles are resealed")
+				.isEmpty();
+
+		for (int i = 0; i < 3; i++) {
+			resealer.reseal(service.id());
+		}
+
+		assertThat(resealer.progress(service))
+				.isPresent()
+				.get()
+				.returns(4, ResealProgress::resealedProfiles)
+				.returns(2L, ResealProgress::resealedProperties)
+				.returns(true, ResealProgress::isCompleted);
+
+		assertUnsealed(development, "8080");
+		assertUnsealed(staging, "9090");
+
+		events.ofType(StateResealedEvent.class)
+				.matching(StateResealedEvent::id, service.id());
+	}
+
+	@Test
+	@DisplayName("should skip the reseal task when the reseal was not scheduled for the service")
+	void skipUnscheduledReseal(AssertablePublishedEvents events) {
+		assertThatNoException()
+				.isThrownBy(() -> resealer.reseal(service.id()));
+
+		assertThat(resealer.progress(service))
+				.isEmpty();
+
+		assertThat(events.ofType(StateResealedEvent.class))
+				.isEmpty();
+	}
+
+	Profile prepareServiceProfile(String name, String port) {
+		final var profile = profiles.get(service, name).orElseThrow();
+		repository.create(profile);
+
+		final var changes = PropertyChanges.builder()
+				.profile(profile)
+				.subject("Initial state")
+				.createProperty("server.port", port)
+				.build();
+
+		try (var vault = accessor.open(principal, service, profile)) {
+			if (profile.policy() == ProfilePolicy.UNPROTECTED) {
+				vault.apply(changes);
+			} else {
+				vault.merge(vault.submit(changes));
+			}
+		} catch (Exception ex) {
+			throw new IllegalStateException("Failed to prepare state of profile: " + name, ex);
+		}
+
+		return profile;
+	}
+
+	Map<Profile, String> revisions(Profile... profiles) {
+		final Map<Profile, String> revisions = new HashMap<>();
+
+		for (Profile profile : profiles) {
+			revisions.put(profile, repository.get(profile).revision());
+		}
+
+		return revisions;
+	}
+
+	void assertUnsealed(Profile profile, String port) {
+		try (var vault = accessor.open(principal, service, profile)) {
+			assertThat(vault.unseal())
+					.as("Should unseal the resealed state of profile '%s'", profile.slug())
+					.hasSize(1)
+					.containsEntry("server.port", port);
+		} catch (Exception ex) {
+			throw new IllegalStateException("Failed to unseal state of profile: " + profile.slug(), ex);
+		}
+	}
+
+	String lookupPrimaryKey() {
+		return context.select(KEYSET_KEYS.KEY_ID)
+				.from(KEYSET_KEYS)
+				.where(KEYSET_KEYS.KEYSET_NAME.eq("vault/" + service.id().serialize()))
+				.and(KEYSET_KEYS.KEY_PRIMARY.isTrue())
+				.fetchSingle(KEYSET_KEYS.KEY_ID);
+	}
+
+	void rotate() {
+		keysetStore.rotate("vault/" + service.id().serialize(), KeyDefinition.builder()
+				.primary(true)
+				.algorithm(TinkAlgorithm.AES256_GCM)
+				.rotationInterval(Duration.ofDays(90))
+				.build());
+	}
+
+}
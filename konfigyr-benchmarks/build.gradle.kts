@@ -0,0 +1,36 @@
+plugins {
+    java
+    alias(libs.plugins.champeau.jmh)
+}
+
+description = "Konfigyr module that contains the JMH micro-benchmarks for the performance critical code paths"
+
+dependencies {
+    jmhImplementation(project(":konfigyr-core"))
+    jmhImplementation(project(":konfigyr-api"))
+
+    jmhImplementation(libs.jgit)
+    jmhImplementation(libs.tink)
+    jmhImplementation(libs.konfigyr.artifactory)
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh
+
+    // Benchmarks are selected using the regular expression passed via the `benchmarks` project
+    // property, for instance: ./gradlew :konfigyr-benchmarks:jmh -Pbenchmarks=PropertiesBenchmark
+    includes = providers.gradleProperty("benchmarks").map { listOf(it) }.orElse(listOf(".*"))
+
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+
+    // Results are written in a machine-readable format so that they can be compared between commits
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+    humanOutputFile = layout.buildDirectory.file("results/jmh/human.txt")
+}
+
+tasks.withType<Javadoc>().configureEach {
+    isEnabled = false
+}
@@ -0,0 +1,95 @@
+package com.konfigyr.artifactory.digest;
+
+import com.konfigyr.artifactory.*;
+import com.konfigyr.io.ByteArray;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link PropertyDescriptorChecksumGenerator} for property descriptors with a simple and
+ * a nested {@link JsonSchema}. The schema digest, computed by the {@code JsonSchemaDigestVisitor}, is the
+ * part of the checksum that grows with the complexity of the property type.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PropertyDescriptorChecksumBenchmark {
+
+	final PropertyDescriptorChecksumGenerator generator = PropertyDescriptorChecksumGenerator.getInstance();
+
+	PropertyDescriptor simple;
+	PropertyDescriptor nested;
+
+	@Setup
+	public void setup() {
+		simple = PropertyDescriptor.builder()
+				.name("spring.banner.charset")
+				.typeName("java.nio.charset.Charset")
+				.description("The charset to use for the banner. Defaults to UTF-8.")
+				.defaultValue("UTF-8")
+				.schema(StringSchema.builder().format("charset").build())
+				.build();
+
+		nested = PropertyDescriptor.builder()
+				.name("konfigyr.accounts")
+				.typeName("java.util.Map<java.lang.String,com.konfigyr.Account>")
+				.description("Accounts that are provisioned when the application starts.")
+				.deprecation(new Deprecation("Accounts are provisioned by the identity provider", "konfigyr.identity"))
+				.schema(ObjectSchema.builder()
+						.title("Account")
+						.description("Provisioned account")
+						.required("username", "age", "active", "status")
+						.additionalProperties(StringSchema.instance())
+						.propertyNames(StringSchema.instance())
+						.property("username", StringSchema.builder()
+								.format("email")
+								.minLength(12)
+								.maxLength(255)
+								.example("john.doe@konfigyr.com")
+								.build()
+						)
+						.property("active", BooleanSchema.builder()
+								.defaultValue(true)
+								.build()
+						)
+						.property("age", IntegerSchema.builder()
+								.minimum(18L)
+								.format("int32")
+								.build()
+						)
+						.property("roles", ArraySchema.builder()
+								.items(ObjectSchema.builder()
+										.property("name", StringSchema.builder()
+												.example("ADMIN")
+												.example("USER")
+												.build()
+										)
+										.build()
+								)
+								.build()
+						)
+						.property("status", StringSchema.builder()
+								.enumeration("ACTIVE")
+								.enumeration("DISABLED")
+								.enumeration("INACTIVE")
+								.build()
+						)
+						.build())
+				.build();
+	}
+
+	@Benchmark
+	public ByteArray simple() {
+		return generator.generate(simple);
+	}
+
+	@Benchmark
+	public ByteArray nested() {
+		return generator.generate(nested);
+	}
+
+}
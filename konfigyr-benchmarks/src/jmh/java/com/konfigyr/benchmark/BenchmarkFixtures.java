@@ -0,0 +1,185 @@
+package com.konfigyr.benchmark;
+
+import com.google.crypto.tink.*;
+import com.google.crypto.tink.aead.AeadConfig;
+import com.google.crypto.tink.aead.AesGcmKey;
+import com.google.crypto.tink.aead.AesGcmParameters;
+import com.google.crypto.tink.internal.MutableSerializationRegistry;
+import com.google.crypto.tink.proto.KeyData;
+import com.google.crypto.tink.util.SecretBytes;
+import com.konfigyr.crypto.*;
+import com.konfigyr.crypto.KeyStatus;
+import com.konfigyr.crypto.tink.TinkAlgorithm;
+import com.konfigyr.crypto.tink.TinkKeyEncryptionKey;
+import com.konfigyr.crypto.tink.TinkKeysetFactory;
+import com.konfigyr.entity.EntityId;
+import com.konfigyr.io.ByteArray;
+import com.konfigyr.security.AuthenticatedPrincipal;
+import com.konfigyr.security.PrincipalType;
+import com.konfigyr.vault.Properties;
+import com.konfigyr.vault.PropertyValue;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Utility class that creates the fixtures shared by the benchmarks, like the {@link KeysetOperations}
+ * used to seal property values or the {@link Properties} of a given size.
+ * <p>
+ * Fixtures are created in memory and do not require any external services, so the benchmarks can be
+ * executed offline.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@NullMarked
+public final class BenchmarkFixtures {
+
+	/**
+	 * Creates the {@link KeysetOperations} that are using the {@link Keyset} with the
+	 * {@link TinkAlgorithm#AES128_GCM} algorithm, the same one that is used by the service vaults.
+	 *
+	 * @return the keyset operations, never {@literal null}.
+	 * @throws IllegalStateException if the {@link KeysetOperations} can't be created for some reason
+	 */
+	public static KeysetOperations keysetOperations() {
+		try {
+			AeadConfig.register();
+
+			final ByteArray secret = new ByteArray(SecretBytes.randomBytes(32).toByteArray(InsecureSecretKeyAccess.get()));
+			final SimpleAlgorithmRegistry registry = new SimpleAlgorithmRegistry();
+			registry.register(TinkAlgorithm.AES128_GCM);
+
+			final KeysetDefinition definition = KeysetDefinition.of("benchmark-keyset", TinkAlgorithm.AES128_GCM);
+
+			final AesGcmKey key = AesGcmKey.builder()
+					.setKeyBytes(SecretBytes.copyFrom(secret.array(), InsecureSecretKeyAccess.get()))
+					.setParameters(AesGcmParameters.builder()
+							.setVariant(AesGcmParameters.Variant.TINK)
+							.setKeySizeBytes(secret.size())
+							.setTagSizeBytes(16)
+							.setIvSizeBytes(12)
+							.build())
+					.setIdRequirement(1)
+					.build();
+
+			final KeyEncryptionKey kek = TinkKeyEncryptionKey.builder("benchmark-provider")
+					.from("benchmark-kek", secret);
+
+			final ProtoKeySerialization serialization = MutableSerializationRegistry.globalInstance()
+					.serializeKey(key, InsecureSecretKeyAccess.get());
+
+			final KeyData data = KeyData.newBuilder()
+					.setTypeUrl(serialization.getTypeUrl())
+					.setKeyMaterialType(KeyData.KeyMaterialType.valueOf(serialization.getKeyMaterialType().toString()))
+					.setValue(serialization.getValue())
+					.build();
+
+			final EncryptedKey encryptedKey = EncryptedKey.builder()
+					.id("1")
+					.primary(true)
+					.status(KeyStatus.ENABLED)
+					.algorithm(TinkAlgorithm.AES128_GCM)
+					.createdAt(Instant.now())
+					.build(kek.wrap(new ByteArray(data.toByteArray())));
+
+			final EncryptedKeyset encryptedKeyset = EncryptedKeyset.builder(definition)
+					.keyEncryptionKey(kek)
+					.build(encryptedKey);
+
+			return KeysetOperations.of(new TinkKeysetFactory(registry).create(kek, encryptedKeyset));
+		} catch (Exception ex) {
+			throw new IllegalStateException("Unexpected error occurred while creating benchmark Keyset operations", ex);
+		}
+	}
+
+	/**
+	 * Creates the {@link Properties} with the given number of sealed property values. Property names and
+	 * values are deterministic, they only depend on the position of the property.
+	 *
+	 * @param profile the profile identifier used to generate the property value checksums, can't be {@literal null}
+	 * @param operations the keyset operations used to seal the values, can't be {@literal null}
+	 * @param size the number of properties to generate
+	 * @return the properties with sealed values, never {@literal null}.
+	 */
+	public static Properties properties(EntityId profile, KeysetOperations operations, int size) {
+		final Properties.Builder builder = Properties.builder();
+
+		for (int i = 0; i < size; i++) {
+			final String name = "konfigyr.benchmark.group-%d.property-%d".formatted(i % 10, i);
+			builder.add(name, PropertyValue.create(profile, name, value(i)).seal(operations));
+		}
+
+		return builder.build();
+	}
+
+	/**
+	 * Creates the serialized state of the {@link Properties} with the given number of sealed property values.
+	 *
+	 * @param profile the profile identifier used to generate the property value checksums, can't be {@literal null}
+	 * @param operations the keyset operations used to seal the values, can't be {@literal null}
+	 * @param size the number of properties to generate
+	 * @return the serialized properties state, never {@literal null}.
+	 * @see #properties(EntityId, KeysetOperations, int)
+	 */
+	public static byte[] serialize(EntityId profile, KeysetOperations operations, int size) {
+		try {
+			return properties(profile, operations, size).getInputStream().readAllBytes();
+		} catch (IOException ex) {
+			throw new IllegalStateException("Unexpected error occurred while serializing benchmark properties", ex);
+		}
+	}
+
+	/**
+	 * Creates a deterministic property value for the property at the given position.
+	 *
+	 * @param index the property position
+	 * @return the property value, never {@literal null}.
+	 */
+	public static String value(int index) {
+		return "jdbc:postgresql://database-%d.konfigyr.internal:5432/konfigyr?sslmode=require".formatted(index);
+	}
+
+	/**
+	 * Creates the {@link AuthenticatedPrincipal} that is used as an author of the configuration changes.
+	 *
+	 * @return the authenticated principal, never {@literal null}.
+	 */
+	public static AuthenticatedPrincipal principal() {
+		return new BenchmarkPrincipal();
+	}
+
+	private BenchmarkFixtures() {
+	}
+
+	private static final class BenchmarkPrincipal implements AuthenticatedPrincipal {
+
+		@Serial
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public String get() {
+			return "benchmark-author";
+		}
+
+		@Override
+		public PrincipalType getType() {
+			return PrincipalType.USER_ACCOUNT;
+		}
+
+		@Override
+		public Optional<@Nullable String> getEmail() {
+			return Optional.of("benchmark@konfigyr.com");
+		}
+
+		@Override
+		public Optional<@Nullable String> getDisplayName() {
+			return Optional.of("Benchmark Author");
+		}
+	}
+
+}
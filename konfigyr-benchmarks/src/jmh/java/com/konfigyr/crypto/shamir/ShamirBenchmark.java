@@ -0,0 +1,49 @@
+package com.konfigyr.crypto.shamir;
+
+import com.konfigyr.io.ByteArray;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link Shamir} secret sharing scheme, and the {@link GF256} arithmetic it is based on,
+ * when splitting and joining secrets of different lengths.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ShamirBenchmark {
+
+	@Param({ "32", "256" })
+	int length;
+
+	Shamir shamir;
+	byte[] secret;
+	List<Share> shares;
+
+	@Setup
+	public void setup() {
+		final SecureRandom random = new SecureRandom();
+
+		shamir = new Shamir(random, 5, 3);
+		secret = new byte[length];
+		random.nextBytes(secret);
+		shares = shamir.split(secret).subList(0, 3);
+	}
+
+	@Benchmark
+	public List<Share> split() {
+		return shamir.split(secret);
+	}
+
+	@Benchmark
+	public ByteArray join() {
+		return shamir.join(shares);
+	}
+
+}
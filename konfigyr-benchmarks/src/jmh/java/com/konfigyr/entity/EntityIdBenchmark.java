@@ -0,0 +1,54 @@
+package com.konfigyr.entity;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the generation of the time sorted {@link EntityId} by the {@link TimeSortedEntityIdProvider},
+ * including the contended case where multiple threads are generating identifiers at the same time, and
+ * the conversion of the identifier from its internal and external representations.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EntityIdBenchmark {
+
+	final EntityIdProvider provider = TimeSortedEntityIdProvider.getInstance();
+
+	long id;
+	String serialized;
+
+	@Setup
+	public void setup() {
+		final EntityId entityId = provider.generate();
+
+		id = entityId.get();
+		serialized = entityId.serialize();
+	}
+
+	@Benchmark
+	public EntityId generate() {
+		return provider.generate();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public EntityId generateContended() {
+		return provider.generate();
+	}
+
+	@Benchmark
+	public EntityId fromInternal() {
+		return EntityId.from(id);
+	}
+
+	@Benchmark
+	public EntityId fromExternal() {
+		return EntityId.from(serialized);
+	}
+
+}
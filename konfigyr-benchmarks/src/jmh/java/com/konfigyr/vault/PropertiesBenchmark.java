@@ -0,0 +1,51 @@
+package com.konfigyr.vault;
+
+import com.konfigyr.benchmark.BenchmarkFixtures;
+import com.konfigyr.crypto.KeysetOperations;
+import com.konfigyr.entity.EntityId;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the parsing and the serialization of the {@link Properties} state that is stored in the
+ * service repositories, for a different number of sealed property values.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PropertiesBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	int size;
+
+	Properties properties;
+	byte[] serialized;
+
+	@Setup
+	public void setup() throws IOException {
+		final KeysetOperations operations = BenchmarkFixtures.keysetOperations();
+
+		properties = BenchmarkFixtures.properties(EntityId.from(1), operations, size);
+		serialized = properties.getInputStream().readAllBytes();
+	}
+
+	@Benchmark
+	public Properties parse() throws IOException {
+		return Properties.from(new ByteArrayInputStream(serialized));
+	}
+
+	@Benchmark
+	public int serialize() throws IOException {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream(serialized.length);
+		properties.transferTo(output);
+		return output.size();
+	}
+
+}
@@ -0,0 +1,56 @@
+package com.konfigyr.vault;
+
+import com.konfigyr.benchmark.BenchmarkFixtures;
+import com.konfigyr.crypto.KeysetOperations;
+import com.konfigyr.entity.EntityId;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the checksum generation, sealing and unsealing of a single {@link PropertyValue} using the
+ * {@link KeysetOperations} with the same algorithm that is used by the service vaults.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PropertyValueBenchmark {
+
+	static final EntityId PROFILE = EntityId.from(1);
+	static final String NAME = "spring.datasource.url";
+
+	@Param({ "16", "1024" })
+	int length;
+
+	KeysetOperations operations;
+	String value;
+	PropertyValue unsealed;
+	PropertyValue sealed;
+
+	@Setup
+	public void setup() {
+		operations = BenchmarkFixtures.keysetOperations();
+		value = "v".repeat(length);
+		unsealed = PropertyValue.create(PROFILE, NAME, value);
+		sealed = unsealed.seal(operations);
+	}
+
+	@Benchmark
+	public PropertyValue checksum() {
+		return PropertyValue.create(PROFILE, NAME, value);
+	}
+
+	@Benchmark
+	public PropertyValue seal() {
+		return unsealed.seal(operations);
+	}
+
+	@Benchmark
+	public PropertyValue unseal() {
+		return sealed.unseal(operations);
+	}
+
+}
@@ -0,0 +1,90 @@
+package com.konfigyr.vault.state;
+
+import com.konfigyr.benchmark.BenchmarkFixtures;
+import com.konfigyr.entity.EntityId;
+import com.konfigyr.namespace.Service;
+import com.konfigyr.vault.Profile;
+import com.konfigyr.vault.ProfilePolicy;
+import com.konfigyr.vault.PropertyChanges;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link GitStateRepository} operations that are executed when the configuration state of
+ * a profile is changed. The bare Git repository is created in a temporary directory for each iteration,
+ * as each invocation is adding new commits and refs to it.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GitStateRepositoryBenchmark {
+
+	static final Service service = Service.builder()
+			.id(1L)
+			.namespace(1L)
+			.slug("benchmark-service")
+			.name("Benchmark service")
+			.build();
+
+	static final Profile profile = Profile.builder()
+			.id(EntityId.from(1))
+			.service(service.id())
+			.name("benchmark")
+			.policy(ProfilePolicy.UNPROTECTED)
+			.build();
+
+	@Param({ "10", "100", "1000" })
+	int size;
+
+	Changeset changeset;
+	Path directory;
+	GitStateRepository repository;
+
+	@Setup(Level.Trial)
+	public void setupChangeset() {
+		changeset = new Changeset(
+				BenchmarkFixtures.principal(),
+				BenchmarkFixtures.properties(profile.id(), BenchmarkFixtures.keysetOperations(), size),
+				new PropertyChanges(profile, "Benchmark changes", null, Set.of())
+		);
+	}
+
+	@Setup(Level.Iteration)
+	public void setupRepository() throws IOException {
+		directory = Files.createTempDirectory("konfigyr-benchmark");
+		repository = GitStateRepository.initialize(service, directory);
+		repository.create(profile);
+	}
+
+	@TearDown(Level.Iteration)
+	public void cleanupRepository() throws IOException {
+		repository.close();
+		FileSystemUtils.deleteRecursively(directory);
+	}
+
+	@Benchmark
+	public MergeOutcome update() {
+		return repository.update(profile, changeset);
+	}
+
+	@Benchmark
+	public MergeOutcome updateAndMerge() {
+		final MergeOutcome outcome = repository.update(profile, changeset);
+		return repository.merge(profile, outcome.branch());
+	}
+
+	@Benchmark
+	public RepositoryState get() {
+		return repository.get(profile);
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.konfigyr.version;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link VersionParser} for semantic, calendar and unknown version formats, the last one
+ * being the slowest as it is only resolved once all the other formats have been attempted.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VersionParserBenchmark {
+
+	@Param({ "1.0.0", "3.5.0-RC1+build.42", "2024.04-M1", "1.2.3.RELEASE" })
+	String version;
+
+	@Benchmark
+	public Version parse() {
+		return VersionParser.parse(version);
+	}
+
+}
@@ -0,0 +1,51 @@
+package com.konfigyr.data;
+
+/**
+ * Strategy used by the {@link PageableExecutor} to resolve the total number of elements of a paged query.
+ * <p>
+ * An exact {@code count(*)} query needs to visit every matching row, which on large or heavily filtered
+ * tables can be more expensive than fetching the page itself. Listings that do not need an exact total
+ * can choose a cheaper strategy, in which case the executor returns an {@link EstimatedPage} whenever the
+ * total is not exact.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ * @see PageableExecutor#counting(CountStrategy)
+ * @see EstimatedPage
+ */
+public enum CountStrategy {
+
+	/**
+	 * Executes a separate {@code count(*)} query, with the same filtering conditions, to resolve the exact
+	 * total number of elements. This is the default strategy.
+	 */
+	EXACT,
+
+	/**
+	 * Resolves the exact total number of elements in the same query that is fetching the page content by
+	 * appending the {@code count(*) over ()} window function to the select list, saving a round trip to the
+	 * database. The separate count query is only executed when the requested page is past the last one.
+	 * <p>
+	 * This strategy requires that the query is selecting individual fields and not a table record type, as
+	 * the window function would be appended as an additional field to the resulting record.
+	 */
+	WINDOW,
+
+	/**
+	 * Uses the number of rows estimated by the PostgreSQL query planner, via {@code EXPLAIN}, as the total
+	 * number of elements. For unfiltered listings the estimate is based on the table statistics and is
+	 * practically free, for filtered listings it is as accurate as the planner selectivity estimates.
+	 * <p>
+	 * The estimate is only used when the page is not the last one, the total of the last page is always
+	 * exact as it can be derived from the page content.
+	 */
+	ESTIMATED,
+
+	/**
+	 * Does not count the elements at all. The executor fetches one more element than requested to decide
+	 * if there is a next page and the total number of elements is only known once the last page is reached.
+	 * Use this strategy for listings that are navigated using next and previous links only.
+	 */
+	NONE
+
+}
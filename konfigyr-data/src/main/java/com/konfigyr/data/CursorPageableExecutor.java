@@ -0,0 +1,271 @@
+package com.konfigyr.data;
+
+import org.jooq.*;
+import org.jooq.Record;
+import org.jooq.impl.DSL;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.util.Assert;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * jOOQ support class for {@link Query} execution using {@link CursorPageable}, also known as keyset
+ * or seek pagination. It would apply the seek predicate, sorting and limit instructions to the jOOQ
+ * {@link Query} before fetching the result set and creating the next and previous {@link CursorPageable}.
+ * <p>
+ * The executor is configured with an ordered list of seek fields, where the last one must uniquely
+ * identify the row within the fields that precede it, for example {@code (created_at, id)}. The position
+ * of a page boundary is then matched using a single row value comparison, like
+ * {@code (created_at, id) < (?, ?)}, that PostgreSQL can answer directly from a composite index on the
+ * seek fields, making deep pages as cheap as the first one.
+ * <p>
+ * Row value comparisons are not used by PostgreSQL for partition pruning. When the table is partitioned
+ * by the leading seek field, the executor would add an additional, redundant, range condition on that
+ * field so that partitions that can not contain the rows of the requested page are skipped in both
+ * navigation directions.
+ * <p>
+ * The position is exchanged with the client as an opaque token that is created by the {@link Codec}.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ * @see CursorPage
+ * @see CursorPageable
+ **/
+@NullMarked
+public class CursorPageableExecutor {
+
+	private final List<Field<?>> seekFields;
+	private final SortOrder order;
+	private final Codec codec;
+
+	private CursorPageableExecutor(List<Field<?>> seekFields, SortOrder order, Codec codec) {
+		this.seekFields = seekFields;
+		this.order = order;
+		this.codec = codec;
+	}
+
+	/**
+	 * Creates the fluent {@link CursorPageableExecutor} builder to customize the seek fields and the token codec.
+	 * @return cursor pageable executor builder, never {@literal null}.
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Applies the {@link CursorPageable} instructions and the {@code condition} supplied by {@code conditionSupplier}
+	 * to the query built by {@code querySupplier}, executing it to construct a {@link CursorPage} of the mapped
+	 * result set.
+	 * <p>
+	 * When the {@link CursorPageable} is unpaged, the entire result set is returned sorted by the seek fields.
+	 * Otherwise, one more record than requested is fetched to decide if there is a page after the current one.
+	 *
+	 * @param querySupplier supplies the base query to execute, must not be {@literal null}.
+	 * @param conditionSupplier supplies the filtering condition, may return {@literal null}, must not be {@literal null}.
+	 * @param mapper result set mapper applied on the retrieved record result set, must not be {@literal null}.
+	 * @param pageable must not be {@literal null} but can be {@link CursorPageable#unpaged()}.
+	 * @param <R> record type produced by the query returned from {@code querySupplier}
+	 * @param <Q> query type returned from {@code querySupplier}
+	 * @param <T> page content type that would be returned from the record converter
+	 * @return the {@link CursorPage} for the retrieved and converted result set, never {@literal null}.
+	 * @throws IllegalArgumentException when the cursor token could not be decoded
+	 */
+	public <R extends Record, Q extends SelectWhereStep<R>, T> CursorPage<T> execute(
+			Supplier<Q> querySupplier,
+			Supplier<@Nullable Condition> conditionSupplier,
+			Converter<R, T> mapper,
+			CursorPageable pageable
+	) {
+		final Condition condition = Objects.requireNonNullElseGet(conditionSupplier.get(), DSL::noCondition);
+
+		if (pageable.isUnpaged()) {
+			return CursorPage.of(
+					querySupplier.get()
+							.where(condition)
+							.orderBy(createOrderBy(order))
+							.fetch(mapper::convert)
+			);
+		}
+
+		final String token = pageable.token();
+		final Position position = token == null || token.isBlank() ? null : codec.decode(token);
+		final boolean isReversed = position != null && position.reversed();
+		final SortOrder direction = isReversed ? reverse(order) : order;
+
+		final List<R> results = querySupplier.get()
+				.where(position == null ? condition : condition.and(createSeekCondition(position, direction)))
+				.orderBy(createOrderBy(direction))
+				.limit(pageable.size() + 1)
+				.fetch();
+
+		final boolean hasMore = results.size() > pageable.size();
+		final List<R> content = new ArrayList<>(hasMore ? results.subList(0, pageable.size()) : results);
+
+		if (isReversed) {
+			Collections.reverse(content);
+		}
+
+		CursorPageable nextPageable = null;
+		CursorPageable previousPageable = null;
+
+		// If we were moving forward and found 'more', we have a next page...
+		// If we were moving backward, we definitely have a next page...
+		if (!content.isEmpty() && (hasMore || isReversed)) {
+			nextPageable = createPageable(content.getLast(), false, pageable.size());
+		}
+
+		// the previous page should be specified when there was a token present...
+		if (!content.isEmpty() && position != null && (!isReversed || hasMore)) {
+			previousPageable = createPageable(content.getFirst(), true, pageable.size());
+		}
+
+		return CursorPage.of(content, nextPageable, previousPageable)
+				.map(mapper::convert);
+	}
+
+	private Condition createSeekCondition(Position position, SortOrder direction) {
+		Assert.isTrue(position.values().size() == seekFields.size(), () -> "Cursor position " + position
+				+ " does not match the seek fields: " + seekFields);
+
+		final Object[] values = position.values().toArray();
+		final RowN row = DSL.row(seekFields);
+
+		@SuppressWarnings("unchecked")
+		final Field<Object> leading = (Field<Object>) seekFields.getFirst();
+
+		if (direction == SortOrder.DESC) {
+			return leading.le(values[0]).and(row.lt(values));
+		}
+
+		return leading.ge(values[0]).and(row.gt(values));
+	}
+
+	private Collection<OrderField<?>> createOrderBy(SortOrder direction) {
+		final List<OrderField<?>> sorts = new ArrayList<>(seekFields.size());
+
+		for (Field<?> field : seekFields) {
+			sorts.add(field.sort(direction));
+		}
+
+		return sorts;
+	}
+
+	private CursorPageable createPageable(Record record, boolean reversed, int size) {
+		final List<Object> values = new ArrayList<>(seekFields.size());
+
+		for (Field<?> field : seekFields) {
+			values.add(Objects.requireNonNull(record.get(field), () -> "Seek field " + field + " can not be null"));
+		}
+
+		return CursorPageable.of(codec.encode(new Position(values, reversed)), size);
+	}
+
+	private static SortOrder reverse(SortOrder order) {
+		return order == SortOrder.DESC ? SortOrder.ASC : SortOrder.DESC;
+	}
+
+	/**
+	 * Position of a page boundary within the sorted result set.
+	 *
+	 * @param values the values of the seek fields of the boundary record, in the order of the seek fields.
+	 * @param reversed whether the page is requested in the opposite direction of the executor sort order.
+	 */
+	public record Position(List<Object> values, boolean reversed) {
+
+		public Position {
+			Assert.notEmpty(values, "Cursor position values can not be empty");
+			values = List.copyOf(values);
+		}
+
+		/**
+		 * Returns the value of the seek field at the given index.
+		 *
+		 * @param index the seek field index
+		 * @param type the expected value type, can't be {@literal null}
+		 * @param <T> the value type
+		 * @return the seek field value, never {@literal null}
+		 */
+		public <T> T get(int index, Class<T> type) {
+			return type.cast(values.get(index));
+		}
+	}
+
+	/**
+	 * Strategy used to convert the {@link Position} into an opaque cursor token and back.
+	 */
+	public interface Codec {
+
+		/**
+		 * Decodes the cursor token into a {@link Position}.
+		 *
+		 * @param token the cursor token, can't be {@literal null}
+		 * @return the decoded position, never {@literal null}
+		 * @throws IllegalArgumentException when the token is not valid
+		 */
+		Position decode(String token);
+
+		/**
+		 * Encodes the {@link Position} into an opaque cursor token.
+		 *
+		 * @param position the position to encode, can't be {@literal null}
+		 * @return the cursor token, never {@literal null}
+		 */
+		String encode(Position position);
+
+	}
+
+	public static final class Builder {
+		private final List<Field<?>> seekFields = new ArrayList<>();
+		private SortOrder order = SortOrder.DESC;
+		private @Nullable Codec codec;
+
+		/**
+		 * Adds the {@link Field} to the ordered list of seek fields. The first field is the most significant
+		 * one, while the last one must uniquely identify the row within the preceding fields.
+		 *
+		 * @param field seek field, can't be {@literal null}
+		 * @return cursor pageable executor builder, never {@literal null}.
+		 */
+		public Builder seekField(Field<?> field) {
+			Assert.notNull(field, "Seek field can not be null");
+			this.seekFields.add(field);
+			return this;
+		}
+
+		/**
+		 * Specify the {@link SortOrder} of the seek fields when navigating forward. Defaults to the
+		 * {@link SortOrder#DESC descending} order, used to list the latest records first.
+		 *
+		 * @param order sort order to be applied to the seek fields
+		 * @return cursor pageable executor builder, never {@literal null}.
+		 */
+		public Builder order(SortOrder order) {
+			Assert.isTrue(order == SortOrder.ASC || order == SortOrder.DESC, "Sort order must be either ASC or DESC");
+			this.order = order;
+			return this;
+		}
+
+		/**
+		 * Specify the {@link Codec} used to create and read the opaque cursor tokens.
+		 *
+		 * @param codec cursor token codec, can't be {@literal null}
+		 * @return cursor pageable executor builder, never {@literal null}.
+		 */
+		public Builder codec(Codec codec) {
+			Assert.notNull(codec, "Cursor token codec can not be null");
+			this.codec = codec;
+			return this;
+		}
+
+		public CursorPageableExecutor build() {
+			Assert.notEmpty(seekFields, "At least one seek field is required");
+			Assert.notNull(codec, "Cursor token codec is required");
+
+			return new CursorPageableExecutor(List.copyOf(seekFields), order, codec);
+		}
+	}
+
+}
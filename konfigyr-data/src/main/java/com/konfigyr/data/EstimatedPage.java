@@ -0,0 +1,47 @@
+package com.konfigyr.data;
+
+import org.jspecify.annotations.NullMarked;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * {@link Page} implementation whose total number of elements, and therefore the number of pages, is not
+ * exact. It is returned by the {@link PageableExecutor} when a {@link CountStrategy} other than the
+ * {@link CountStrategy#EXACT exact} one was not able to resolve the exact total.
+ * <p>
+ * The total would either be an estimate of the query planner or the lower bound derived from the fetched
+ * page content. It is always large enough for {@link #hasNext()} to correctly report if there is a next page.
+ *
+ * @param <T> the type of the page content
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ * @see CountStrategy
+ */
+@NullMarked
+public class EstimatedPage<T> extends PageImpl<T> {
+
+	/**
+	 * Creates a new {@link EstimatedPage} with the given content and the estimated total.
+	 *
+	 * @param content the page content, can't be {@literal null}
+	 * @param pageable the paging information, can't be {@literal null}
+	 * @param total the estimated total number of elements
+	 */
+	public EstimatedPage(List<T> content, Pageable pageable, long total) {
+		super(content, pageable, total);
+	}
+
+	@Override
+	public <U> Page<U> map(Function<? super T, ? extends U> converter) {
+		return new EstimatedPage<>(getConvertedContent(converter), getPageable(), getTotalElements());
+	}
+
+	@Override
+	public String toString() {
+		return "Estimated" + super.toString();
+	}
+}
@@ -3,11 +3,13 @@ package com.konfigyr.data;
 import lombok.RequiredArgsConstructor;
 import org.jooq.*;
 import org.jooq.Record;
+import org.jooq.conf.StatementType;
 import org.jooq.impl.DSL;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.support.PageableExecutionUtils;
@@ -16,6 +18,8 @@ import org.springframework.util.StringUtils;
 
 import java.util.*;
 import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * jOOQ support class for {@link Query} execution using {@link Pageable}. It would apply the pagination
@@ -25,6 +29,10 @@ import java.util.function.Supplier;
  * <p>
  * To create new instances of this class use the fluent {@link Builder} and specify your sortable
  * field mappings so that the executor can apply them from {@link Sort} instructions.
+ * <p>
+ * The total number of elements is, by default, resolved using a separate {@code count(*)} query. Listings
+ * where an exact count is too expensive can choose a different {@link CountStrategy}, either when building
+ * the executor or per query using {@link #counting(CountStrategy)}.
  *
  * @author Vladimir Spasic
  * @since 1.0.0
@@ -34,8 +42,12 @@ import java.util.function.Supplier;
 @RequiredArgsConstructor
 public class PageableExecutor {
 
+	private static final Name TOTAL_COUNT_FIELD = DSL.name("pageable_total_count");
+	private static final Pattern PLAN_ROWS_PATTERN = Pattern.compile("\"Plan Rows\"\\s*:\\s*(\\d+)");
+
 	private final Map<String, Field<?>> sortFields;
 	private final OrderField<?> defaultSortField;
+	private final CountStrategy countStrategy;
 
 	/**
 	 * Creates the fluent {@link PageableExecutor} builder to customize the sortable field mappings.
@@ -45,6 +57,23 @@ public class PageableExecutor {
 		return new Builder();
 	}
 
+	/**
+	 * Derives a {@link PageableExecutor} that is resolving the total number of elements using the given
+	 * {@link CountStrategy}, while keeping the sortable field mappings and ranking of this executor.
+	 *
+	 * @param strategy the strategy used to count the total number of elements, can't be {@literal null}
+	 * @return a {@link PageableExecutor} using the given count strategy, never {@literal null}.
+	 */
+	public PageableExecutor counting(CountStrategy strategy) {
+		Assert.notNull(strategy, "Count strategy can not be null");
+
+		if (countStrategy == strategy) {
+			return this;
+		}
+
+		return new PageableExecutor(sortFields, defaultSortField, strategy);
+	}
+
 	/**
 	 * Derives a {@link PageableExecutor} that additionally matches and ranks results against a {@code tsvector}
 	 * {@code field} using a full-text search {@code term}, sorting matches by {@code ts_rank} in descending
@@ -89,7 +118,8 @@ public class PageableExecutor {
 					DSL.condition("{0} @@ to_tsquery('simple', {1})", field, term),
 					DSL.field("ts_rank({0}, to_tsquery('simple', {1}))", Double.class, field, term).sort(order),
 					sortFields,
-					defaultSortField
+					defaultSortField,
+					countStrategy
 			);
 		}
 
@@ -129,6 +159,10 @@ public class PageableExecutor {
 	 * {@code DSL.using(query.configuration()).fetchCountLarge(...)} — both invocations get the same
 	 * {@code condition}, so the two stay consistent even when this executor was derived via
 	 * {@link #rankBy(String, Field, SortOrder)}, which augments {@code condition} with its own match clause.
+	 * <p>
+	 * The above describes the {@link CountStrategy#EXACT exact} count strategy. Other strategies are either
+	 * resolving the total within the content query or skipping the count query altogether, in which case an
+	 * {@link EstimatedPage} is returned when the total could not be determined exactly from the page content.
 	 *
 	 * @param querySupplier supplies the base query to execute; called once for the content fetch and once
 	 *        more, independently, to build the total row count, must not be {@literal null}.
@@ -149,13 +183,79 @@ public class PageableExecutor {
 			Pageable pageable
 	) {
 		final Condition condition = createCondition(conditionSupplier.get());
-		final List<T> results = apply(querySupplier.get(), condition, pageable)
-				.fetch(mapper::convert);
 
-		return PageableExecutionUtils.getPage(results, pageable, () -> count(querySupplier.get(), condition));
+		// unpaged queries are fetching all the elements, their total is always derived from the content size
+		if (pageable.isUnpaged() || countStrategy == CountStrategy.EXACT) {
+			final List<T> results = apply(querySupplier.get(), condition, pageable, 0)
+					.fetch(mapper::convert);
+
+			return PageableExecutionUtils.getPage(results, pageable, () -> count(querySupplier.get(), condition));
+		}
+
+		if (countStrategy == CountStrategy.WINDOW) {
+			return executeWithWindowCount(querySupplier, condition, mapper, pageable);
+		}
+
+		return executeWithLookahead(querySupplier, condition, mapper, pageable);
+	}
+
+	private <R extends Record, Q extends SelectWhereStep<R>, T> Page<T> executeWithWindowCount(
+			Supplier<Q> querySupplier,
+			Condition condition,
+			Converter<R, T> mapper,
+			Pageable pageable
+	) {
+		final SelectQuery<R> query = apply(querySupplier.get(), condition, pageable, 0).getQuery();
+
+		final List<SelectFieldOrAsterisk> fields = new ArrayList<>(query.getSelect());
+		fields.add(DSL.count().over().as(TOTAL_COUNT_FIELD));
+		query.setSelect(fields);
+
+		final Result<R> records = query.fetch();
+		final List<T> results = records.map(mapper::convert);
+
+		return PageableExecutionUtils.getPage(results, pageable, () -> records.isEmpty()
+				? count(querySupplier.get(), condition)
+				: records.getFirst().get(TOTAL_COUNT_FIELD, Long.class));
+	}
+
+	private <R extends Record, Q extends SelectWhereStep<R>, T> Page<T> executeWithLookahead(
+			Supplier<Q> querySupplier,
+			Condition condition,
+			Converter<R, T> mapper,
+			Pageable pageable
+	) {
+		final List<T> results = new ArrayList<>(apply(querySupplier.get(), condition, pageable, 1)
+				.fetch(mapper::convert));
+
+		final boolean hasMore = results.size() > pageable.getPageSize();
+
+		if (hasMore) {
+			results.removeLast();
+		}
+
+		final long offset = pageable.getOffset();
+
+		// total is exact when there are no more elements, unless the requested page is past the last one
+		if (!hasMore && (offset == 0 || !results.isEmpty())) {
+			return new PageImpl<>(results, pageable, offset + results.size());
+		}
+
+		long total = offset + results.size() + (hasMore ? 1 : 0);
+
+		if (countStrategy == CountStrategy.ESTIMATED) {
+			total = Math.max(total, estimate(querySupplier.get(), condition));
+		}
+
+		return new EstimatedPage<>(results, pageable, total);
 	}
 
-	private <R extends Record> ResultQuery<R> apply(SelectWhereStep<R> query, Condition condition, Pageable pageable) {
+	private <R extends Record> SelectFinalStep<R> apply(
+			SelectWhereStep<R> query,
+			Condition condition,
+			Pageable pageable,
+			int lookahead
+	) {
 		final Collection<OrderField<?>> orderBy = createOrderBy(pageable.getSort());
 
 		if (pageable.isUnpaged()) {
@@ -166,7 +266,7 @@ public class PageableExecutor {
 		return query.where(condition)
 				.orderBy(orderBy)
 				.offset(pageable.getOffset())
-				.limit(pageable.getPageSize());
+				.limit(pageable.getPageSize() + lookahead);
 	}
 
 	private <R extends Record> Long count(SelectWhereStep<R> query, Condition condition) {
@@ -174,6 +274,24 @@ public class PageableExecutor {
 		return context.fetchCountLarge(query.where(condition));
 	}
 
+	private <R extends Record> long estimate(SelectWhereStep<R> query, Condition condition) {
+		// bind values are inlined as the planner can not estimate the row count for unknown parameter values
+		final DSLContext context = DSL.using(query.configuration().deriveSettings(
+				settings -> settings.withStatementType(StatementType.STATIC_STATEMENT)
+		));
+
+		final String plan = context.resultQuery("EXPLAIN (FORMAT JSON) {0}", query.where(condition))
+				.fetchOne(0, String.class);
+
+		if (plan == null) {
+			return 0;
+		}
+
+		// the first occurrence is the row estimate of the top level plan node
+		final Matcher matcher = PLAN_ROWS_PATTERN.matcher(plan);
+		return matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+	}
+
 	protected Condition createCondition(@Nullable Condition condition) {
 		return condition == null ? DSL.noCondition() : condition;
 	}
@@ -203,6 +321,7 @@ public class PageableExecutor {
 	public static final class Builder {
 		private final Map<String, Field<?>> sortFields = new LinkedHashMap<>();
 		private @Nullable OrderField<?> defaultSortField;
+		private CountStrategy countStrategy = CountStrategy.EXACT;
 
 		/**
 		 * Specify the default sortable {@link Field} that would be applied if the {@link Sort}
@@ -249,10 +368,23 @@ public class PageableExecutor {
 			return this;
 		}
 
+		/**
+		 * Specify the {@link CountStrategy} used to resolve the total number of elements. Defaults to
+		 * the {@link CountStrategy#EXACT exact} count strategy.
+		 *
+		 * @param strategy the count strategy, can't be {@literal null}
+		 * @return pageable executor builder, never {@literal null}.
+		 */
+		public Builder counting(CountStrategy strategy) {
+			Assert.notNull(strategy, "Count strategy can not be null");
+			this.countStrategy = strategy;
+			return this;
+		}
+
 		public PageableExecutor build() {
 			Assert.notNull(defaultSortField, "Default sort field is required");
 
-			return new PageableExecutor(Collections.unmodifiableMap(sortFields), defaultSortField);
+			return new PageableExecutor(Collections.unmodifiableMap(sortFields), defaultSortField, countStrategy);
 		}
 	}
 
@@ -265,13 +397,21 @@ public class PageableExecutor {
 				Condition rankedCondition,
 				OrderField<Double> rankedSort,
 				Map<String, Field<?>> sortFields,
-				OrderField<?> defaultSortField
+				OrderField<?> defaultSortField,
+				CountStrategy countStrategy
 		) {
-			super(sortFields, defaultSortField);
+			super(sortFields, defaultSortField, countStrategy);
 			this.rankedCondition = rankedCondition;
 			this.rankedSort = rankedSort;
 		}
 
+		@Override
+		public PageableExecutor counting(CountStrategy strategy) {
+			Assert.notNull(strategy, "Count strategy can not be null");
+
+			return new RankedPageableExecutor(rankedCondition, rankedSort, super.sortFields, super.defaultSortField, strategy);
+		}
+
 		@Override
 		protected Condition createCondition(@Nullable Condition condition) {
 			return condition == null ? rankedCondition : condition.and(rankedCondition);
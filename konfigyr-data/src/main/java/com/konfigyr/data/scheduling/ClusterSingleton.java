@@ -0,0 +1,55 @@
+package com.konfigyr.data.scheduling;
+
+import java.lang.annotation.*;
+
+/**
+ * Annotation that marks a {@link org.springframework.scheduling.annotation.Scheduled scheduled} method as a
+ * cluster singleton job, a job that should be executed by at most one application instance at a time.
+ * <p>
+ * Scheduled methods that are not annotated with this annotation are considered as per-node jobs, and they
+ * are executed by every application instance. This is the desired behavior for jobs that are maintaining
+ * node local state, like in-memory caches, or for jobs that are already coordinating their work using
+ * database locks, like the worker queue consumers.
+ * <p>
+ * Before the annotated method is invoked, the instance attempts to acquire a lease for the job that is
+ * stored in the {@code scheduler_locks} table. When the lease is currently held by another instance, the
+ * invocation is skipped. The lease is held for at most the {@link #lockAtMostFor()} duration, which is the
+ * time after which another instance would take over the job should the owning instance crash, and for at
+ * least the {@link #lockAtLeastFor()} duration to prevent instances with slightly skewed clocks from
+ * executing the same job run twice.
+ * <p>
+ * Durations can be specified using the ISO-8601 format, like {@code PT10M}, or the simple format, like
+ * {@code 10m}, and may contain property placeholders.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ * @see SchedulerLockProvider
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ClusterSingleton {
+
+	/**
+	 * The unique name of the cluster singleton job that is used as the lease identifier.
+	 *
+	 * @return the job name
+	 */
+	String value();
+
+	/**
+	 * For how long should the lease be held in case the owning instance dies before releasing it.
+	 * This value should be greater than the longest expected execution time of the job.
+	 *
+	 * @return maximum lease duration, defaults to 10 minutes
+	 */
+	String lockAtMostFor() default "10m";
+
+	/**
+	 * Minimum amount of time for which the lease is held, even if the job execution completes sooner.
+	 *
+	 * @return minimum lease duration, defaults to 5 seconds
+	 */
+	String lockAtLeastFor() default "5s";
+
+}
@@ -0,0 +1,47 @@
+package com.konfigyr.data.scheduling;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.beans.factory.config.EmbeddedValueResolver;
+
+/**
+ * Bean post processor that creates proxies for beans that contain {@link ClusterSingleton} annotated methods,
+ * applying the {@link ClusterSingletonInterceptor}.
+ * <p>
+ * The interceptor is registered before any other existing advisor, like the transactional one, so that the
+ * job lease is acquired before a transaction is started for the scheduled method.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@NullMarked
+class ClusterSingletonBeanPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+	ClusterSingletonBeanPostProcessor() {
+		setProxyTargetClass(true);
+		setBeforeExistingAdvisors(true);
+	}
+
+	@Override
+	public void setBeanFactory(@NonNull BeanFactory beanFactory) {
+		super.setBeanFactory(beanFactory);
+
+		final ClusterSingletonInterceptor interceptor = new ClusterSingletonInterceptor(
+				beanFactory.getBeanProvider(SchedulerLockProvider.class),
+				beanFactory.getBeanProvider(ObservationRegistry.class),
+				new EmbeddedValueResolver((ConfigurableBeanFactory) beanFactory)
+		);
+
+		this.advisor = new DefaultPointcutAdvisor(
+				AnnotationMatchingPointcut.forMethodAnnotation(ClusterSingleton.class),
+				interceptor
+		);
+	}
+
+}
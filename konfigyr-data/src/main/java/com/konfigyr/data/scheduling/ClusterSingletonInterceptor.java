@@ -0,0 +1,120 @@
+package com.konfigyr.data.scheduling;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.StringValueResolver;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Method interceptor that executes the {@link ClusterSingleton} annotated methods only when the lease for
+ * the job is acquired using the {@link SchedulerLockProvider}.
+ * <p>
+ * Each invocation is observed using the {@code konfigyr.scheduler.job} observation that records the job
+ * name and the outcome of the lease acquisition, where {@code executed} outcome marks the job executions
+ * on the instance that owns the lease and {@code skipped} marks the ones that are owned by another instance.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@Slf4j
+@NullMarked
+class ClusterSingletonInterceptor implements MethodInterceptor {
+
+	static final String OBSERVATION_NAME = "konfigyr.scheduler.job";
+
+	private final ObjectProvider<SchedulerLockProvider> provider;
+	private final ObjectProvider<ObservationRegistry> observationRegistry;
+	private final StringValueResolver resolver;
+	private final Map<Method, Definition> definitions = new ConcurrentHashMap<>();
+
+	ClusterSingletonInterceptor(
+			ObjectProvider<SchedulerLockProvider> provider,
+			ObjectProvider<ObservationRegistry> observationRegistry,
+			StringValueResolver resolver
+	) {
+		this.provider = provider;
+		this.observationRegistry = observationRegistry;
+		this.resolver = resolver;
+	}
+
+	@Nullable
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		final Definition definition = definitions.computeIfAbsent(invocation.getMethod(),
+				method -> resolve(invocation));
+		final SchedulerLockProvider locks = provider.getObject();
+
+		final Observation observation = Observation.createNotStarted(OBSERVATION_NAME,
+						observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP))
+				.contextualName("cluster singleton job " + definition.name())
+				.lowCardinalityKeyValue(KeyValue.of("konfigyr.scheduler.job.name", definition.name()))
+				.highCardinalityKeyValue(KeyValue.of("konfigyr.scheduler.job.owner", locks.owner()))
+				.start();
+
+		try (Observation.Scope ignored = observation.openScope()) {
+			if (!locks.acquire(definition.name(), definition.lockAtMostFor())) {
+				log.debug("Skipping execution of cluster singleton job {} as its lease is owned by another instance",
+						definition.name());
+
+				observation.lowCardinalityKeyValue(KeyValue.of("konfigyr.scheduler.job.outcome", "skipped"));
+				return null;
+			}
+
+			observation.lowCardinalityKeyValue(KeyValue.of("konfigyr.scheduler.job.outcome", "executed"));
+
+			try {
+				return invocation.proceed();
+			} finally {
+				locks.release(definition.name(), definition.lockAtLeastFor());
+			}
+		} catch (Throwable ex) {
+			observation.error(ex);
+			throw ex;
+		} finally {
+			observation.stop();
+		}
+	}
+
+	private Definition resolve(MethodInvocation invocation) {
+		Method method = invocation.getMethod();
+
+		if (invocation.getThis() != null) {
+			method = AopUtils.getMostSpecificMethod(method, invocation.getThis().getClass());
+		}
+
+		final ClusterSingleton annotation = AnnotatedElementUtils.findMergedAnnotation(method, ClusterSingleton.class);
+
+		if (annotation == null) {
+			throw new IllegalStateException("Method " + method + " is not annotated with @ClusterSingleton");
+		}
+
+		return new Definition(
+				resolveValue(annotation.value()),
+				DurationStyle.detectAndParse(resolveValue(annotation.lockAtMostFor())),
+				DurationStyle.detectAndParse(resolveValue(annotation.lockAtLeastFor()))
+		);
+	}
+
+	private String resolveValue(String value) {
+		final String resolved = resolver.resolveStringValue(value);
+		return resolved == null ? value : resolved;
+	}
+
+	record Definition(String name, Duration lockAtMostFor, Duration lockAtLeastFor) {
+	}
+
+}
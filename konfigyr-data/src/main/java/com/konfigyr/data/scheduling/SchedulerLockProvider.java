@@ -0,0 +1,145 @@
+package com.konfigyr.data.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.jooq.types.DayToSecond;
+import org.jspecify.annotations.NullMarked;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.konfigyr.data.tables.SchedulerLocks.SCHEDULER_LOCKS;
+
+/**
+ * Provider of cluster wide leases for {@link ClusterSingleton} jobs that are stored in the
+ * {@code scheduler_locks} table.
+ * <p>
+ * A lease is acquired by upserting the job row, the update is only applied when the current lease
+ * has expired or when it is already owned by this instance. All lease timestamps are computed using the
+ * database clock, so the application instances do not need to have synchronized clocks.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@Slf4j
+@NullMarked
+public class SchedulerLockProvider {
+
+	private final DSLContext context;
+	private final String owner;
+	private final Map<String, Boolean> ownership = new ConcurrentHashMap<>();
+
+	public SchedulerLockProvider(DSLContext context) {
+		this(context, ManagementFactory.getRuntimeMXBean().getName());
+	}
+
+	public SchedulerLockProvider(DSLContext context, String owner) {
+		this.context = context;
+		this.owner = owner;
+	}
+
+	/**
+	 * Returns the identifier of this application instance that is used as the lease owner.
+	 *
+	 * @return the lease owner, never {@literal null}
+	 */
+	public String owner() {
+		return owner;
+	}
+
+	/**
+	 * Attempts to acquire the lease for the job with the given name.
+	 *
+	 * @param name the job name, can't be {@literal null}
+	 * @param lockAtMostFor maximum duration of the lease, can't be {@literal null}
+	 * @return {@code true} when the lease was acquired by this instance
+	 */
+	public boolean acquire(String name, Duration lockAtMostFor) {
+		final Field<OffsetDateTime> now = DSL.currentOffsetDateTime();
+		final Field<OffsetDateTime> until = plus(now, lockAtMostFor);
+
+		final boolean acquired = context.insertInto(SCHEDULER_LOCKS)
+				.set(SCHEDULER_LOCKS.NAME, name)
+				.set(SCHEDULER_LOCKS.OWNER, owner)
+				.set(SCHEDULER_LOCKS.LOCKED_AT, now)
+				.set(SCHEDULER_LOCKS.LOCK_UNTIL, until)
+				.onConflict(SCHEDULER_LOCKS.NAME)
+				.doUpdate()
+				.set(SCHEDULER_LOCKS.OWNER, owner)
+				.set(SCHEDULER_LOCKS.LOCKED_AT, now)
+				.set(SCHEDULER_LOCKS.LOCK_UNTIL, until)
+				.where(DSL.or(
+						SCHEDULER_LOCKS.LOCK_UNTIL.le(now),
+						SCHEDULER_LOCKS.OWNER.eq(owner)
+				))
+				.execute() > 0;
+
+		final Boolean previous = ownership.put(name, acquired);
+
+		if (acquired && !Boolean.TRUE.equals(previous)) {
+			log.info("Application instance {} acquired the lease for the cluster singleton job: {}", owner, name);
+		} else if (!acquired && Boolean.TRUE.equals(previous)) {
+			log.info("Application instance {} no longer owns the lease for the cluster singleton job: {}", owner, name);
+		}
+
+		return acquired;
+	}
+
+	/**
+	 * Releases the lease for the job with the given name if it is owned by this instance. The lease is
+	 * kept until the minimum lease duration, counted from the moment the lease was acquired, elapses.
+	 *
+	 * @param name the job name, can't be {@literal null}
+	 * @param lockAtLeastFor minimum duration of the lease, can't be {@literal null}
+	 */
+	public void release(String name, Duration lockAtLeastFor) {
+		context.update(SCHEDULER_LOCKS)
+				.set(SCHEDULER_LOCKS.LOCK_UNTIL, DSL.greatest(
+						DSL.currentOffsetDateTime(),
+						plus(SCHEDULER_LOCKS.LOCKED_AT, lockAtLeastFor)
+				))
+				.where(DSL.and(
+						SCHEDULER_LOCKS.NAME.eq(name),
+						SCHEDULER_LOCKS.OWNER.eq(owner)
+				))
+				.execute();
+	}
+
+	/**
+	 * Returns the names of the cluster singleton jobs whose leases were acquired by this instance
+	 * during their last scheduled execution.
+	 *
+	 * @return the owned job names, never {@literal null}
+	 */
+	public List<String> owned() {
+		return ownership.entrySet().stream()
+				.filter(Map.Entry::getValue)
+				.map(Map.Entry::getKey)
+				.sorted()
+				.toList();
+	}
+
+	/**
+	 * Returns the current lease owners of all cluster singleton jobs, as they are stored in the database.
+	 *
+	 * @return the job names mapped to their current lease owners, never {@literal null}
+	 */
+	public Map<String, String> owners() {
+		return context.select(SCHEDULER_LOCKS.NAME, SCHEDULER_LOCKS.OWNER)
+				.from(SCHEDULER_LOCKS)
+				.where(SCHEDULER_LOCKS.LOCK_UNTIL.gt(DSL.currentOffsetDateTime()))
+				.fetchMap(SCHEDULER_LOCKS.NAME, SCHEDULER_LOCKS.OWNER);
+	}
+
+	private static Field<OffsetDateTime> plus(Field<OffsetDateTime> timestamp, Duration duration) {
+		return DSL.field("{0} + {1}", SQLDataType.TIMESTAMPWITHTIMEZONE, timestamp, DSL.val(DayToSecond.valueOf(duration)));
+	}
+
+}
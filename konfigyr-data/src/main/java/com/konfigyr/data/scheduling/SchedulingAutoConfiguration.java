@@ -0,0 +1,36 @@
+package com.konfigyr.data.scheduling;
+
+import org.jooq.DSLContext;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.jooq.autoconfigure.JooqAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Role;
+
+/**
+ * Spring autoconfiguration that enables the {@link ClusterSingleton} scheduled jobs.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@NullMarked
+@AutoConfiguration(after = JooqAutoConfiguration.class)
+public class SchedulingAutoConfiguration {
+
+	@Bean
+	@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+	static ClusterSingletonBeanPostProcessor clusterSingletonBeanPostProcessor() {
+		return new ClusterSingletonBeanPostProcessor();
+	}
+
+	@Bean
+	@ConditionalOnBean(DSLContext.class)
+	@ConditionalOnMissingBean
+	SchedulerLockProvider schedulerLockProvider(DSLContext context) {
+		return new SchedulerLockProvider(context);
+	}
+
+}
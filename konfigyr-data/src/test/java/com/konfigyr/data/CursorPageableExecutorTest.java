@@ -0,0 +1,222 @@
+package com.konfigyr.data;
+
+import com.konfigyr.test.TestContainers;
+import com.konfigyr.test.TestProfile;
+import org.jooq.DSLContext;
+import org.jooq.SortOrder;
+import org.jspecify.annotations.NonNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.context.ImportTestcontainers;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static com.konfigyr.data.TestingTable.TESTING_TABLE;
+import static org.assertj.core.api.Assertions.*;
+
+@TestProfile
+@ImportTestcontainers(TestContainers.class)
+@SpringBootTest(classes = CursorPageableExecutorTest.Config.class)
+class CursorPageableExecutorTest {
+
+	static final CursorPageableExecutor.Codec codec = new CursorPageableExecutor.Codec() {
+		@Override
+		public CursorPageableExecutor.Position decode(String token) {
+			final String[] parts = token.split("\\|");
+
+			if (parts.length != 3) {
+				throw new IllegalArgumentException("Invalid cursor token of: " + token);
+			}
+
+			return new CursorPageableExecutor.Position(
+					List.of(OffsetDateTime.parse(parts[0]), Long.parseLong(parts[1])),
+					Boolean.parseBoolean(parts[2])
+			);
+		}
+
+		@Override
+		public String encode(CursorPageableExecutor.Position position) {
+			return position.get(0, OffsetDateTime.class) + "|" + position.get(1, Long.class) + "|" + position.reversed();
+		}
+	};
+
+	@Autowired
+	DSLContext context;
+
+	CursorPageableExecutor executor;
+
+	@BeforeEach
+	void setup() {
+		executor = CursorPageableExecutor.builder()
+				.seekField(TESTING_TABLE.TIMESTAMP)
+				.seekField(TESTING_TABLE.ID)
+				.codec(codec)
+				.build();
+
+		final OffsetDateTime timestamp = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+
+		// records 3, 4 and 5 share the same timestamp, the identifier is used to resolve their position
+		insertTestData(1, "ACTIVE", timestamp.minusMinutes(5));
+		insertTestData(2, "INACTIVE", timestamp.minusMinutes(4));
+		insertTestData(3, "ACTIVE", timestamp.minusMinutes(3));
+		insertTestData(4, "ACTIVE", timestamp.minusMinutes(3));
+		insertTestData(5, "INACTIVE", timestamp.minusMinutes(3));
+		insertTestData(6, "ACTIVE", timestamp.minus(1, ChronoUnit.MICROS));
+		insertTestData(7, "ACTIVE", timestamp);
+	}
+
+	@AfterEach
+	void cleanup() {
+		context.deleteFrom(TESTING_TABLE).execute();
+	}
+
+	@Test
+	@DisplayName("should navigate forward and backward using the row value seek predicate")
+	void navigatePages() {
+		CursorPage<Long> page = execute(CursorPageable.of(3));
+
+		assertThat(page.content()).containsExactly(7L, 6L, 5L);
+		assertThatObject(page)
+				.returns(true, CursorPage::hasNext)
+				.returns(false, CursorPage::hasPrevious);
+
+		page = execute(page.nextPageable());
+
+		assertThat(page.content()).containsExactly(4L, 3L, 2L);
+		assertThatObject(page)
+				.returns(true, CursorPage::hasNext)
+				.returns(true, CursorPage::hasPrevious);
+
+		page = execute(page.nextPageable());
+
+		assertThat(page.content()).containsExactly(1L);
+		assertThatObject(page)
+				.returns(false, CursorPage::hasNext)
+				.returns(true, CursorPage::hasPrevious);
+
+		page = execute(page.previousPageable());
+
+		assertThat(page.content()).containsExactly(4L, 3L, 2L);
+		assertThatObject(page)
+				.returns(true, CursorPage::hasNext)
+				.returns(true, CursorPage::hasPrevious);
+
+		page = execute(page.previousPageable());
+
+		assertThat(page.content()).containsExactly(7L, 6L, 5L);
+		assertThatObject(page)
+				.returns(true, CursorPage::hasNext)
+				.returns(false, CursorPage::hasPrevious);
+	}
+
+	@Test
+	@DisplayName("should apply the seek predicate together with the supplied condition")
+	void navigatePagesWithCondition() {
+		CursorPage<Long> page = execute(CursorPageable.of(2), "ACTIVE");
+
+		assertThat(page.content()).containsExactly(7L, 6L);
+
+		page = execute(page.nextPageable(), "ACTIVE");
+
+		assertThat(page.content()).containsExactly(4L, 3L);
+		assertThat(page.hasNext()).isTrue();
+
+		page = execute(page.nextPageable(), "ACTIVE");
+
+		assertThat(page.content()).containsExactly(1L);
+		assertThat(page.hasNext()).isFalse();
+	}
+
+	@Test
+	@DisplayName("should return all records ordered by the seek fields for unpaged cursor pageable")
+	void unpaged() {
+		final CursorPage<Long> page = execute(CursorPageable.unpaged());
+
+		assertThat(page.content())
+				.containsExactly(7L, 6L, 5L, 4L, 3L, 2L, 1L);
+
+		assertThatObject(page)
+				.returns(false, CursorPage::hasNext)
+				.returns(false, CursorPage::hasPrevious);
+	}
+
+	@Test
+	@DisplayName("should seek in ascending order when configured")
+	void ascendingOrder() {
+		executor = CursorPageableExecutor.builder()
+				.seekField(TESTING_TABLE.TIMESTAMP)
+				.seekField(TESTING_TABLE.ID)
+				.order(SortOrder.ASC)
+				.codec(codec)
+				.build();
+
+		CursorPage<Long> page = execute(CursorPageable.of(4));
+
+		assertThat(page.content()).containsExactly(1L, 2L, 3L, 4L);
+
+		page = execute(page.nextPageable());
+
+		assertThat(page.content()).containsExactly(5L, 6L, 7L);
+		assertThat(page.hasNext()).isFalse();
+	}
+
+	@Test
+	@DisplayName("should fail to execute query with an invalid cursor token")
+	void invalidToken() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> execute(CursorPageable.of("invalid", 10)))
+				.withMessage("Invalid cursor token of: invalid");
+	}
+
+	@Test
+	@DisplayName("should fail to build executor without seek fields or codec")
+	void invalidExecutor() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> CursorPageableExecutor.builder().codec(codec).build())
+				.withMessage("At least one seek field is required");
+
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> CursorPageableExecutor.builder().seekField(TESTING_TABLE.ID).build())
+				.withMessage("Cursor token codec is required");
+	}
+
+	private CursorPage<@NonNull Long> execute(CursorPageable pageable) {
+		return executor.execute(
+				() -> context.select(TESTING_TABLE.fields()).from(TESTING_TABLE),
+				() -> null,
+				record -> record.get(TESTING_TABLE.ID),
+				pageable
+		);
+	}
+
+	private CursorPage<@NonNull Long> execute(CursorPageable pageable, String status) {
+		return executor.execute(
+				() -> context.select(TESTING_TABLE.fields()).from(TESTING_TABLE),
+				() -> TESTING_TABLE.STATUS.eq(status),
+				record -> record.get(TESTING_TABLE.ID),
+				pageable
+		);
+	}
+
+	private void insertTestData(long id, String state, OffsetDateTime timestamp) {
+		context.insertInto(TESTING_TABLE)
+				.set(TESTING_TABLE.ID, id)
+				.set(TESTING_TABLE.STATUS, state)
+				.set(TESTING_TABLE.TIMESTAMP, timestamp)
+				.execute();
+	}
+
+	@EnableAutoConfiguration
+	static class Config {
+
+	}
+
+}
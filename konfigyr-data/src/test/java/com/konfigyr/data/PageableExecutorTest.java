@@ -3,6 +3,7 @@ package com.konfigyr.data;
 import com.konfigyr.test.TestContainers;
 import com.konfigyr.test.TestProfile;
 import org.jooq.*;
+import org.jooq.impl.DSL;
 import org.jspecify.annotations.NonNull;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,6 +20,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.*;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -208,6 +210,120 @@ class PageableExecutorTest {
 				.isEmpty();
 	}
 
+	@Test
+	@Transactional
+	@DisplayName("should resolve the exact total element count using the window function")
+	void shouldExecuteWithWindowCount() {
+		insertTestData(3, "ACTIVE", OffsetDateTime.now(ZoneOffset.UTC).minusSeconds(10));
+		insertTestData(4, "ACTIVE", OffsetDateTime.now(ZoneOffset.UTC).minusSeconds(20));
+
+		executor = executor.counting(CountStrategy.WINDOW);
+
+		assertThatObject(execute(PageRequest.of(0, 1, Sort.by("id")), TESTING_TABLE.STATUS.eq("ACTIVE")))
+				.isNotNull()
+				.isNotInstanceOf(EstimatedPage.class)
+				.returns(1, Page::getNumberOfElements)
+				.returns(3, Page::getTotalPages)
+				.returns(3L, Page::getTotalElements)
+				.asInstanceOf(iterable(Long.class))
+				.containsExactly(1L);
+
+		assertThatObject(execute(PageRequest.of(5, 1, Sort.by("id")), TESTING_TABLE.STATUS.eq("ACTIVE")))
+				.isNotNull()
+				.returns(0, Page::getNumberOfElements)
+				.returns(3L, Page::getTotalElements);
+	}
+
+	@Test
+	@Transactional
+	@DisplayName("should not count elements and detect the next page by fetching an additional element")
+	void shouldExecuteWithoutCount() {
+		insertTestData(3, "ACTIVE", OffsetDateTime.now(ZoneOffset.UTC).minusSeconds(10));
+
+		executor = executor.counting(CountStrategy.NONE);
+
+		assertThatObject(execute(PageRequest.of(0, 1, Sort.by("id"))))
+				.isInstanceOf(EstimatedPage.class)
+				.returns(true, Page::hasNext)
+				.returns(1, Page::getNumberOfElements)
+				.returns(2L, Page::getTotalElements)
+				.asInstanceOf(iterable(Long.class))
+				.containsExactly(1L);
+
+		assertThatObject(execute(PageRequest.of(1, 1, Sort.by("id"))))
+				.isInstanceOf(EstimatedPage.class)
+				.returns(true, Page::hasNext)
+				.returns(true, Page::hasPrevious)
+				.asInstanceOf(iterable(Long.class))
+				.containsExactly(2L);
+
+		assertThatObject(execute(PageRequest.of(1, 2, Sort.by("id"))))
+				.as("total of the last page should be exact")
+				.isNotInstanceOf(EstimatedPage.class)
+				.returns(false, Page::hasNext)
+				.returns(3L, Page::getTotalElements)
+				.asInstanceOf(iterable(Long.class))
+				.containsExactly(3L);
+	}
+
+	@Test
+	@Transactional
+	@DisplayName("should use the query planner estimate as the total element count")
+	void shouldExecuteWithEstimatedCount() {
+		for (int i = 3; i <= 20; i++) {
+			insertTestData(i, "ACTIVE", OffsetDateTime.now(ZoneOffset.UTC).minusSeconds(i));
+		}
+
+		executor = executor.counting(CountStrategy.ESTIMATED);
+
+		assertThatObject(execute(PageRequest.of(0, 5, Sort.by("id"))))
+				.isInstanceOf(EstimatedPage.class)
+				.returns(true, Page::hasNext)
+				.returns(5, Page::getNumberOfElements)
+				.satisfies(page -> assertThat(page.getTotalElements()).isGreaterThan(5))
+				.asInstanceOf(iterable(Long.class))
+				.containsExactly(1L, 2L, 3L, 4L, 5L);
+
+		assertThatObject(execute(PageRequest.of(3, 5, Sort.by("id"))))
+				.as("total of the last page should be exact")
+				.isNotInstanceOf(EstimatedPage.class)
+				.returns(false, Page::hasNext)
+				.returns(20L, Page::getTotalElements)
+				.asInstanceOf(iterable(Long.class))
+				.containsExactly(16L, 17L, 18L, 19L, 20L);
+	}
+
+	@Test
+	@DisplayName("should keep the count strategy when deriving a ranked executor")
+	void shouldKeepCountStrategyForRankedExecutor() {
+		final PageableExecutor counting = executor.counting(CountStrategy.NONE);
+
+		assertThat(executor.counting(CountStrategy.EXACT))
+				.isSameAs(executor);
+
+		final PageableExecutor ranked = counting.rankBy("ACTIVE | INACTIVE",
+				DSL.field("to_tsvector('simple', {0})", TESTING_TABLE.STATUS));
+
+		assertThatObject(ranked.execute(
+				() -> context.select(TESTING_TABLE.fields()).from(TESTING_TABLE),
+				record -> record.get(TESTING_TABLE.ID),
+				PageRequest.of(0, 1, Sort.by("id"))
+		))
+				.isInstanceOf(EstimatedPage.class)
+				.returns(true, Page::hasNext);
+	}
+
+	@Test
+	@DisplayName("should preserve the estimated page type when mapping the page content")
+	void shouldMapEstimatedPage() {
+		final Page<Long> page = new EstimatedPage<>(List.of(1L, 2L), PageRequest.of(0, 2), 10);
+
+		assertThat(page.map(String::valueOf))
+				.isInstanceOf(EstimatedPage.class)
+				.containsExactly("1", "2")
+				.returns(10L, Page::getTotalElements);
+	}
+
 	private Page<@NonNull Long> execute(Pageable pageable) {
 		return executor.execute(
 				() -> context.select(TESTING_TABLE.fields()).from(TESTING_TABLE),
@@ -0,0 +1,157 @@
+package com.konfigyr.data.scheduling;
+
+import com.konfigyr.test.TestContainers;
+import com.konfigyr.test.TestProfile;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.context.ImportTestcontainers;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.konfigyr.data.tables.SchedulerLocks.SCHEDULER_LOCKS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestProfile
+@ImportTestcontainers(TestContainers.class)
+@SpringBootTest(classes = ClusterSingletonTest.Config.class)
+class ClusterSingletonTest {
+
+	@Autowired
+	DSLContext context;
+
+	@Autowired
+	SchedulerLockProvider provider;
+
+	@Autowired
+	Job job;
+
+	@AfterEach
+	void cleanup() {
+		context.deleteFrom(SCHEDULER_LOCKS).execute();
+		job.reset();
+	}
+
+	@Test
+	@DisplayName("should acquire and release leases for cluster singleton jobs")
+	void acquireLease() {
+		final SchedulerLockProvider first = new SchedulerLockProvider(context, "first-node");
+		final SchedulerLockProvider second = new SchedulerLockProvider(context, "second-node");
+
+		assertThat(first.acquire("lease-test", Duration.ofMinutes(1)))
+				.as("first node should acquire the lease")
+				.isTrue();
+
+		assertThat(second.acquire("lease-test", Duration.ofMinutes(1)))
+				.as("second node should not acquire the lease while it is owned by the first node")
+				.isFalse();
+
+		assertThat(first.acquire("lease-test", Duration.ofMinutes(1)))
+				.as("first node should be able to renew the lease it owns")
+				.isTrue();
+
+		assertThat(first.owners())
+				.containsEntry("lease-test", "first-node");
+
+		first.release("lease-test", Duration.ZERO);
+
+		assertThat(second.acquire("lease-test", Duration.ofMinutes(1)))
+				.as("second node should take over the released lease")
+				.isTrue();
+
+		assertThat(first.owners())
+				.containsEntry("lease-test", "second-node");
+
+		assertThat(first.acquire("lease-test", Duration.ofMinutes(1)))
+				.isFalse();
+
+		assertThat(first.owned())
+				.isEmpty();
+
+		assertThat(second.owned())
+				.containsExactly("lease-test");
+	}
+
+	@Test
+	@DisplayName("should keep the lease for the minimum lease duration after release")
+	void keepLeaseForMinimumDuration() {
+		final SchedulerLockProvider first = new SchedulerLockProvider(context, "first-node");
+		final SchedulerLockProvider second = new SchedulerLockProvider(context, "second-node");
+
+		assertThat(first.acquire("minimum-lease-test", Duration.ofMinutes(1))).isTrue();
+
+		first.release("minimum-lease-test", Duration.ofMinutes(1));
+
+		assertThat(second.acquire("minimum-lease-test", Duration.ofMinutes(1))).isFalse();
+	}
+
+	@Test
+	@DisplayName("should take over the lease when it expires")
+	void takeOverExpiredLease() throws Exception {
+		final SchedulerLockProvider first = new SchedulerLockProvider(context, "first-node");
+		final SchedulerLockProvider second = new SchedulerLockProvider(context, "second-node");
+
+		assertThat(first.acquire("expired-lease-test", Duration.ofMillis(100))).isTrue();
+
+		Thread.sleep(200);
+
+		assertThat(second.acquire("expired-lease-test", Duration.ofMinutes(1))).isTrue();
+	}
+
+	@Test
+	@DisplayName("should execute cluster singleton job only when lease is acquired")
+	void executeClusterSingletonJob() {
+		job.run();
+
+		assertThat(job.count())
+				.isEqualTo(1);
+
+		assertThat(provider.owners())
+				.containsEntry("test-job", provider.owner());
+
+		context.update(SCHEDULER_LOCKS)
+				.set(SCHEDULER_LOCKS.OWNER, "other-node")
+				.where(SCHEDULER_LOCKS.NAME.eq("test-job"))
+				.execute();
+
+		job.run();
+
+		assertThat(job.count())
+				.as("job should not be executed while the lease is owned by another node")
+				.isEqualTo(1);
+	}
+
+	static class Job {
+		private final AtomicInteger counter = new AtomicInteger();
+
+		@ClusterSingleton(value = "test-job", lockAtLeastFor = "1m")
+		void run() {
+			counter.incrementAndGet();
+		}
+
+		int count() {
+			return counter.get();
+		}
+
+		void reset() {
+			counter.set(0);
+		}
+	}
+
+	@EnableAutoConfiguration
+	static class Config {
+
+		@Bean
+		Job job() {
+			return new Job();
+		}
+
+	}
+
+}
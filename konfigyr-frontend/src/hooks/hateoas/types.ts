@@ -19,6 +19,7 @@ export interface PageResponse<T> extends CollectionResponse<T> {
     number?: number | null;
     total?: number | null;
     pages?: number | null;
+    estimated?: boolean | null;
   }
 }
 
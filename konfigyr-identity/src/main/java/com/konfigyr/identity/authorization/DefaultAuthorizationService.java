@@ -5,6 +5,7 @@ import com.konfigyr.data.SettableRecord;
 import com.konfigyr.data.converter.EncryptionConverter;
 import com.konfigyr.data.converter.JsonByteArrayConverter;
 import com.konfigyr.data.converter.MessageDigestConverter;
+import com.konfigyr.data.scheduling.ClusterSingleton;
 import com.konfigyr.io.ByteArray;
 import io.micrometer.observation.annotation.Observed;
 import lombok.extern.slf4j.Slf4j;
@@ -313,6 +314,7 @@ class DefaultAuthorizationService implements AuthorizationService {
 	}
 
 	@Observed(name = "konfigyr.identity.authorization.cleanup")
+	@ClusterSingleton("authorization-cleanup")
 	@Scheduled(cron = "${konfigyr.authorization.cleanup.cron:0 0/15 * * * *}")
 	@Transactional(label = "authorization-service.cleanup-expired-authorizations")
 	void cleanup() {
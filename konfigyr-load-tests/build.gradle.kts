@@ -0,0 +1,28 @@
+plugins {
+    java
+    application
+}
+
+description = "Konfigyr module that contains the end-to-end load test harness for the configuration server"
+
+dependencies {
+    implementation(project(":konfigyr-api"))
+    implementation(project(":konfigyr-core"))
+
+    implementation("org.testcontainers:testcontainers-postgresql")
+}
+
+application {
+    mainClass = "com.konfigyr.load.LoadTestApplication"
+}
+
+// Load test options can be passed as application arguments, for instance:
+// ./gradlew :konfigyr-load-tests:run --args="--profiles=50 --properties=2000 --concurrency=32"
+// Results are written to the `build/results/load/results.json` file of this module by default.
+tasks.named<JavaExec>("run") {
+    jvmArgs("-Xms1g", "-Xmx1g")
+}
+
+tasks.withType<Javadoc>().configureEach {
+    isEnabled = false
+}
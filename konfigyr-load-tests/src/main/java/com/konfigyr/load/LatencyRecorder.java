@@ -0,0 +1,114 @@
+package com.konfigyr.load;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread safe recorder of request latencies for a single load test scenario.
+ * <p>
+ * Latencies are stored in a pre-allocated array, sized to the expected number of requests, so that recording
+ * a sample does not allocate nor contend on a lock while the scenario is running. Samples that exceed the
+ * capacity are counted but not used when computing the percentiles.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@NullMarked
+final class LatencyRecorder {
+
+	private final String scenario;
+	private final long[] samples;
+	private final AtomicInteger count = new AtomicInteger();
+	private final AtomicLong errors = new AtomicLong();
+
+	private long started;
+	private long stopped;
+
+	LatencyRecorder(String scenario, int capacity) {
+		this.scenario = scenario;
+		this.samples = new long[capacity];
+	}
+
+	/**
+	 * Marks the start of the scenario, used to calculate the scenario throughput.
+	 */
+	void start() {
+		started = System.nanoTime();
+	}
+
+	/**
+	 * Marks the end of the scenario, used to calculate the scenario throughput.
+	 */
+	void stop() {
+		stopped = System.nanoTime();
+	}
+
+	/**
+	 * Records the latency of a successful request.
+	 *
+	 * @param nanos the request latency in nanoseconds
+	 */
+	void record(long nanos) {
+		final int index = count.getAndIncrement();
+
+		if (index < samples.length) {
+			samples[index] = nanos;
+		}
+	}
+
+	/**
+	 * Records a failed request, failed requests are not included in the latency percentiles.
+	 */
+	void error() {
+		errors.incrementAndGet();
+	}
+
+	/**
+	 * Computes the {@link ScenarioResult} from the recorded samples.
+	 *
+	 * @return the scenario result, never {@literal null}
+	 */
+	ScenarioResult result() {
+		final int size = Math.min(count.get(), samples.length);
+		final long[] sorted = Arrays.copyOf(samples, size);
+		Arrays.sort(sorted);
+
+		final Duration duration = Duration.ofNanos(stopped - started);
+		final double seconds = duration.toNanos() / 1e9;
+
+		return new ScenarioResult(
+				scenario,
+				count.get(),
+				errors.get(),
+				duration.toMillis(),
+				seconds > 0 ? count.get() / seconds : 0,
+				size == 0 ? 0 : millis((long) Arrays.stream(sorted).average().orElse(0)),
+				percentile(sorted, 50),
+				percentile(sorted, 90),
+				percentile(sorted, 99),
+				percentile(sorted, 99.9),
+				size == 0 ? 0 : millis(sorted[size - 1])
+		);
+	}
+
+	/**
+	 * Nearest-rank percentile of the sorted samples, converted to milliseconds.
+	 */
+	private static double percentile(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+
+		final int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+		return millis(sorted[Math.clamp(rank - 1, 0, sorted.length - 1)]);
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1e6;
+	}
+
+}
@@ -0,0 +1,136 @@
+package com.konfigyr.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load driver that is requesting the configuration environments of the seeded profiles from the
+ * {@code /configs/{service}/{profiles}} endpoint, authenticated as a namespace application.
+ * <p>
+ * Requests are sent using the JDK {@link HttpClient} from a fixed pool of reader threads, each one sending
+ * its next request as soon as the previous one completes, so the concurrency of the load is controlled by
+ * the number of readers.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@Slf4j
+@NullMarked
+final class LoadDriver implements AutoCloseable {
+
+	static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+	private final HttpClient client;
+	private final URI base;
+	private final String authorization;
+
+	LoadDriver(int port, LoadTestOptions options) {
+		this.client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(REQUEST_TIMEOUT)
+				.build();
+		this.base = URI.create("http://localhost:" + port + "/configs/" + options.service() + "/");
+		this.authorization = "Basic " + Base64.getEncoder().encodeToString(
+				(options.clientId() + ":" + options.clientSecret()).getBytes(StandardCharsets.UTF_8)
+		);
+	}
+
+	/**
+	 * Requests the configuration environment of each profile once, one after another.
+	 *
+	 * @param recorder the recorder of the request latencies, can't be {@literal null}
+	 * @param profiles the slugs of the profiles to request, can't be {@literal null}
+	 */
+	void sequential(LatencyRecorder recorder, List<String> profiles) {
+		recorder.start();
+
+		for (String profile : profiles) {
+			request(recorder, profile);
+		}
+
+		recorder.stop();
+	}
+
+	/**
+	 * Sends the given number of requests, each one for a randomly chosen profile, using the given number of
+	 * concurrent readers.
+	 *
+	 * @param recorder the recorder of the request latencies, can't be {@literal null}
+	 * @param profiles the slugs of the profiles to request, can't be {@literal null}
+	 * @param requests the total number of requests to send
+	 * @param concurrency the number of concurrent readers
+	 * @throws InterruptedException when interrupted while waiting for the readers to complete
+	 */
+	void concurrent(LatencyRecorder recorder, List<String> profiles, int requests, int concurrency)
+			throws InterruptedException {
+		final AtomicInteger remaining = new AtomicInteger(requests);
+
+		try (ExecutorService executor = Executors.newFixedThreadPool(concurrency)) {
+			recorder.start();
+
+			for (int i = 0; i < concurrency; i++) {
+				executor.execute(() -> {
+					while (remaining.getAndDecrement() > 0) {
+						request(recorder, profiles.get(ThreadLocalRandom.current().nextInt(profiles.size())));
+					}
+				});
+			}
+
+			executor.shutdown();
+
+			if (!executor.awaitTermination(1, TimeUnit.HOURS)) {
+				throw new IllegalStateException("Load test readers did not complete within an hour");
+			}
+
+			recorder.stop();
+		}
+	}
+
+	private void request(LatencyRecorder recorder, String profile) {
+		final HttpRequest request = HttpRequest.newBuilder(base.resolve(profile))
+				.header("Authorization", authorization)
+				.header("Accept", "application/json")
+				.timeout(REQUEST_TIMEOUT)
+				.GET()
+				.build();
+
+		final long start = System.nanoTime();
+
+		try {
+			final HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+			if (response.statusCode() == 200) {
+				recorder.record(System.nanoTime() - start);
+			} else {
+				log.warn("Unexpected response status {} for profile '{}'", response.statusCode(), profile);
+				recorder.error();
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			recorder.error();
+		} catch (Exception ex) {
+			log.warn("Failed to request configuration for profile '{}'", profile, ex);
+			recorder.error();
+		}
+	}
+
+	@Override
+	public void close() {
+		client.close();
+	}
+
+}
@@ -0,0 +1,197 @@
+package com.konfigyr.load;
+
+import com.konfigyr.KonfigyrApplication;
+import com.konfigyr.namespace.NamespaceManager;
+import com.konfigyr.namespace.Service;
+import com.konfigyr.namespace.Services;
+import com.konfigyr.vault.Profile;
+import com.konfigyr.vault.ProfileManager;
+import com.konfigyr.vault.VaultAccessor;
+import com.konfigyr.vault.state.StateRepositoryFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * End-to-end load test harness for the {@code /configs} endpoint of the Konfigyr API.
+ * <p>
+ * The harness starts a PostgreSQL test container and the Konfigyr API on a random local port, seeds the
+ * profiles with encrypted properties and executes the following scenarios using the {@link LoadDriver}:
+ * <ul>
+ *     <li>
+ *         <b>cold-cache</b> - each profile is requested exactly once, the configuration state is loaded
+ *         from the Git repository and stored in the configuration cache.
+ *     </li>
+ *     <li>
+ *         <b>warm-cache</b> - concurrent readers are requesting random profiles that are already cached.
+ *     </li>
+ *     <li>
+ *         <b>write-while-read</b> - concurrent readers are requesting random profiles while a writer is
+ *         continuously modifying them, invalidating their cached configuration state. The writer applies
+ *         the changes using the {@link com.konfigyr.vault.Vault} directly, as the REST API that manages the
+ *         profile properties requires an OAuth access token issued by the identity provider.
+ *     </li>
+ * </ul>
+ * The JVM is warmed up, using a dedicated profile, before the cold-cache scenario is executed so that it
+ * measures the cache misses and not the class loading or JIT compilation. Scenario results are logged and
+ * written in a JSON format to the location specified by the {@link LoadTestOptions}. No external services
+ * are required, apart from a Docker environment used by Testcontainers.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ * @see LoadTestOptions
+ */
+@Slf4j
+@NullMarked
+public final class LoadTestApplication {
+
+	static void main(String[] args) throws Exception {
+		final LoadTestOptions options = LoadTestOptions.parse(args);
+		final PostgreSQLContainer database = new PostgreSQLContainer("postgres:18-alpine")
+				.withDatabaseName("konfigyr");
+		final Path workspace = Files.createTempDirectory("konfigyr-load-test");
+
+		database.start();
+
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(KonfigyrApplication.class)
+				.profiles("load-test")
+				.properties(Map.of(
+						"server.port", 0,
+						"spring.datasource.url", database.getJdbcUrl(),
+						"spring.datasource.username", database.getUsername(),
+						"spring.datasource.password", database.getPassword(),
+						"konfigyr.vault.repository-directory", workspace.resolve("repositories").toString(),
+						"konfigyr.features.configuration-rate-limit", "1000000/s",
+						"konfigyr.artifactory.metadata-store.root", workspace.resolve("metadata").toUri().toString()
+				))
+				.run()) {
+
+			final List<ScenarioResult> results = run(context, options);
+
+			log.info("Load test results, latencies are in milliseconds:");
+			log.info(ScenarioResult.HEADER);
+			results.forEach(result -> log.info(result.format()));
+
+			write(new Report(options, results));
+		} finally {
+			database.stop();
+			FileSystemUtils.deleteRecursively(workspace);
+		}
+	}
+
+	static List<ScenarioResult> run(ConfigurableApplicationContext context, LoadTestOptions options) throws Exception {
+		final LoadTestSeeder seeder = new LoadTestSeeder(
+				context.getBean(NamespaceManager.class),
+				context.getBean(Services.class),
+				context.getBean(ProfileManager.class),
+				context.getBean(StateRepositoryFactory.class),
+				context.getBean(VaultAccessor.class)
+		);
+
+		final Service service = seeder.service(options.namespace(), options.service());
+
+		log.info("Seeding {} profiles with {} properties each for {}", options.profiles(), options.properties(), service);
+
+		final List<Profile> profiles = seeder.seed(service, options.profiles(), options.properties());
+		final List<String> slugs = profiles.stream().map(Profile::slug).toList();
+		final int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+		final List<ScenarioResult> results = new ArrayList<>();
+
+		try (LoadDriver driver = new LoadDriver(port, options)) {
+			log.info("Warming up the JVM with {} requests", options.warmup());
+
+			final LatencyRecorder warmup = new LatencyRecorder("warmup", options.warmup());
+			driver.concurrent(warmup, slugs.subList(0, 1), options.warmup(), options.concurrency());
+
+			log.info("Executing the cold-cache scenario");
+
+			final LatencyRecorder cold = new LatencyRecorder("cold-cache", slugs.size() - 1);
+			driver.sequential(cold, slugs.subList(1, slugs.size()));
+			results.add(cold.result());
+
+			log.info("Executing the warm-cache scenario");
+
+			final LatencyRecorder warm = new LatencyRecorder("warm-cache", options.requests());
+			driver.concurrent(warm, slugs, options.requests(), options.concurrency());
+			results.add(warm.result());
+
+			log.info("Executing the write-while-read scenario");
+
+			final LatencyRecorder reads = new LatencyRecorder("write-while-read (reads)", options.requests());
+			final LatencyRecorder writes = new LatencyRecorder("write-while-read (writes)", options.requests());
+			final AtomicBoolean running = new AtomicBoolean(true);
+
+			final Thread writer = Thread.ofPlatform().name("load-test-writer").start(() -> {
+				long revision = 0;
+
+				writes.start();
+
+				while (running.get()) {
+					final Profile profile = profiles.get(ThreadLocalRandom.current().nextInt(profiles.size()));
+					final int index = ThreadLocalRandom.current().nextInt(options.properties());
+					final long start = System.nanoTime();
+
+					try {
+						seeder.modify(service, profile, index, ++revision);
+						writes.record(System.nanoTime() - start);
+					} catch (Exception ex) {
+						log.warn("Failed to modify property of profile '{}'", profile.slug(), ex);
+						writes.error();
+					}
+
+					try {
+						Thread.sleep(options.writeInterval());
+					} catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+						break;
+					}
+				}
+
+				writes.stop();
+			});
+
+			try {
+				driver.concurrent(reads, slugs, options.requests(), options.concurrency());
+			} finally {
+				running.set(false);
+				writer.join();
+			}
+
+			results.add(reads.result());
+			results.add(writes.result());
+		}
+
+		return results;
+	}
+
+	static void write(Report report) throws Exception {
+		final Path output = report.options().output().toAbsolutePath();
+		Files.createDirectories(output.getParent());
+
+		JsonMapper.shared()
+				.writerWithDefaultPrettyPrinter()
+				.writeValue(output.toFile(), report);
+
+		log.info("Load test results are written to: {}", output);
+	}
+
+	private LoadTestApplication() {
+	}
+
+	record Report(LoadTestOptions options, List<ScenarioResult> results) {
+	}
+
+}
@@ -0,0 +1,91 @@
+package com.konfigyr.load;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.util.Assert;
+
+import java.nio.file.Path;
+
+/**
+ * Options of the load test run, resolved from the {@code --name=value} command line arguments.
+ *
+ * @param namespace the slug of the seeded namespace that owns the service
+ * @param service the slug of the seeded service whose configuration is requested
+ * @param clientId the {@code client_id} of the namespace application used to authenticate the requests
+ * @param clientSecret the {@code client_secret} of the namespace application used to authenticate the requests
+ * @param profiles the number of profiles to seed, each one is requested exactly once in the cold-cache scenario
+ * @param properties the number of encrypted properties that are seeded in each profile
+ * @param warmup the number of requests executed before the measured scenarios to warm up the JVM
+ * @param requests the number of requests executed by the warm-cache and write-while-read scenarios
+ * @param concurrency the number of concurrent readers used by the warm-cache and write-while-read scenarios
+ * @param writeInterval the pause, in milliseconds, between two writes in the write-while-read scenario
+ * @param output the location of the JSON file where the scenario results are written
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@NullMarked
+record LoadTestOptions(
+		String namespace,
+		String service,
+		String clientId,
+		@JsonIgnore String clientSecret,
+		int profiles,
+		int properties,
+		int warmup,
+		int requests,
+		int concurrency,
+		long writeInterval,
+		Path output
+) {
+
+	/*
+	 * The namespace, service and the namespace application credentials are seeded by the
+	 * `load-test-changelog.xml` Liquibase changelog.
+	 */
+	static final String DEFAULT_NAMESPACE = "john-doe";
+	static final String DEFAULT_SERVICE = "john-doe-blog";
+	static final String DEFAULT_CLIENT_ID = "kfg-AQEAAAAAAAAAAQAAAABqJTlVR1CkT_FEO73p4fHqlYM";
+	static final String DEFAULT_CLIENT_SECRET = "nryjshWX-PdDHdR8yqyu1u5A2KBFgH-O_ljxbQODo-Y";
+
+	LoadTestOptions {
+		Assert.isTrue(profiles > 1, "At least two profiles are required, one is used to warm up the JVM");
+		Assert.isTrue(properties > 0, "Number of properties per profile must be positive");
+		Assert.isTrue(warmup >= 0, "Number of warmup requests can not be negative");
+		Assert.isTrue(requests > 0, "Number of requests must be positive");
+		Assert.isTrue(concurrency > 0, "Concurrency must be positive");
+		Assert.isTrue(writeInterval >= 0, "Write interval can not be negative");
+	}
+
+	/**
+	 * Resolves the load test options from the command line arguments, using the defaults for the
+	 * options that are not present.
+	 *
+	 * @param args the command line arguments, can't be {@literal null}
+	 * @return the load test options, never {@literal null}
+	 * @throws IllegalArgumentException when an option value is not valid
+	 */
+	static LoadTestOptions parse(String... args) {
+		final SimpleCommandLinePropertySource source = new SimpleCommandLinePropertySource(args);
+
+		return new LoadTestOptions(
+				get(source, "namespace", DEFAULT_NAMESPACE),
+				get(source, "service", DEFAULT_SERVICE),
+				get(source, "client-id", DEFAULT_CLIENT_ID),
+				get(source, "client-secret", DEFAULT_CLIENT_SECRET),
+				Integer.parseInt(get(source, "profiles", "20")),
+				Integer.parseInt(get(source, "properties", "1000")),
+				Integer.parseInt(get(source, "warmup", "500")),
+				Integer.parseInt(get(source, "requests", "5000")),
+				Integer.parseInt(get(source, "concurrency", "16")),
+				Long.parseLong(get(source, "write-interval", "50")),
+				Path.of(get(source, "output", "build/results/load/results.json"))
+		);
+	}
+
+	private static String get(SimpleCommandLinePropertySource source, String name, String defaultValue) {
+		final String value = source.getProperty(name);
+		return value == null || value.isBlank() ? defaultValue : value;
+	}
+
+}
@@ -0,0 +1,197 @@
+package com.konfigyr.load;
+
+import com.konfigyr.entity.EntityId;
+import com.konfigyr.namespace.Namespace;
+import com.konfigyr.namespace.NamespaceManager;
+import com.konfigyr.namespace.Service;
+import com.konfigyr.namespace.Services;
+import com.konfigyr.security.AuthenticatedPrincipal;
+import com.konfigyr.security.PrincipalType;
+import com.konfigyr.vault.*;
+import com.konfigyr.vault.state.RepositoryStateException;
+import com.konfigyr.vault.state.StateRepository;
+import com.konfigyr.vault.state.StateRepositoryFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.Serial;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Seeds the configuration state that is requested by the load driver.
+ * <p>
+ * The namespace, service and namespace application are created by the {@code load-test-changelog.xml}
+ * Liquibase changelog, this class would create the Git repository for the service and the profiles with their encrypted
+ * properties. Profiles are created using the {@link ProfileManager} and their properties are applied
+ * using the {@link Vault}, the same way as when they are managed via the REST API.
+ *
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@Slf4j
+@NullMarked
+@RequiredArgsConstructor
+final class LoadTestSeeder {
+
+	static final String PROFILE_PREFIX = "load-test-";
+	static final Duration PROVISIONING_TIMEOUT = Duration.ofSeconds(30);
+
+	private final NamespaceManager namespaces;
+	private final Services services;
+	private final ProfileManager profiles;
+	private final StateRepositoryFactory repositories;
+	private final VaultAccessor accessor;
+	private final AuthenticatedPrincipal author = new SeederPrincipal();
+
+	/**
+	 * Looks up the seeded {@link Service} and creates its Git repository.
+	 *
+	 * @param namespace the namespace slug, can't be {@literal null}
+	 * @param slug the service slug, can't be {@literal null}
+	 * @return the service, never {@literal null}
+	 * @throws IllegalStateException when the service does not exist
+	 * @throws Exception when the Git repository could not be created
+	 */
+	Service service(String namespace, String slug) throws Exception {
+		final Namespace owner = namespaces.findBySlug(namespace).orElseThrow(() -> new IllegalStateException(
+				"Could not find namespace '" + namespace + "', is the load test changelog applied?"
+		));
+
+		final Service service = services.get(owner, slug).orElseThrow(() -> new IllegalStateException(
+				"Could not find service '" + slug + "' in namespace '" + namespace + "'"
+		));
+
+		try (StateRepository ignore = repositories.create(service)) {
+			log.info("Created Git repository for {}", service);
+		}
+
+		return service;
+	}
+
+	/**
+	 * Creates the given number of unprotected profiles for the service, each one containing the given number
+	 * of properties that are applied in a single change.
+	 *
+	 * @param service the service that would own the profiles, can't be {@literal null}
+	 * @param count the number of profiles to create
+	 * @param properties the number of properties in each profile
+	 * @return the created profiles, never {@literal null}
+	 * @throws Exception when the profile could not be created or its properties could not be applied
+	 */
+	List<Profile> seed(Service service, int count, int properties) throws Exception {
+		final List<Profile> seeded = new ArrayList<>(count);
+
+		for (int i = 0; i < count; i++) {
+			final Profile profile = profiles.create(ProfileDefinition.builder()
+					.service(service.id())
+					.slug(PROFILE_PREFIX + i)
+					.name("Load test " + i)
+					.policy(ProfilePolicy.UNPROTECTED)
+					.position(i + 1)
+					.build());
+
+			awaitProvisioning(service, profile);
+
+			final PropertyChanges.Builder changes = PropertyChanges.builder()
+					.profile(profile)
+					.subject("Seed load test properties");
+
+			for (int j = 0; j < properties; j++) {
+				changes.createProperty(name(j), value(j, 0));
+			}
+
+			try (Vault vault = accessor.open(author, service, profile)) {
+				vault.apply(changes.build());
+			}
+
+			log.info("Seeded profile '{}' with {} properties", profile.slug(), properties);
+			seeded.add(profile);
+		}
+
+		return seeded;
+	}
+
+	/**
+	 * Modifies the value of a single property of the given profile, creating a new profile revision.
+	 *
+	 * @param service the service that owns the profile, can't be {@literal null}
+	 * @param profile the profile to modify, can't be {@literal null}
+	 * @param index the index of the property to modify
+	 * @param revision the revision that is used to create a unique property value
+	 * @return the result of the change, never {@literal null}
+	 * @throws Exception when the change could not be applied
+	 */
+	ApplyResult modify(Service service, Profile profile, int index, long revision) throws Exception {
+		try (Vault vault = accessor.open(author, service, profile)) {
+			return vault.apply(PropertyChanges.builder()
+					.profile(profile)
+					.subject("Load test change " + revision)
+					.modifyProperty(name(index), value(index, revision))
+					.build());
+		}
+	}
+
+	static String name(int index) {
+		return "konfigyr.load-test.group-%d.property-%d".formatted(index % 20, index);
+	}
+
+	static String value(int index, long revision) {
+		return "jdbc:postgresql://database-%d.konfigyr.internal:5432/konfigyr?revision=%d".formatted(index, revision);
+	}
+
+	/*
+	 * The profile Git branch is created by an asynchronous event listener once the profile creation
+	 * transaction is committed, wait until it is available before applying any changes.
+	 */
+	private void awaitProvisioning(Service service, Profile profile) throws Exception {
+		final long deadline = System.nanoTime() + PROVISIONING_TIMEOUT.toNanos();
+
+		try (StateRepository repository = repositories.get(service)) {
+			while (true) {
+				try {
+					repository.get(profile);
+					return;
+				} catch (RepositoryStateException ex) {
+					if (ex.getErrorCode() != RepositoryStateException.ErrorCode.UNKNOWN_PROFILE
+							|| System.nanoTime() > deadline) {
+						throw ex;
+					}
+				}
+
+				Thread.sleep(10);
+			}
+		}
+	}
+
+	private static final class SeederPrincipal implements AuthenticatedPrincipal {
+
+		@Serial
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public String get() {
+			return EntityId.from(1).serialize();
+		}
+
+		@Override
+		public PrincipalType getType() {
+			return PrincipalType.USER_ACCOUNT;
+		}
+
+		@Override
+		public Optional<@Nullable String> getEmail() {
+			return Optional.of("john.doe@konfigyr.com");
+		}
+
+		@Override
+		public Optional<@Nullable String> getDisplayName() {
+			return Optional.of("John Doe");
+		}
+	}
+
+}
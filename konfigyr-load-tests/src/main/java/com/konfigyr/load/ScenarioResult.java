@@ -0,0 +1,52 @@
+package com.konfigyr.load;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Result of a single load test scenario. All latencies are expressed in milliseconds.
+ *
+ * @param scenario the name of the scenario
+ * @param requests the number of successful requests
+ * @param errors the number of failed requests
+ * @param duration the duration of the scenario in milliseconds
+ * @param throughput the number of successful requests per second
+ * @param mean the mean latency
+ * @param p50 the median latency
+ * @param p90 the 90th percentile latency
+ * @param p99 the 99th percentile latency
+ * @param p999 the 99.9th percentile latency
+ * @param max the maximum latency
+ * @author Vladimir Spasic
+ * @since 1.0.0
+ */
+@NullMarked
+record ScenarioResult(
+		String scenario,
+		long requests,
+		long errors,
+		long duration,
+		double throughput,
+		double mean,
+		double p50,
+		double p90,
+		double p99,
+		double p999,
+		double max
+) {
+
+	static final String HEADER = "%-28s %9s %7s %10s %9s %9s %9s %9s %9s %9s".formatted(
+			"scenario", "requests", "errors", "req/s", "mean", "p50", "p90", "p99", "p99.9", "max"
+	);
+
+	/**
+	 * Formats the result as a single line of the load test report table.
+	 *
+	 * @return formatted result, never {@literal null}
+	 */
+	String format() {
+		return "%-28s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f".formatted(
+				scenario, requests, errors, throughput, mean, p50, p90, p99, p999, max
+		);
+	}
+
+}
@@ -0,0 +1,18 @@
+-- Seeds the account, namespace, service and the namespace application used by the load test harness,
+-- the profiles and their properties are created by the harness itself using the Konfigyr API components.
+INSERT INTO accounts(id, status, email, first_name, last_name, last_login_at) VALUES
+(1, 'ACTIVE', 'john.doe@konfigyr.com', 'John', 'Doe', now());
+
+INSERT INTO namespaces(id, slug, name, description, created_at, updated_at) VALUES
+(1, 'john-doe', 'John Doe', 'Load test namespace', now(), now());
+
+INSERT INTO namespace_members(id, namespace_id, account_id, role, since) VALUES
+(1, 1, 1, 'ADMIN', now());
+
+INSERT INTO services(id, namespace_id, slug, name, description, created_at, updated_at) VALUES
+(1, 1, 'john-doe-blog', 'John Doe Blog', 'Load test service', now(), now());
+
+-- The client secret is hashed using the same Argon2 parameters as the secrets issued by the API, so that the
+-- load test measures the cost of authenticating the namespace application as well
+INSERT INTO oauth_applications(id, namespace_id, type, name, client_id, client_secret, scopes, expires_at, created_at, updated_at, settings) VALUES
+(4, 1, 'SERVICE_ACCOUNT', 'Load test app', 'kfg-AQEAAAAAAAAAAQAAAABqJTlVR1CkT_FEO73p4fHqlYM', '{argon2}$argon2id$v=19$m=19456,t=2,p=1$cr2XXN6S6e4WyFEF5JEBjA$pfEzX0qjdaL7kz+4VhT0iySuSVFDKqgidCBNS2zmJo4', 'profiles:read', NULL, now(), now(), NULL);
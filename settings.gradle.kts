@@ -17,11 +17,13 @@ rootProject.name = "konfigyr-project"
 
 include(
     "konfigyr-api",
+    "konfigyr-benchmarks",
     "konfigyr-core",
     "konfigyr-data",
     "konfigyr-frontend",
     "konfigyr-identity",
     "konfigyr-jooq-extensions",
+    "konfigyr-load-tests",
     "konfigyr-mail",
     "konfigyr-test"
 )